@@ -0,0 +1,27 @@
+-- Adds the background job tables to an existing flight_reservation_db.
+-- New installs get them from schema.sql; run this on databases created before
+-- they were added, running it again changes nothing.
+
+USE flight_reservation_db;
+
+-- one row per job, the holder of an unexpired lease is the only instance running it
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner_id VARCHAR(255),
+    lease_until TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- run history of background jobs
+CREATE TABLE IF NOT EXISTS job_runs (
+    run_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_name VARCHAR(100) NOT NULL,
+    owner_id VARCHAR(255) NOT NULL,
+    started_at TIMESTAMP(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    rows_processed INT NOT NULL DEFAULT 0,
+    status ENUM('SUCCEEDED', 'FAILED') NOT NULL,
+    error_message VARCHAR(1000),
+    INDEX idx_job_started (job_name, started_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+SELECT 'job tables added' AS '';
@@ -0,0 +1,15 @@
+-- Adds per-customer newsletter read tracking to an existing flight_reservation_db.
+-- New installs get it from schema.sql; run this on databases created before it
+-- was added, running it again changes nothing.
+
+USE flight_reservation_db;
+
+-- every newsletter up to high_water_mark is read, read_above_mark lists the few read out of order
+CREATE TABLE IF NOT EXISTS newsletter_read_state (
+    customer_id INT PRIMARY KEY,
+    high_water_mark INT NOT NULL DEFAULT 0,
+    read_above_mark TEXT,
+    FOREIGN KEY (customer_id) REFERENCES customers(customer_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+SELECT 'newsletter read state added' AS '';
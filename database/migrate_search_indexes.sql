@@ -0,0 +1,9 @@
+-- Adds the flight search index to an existing flight_reservation_db.
+-- New installs get it from schema.sql; run this once on older databases.
+
+USE flight_reservation_db;
+
+ALTER TABLE flights
+    ADD INDEX idx_route_departure (route_id, departure_time);
+
+SELECT 'search indexes added' AS '';
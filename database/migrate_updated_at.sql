@@ -0,0 +1,28 @@
+-- Adds updated_at change tracking to an existing flight_reservation_db.
+-- New installs get these columns from schema.sql; run this once on databases
+-- created before they were added.
+
+USE flight_reservation_db;
+
+ALTER TABLE users
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_users_updated_at (updated_at);
+
+ALTER TABLE customers
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_customers_updated_at (updated_at);
+
+ALTER TABLE flights
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_flights_updated_at (updated_at);
+
+ALTER TABLE seats
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_seats_updated_at (updated_at),
+    ADD INDEX idx_seats_flight_updated_at (flight_id, updated_at);
+
+ALTER TABLE reservations
+    ADD COLUMN updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    ADD INDEX idx_reservations_updated_at (updated_at);
+
+SELECT 'updated_at columns added' AS '';
@@ -20,10 +20,12 @@ CREATE TABLE IF NOT EXISTS users (
     account_status ENUM('ACTIVE', 'INACTIVE', 'SUSPENDED', 'DELETED') DEFAULT 'ACTIVE',
     created_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_login_date TIMESTAMP NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     INDEX idx_username (username),
     INDEX idx_email (email),
     INDEX idx_role (role),
-    INDEX idx_account_status (account_status)
+    INDEX idx_account_status (account_status),
+    INDEX idx_users_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Table: customers (Extended information for customer users)
@@ -33,8 +35,10 @@ CREATE TABLE IF NOT EXISTS customers (
     loyalty_points INT DEFAULT 0,
     preferred_airline VARCHAR(100),
     address TEXT,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     FOREIGN KEY (customer_id) REFERENCES users(user_id) ON DELETE CASCADE,
-    INDEX idx_frequent_flyer (frequent_flyer_number)
+    INDEX idx_frequent_flyer (frequent_flyer_number),
+    INDEX idx_customers_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Table: flight_agents (Extended information for agent users)
@@ -109,12 +113,15 @@ CREATE TABLE IF NOT EXISTS flights (
     aircraft_id INT NOT NULL,
     route_id INT NOT NULL,
     airline_id INT NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     FOREIGN KEY (aircraft_id) REFERENCES aircraft(aircraft_id) ON DELETE RESTRICT,
     FOREIGN KEY (route_id) REFERENCES routes(route_id) ON DELETE RESTRICT,
     FOREIGN KEY (airline_id) REFERENCES airlines(airline_id) ON DELETE RESTRICT,
     INDEX idx_flight_number (flight_number),
     INDEX idx_departure_time (departure_time),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_route_departure (route_id, departure_time),
+    INDEX idx_flights_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- ============================================================================
@@ -130,9 +137,12 @@ CREATE TABLE IF NOT EXISTS seats (
     price DECIMAL(10, 2) NOT NULL,
     status ENUM('AVAILABLE', 'RESERVED', 'OCCUPIED', 'BLOCKED') DEFAULT 'AVAILABLE',
     flight_id INT NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     FOREIGN KEY (flight_id) REFERENCES flights(flight_id) ON DELETE CASCADE,
     INDEX idx_flight_seat (flight_id, seat_number),
     INDEX idx_seat_status (status),
+    INDEX idx_seats_updated_at (updated_at),
+    INDEX idx_seats_flight_updated_at (flight_id, updated_at),
     UNIQUE KEY unique_seat_per_flight (flight_id, seat_number)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -163,12 +173,14 @@ CREATE TABLE IF NOT EXISTS reservations (
     total_fare DECIMAL(10, 2) NOT NULL,
     customer_id INT NOT NULL,
     flight_id INT NOT NULL,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
     FOREIGN KEY (customer_id) REFERENCES customers(customer_id) ON DELETE RESTRICT,
     FOREIGN KEY (flight_id) REFERENCES flights(flight_id) ON DELETE RESTRICT,
     INDEX idx_confirmation_number (confirmation_number),
     INDEX idx_reservation_date (reservation_date),
     INDEX idx_customer_id (customer_id),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_reservations_updated_at (updated_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Table: reservation_passengers (Junction table for many-to-many relationship)
@@ -216,6 +228,15 @@ CREATE TABLE IF NOT EXISTS newsletters (
     INDEX idx_sent_date (sent_date)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Table: newsletter_read_state (per-customer read tracking)
+-- every newsletter up to high_water_mark is read, read_above_mark lists the few read out of order
+CREATE TABLE IF NOT EXISTS newsletter_read_state (
+    customer_id INT PRIMARY KEY,
+    high_water_mark INT NOT NULL DEFAULT 0,
+    read_above_mark TEXT,
+    FOREIGN KEY (customer_id) REFERENCES customers(customer_id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Table: sessions (User session tracking)
 CREATE TABLE IF NOT EXISTS sessions (
     session_id VARCHAR(255) PRIMARY KEY,
@@ -228,6 +249,30 @@ CREATE TABLE IF NOT EXISTS sessions (
     INDEX idx_last_activity (last_activity_timestamp)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- ============================================================================
+-- BACKGROUND JOB TABLES
+-- ============================================================================
+
+-- Table: job_leases (one row per job, the holder of an unexpired lease is the only instance running it)
+CREATE TABLE IF NOT EXISTS job_leases (
+    job_name VARCHAR(100) PRIMARY KEY,
+    owner_id VARCHAR(255),
+    lease_until TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Table: job_runs (run history of background jobs)
+CREATE TABLE IF NOT EXISTS job_runs (
+    run_id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    job_name VARCHAR(100) NOT NULL,
+    owner_id VARCHAR(255) NOT NULL,
+    started_at TIMESTAMP(3) NOT NULL,
+    duration_ms BIGINT NOT NULL,
+    rows_processed INT NOT NULL DEFAULT 0,
+    status ENUM('SUCCEEDED', 'FAILED') NOT NULL,
+    error_message VARCHAR(1000),
+    INDEX idx_job_started (job_name, started_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- ============================================================================
 -- VIEWS FOR COMMON QUERIES
 -- ============================================================================
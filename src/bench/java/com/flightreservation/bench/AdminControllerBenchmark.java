@@ -0,0 +1,91 @@
+package com.flightreservation.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.controller.AdminController;
+import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.model.entities.Flight;
+
+/**
+ * the two steps of creating a flight that scale with the data: the conflict check loads every flight,
+ * seat generation inserts one row per seat
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AdminControllerBenchmark {
+    private static final MethodHandle HAS_SCHEDULE_CONFLICT =
+            PrivateAccess.method(AdminController.class, "hasScheduleConflict", boolean.class, Flight.class);
+    private static final MethodHandle GENERATE_SEATS =
+            PrivateAccess.method(AdminController.class, "generateSeatsForFlight", void.class, Flight.class);
+
+    private AdminController adminController;
+    private Flight candidate;
+    private Flight unseated;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchData.ensureSeeded();
+        adminController = new AdminController();
+
+        // a new flight that conflicts with nothing, so the check has to look at every flight
+        candidate = new FlightDAO().getFlightById(1);
+        candidate.setFlightId(0);
+        candidate.setDepartureTime(DataGenerator.START_DATE.minusDays(1).atTime(3, 0));
+        candidate.setArrivalTime(candidate.getDepartureTime().plusHours(2));
+
+        // a copy of flight 1 without seats or reservations, so its seats can be dropped between invocations
+        try (Connection conn = EmbeddedDatabase.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("INSERT INTO flights (flight_number, "
+                        + "departure_time, arrival_time, duration, status, base_price, available_seats, aircraft_id, "
+                        + "route_id, airline_id) SELECT flight_number, departure_time, arrival_time, duration, status, "
+                        + "base_price, 0, aircraft_id, route_id, airline_id FROM flights WHERE flight_id = 1",
+                        Statement.RETURN_GENERATED_KEYS)) {
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                unseated = new FlightDAO().getFlightById(keys.getInt(1));
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void removeSeats() throws SQLException {
+        try (Connection conn = EmbeddedDatabase.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("DELETE FROM seats WHERE flight_id = ?")) {
+            stmt.setInt(1, unseated.getFlightId());
+            stmt.executeUpdate();
+        }
+    }
+
+    @Benchmark
+    public boolean hasScheduleConflict() throws Throwable {
+        return (boolean) HAS_SCHEDULE_CONFLICT.invokeExact(adminController, candidate);
+    }
+
+    @Benchmark
+    public void generateSeatsForFlight() throws Throwable {
+        GENERATE_SEATS.invokeExact(adminController, unseated);
+    }
+}
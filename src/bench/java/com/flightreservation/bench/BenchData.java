@@ -0,0 +1,23 @@
+package com.flightreservation.bench;
+
+import java.sql.SQLException;
+
+/**
+ * the data set all benchmarks of one JVM share, seeded by whichever benchmark starts first, sized by
+ * bench.preset (TINY by default) and the other bench.* sizes of {@link DataGenerator}
+ */
+final class BenchData {
+    static final DataGenerator GENERATOR = DataGenerator.fromSystemProperties("bench", DataGenerator.Preset.TINY);
+
+    private static boolean seeded;
+
+    private BenchData() {
+    }
+
+    static synchronized void ensureSeeded() throws SQLException {
+        if (!seeded) {
+            EmbeddedDatabase.seed(GENERATOR);
+            seeded = true;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.flightreservation.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.dao.ReservationDAO;
+
+/**
+ * confirmation numbers come from a random UUID, measured single threaded and contended since every
+ * booking thread draws from the same SecureRandom
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfirmationNumberBenchmark {
+    private static final MethodHandle GENERATE =
+            PrivateAccess.method(ReservationDAO.class, "generateConfirmationNumber", String.class);
+
+    private final ReservationDAO reservationDAO = new ReservationDAO();
+
+    @Benchmark
+    public String generate() throws Throwable {
+        return (String) GENERATE.invokeExact(reservationDAO);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String generateContended() throws Throwable {
+        return (String) GENERATE.invokeExact(reservationDAO);
+    }
+}
@@ -0,0 +1,154 @@
+package com.flightreservation.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.dao.CustomerDAO;
+import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.dao.ReservationDAO;
+import com.flightreservation.dao.SeatDAO;
+import com.flightreservation.dao.UserDAO;
+import com.flightreservation.model.entities.Customer;
+import com.flightreservation.model.entities.Flight;
+import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.Seat;
+import com.flightreservation.model.entities.User;
+
+/**
+ * cost of turning one row into an entity, the rows come from the same queries the DAOs run and stay
+ * open, so the database is not part of the measurement
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DaoMapperBenchmark {
+    private static final MethodHandle MAP_FLIGHT =
+            PrivateAccess.method(FlightDAO.class, "mapResultSetToFlight", Flight.class, ResultSet.class);
+    private static final MethodHandle MAP_SEAT =
+            PrivateAccess.method(SeatDAO.class, "mapResultSetToSeat", Seat.class, ResultSet.class);
+    private static final MethodHandle MAP_RESERVATION =
+            PrivateAccess.method(ReservationDAO.class, "mapResultSetToReservation", Reservation.class, ResultSet.class);
+    private static final MethodHandle MAP_RESERVATION_SUMMARY = PrivateAccess.method(ReservationDAO.class,
+            "mapResultSetToReservationSummary", Reservation.class, ResultSet.class);
+    private static final MethodHandle MAP_CUSTOMER =
+            PrivateAccess.method(CustomerDAO.class, "mapResultSetToCustomer", Customer.class, ResultSet.class);
+    private static final MethodHandle MAP_USER =
+            PrivateAccess.method(UserDAO.class, "mapResultSetToUser", User.class, ResultSet.class);
+
+    private final FlightDAO flightDAO = new FlightDAO();
+    private final SeatDAO seatDAO = new SeatDAO();
+    private final ReservationDAO reservationDAO = new ReservationDAO();
+    private final CustomerDAO customerDAO = new CustomerDAO();
+    private final UserDAO userDAO = new UserDAO();
+
+    private Connection conn;
+    private Rows flights;
+    private Rows seats;
+    private Rows reservations;
+    private Rows reservationSummaries;
+    private Rows customers;
+    private Rows users;
+
+    /**
+     * a scrollable result set that is walked round robin
+     */
+    private static final class Rows {
+        private final ResultSet rs;
+        private final int size;
+        private int next;
+
+        Rows(Statement stmt, String sql) throws SQLException {
+            this.rs = stmt.executeQuery(sql);
+            rs.last();
+            this.size = rs.getRow();
+            if (size == 0) {
+                throw new IllegalStateException("No rows for " + sql);
+            }
+        }
+
+        ResultSet advance() throws SQLException {
+            rs.absolute(next + 1);
+            next = (next + 1) % size;
+            return rs;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchData.ensureSeeded();
+        conn = EmbeddedDatabase.getConnection();
+        flights = rows("SELECT f.*, r.origin_airport, r.destination_airport, "
+                + "a.model as aircraft_model, a.manufacturer, al.airline_name, al.airline_code "
+                + "FROM flights f JOIN routes r ON f.route_id = r.route_id "
+                + "JOIN aircraft a ON f.aircraft_id = a.aircraft_id "
+                + "JOIN airlines al ON f.airline_id = al.airline_id LIMIT 1000");
+        seats = rows("SELECT * FROM seats WHERE flight_id = 1");
+        reservations = rows("SELECT * FROM reservations LIMIT 1000");
+        reservationSummaries = rows("SELECT r.*, f.flight_number, f.departure_time, u.username FROM reservations r "
+                + "LEFT JOIN flights f ON r.flight_id = f.flight_id "
+                + "LEFT JOIN users u ON r.customer_id = u.user_id LIMIT 1000");
+        customers = rows("SELECT user_id, username, email, phone_number, role, account_status "
+                + "FROM users WHERE role = 'CUSTOMER' LIMIT 1000");
+        users = rows("SELECT user_id, username, password_hash, email, phone_number, role, "
+                + "account_status, created_date, last_login_date FROM users LIMIT 1000");
+    }
+
+    private Rows rows(String sql) throws SQLException {
+        return new Rows(conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY), sql);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public Flight mapFlight() throws Throwable {
+        return (Flight) MAP_FLIGHT.invokeExact(flightDAO, flights.advance());
+    }
+
+    @Benchmark
+    public Seat mapSeat() throws Throwable {
+        return (Seat) MAP_SEAT.invokeExact(seatDAO, seats.advance());
+    }
+
+    @Benchmark
+    public Reservation mapReservation() throws Throwable {
+        return (Reservation) MAP_RESERVATION.invokeExact(reservationDAO, reservations.advance());
+    }
+
+    @Benchmark
+    public Reservation mapReservationSummary() throws Throwable {
+        return (Reservation) MAP_RESERVATION_SUMMARY.invokeExact(reservationDAO, reservationSummaries.advance());
+    }
+
+    @Benchmark
+    public Customer mapCustomer() throws Throwable {
+        return (Customer) MAP_CUSTOMER.invokeExact(customerDAO, customers.advance());
+    }
+
+    @Benchmark
+    public User mapUser() throws Throwable {
+        return (User) MAP_USER.invokeExact(userDAO, users.advance());
+    }
+}
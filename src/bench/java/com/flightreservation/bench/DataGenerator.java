@@ -0,0 +1,604 @@
+package com.flightreservation.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.database.DatabaseManager;
+
+/**
+ * deterministic synthetic data set for scale testing, streamed into the domain tables with batched inserts
+ *
+ * - the same seed and sizes always give the same rows, ids are assigned here instead of by the database
+ * - flights are generated one after another together with their seats, reservations, passengers and
+ * payments, so seat status, available_seats and the reservations holding seats agree as if the app had
+ * booked them, and memory use does not grow with the data set
+ * - seat numbering follows AdminController.generateSeatsForFlight, every fleet type has a seat count it
+ * lays out without overlap
+ * - generated users log in with the password "password", customers are users 1..customers
+ * - runtime tables (sessions, job_leases, job_runs) are left empty
+ * - the tables are expected to be empty, on MySQL add rewriteBatchedStatements=true to db.url
+ *
+ * run: mvn -Pbenchmark test-compile exec:java@generate-data -Ddatagen.preset=X10 [-Ddatagen.embedded=true]
+ */
+public final class DataGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    /** departure day of the first generated flight */
+    public static final LocalDate START_DATE = LocalDate.of(2030, 1, 1);
+    public static final String PASSWORD = "password";
+
+    private static final int BATCH_ROWS = 5000;
+    private static final int SCHEDULE_DAYS = 90;
+
+    /**
+     * sizes relative to an assumed production data set of 100k customers, 20k flights and 1M reservations
+     */
+    public enum Preset {
+        TINY(1_000, 500, 2_000),
+        SMALL(10_000, 5_000, 50_000),
+        PRODUCTION(100_000, 20_000, 1_000_000),
+        X10(1_000_000, 200_000, 10_000_000),
+        X100(10_000_000, 2_000_000, 100_000_000);
+
+        private final int customers;
+        private final int flights;
+        private final int reservations;
+
+        Preset(int customers, int flights, int reservations) {
+            this.customers = customers;
+            this.flights = flights;
+            this.reservations = reservations;
+        }
+    }
+
+    private static final class AircraftType {
+        final String model;
+        final String manufacturer;
+        final int seats;
+        final int weight;
+
+        AircraftType(String model, String manufacturer, int seats, int weight) {
+            this.model = model;
+            this.manufacturer = manufacturer;
+            this.seats = seats;
+            this.weight = weight;
+        }
+    }
+
+    private static final AircraftType[] FLEET = {
+            new AircraftType("E195", "Embraer", 120, 2),
+            new AircraftType("A320", "Airbus", 160, 5),
+            new AircraftType("737-800", "Boeing", 160, 5),
+            new AircraftType("A321", "Airbus", 200, 3),
+            new AircraftType("787-9", "Boeing", 240, 2),
+            new AircraftType("A330-300", "Airbus", 280, 1),
+            new AircraftType("A350-900", "Airbus", 320, 1),
+            new AircraftType("777-300ER", "Boeing", 400, 1) };
+
+    private static final String[][] AIRLINES = {
+            { "SkyBridge Airways", "SB" }, { "Atlantic Blue", "AB" }, { "Pacific Crest", "PC" },
+            { "Northern Star Air", "NS" }, { "Sunline", "SL" }, { "Meridian Air", "MR" },
+            { "Coastal Express", "CE" }, { "Alpine Airlines", "AL" }, { "Horizon Jet", "HJ" },
+            { "Crescent Airways", "CR" }, { "Polar Air", "PO" }, { "Evergreen Airlines", "EG" } };
+
+    private static final String[] FIRST_NAMES = { "James", "Mary", "Wei", "Fatima", "Carlos", "Anna", "Kenji",
+            "Olivia", "Mohammed", "Sofia", "Liam", "Priya", "Noah", "Elena", "Lucas", "Aisha", "Mateo", "Yuki",
+            "Ethan", "Chloe" };
+    private static final String[] LAST_NAMES = { "Smith", "Garcia", "Chen", "Khan", "Müller", "Rossi", "Tanaka",
+            "Johnson", "Silva", "Novak", "Brown", "Patel", "Kim", "Dubois", "Ivanova", "Nguyen", "Lopez", "Cohen",
+            "Okafor", "Larsen" };
+    private static final String[] PAYMENT_METHODS = { "CREDIT_CARD", "CREDIT_CARD", "CREDIT_CARD", "DEBIT_CARD",
+            "PAYPAL", "BANK_TRANSFER" };
+
+    private final int customers;
+    private final int flights;
+    private final int reservations;
+    private final long seed;
+
+    public DataGenerator(int customers, int flights, int reservations, long seed) {
+        if (customers <= 0 || flights <= 0 || reservations < 0) {
+            throw new IllegalArgumentException("Customers and flights must be positive, reservations not negative");
+        }
+        this.customers = customers;
+        this.flights = flights;
+        this.reservations = reservations;
+        this.seed = seed;
+    }
+
+    public DataGenerator(Preset preset, long seed) {
+        this(preset.customers, preset.flights, preset.reservations, seed);
+    }
+
+    /**
+     * sizes from system properties under the prefix, e.g. load.preset, load.customers, load.flights,
+     * load.reservations and load.seed, single sizes override the preset
+     */
+    public static DataGenerator fromSystemProperties(String prefix, Preset defaultPreset) {
+        Preset preset = Preset.valueOf(System.getProperty(prefix + ".preset", defaultPreset.name()).toUpperCase());
+        return new DataGenerator(
+                Integer.getInteger(prefix + ".customers", preset.customers),
+                Integer.getInteger(prefix + ".flights", preset.flights),
+                Integer.getInteger(prefix + ".reservations", preset.reservations),
+                Long.getLong(prefix + ".seed", 42));
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public int getFlights() {
+        return flights;
+    }
+
+    public int getReservations() {
+        return reservations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataGenerator generator = fromSystemProperties("datagen", Preset.PRODUCTION);
+        if (Boolean.getBoolean("datagen.embedded")) {
+            EmbeddedDatabase.start();
+        }
+        long start = System.nanoTime();
+        Map<String, Long> rows;
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            rows = generator.generate(conn);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("Generated %d rows in %.1fs (%.0f rows/s): %s%n", total, seconds, total / seconds, rows);
+    }
+
+    /**
+     * writes the data set through the connection, committing after every batch
+     *
+     * @return rows written per table, in insert order
+     */
+    public Map<String, Long> generate(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Batches batches = new Batches(conn)) {
+            SplittableRandom random = new SplittableRandom(seed);
+            List<String> airports = readAirportCodes();
+
+            generateAirlines(batches);
+            int[] aircraftSeats = generateAircraft(batches, random);
+            int[][] routes = generateRoutes(batches, random, airports);
+            generateUsers(batches, random);
+            generateNewsletters(batches, random);
+            batches.flush();
+
+            generateFlights(batches, random, airports, routes, aircraftSeats);
+            batches.flush();
+            return batches.rowCounts();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void generateAirlines(Batches batches) throws SQLException {
+        for (int id = 1; id <= AIRLINES.length; id++) {
+            String[] airline = AIRLINES[id - 1];
+            batches.add(Table.AIRLINES, id, airline[0], airline[1],
+                    "customer care " + airline[1].toLowerCase() + "@example.com");
+        }
+    }
+
+    /**
+     * one aircraft per 40 flights over the schedule, at least 20, returns the seat count per aircraft id
+     */
+    private int[] generateAircraft(Batches batches, SplittableRandom random) throws SQLException {
+        int totalWeight = 0;
+        for (AircraftType type : FLEET) {
+            totalWeight += type.weight;
+        }
+        int count = Math.max(20, flights / 40);
+        int[] seats = new int[count + 1];
+        for (int id = 1; id <= count; id++) {
+            int pick = random.nextInt(totalWeight);
+            AircraftType type = FLEET[0];
+            for (AircraftType candidate : FLEET) {
+                pick -= candidate.weight;
+                if (pick < 0) {
+                    type = candidate;
+                    break;
+                }
+            }
+            seats[id] = type.seats;
+            SeatLayout layout = SeatLayout.of(type.seats);
+            batches.add(Table.AIRCRAFT, id, String.format("N%05d", id), type.model, type.manufacturer, type.seats,
+                    String.format("F%d/J%d/Y%d", layout.first, layout.business, layout.economy));
+        }
+        return seats;
+    }
+
+    /**
+     * directed airport pairs in a seeded order, about one route per ten flights, each row is
+     * { origin index, destination index, distance, duration }
+     */
+    private int[][] generateRoutes(Batches batches, SplittableRandom random, List<String> airports)
+            throws SQLException {
+        List<int[]> pairs = new ArrayList<>();
+        for (int origin = 0; origin < airports.size(); origin++) {
+            for (int destination = 0; destination < airports.size(); destination++) {
+                if (origin != destination) {
+                    pairs.add(new int[] { origin, destination });
+                }
+            }
+        }
+        for (int i = pairs.size() - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int[] swap = pairs.get(i);
+            pairs.set(i, pairs.get(j));
+            pairs.set(j, swap);
+        }
+
+        int count = Math.min(pairs.size(), Math.max(20, flights / 10));
+        int[][] routes = new int[count + 1][];
+        for (int id = 1; id <= count; id++) {
+            int[] pair = pairs.get(id - 1);
+            int distance = 300 + random.nextInt(9000);
+            int duration = 45 + distance * 60 / 800;
+            routes[id] = new int[] { pair[0], pair[1], distance, duration };
+            batches.add(Table.ROUTES, id, airports.get(pair[0]), airports.get(pair[1]), distance, duration);
+        }
+        return routes;
+    }
+
+    /**
+     * customers first so their user ids are 1..customers, then one agent per thousand customers and
+     * three admins
+     */
+    private void generateUsers(Batches batches, SplittableRandom random) throws SQLException {
+        int agents = Math.max(5, customers / 1000);
+        int userId = 0;
+        for (int i = 1; i <= customers; i++) {
+            userId++;
+            addUser(batches, random, userId, "customer" + i, "CUSTOMER");
+            batches.add(Table.CUSTOMERS, userId, random.nextInt(4) == 0 ? String.format("FF%09d", i) : null,
+                    random.nextInt(50_000), random.nextInt(3) == 0 ? AIRLINES[random.nextInt(AIRLINES.length)][0]
+                            : null, (1 + random.nextInt(999)) + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                                    + " Street");
+        }
+        for (int i = 1; i <= agents; i++) {
+            userId++;
+            addUser(batches, random, userId, "agent" + i, "AGENT");
+            batches.add(Table.FLIGHT_AGENTS, userId, String.format("EMP%06d", i),
+                    i % 3 == 0 ? "Sales" : i % 3 == 1 ? "Customer Service" : "Operations",
+                    Date.valueOf(START_DATE.minusDays(30 + random.nextInt(3000))));
+        }
+        for (int i = 1; i <= 3; i++) {
+            userId++;
+            addUser(batches, random, userId, "admin" + i, "ADMIN");
+            batches.add(Table.SYSTEM_ADMINISTRATORS, userId, i == 1 ? "SUPER_ADMIN" : "ADMIN", "ALL");
+        }
+    }
+
+    private void addUser(Batches batches, SplittableRandom random, int userId, String username, String role)
+            throws SQLException {
+        int status = random.nextInt(100);
+        batches.add(Table.USERS, userId, username, PASSWORD, username + "@example.com",
+                String.format("555-%07d", userId), role,
+                status < 96 ? "ACTIVE" : status < 99 ? "INACTIVE" : "SUSPENDED",
+                Timestamp.valueOf(START_DATE.minusDays(1 + random.nextInt(1500)).atTime(12, 0)));
+    }
+
+    /**
+     * a newsletter per week of the schedule, one customer in ten has read some of them
+     */
+    private void generateNewsletters(Batches batches, SplittableRandom random) throws SQLException {
+        int newsletters = SCHEDULE_DAYS / 7;
+        for (int id = 1; id <= newsletters; id++) {
+            batches.add(Table.NEWSLETTERS, id, "Travel news #" + id,
+                    "Deals and updates for the week of " + START_DATE.minusDays(7L * (newsletters - id)),
+                    Timestamp.valueOf(START_DATE.minusDays(7L * (newsletters - id)).atTime(9, 0)));
+        }
+        for (int customerId = 10; customerId <= customers; customerId += 10) {
+            int mark = random.nextInt(newsletters + 1);
+            String above = mark + 2 <= newsletters ? String.valueOf(mark + 2) : null;
+            batches.add(Table.NEWSLETTER_READ_STATE, customerId, mark, above);
+        }
+    }
+
+    private void generateFlights(Batches batches, SplittableRandom random, List<String> airports,
+            int[][] routes, int[] aircraftSeats) throws SQLException {
+        int aircraftCount = aircraftSeats.length - 1;
+        int routeCount = routes.length - 1;
+        int seatId = 0;
+        int reservationId = 0;
+        int passengerId = 0;
+        long reservationsPlaced = 0;
+        int nextProgress = flights / 10;
+
+        for (int flightId = 1; flightId <= flights; flightId++) {
+            int aircraftId = 1 + (flightId - 1) % aircraftCount;
+            int routeId = 1 + random.nextInt(routeCount);
+            int[] route = routes[routeId];
+            LocalDateTime departure = START_DATE.plusDays((flightId - 1) % SCHEDULE_DAYS)
+                    .atTime(5, 0).plusMinutes(random.nextInt(18 * 60));
+            int duration = route[3];
+            int statusRoll = random.nextInt(100);
+            String flightStatus = statusRoll < 2 ? "CANCELLED" : statusRoll < 5 ? "DELAYED" : "SCHEDULED";
+            double basePrice = Math.round(49 + route[2] * 0.08 + random.nextInt(100));
+            SeatLayout layout = SeatLayout.of(aircraftSeats[aircraftId]);
+
+            // this flight's share of the reservations, spread evenly so the total comes out exact
+            long target = (long) reservations * flightId / flights;
+            int flightReservations = (int) (target - reservationsPlaced);
+            reservationsPlaced = target;
+
+            // seats are handed out from a random starting row, each reservation takes the next 1-3
+            String[] seatStatus = new String[layout.size()];
+            int[] seatHolder = new int[layout.size()];
+            int seatCursor = random.nextInt(layout.size());
+            int seatsTaken = 0;
+            int available = layout.size();
+            List<Object[]> reservationRows = new ArrayList<>(flightReservations);
+            for (int r = 0; r < flightReservations && seatsTaken < layout.size(); r++) {
+                reservationId++;
+                int partySize = Math.min(1 + (random.nextInt(10) < 6 ? 0 : random.nextInt(3)),
+                        layout.size() - seatsTaken);
+                int statusRollReservation = random.nextInt(100);
+                String status = flightStatus.equals("CANCELLED") || statusRollReservation < 7 ? "CANCELLED"
+                        : statusRollReservation < 10 ? "PENDING" : "CONFIRMED";
+                double fare = 0;
+                int[] seats = new int[partySize];
+                for (int p = 0; p < partySize; p++) {
+                    int seat = seatCursor;
+                    seatCursor = (seatCursor + 1) % layout.size();
+                    seatsTaken++;
+                    seats[p] = seat;
+                    seatHolder[seat] = reservationId;
+                    fare += basePrice * layout.priceFactor[seat];
+                    if (!status.equals("CANCELLED")) {
+                        seatStatus[seat] = "RESERVED";
+                        available--;
+                    }
+                }
+                reservationRows.add(new Object[] { reservationId, status, fare, seats });
+            }
+
+            batches.add(Table.FLIGHTS, flightId, String.format("%s%d", AIRLINES[(flightId - 1) % AIRLINES.length][1],
+                    100 + (flightId - 1) / AIRLINES.length % 9900), Timestamp.valueOf(departure),
+                    Timestamp.valueOf(departure.plusMinutes(duration)), duration, flightStatus, basePrice, available,
+                    aircraftId, routeId, 1 + (flightId - 1) % AIRLINES.length);
+
+            int firstSeatId = seatId + 1;
+            for (int seat = 0; seat < layout.size(); seat++) {
+                seatId++;
+                batches.add(Table.SEATS, seatId, layout.number[seat], layout.seatClass[seat], layout.type[seat],
+                        basePrice * layout.priceFactor[seat],
+                        seatStatus[seat] != null ? seatStatus[seat] : "AVAILABLE", flightId);
+            }
+
+            for (Object[] row : reservationRows) {
+                int id = (Integer) row[0];
+                String status = (String) row[1];
+                double fare = (Double) row[2];
+                int[] seats = (int[]) row[3];
+                int customerId = 1 + random.nextInt(customers);
+                LocalDateTime booked = departure.minusDays(1 + random.nextInt(120)).minusMinutes(random.nextInt(1440));
+                batches.add(Table.RESERVATIONS, id, String.format("GEN%08X", id), Timestamp.valueOf(booked), status,
+                        fare, customerId, flightId);
+
+                for (int seat : seats) {
+                    passengerId++;
+                    String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                    String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                    int idType = random.nextInt(10);
+                    batches.add(Table.PASSENGERS, passengerId, firstName, lastName, 1 + random.nextInt(85),
+                            String.format("%c%08d", (char) ('A' + random.nextInt(26)), random.nextInt(100_000_000)),
+                            idType < 7 ? "PASSPORT" : idType < 9 ? "NATIONAL_ID" : "DRIVERS_LICENSE",
+                            (firstName + "." + lastName + passengerId + "@example.com").toLowerCase(),
+                            String.format("555-%07d", random.nextInt(10_000_000)));
+                    batches.add(Table.RESERVATION_PASSENGERS, id, passengerId, firstSeatId + seat);
+                }
+
+                if (!status.equals("PENDING")) {
+                    batches.add(Table.PAYMENTS, id, Timestamp.valueOf(booked.plusMinutes(2)), fare,
+                            PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)],
+                            status.equals("CANCELLED") ? "REFUNDED" : "COMPLETED", String.format("TXN%010d", id), id);
+                }
+            }
+
+            if (flightId == nextProgress) {
+                logger.info("Generated {} of {} flights", flightId, flights);
+                nextProgress += Math.max(1, flights / 10);
+            }
+        }
+    }
+
+    private static List<String> readAirportCodes() throws SQLException {
+        List<String> codes = new ArrayList<>();
+        try (InputStream input = DataGenerator.class.getClassLoader().getResourceAsStream("airports.csv")) {
+            if (input == null) {
+                throw new SQLException("airports.csv not found on the classpath");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    codes.add(line.substring(0, line.indexOf(',')).trim());
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("Could not read airports.csv", e);
+        }
+        return codes;
+    }
+
+    /**
+     * seat numbers, classes and types the way AdminController.generateSeatsForFlight assigns them
+     */
+    private static final class SeatLayout {
+        private static final Map<Integer, SeatLayout> layouts = new ConcurrentHashMap<>();
+        private static final String[] LETTERS = { "A", "B", "C", "D", "E", "F" };
+
+        final int first;
+        final int business;
+        final int economy;
+        final String[] number;
+        final String[] seatClass;
+        final String[] type;
+        final double[] priceFactor;
+
+        private SeatLayout(int totalSeats) {
+            economy = (int) (totalSeats * 0.7);
+            business = (int) (totalSeats * 0.2);
+            first = totalSeats - economy - business;
+            number = new String[totalSeats];
+            seatClass = new String[totalSeats];
+            type = new String[totalSeats];
+            priceFactor = new double[totalSeats];
+
+            int seat = 0;
+            for (int i = 0; i < first; i++, seat++) {
+                set(seat, (i / 4 + 1) + LETTERS[i % 4], "FIRST", i % 4, 3);
+            }
+            int businessStart = first / 4 + 1;
+            for (int i = 0; i < business; i++, seat++) {
+                set(seat, (i / 4 + businessStart) + LETTERS[i % 4], "BUSINESS", i % 4, 2);
+            }
+            int economyStart = businessStart + business / 4 + 1;
+            for (int i = 0; i < economy; i++, seat++) {
+                set(seat, (i / 6 + economyStart) + LETTERS[i % 6], "ECONOMY", i % 6, 1);
+            }
+        }
+
+        static SeatLayout of(int totalSeats) {
+            return layouts.computeIfAbsent(totalSeats, SeatLayout::new);
+        }
+
+        int size() {
+            return number.length;
+        }
+
+        private void set(int seat, String seatNumber, String seatClassName, int position, double factor) {
+            number[seat] = seatNumber;
+            seatClass[seat] = seatClassName;
+            type[seat] = position == 0 || position == 5 ? "WINDOW"
+                    : position == 2 || position == 3 ? "MIDDLE" : "AISLE";
+            priceFactor[seat] = factor;
+        }
+    }
+
+    /**
+     * the tables written, in foreign key order, with the insert each row goes through
+     */
+    private enum Table {
+        AIRLINES("INSERT INTO airlines (airline_id, airline_name, airline_code, contact_info) VALUES (?, ?, ?, ?)"),
+        AIRCRAFT("INSERT INTO aircraft (aircraft_id, tail_number, model, manufacturer, total_seats, "
+                + "seat_configuration) VALUES (?, ?, ?, ?, ?, ?)"),
+        ROUTES("INSERT INTO routes (route_id, origin_airport, destination_airport, distance, estimated_duration) "
+                + "VALUES (?, ?, ?, ?, ?)"),
+        USERS("INSERT INTO users (user_id, username, password_hash, email, phone_number, role, account_status, "
+                + "created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"),
+        CUSTOMERS("INSERT INTO customers (customer_id, frequent_flyer_number, loyalty_points, preferred_airline, "
+                + "address) VALUES (?, ?, ?, ?, ?)"),
+        FLIGHT_AGENTS("INSERT INTO flight_agents (agent_id, employee_id, department, hire_date) VALUES (?, ?, ?, ?)"),
+        SYSTEM_ADMINISTRATORS("INSERT INTO system_administrators (admin_id, admin_level, permissions) "
+                + "VALUES (?, ?, ?)"),
+        NEWSLETTERS("INSERT INTO newsletters (newsletter_id, subject, message, sent_date) VALUES (?, ?, ?, ?)"),
+        NEWSLETTER_READ_STATE("INSERT INTO newsletter_read_state (customer_id, high_water_mark, read_above_mark) "
+                + "VALUES (?, ?, ?)"),
+        FLIGHTS("INSERT INTO flights (flight_id, flight_number, departure_time, arrival_time, duration, status, "
+                + "base_price, available_seats, aircraft_id, route_id, airline_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+        SEATS("INSERT INTO seats (seat_id, seat_number, seat_class, seat_type, price, status, flight_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)"),
+        RESERVATIONS("INSERT INTO reservations (reservation_id, confirmation_number, reservation_date, status, "
+                + "total_fare, customer_id, flight_id) VALUES (?, ?, ?, ?, ?, ?, ?)"),
+        PASSENGERS("INSERT INTO passengers (passenger_id, first_name, last_name, age, id_number, id_type, "
+                + "contact_email, contact_phone) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"),
+        RESERVATION_PASSENGERS("INSERT INTO reservation_passengers (reservation_id, passenger_id, seat_id) "
+                + "VALUES (?, ?, ?)"),
+        PAYMENTS("INSERT INTO payments (payment_id, payment_date, amount, payment_method, status, transaction_id, "
+                + "reservation_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+
+        private final String sql;
+
+        Table(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * one open batch per table, flushed together in foreign key order and committed, so a row is never
+     * sent before the rows it references
+     */
+    private static final class Batches implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement[] statements = new PreparedStatement[Table.values().length];
+        private final long[] rows = new long[Table.values().length];
+        private int pending;
+
+        Batches(Connection conn) {
+            this.conn = conn;
+        }
+
+        void add(Table table, Object... values) throws SQLException {
+            PreparedStatement stmt = statements[table.ordinal()];
+            if (stmt == null) {
+                stmt = conn.prepareStatement(table.sql);
+                statements[table.ordinal()] = stmt;
+            }
+            for (int i = 0; i < values.length; i++) {
+                stmt.setObject(i + 1, values[i]);
+            }
+            stmt.addBatch();
+            rows[table.ordinal()]++;
+            if (++pending >= BATCH_ROWS) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            for (PreparedStatement stmt : statements) {
+                if (stmt != null) {
+                    stmt.executeBatch();
+                }
+            }
+            conn.commit();
+            pending = 0;
+        }
+
+        Map<String, Long> rowCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Table table : Table.values()) {
+                counts.put(table.name().toLowerCase(), rows[table.ordinal()]);
+            }
+            return counts;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement stmt : statements) {
+                if (stmt != null) {
+                    stmt.close();
+                }
+            }
+        }
+    }
+}
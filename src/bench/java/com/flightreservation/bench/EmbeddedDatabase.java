@@ -0,0 +1,114 @@
+package com.flightreservation.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * in-memory H2 database in MySQL mode holding the tables of database/schema.sql, for benchmarks and
+ * load runs that should not depend on a MySQL server
+ *
+ * - {@link #start()} points DatabaseManager at it through the db.url system property, so it has to run
+ * before the first DAO call of the JVM
+ * - only the CREATE TABLE statements are taken from schema.sql, the views, sample rows and procedures
+ * are MySQL specific and not needed here
+ * - H2 keeps index names per schema instead of per table, they are prefixed with the table name
+ */
+public final class EmbeddedDatabase {
+    public static final String URL =
+            "jdbc:h2:mem:flight_reservation_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "";
+
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE IF NOT EXISTS (\\w+)");
+    private static final Pattern NAMED_INDEX = Pattern.compile("\\b(INDEX|KEY) (\\w+) \\(");
+
+    private static boolean started;
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * creates the schema on first call, later calls only return
+     */
+    public static synchronized void start() throws SQLException {
+        if (started) {
+            return;
+        }
+        System.setProperty("db.url", URL);
+        System.setProperty("db.username", USERNAME);
+        System.setProperty("db.password", PASSWORD);
+
+        try (Connection conn = getConnection(); Statement stmt = conn.createStatement()) {
+            for (String createTable : readCreateTableStatements()) {
+                stmt.execute(createTable);
+            }
+        }
+        started = true;
+    }
+
+    public static Connection getConnection() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+
+    /**
+     * starts the database and writes the generated data set into it
+     *
+     * @return rows written per table
+     */
+    public static synchronized Map<String, Long> seed(DataGenerator generator) throws SQLException {
+        start();
+        try (Connection conn = getConnection()) {
+            return generator.generate(conn);
+        }
+    }
+
+    private static List<String> readCreateTableStatements() throws SQLException {
+        String script;
+        try (InputStream input = EmbeddedDatabase.class.getClassLoader().getResourceAsStream("schema.sql")) {
+            if (input == null) {
+                throw new SQLException("schema.sql not found on the classpath");
+            }
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read schema.sql", e);
+        }
+
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (!trimmed.endsWith(";")) {
+                continue;
+            }
+            String statement = current.toString().trim();
+            current.setLength(0);
+            Matcher table = CREATE_TABLE.matcher(statement);
+            if (!table.lookingAt()) {
+                continue;
+            }
+            String prefix = table.group(1) + "_";
+            Matcher index = NAMED_INDEX.matcher(statement);
+            StringBuilder renamed = new StringBuilder();
+            while (index.find()) {
+                index.appendReplacement(renamed, index.group(1) + " " + prefix + index.group(2) + " (");
+            }
+            index.appendTail(renamed);
+            statements.add(renamed.toString());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,66 @@
+package com.flightreservation.bench;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.controller.FlightSearchController;
+import com.flightreservation.database.QueryHandle;
+import com.flightreservation.model.entities.Flight;
+
+/**
+ * end to end search through the controller, the dialog search and the search-as-you-type path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlightSearchBenchmark {
+    private final FlightSearchController controller = new FlightSearchController();
+    private final QueryHandle handle = new QueryHandle();
+
+    private String origin;
+    private String destination;
+    private LocalDate date;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchData.ensureSeeded();
+        try (Connection conn = EmbeddedDatabase.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT r.origin_airport, r.destination_airport, f.departure_time "
+                        + "FROM flights f JOIN routes r ON f.route_id = r.route_id WHERE f.flight_id = 1")) {
+            rs.next();
+            origin = rs.getString(1);
+            destination = rs.getString(2);
+            date = rs.getTimestamp(3).toLocalDateTime().toLocalDate();
+        }
+    }
+
+    @Benchmark
+    public List<Flight> searchFlights() {
+        return controller.searchFlights(origin, destination, date.atStartOfDay());
+    }
+
+    @Benchmark
+    public List<Flight> searchFlightsLive() throws SQLException {
+        return controller.searchFlightsLive(origin, destination, date, 50, handle);
+    }
+}
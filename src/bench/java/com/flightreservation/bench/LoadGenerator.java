@@ -0,0 +1,389 @@
+package com.flightreservation.bench;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.controller.FlightSearchController;
+import com.flightreservation.controller.ReservationController;
+import com.flightreservation.model.entities.Flight;
+import com.flightreservation.model.entities.Passenger;
+import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.Seat;
+import com.flightreservation.model.strategies.payment.CreditCardPaymentStrategy;
+import com.flightreservation.util.LatencyHistogram;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * closed-loop load generator: virtual users search, book and cancel against the embedded database
+ * through the same controllers the UI and the API use
+ *
+ * - every user loops: pick an action by the configured mix, run it, sleep an exponentially
+ * distributed think time
+ * - book is the whole funnel: search the route and day of a target flight, list its free seats,
+ * create a reservation for 1..load.maxPassengers passengers and confirm it
+ * - cancel cancels one of the user's own bookings, users without one book instead
+ * - a seat handed to two live reservations is a double sell, counted while running and by an audit of
+ * the tables afterwards together with seats that are free again although a live reservation holds them
+ * - the schedule comes from {@link DataGenerator}, sized by load.preset (SMALL by default) and the other
+ * load.* sizes it reads
+ * - there is no connection pool, the number of open connections sampled on the database stands in for
+ * pool occupancy and is reported against load.maxConnections, the MySQL default of 151
+ *
+ * run: mvn -Pbenchmark test-compile exec:java@load-test -Dload.users=200 -Dload.durationSeconds=120
+ */
+public final class LoadGenerator {
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+    private static final int THINK_MILLIS = Integer.getInteger("load.thinkMillis", 100);
+    private static final String MIX = System.getProperty("load.mix", "search=60,book=30,cancel=10");
+    private static final int MAX_PASSENGERS = Integer.getInteger("load.maxPassengers", 2);
+    /** when set users only target the first n flights, to provoke contention on their seats */
+    private static final int HOT_FLIGHTS = Integer.getInteger("load.hotFlights", 0);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final int MAX_CONNECTIONS = Integer.getInteger("load.maxConnections", 151);
+    private static final String APP_LOG_LEVEL = System.getProperty("load.appLogLevel", "OFF");
+
+    private enum Action {
+        SEARCH, BOOK, CANCEL
+    }
+
+    private final Action[] mix;
+    private final int flights;
+    private final int customers;
+    private final String[] origins;
+    private final String[] destinations;
+    private final LocalDate[] days;
+
+    private final LatencyHistogram searchLatency = new LatencyHistogram();
+    private final LatencyHistogram seatsLatency = new LatencyHistogram();
+    private final LatencyHistogram createLatency = new LatencyHistogram();
+    private final LatencyHistogram cancelLatency = new LatencyHistogram();
+    private final LatencyHistogram bookingLatency = new LatencyHistogram();
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder bookings = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+    private final LongAdder seatConflicts = new LongAdder();
+    private final LongAdder soldOut = new LongAdder();
+    private final LongAdder doubleSells = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    /** seat id to the live reservation holding it */
+    private final Map<Integer, Integer> seatHolders = new ConcurrentHashMap<>();
+
+    private final AtomicLong peakConnections = new AtomicLong();
+    private final LongAdder connectionSamples = new LongAdder();
+    private final LongAdder connectionSum = new LongAdder();
+    private final LongAdder samplesAtLimit = new LongAdder();
+
+    private LoadGenerator(Action[] mix, DataGenerator data) {
+        this.mix = mix;
+        this.flights = data.getFlights();
+        this.customers = data.getCustomers();
+        this.origins = new String[flights + 1];
+        this.destinations = new String[flights + 1];
+        this.days = new LocalDate[flights + 1];
+    }
+
+    public static void main(String[] args) throws Exception {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.flightreservation"))
+                .setLevel(Level.toLevel(APP_LOG_LEVEL, Level.OFF));
+
+        DataGenerator data = DataGenerator.fromSystemProperties("load", DataGenerator.Preset.SMALL);
+        LoadGenerator generator = new LoadGenerator(parseMix(MIX), data);
+        long seedStart = System.nanoTime();
+        Map<String, Long> rows = EmbeddedDatabase.seed(data);
+        generator.loadSchedule();
+        System.out.printf("Seeded %d flights, %d seats, %d customers, %d reservations in %.1fs%n",
+                rows.get("flights"), rows.get("seats"), rows.get("customers"), rows.get("reservations"),
+                (System.nanoTime() - seedStart) / 1e9);
+
+        generator.run();
+        System.exit(0);
+    }
+
+    private static Action[] parseMix(String spec) {
+        List<Action> weighted = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("load.mix entries look like search=60, got " + part);
+            }
+            Action action = Action.valueOf(entry[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(entry[1].trim()); i > 0; i--) {
+                weighted.add(action);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no weight");
+        }
+        return weighted.toArray(new Action[0]);
+    }
+
+    private void loadSchedule() throws SQLException {
+        try (Connection conn = EmbeddedDatabase.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT f.flight_id, r.origin_airport, r.destination_airport, "
+                        + "f.departure_time FROM flights f JOIN routes r ON f.route_id = r.route_id")) {
+            while (rs.next()) {
+                int flightId = rs.getInt(1);
+                origins[flightId] = rs.getString(2);
+                destinations[flightId] = rs.getString(3);
+                days[flightId] = rs.getTimestamp(4).toLocalDateTime().toLocalDate();
+            }
+        }
+    }
+
+    private void run() throws Exception {
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "load-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Connection sampleConn = EmbeddedDatabase.getConnection();
+        sampler.scheduleAtFixedRate(() -> sampleConnections(sampleConn), 0, 50, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        sampler.scheduleAtFixedRate(() -> progress(start), 5, 5, TimeUnit.SECONDS);
+
+        ExecutorService users = Executors.newFixedThreadPool(USERS);
+        for (int i = 0; i < USERS; i++) {
+            int customerId = 1 + i % customers;
+            SplittableRandom random = new SplittableRandom(SEED + i);
+            users.execute(() -> new VirtualUser(customerId, random).run(deadline));
+        }
+        users.shutdown();
+        users.awaitTermination(DURATION_SECONDS + 60L, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        sampler.shutdownNow();
+        sampleConn.close();
+        report(seconds);
+    }
+
+    private void sampleConnections(Connection conn) {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM information_schema.sessions")) {
+            rs.next();
+            long open = rs.getLong(1) - 1;
+            peakConnections.accumulateAndGet(open, Math::max);
+            connectionSamples.increment();
+            connectionSum.add(open);
+            if (open >= MAX_CONNECTIONS) {
+                samplesAtLimit.increment();
+            }
+        } catch (SQLException e) {
+            // a missed sample only thins the statistics
+        }
+    }
+
+    private void progress(long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%5.0fs  bookings %.1f/s  searches %.1f/s  cancels %.1f/s  errors %d  booking %s%n",
+                seconds, bookings.sum() / seconds, searches.sum() / seconds, cancellations.sum() / seconds,
+                errorCount(), bookingLatency.summary());
+    }
+
+    private final class VirtualUser {
+        private final int customerId;
+        private final SplittableRandom random;
+        private final FlightSearchController searchController = new FlightSearchController();
+        private final List<Reservation> ownBookings = new ArrayList<>();
+
+        VirtualUser(int customerId, SplittableRandom random) {
+            this.customerId = customerId;
+            this.random = random;
+        }
+
+        void run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                Action action = mix[random.nextInt(mix.length)];
+                try {
+                    if (action == Action.SEARCH) {
+                        search(pickFlight());
+                    } else if (action == Action.CANCEL && !ownBookings.isEmpty()) {
+                        cancel();
+                    } else {
+                        book();
+                    }
+                } catch (RuntimeException e) {
+                    recordError(e);
+                }
+                if (!think()) {
+                    return;
+                }
+            }
+        }
+
+        private int pickFlight() {
+            int range = HOT_FLIGHTS > 0 ? Math.min(HOT_FLIGHTS, flights) : flights;
+            return 1 + random.nextInt(range);
+        }
+
+        private List<Flight> search(int targetFlight) {
+            long start = System.nanoTime();
+            List<Flight> flights = searchController.searchFlights(origins[targetFlight],
+                    destinations[targetFlight], days[targetFlight].atStartOfDay());
+            searchLatency.recordNanos(System.nanoTime() - start);
+            searches.increment();
+            return flights;
+        }
+
+        private void book() {
+            long start = System.nanoTime();
+            int target = pickFlight();
+            List<Flight> flights = search(target);
+            // the target is on its own route and day, any other result would be as good a choice
+            int flightId = flights.isEmpty() ? target : flights.get(random.nextInt(flights.size())).getFlightId();
+
+            long seatsStart = System.nanoTime();
+            List<Seat> free = searchController.getAvailableSeats(flightId);
+            seatsLatency.recordNanos(System.nanoTime() - seatsStart);
+            int wanted = 1 + random.nextInt(MAX_PASSENGERS);
+            if (free.size() < wanted) {
+                soldOut.increment();
+                return;
+            }
+
+            List<Passenger> passengers = new ArrayList<>(wanted);
+            for (int i = 0; i < wanted; i++) {
+                Seat seat = free.remove(random.nextInt(free.size()));
+                Passenger passenger = new Passenger("Load", "User" + customerId, "P" + random.nextInt(1_000_000),
+                        Passenger.IdType.PASSPORT);
+                passenger.setAge(18 + random.nextInt(60));
+                passenger.setSeatId(seat.getSeatId());
+                passengers.add(passenger);
+            }
+
+            ReservationController reservationController = new ReservationController();
+            reservationController.setPaymentStrategy(
+                    new CreditCardPaymentStrategy("4111111111111111", "Load User", "12/30", "123"));
+            Reservation reservation;
+            long createStart = System.nanoTime();
+            try {
+                reservation = reservationController.createReservation(customerId, flightId, passengers);
+            } catch (IllegalArgumentException e) {
+                // another user took the seat between listing and booking
+                seatConflicts.increment();
+                return;
+            } finally {
+                createLatency.recordNanos(System.nanoTime() - createStart);
+            }
+            reservationController.confirmReservation(reservation.getReservationId());
+            bookingLatency.recordNanos(System.nanoTime() - start);
+            bookings.increment();
+
+            for (Passenger passenger : passengers) {
+                Integer previous = seatHolders.putIfAbsent(passenger.getSeatId(), reservation.getReservationId());
+                if (previous != null) {
+                    doubleSells.increment();
+                }
+            }
+            ownBookings.add(reservation);
+        }
+
+        private void cancel() {
+            Reservation reservation = ownBookings.remove(random.nextInt(ownBookings.size()));
+            long start = System.nanoTime();
+            boolean cancelled = new ReservationController().cancelReservation(reservation.getReservationId());
+            cancelLatency.recordNanos(System.nanoTime() - start);
+            if (!cancelled) {
+                recordError(new IllegalStateException("Cancellation failed"));
+                return;
+            }
+            cancellations.increment();
+            for (Passenger passenger : reservation.getPassengers()) {
+                seatHolders.remove(passenger.getSeatId(), reservation.getReservationId());
+            }
+        }
+
+        private boolean think() {
+            if (THINK_MILLIS <= 0) {
+                return true;
+            }
+            long pause = (long) (-THINK_MILLIS * Math.log(1 - random.nextDouble()));
+            try {
+                Thread.sleep(pause);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private void recordError(RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage().replaceAll("\\d+", "#") : "";
+        errors.computeIfAbsent(e.getClass().getSimpleName() + ": " + message, key -> new LongAdder()).increment();
+    }
+
+    private long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private void report(double seconds) throws SQLException {
+        System.out.println();
+        System.out.printf("Load run: %d users, %.0fs, mix %s, think %dms, %s%n", USERS, seconds, MIX, THINK_MILLIS,
+                HOT_FLIGHTS > 0 ? HOT_FLIGHTS + " hot flights" : flights + " flights");
+        System.out.printf("Throughput   bookings %.1f/s  searches %.1f/s  cancels %.1f/s%n",
+                bookings.sum() / seconds, searches.sum() / seconds, cancellations.sum() / seconds);
+        System.out.println("Latency      booking " + bookingLatency.summary());
+        System.out.println("             search  " + searchLatency.summary());
+        System.out.println("             seats   " + seatsLatency.summary());
+        System.out.println("             create  " + createLatency.summary());
+        System.out.println("             cancel  " + cancelLatency.summary());
+        System.out.printf("Outcomes     booked %d  cancelled %d  seat taken %d  sold out %d  errors %d%n",
+                bookings.sum(), cancellations.sum(), seatConflicts.sum(), soldOut.sum(), errorCount());
+        errors.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(10)
+                .forEach(e -> System.out.printf("             %6d  %s%n", e.getValue().sum(), e.getKey()));
+
+        long samples = Math.max(1, connectionSamples.sum());
+        System.out.printf("Connections  peak %d  mean %.1f  at limit %.1f%% of the time (limit %d)%n",
+                peakConnections.get(), connectionSum.sum() / (double) samples,
+                100.0 * samplesAtLimit.sum() / samples, MAX_CONNECTIONS);
+
+        try (Connection conn = EmbeddedDatabase.getConnection(); Statement stmt = conn.createStatement()) {
+            long heldTwice = count(stmt, "SELECT COUNT(*) FROM (SELECT rp.seat_id FROM reservation_passengers rp "
+                    + "JOIN reservations r ON r.reservation_id = rp.reservation_id "
+                    + "WHERE r.status IN ('PENDING', 'CONFIRMED') GROUP BY rp.seat_id HAVING COUNT(*) > 1) t");
+            long freeButHeld = count(stmt, "SELECT COUNT(*) FROM reservation_passengers rp "
+                    + "JOIN reservations r ON r.reservation_id = rp.reservation_id "
+                    + "JOIN seats s ON s.seat_id = rp.seat_id "
+                    + "WHERE r.status IN ('PENDING', 'CONFIRMED') AND s.status = 'AVAILABLE'");
+            long countDrift = count(stmt, "SELECT COUNT(*) FROM flights f JOIN (SELECT flight_id, COUNT(*) AS free "
+                    + "FROM seats WHERE status = 'AVAILABLE' GROUP BY flight_id) s ON s.flight_id = f.flight_id "
+                    + "WHERE f.available_seats <> s.free");
+            System.out.printf("Double sells %d while running, %d seats held by two live reservations%n",
+                    doubleSells.sum(), heldTwice);
+            System.out.printf("Integrity    %d seats free but held by a live reservation, "
+                    + "%d flights with a wrong available seat count%n", freeButHeld, countDrift);
+        }
+    }
+
+    private static long count(Statement stmt, String sql) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.flightreservation.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.model.entities.Customer;
+import com.flightreservation.model.entities.User;
+import com.flightreservation.observer.CustomerObserver;
+import com.flightreservation.observer.NotificationType;
+
+/**
+ * per recipient cost of a notification with INFO and DEBUG disabled, so what remains is the work done
+ * whether or not anything is written
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationRenderingBenchmark {
+    private static final MethodHandle RENDER = PrivateAccess.method(CustomerObserver.class, "simulateSendEmail",
+            void.class, String.class, String.class, NotificationType.class);
+
+    private static final String SUBJECT = "Flight BA123 delayed";
+    private static final String MESSAGE = "Your flight BA123 from JFK to LHR on 2030-01-01 now departs at "
+            + "21:45 instead of 19:30. We apologise for the inconvenience.";
+
+    private CustomerObserver observer;
+
+    @Setup
+    public void setUp() {
+        User user = new User(1, "bench0", "bench0@example.com", User.UserRole.CUSTOMER);
+        Customer customer = new Customer(1, "1 Bench Street");
+        customer.setUser(user);
+        observer = new CustomerObserver(customer);
+    }
+
+    @Benchmark
+    public void update() {
+        observer.update(SUBJECT, MESSAGE, NotificationType.FLIGHT_DELAY);
+    }
+
+    @Benchmark
+    public void render() throws Throwable {
+        RENDER.invokeExact(observer, SUBJECT, MESSAGE, NotificationType.FLIGHT_DELAY);
+    }
+}
@@ -0,0 +1,41 @@
+package com.flightreservation.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.model.strategies.payment.CreditCardPaymentStrategy;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PaymentValidationBenchmark {
+
+    @Param({ "4111111111111111", "4111-1111-1111-1111", "1234" })
+    public String cardNumber;
+
+    private CreditCardPaymentStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        strategy = new CreditCardPaymentStrategy(cardNumber, "Jane Doe", "12/30", "123");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return strategy.validatePaymentDetails();
+    }
+}
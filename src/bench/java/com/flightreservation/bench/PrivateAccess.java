@@ -0,0 +1,24 @@
+package com.flightreservation.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * handles to private methods of the application, so hot paths can be measured without widening their
+ * visibility in the production code
+ */
+final class PrivateAccess {
+
+    private PrivateAccess() {
+    }
+
+    static MethodHandle method(Class<?> owner, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .findVirtual(owner, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No method " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+}
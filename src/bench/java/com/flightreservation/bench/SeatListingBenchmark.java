@@ -0,0 +1,54 @@
+package com.flightreservation.bench;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.flightreservation.dao.SeatDAO;
+import com.flightreservation.model.entities.Seat;
+
+/**
+ * available seats of a flight with the application's own logback.xml instead of the quiet benchmark
+ * config, so the cost of logging on the seat listing path is part of the measurement
+ *
+ * - run with the console redirected, the appenders write to it and to logs/application.log
+ * - three forks and longer runs than the other benchmarks, the disk writes make single forks too noisy
+ * to compare logging configurations
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(value = 3, jvmArgsAppend = "-Dlogback.configurationFile=logback.xml")
+@State(Scope.Benchmark)
+public class SeatListingBenchmark {
+    private final SeatDAO seatDAO = new SeatDAO();
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchData.ensureSeeded();
+    }
+
+    @Benchmark
+    public List<Seat> getAvailableSeats() {
+        return seatDAO.getAvailableSeats(1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Seat> getAvailableSeatsContended() {
+        return seatDAO.getAvailableSeats(1);
+    }
+}
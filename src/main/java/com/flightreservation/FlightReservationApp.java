@@ -1,5 +1,7 @@
 package com.flightreservation;
 
+import java.time.Duration;
+
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -8,10 +10,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.jobs.JobScheduler;
+import com.flightreservation.observer.NotificationSubject;
+import com.flightreservation.scheduler.DepartureReminderScheduler;
 import com.flightreservation.ui.LoginFrame;
+import com.flightreservation.ui.util.EdtMonitor;
+import com.flightreservation.util.SeatChangeFeed;
+import com.flightreservation.util.SessionStore;
 
 public class FlightReservationApp {
     private static final Logger logger = LoggerFactory.getLogger(FlightReservationApp.class);
+    // seat changes made by other instances reach open dialogs through this poll, 0 turns it off
+    private static final long SEAT_POLL_SECONDS = Long.getLong("seats.pollSeconds", 3);
 
     public static void main(String[] args) {
         logger.info("Starting Flight Reservation Application...");
@@ -21,12 +31,18 @@ public class FlightReservationApp {
         } catch (Exception e) {
             logger.warn("Failed to set system look and feel", e);
         }
+        EdtMonitor.getInstance().start();
 
         SwingUtilities.invokeLater(() -> {
             DatabaseManager dbManager = DatabaseManager.getInstance();
 
             if (dbManager.testConnection()) {
                 logger.info("Database connection successful");
+                JobScheduler.getInstance().registerDefaultJobs();
+                JobScheduler.getInstance().start();
+                if (SEAT_POLL_SECONDS > 0) {
+                    SeatChangeFeed.getInstance().startPolling(Duration.ofSeconds(SEAT_POLL_SECONDS));
+                }
                 LoginFrame loginFrame = new LoginFrame();
                 loginFrame.setVisible(true);
             } else {
@@ -43,6 +59,11 @@ public class FlightReservationApp {
         });
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Shutting down application...");
+            JobScheduler.getInstance().stop();
+            DepartureReminderScheduler.getInstance().stop();
+            SessionStore.getInstance().stop();
+            SeatChangeFeed.getInstance().stop();
+            NotificationSubject.getInstance().shutdown();
             DatabaseManager.getInstance().shutdown();
         }));
     }
@@ -0,0 +1,61 @@
+package com.flightreservation;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.api.ApiRoutes;
+import com.flightreservation.api.ApiServer;
+import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.jobs.JobScheduler;
+import com.flightreservation.observer.NotificationSubject;
+import com.flightreservation.scheduler.DepartureReminderScheduler;
+import com.flightreservation.util.SessionStore;
+
+/**
+ * headless entry point, serves the controllers over HTTP/JSON instead of opening the Swing UI
+ */
+public class FlightReservationServer {
+    private static final Logger logger = LoggerFactory.getLogger(FlightReservationServer.class);
+    private static final int PORT = Integer.getInteger("api.port", 8080);
+    // requests doing work at once, each holds a database connection while it runs
+    private static final int MAX_CONCURRENT = Integer.getInteger("api.maxConcurrent", 64);
+    private static final long ADMISSION_WAIT_MILLIS = Long.getLong("api.admissionWaitMillis", 100);
+    private static final long REQUEST_TIMEOUT_MILLIS = Long.getLong("api.requestTimeoutMillis", 10_000);
+
+    public static void main(String[] args) {
+        logger.info("Starting Flight Reservation API server...");
+
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        if (!dbManager.testConnection()) {
+            logger.error("Failed to connect to database, check src/main/resources/database.properties");
+            System.exit(1);
+        }
+        logger.info("Database connection successful");
+
+        JobScheduler.getInstance().registerDefaultJobs();
+        JobScheduler.getInstance().start();
+
+        ApiServer server = new ApiServer(PORT, MAX_CONCURRENT, Duration.ofMillis(ADMISSION_WAIT_MILLIS),
+                Duration.ofMillis(REQUEST_TIMEOUT_MILLIS));
+        ApiRoutes.register(server);
+        try {
+            server.start();
+        } catch (IOException e) {
+            logger.error("Could not listen on port {}", PORT, e);
+            System.exit(1);
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            logger.info("Shutting down API server...");
+            server.stop();
+            JobScheduler.getInstance().stop();
+            DepartureReminderScheduler.getInstance().stop();
+            SessionStore.getInstance().stop();
+            NotificationSubject.getInstance().shutdown();
+            DatabaseManager.getInstance().shutdown();
+        }));
+    }
+}
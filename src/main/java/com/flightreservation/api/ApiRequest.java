@@ -0,0 +1,205 @@
+package com.flightreservation.api;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.flightreservation.database.QueryHandle;
+
+/**
+ * one HTTP request as the handlers see it, with typed accessors that fail with 400 on bad input
+ */
+public final class ApiRequest {
+    private final String method;
+    private final String path;
+    private final Map<String, String> pathParams;
+    private final Map<String, String> query;
+    private final String body;
+    private final String remoteAddress;
+    private final AuthContext auth;
+    private final QueryHandle queryHandle;
+    private Map<String, Object> json;
+
+    ApiRequest(String method, String path, Map<String, String> pathParams, String rawQuery, String body,
+            String remoteAddress, AuthContext auth, QueryHandle queryHandle) {
+        this.method = method;
+        this.path = path;
+        this.pathParams = pathParams;
+        this.query = parseQuery(rawQuery);
+        this.body = body;
+        this.remoteAddress = remoteAddress;
+        this.auth = auth;
+        this.queryHandle = queryHandle;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * handle for long queries of this request, cancelled by the server when the request times out
+     */
+    public QueryHandle getQueryHandle() {
+        return queryHandle;
+    }
+
+    /**
+     * caller's auth context, or null for anonymous requests
+     */
+    public AuthContext getAuth() {
+        return auth;
+    }
+
+    /**
+     * @throws ApiException 401 when the request is anonymous
+     */
+    public AuthContext requireAuth() {
+        if (auth == null) {
+            throw ApiException.unauthorized("Login required");
+        }
+        return auth;
+    }
+
+    public String pathParam(String name) {
+        return pathParams.get(name);
+    }
+
+    public int pathInt(String name) {
+        return toInt(name, pathParams.get(name));
+    }
+
+    public String query(String name) {
+        return query.get(name);
+    }
+
+    public String requireQuery(String name) {
+        String value = query.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw ApiException.badRequest("Query parameter '" + name + "' is required");
+        }
+        return value.trim();
+    }
+
+    public int queryInt(String name, int defaultValue) {
+        String value = query.get(name);
+        return value == null ? defaultValue : toInt(name, value);
+    }
+
+    /**
+     * request body as a JSON object, an empty body reads as an empty object
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> json() {
+        if (json == null) {
+            if (body == null || body.trim().isEmpty()) {
+                json = Collections.emptyMap();
+            } else {
+                Object parsed;
+                try {
+                    parsed = Json.parse(body);
+                } catch (IllegalArgumentException e) {
+                    throw ApiException.badRequest(e.getMessage());
+                }
+                if (!(parsed instanceof Map)) {
+                    throw ApiException.badRequest("Request body must be a JSON object");
+                }
+                json = (Map<String, Object>) parsed;
+            }
+        }
+        return json;
+    }
+
+    public static String string(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String)) {
+            throw ApiException.badRequest("'" + name + "' must be a string");
+        }
+        return ((String) value).trim();
+    }
+
+    public static String requireString(Map<String, Object> object, String name) {
+        String value = string(object, name);
+        if (value == null || value.isEmpty()) {
+            throw ApiException.badRequest("'" + name + "' is required");
+        }
+        return value;
+    }
+
+    public static Integer integer(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Long) || (Long) value > Integer.MAX_VALUE || (Long) value < Integer.MIN_VALUE) {
+            throw ApiException.badRequest("'" + name + "' must be an integer");
+        }
+        return ((Long) value).intValue();
+    }
+
+    public static int requireInt(Map<String, Object> object, String name) {
+        Integer value = integer(object, name);
+        if (value == null) {
+            throw ApiException.badRequest("'" + name + "' is required");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> object(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value != null && !(value instanceof Map)) {
+            throw ApiException.badRequest("'" + name + "' must be an object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<Object> array(Map<String, Object> object, String name) {
+        Object value = object.get(name);
+        if (value != null && !(value instanceof List)) {
+            throw ApiException.badRequest("'" + name + "' must be an array");
+        }
+        return (List<Object>) value;
+    }
+
+    private static int toInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw ApiException.badRequest("'" + name + "' must be an integer");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            try {
+                params.putIfAbsent(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Malformed query string");
+            }
+        }
+        return params;
+    }
+}
@@ -0,0 +1,363 @@
+package com.flightreservation.api;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.flightreservation.controller.FlightSearchController;
+import com.flightreservation.controller.ReservationController;
+import com.flightreservation.dao.UserDAO;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.model.entities.Customer;
+import com.flightreservation.model.entities.Flight;
+import com.flightreservation.model.entities.Passenger;
+import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.Seat;
+import com.flightreservation.model.entities.User;
+import com.flightreservation.model.strategies.payment.BankTransferPaymentStrategy;
+import com.flightreservation.model.strategies.payment.CreditCardPaymentStrategy;
+import com.flightreservation.model.strategies.payment.DebitCardPaymentStrategy;
+import com.flightreservation.model.strategies.payment.PayPalPaymentStrategy;
+import com.flightreservation.model.strategies.payment.PaymentStrategy;
+import com.flightreservation.util.SeatMapCache;
+import com.flightreservation.util.Session;
+import com.flightreservation.util.SessionStore;
+
+/**
+ * the API's endpoints, thin adapters from JSON to the controllers the Swing UI uses
+ *
+ * POST /api/login, POST /api/logout
+ * GET  /api/flights?origin=&destination=&date=&limit=, GET /api/flights/{id}, GET /api/flights/{id}/seats
+ * POST /api/reservations, GET /api/reservations, GET /api/reservations/{confirmation},
+ * POST /api/reservations/{confirmation}/cancel
+ * GET  /api/status, GET /api/metrics?format=text (unless metrics.endpoint=false)
+ */
+public final class ApiRoutes {
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
+
+    private final ApiServer server;
+    private final UserDAO userDAO = new UserDAO();
+    private final SessionStore sessionStore = SessionStore.getInstance();
+    private final FlightSearchController flightSearchController = new FlightSearchController();
+    private final SeatMapCache seatMapCache = SeatMapCache.getInstance();
+
+    private ApiRoutes(ApiServer server) {
+        this.server = server;
+    }
+
+    public static void register(ApiServer server) {
+        ApiRoutes routes = new ApiRoutes(server);
+        server.route("POST", "/api/login", routes::login)
+                .route("POST", "/api/logout", routes::logout)
+                .route("GET", "/api/flights", routes::searchFlights)
+                .route("GET", "/api/flights/{id}", routes::getFlight)
+                .route("GET", "/api/flights/{id}/seats", routes::getSeatMap)
+                .route("POST", "/api/reservations", routes::createReservation)
+                .route("GET", "/api/reservations", routes::listReservations)
+                .route("GET", "/api/reservations/{confirmation}", routes::getReservation)
+                .route("POST", "/api/reservations/{confirmation}/cancel", routes::cancelReservation)
+                .route("GET", "/api/status", routes::status);
+        if (Boolean.parseBoolean(System.getProperty("metrics.endpoint", "true"))) {
+            server.route("GET", "/api/metrics", routes::metrics);
+        }
+    }
+
+    private Object login(ApiRequest request) {
+        Map<String, Object> body = request.json();
+        String username = ApiRequest.requireString(body, "username");
+        String password = ApiRequest.requireString(body, "password");
+
+        User user = userDAO.authenticate(username, password);
+        if (user == null) {
+            throw ApiException.unauthorized("Invalid username or password");
+        }
+        Session session = sessionStore.start(user, request.getRemoteAddress());
+        if (session == null) {
+            throw new IllegalStateException("Could not start a session");
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", session.getSessionId());
+        result.put("userId", user.getUserId());
+        result.put("username", user.getUsername());
+        result.put("role", user.getRole());
+        return result;
+    }
+
+    private Object logout(ApiRequest request) {
+        sessionStore.end(request.requireAuth().getSession());
+        return null;
+    }
+
+    private Object searchFlights(ApiRequest request) throws Exception {
+        String origin = request.requireQuery("origin").toUpperCase();
+        String destination = request.requireQuery("destination").toUpperCase();
+        LocalDate date;
+        try {
+            date = LocalDate.parse(request.requireQuery("date"));
+        } catch (DateTimeParseException e) {
+            throw ApiException.badRequest("'date' must be YYYY-MM-DD");
+        }
+        int limit = Math.max(1, Math.min(MAX_SEARCH_LIMIT, request.queryInt("limit", DEFAULT_SEARCH_LIMIT)));
+
+        List<Flight> flights = flightSearchController.searchFlightsLive(origin, destination, date, limit,
+                request.getQueryHandle());
+        List<Object> result = new ArrayList<>(flights.size());
+        for (Flight flight : flights) {
+            result.add(toJson(flight));
+        }
+        return result;
+    }
+
+    private Object getFlight(ApiRequest request) {
+        try {
+            return toJson(flightSearchController.getFlightDetails(request.pathInt("id")));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.notFound(e.getMessage());
+        }
+    }
+
+    private Object getSeatMap(ApiRequest request) {
+        int flightId = request.pathInt("id");
+        SeatMapCache.SeatMap seatMap = seatMapCache.get(flightId);
+        if (seatMap.getSeats().isEmpty()) {
+            // tells an unknown flight apart from one without a seat map, only on the rare empty result
+            getFlight(request);
+        }
+
+        List<Object> seats = new ArrayList<>(seatMap.getSeats().size());
+        for (Seat seat : seatMap.getSeats()) {
+            seats.add(toJson(seat));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("flightId", flightId);
+        result.put("availableByClass", seatMap.getAvailableByClass());
+        result.put("seats", seats);
+        return result;
+    }
+
+    private Object createReservation(ApiRequest request) {
+        AuthContext auth = request.requireAuth();
+        Map<String, Object> body = request.json();
+        int flightId = ApiRequest.requireInt(body, "flightId");
+        int customerId = customerFor(auth, ApiRequest.integer(body, "customerId"));
+
+        List<Object> passengerList = ApiRequest.array(body, "passengers");
+        if (passengerList == null || passengerList.isEmpty()) {
+            throw ApiException.badRequest("At least one passenger is required");
+        }
+        List<Passenger> passengers = new ArrayList<>(passengerList.size());
+        for (Object entry : passengerList) {
+            if (!(entry instanceof Map)) {
+                throw ApiException.badRequest("'passengers' must contain objects");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> passenger = (Map<String, Object>) entry;
+            passengers.add(toPassenger(passenger));
+        }
+
+        Map<String, Object> payment = ApiRequest.object(body, "payment");
+        if (payment == null) {
+            throw ApiException.badRequest("'payment' is required");
+        }
+        PaymentStrategy paymentStrategy = toPaymentStrategy(payment);
+        if (!paymentStrategy.validatePaymentDetails()) {
+            throw ApiException.badRequest("Invalid payment details");
+        }
+
+        // the controller keeps the payment strategy as state, so every booking gets its own
+        ReservationController reservationController = new ReservationController();
+        reservationController.setPaymentStrategy(paymentStrategy);
+        Reservation reservation = reservationController.createReservation(customerId, flightId, passengers);
+        reservationController.confirmReservation(reservation.getReservationId());
+        reservation.setStatus(Reservation.ReservationStatus.CONFIRMED);
+        seatMapCache.invalidate(flightId);
+        return ApiServer.created(toJson(reservation));
+    }
+
+    private Object listReservations(ApiRequest request) {
+        AuthContext auth = request.requireAuth();
+        String requested = request.query("customerId");
+        int customerId = customerFor(auth, requested != null ? request.queryInt("customerId", 0) : null);
+
+        List<Object> result = new ArrayList<>();
+        for (Reservation reservation : new ReservationController().getCustomerReservations(customerId)) {
+            result.add(toJson(reservation));
+        }
+        return result;
+    }
+
+    private Object getReservation(ApiRequest request) {
+        return toJson(findAccessibleReservation(request, new ReservationController()));
+    }
+
+    private Object cancelReservation(ApiRequest request) {
+        ReservationController reservationController = new ReservationController();
+        Reservation reservation = findAccessibleReservation(request, reservationController);
+        if (!reservationController.cancelReservation(reservation.getReservationId())) {
+            throw new IllegalStateException("Reservation could not be cancelled");
+        }
+        seatMapCache.invalidate(reservation.getFlightId());
+        return toJson(reservationController.getReservationById(reservation.getReservationId()));
+    }
+
+    private Object status(ApiRequest request) {
+        return server.getStats();
+    }
+
+    private Object metrics(ApiRequest request) {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        if ("text".equals(request.query("format"))) {
+            return ApiServer.Response.text(metrics.toText());
+        }
+        return metrics.snapshot();
+    }
+
+    /**
+     * reservation by confirmation number, 404 as well when it belongs to someone else so numbers
+     * cannot be probed
+     */
+    private Reservation findAccessibleReservation(ApiRequest request, ReservationController reservationController) {
+        AuthContext auth = request.requireAuth();
+        Reservation reservation = reservationController.getReservationByConfirmation(
+                request.pathParam("confirmation"));
+        if (reservation == null || !auth.canAccess(reservation)) {
+            throw ApiException.notFound("Reservation not found");
+        }
+        return reservation;
+    }
+
+    /**
+     * customers always act for themselves, staff must say which customer they act for
+     */
+    private static int customerFor(AuthContext auth, Integer requestedCustomerId) {
+        if (auth.isStaff()) {
+            if (requestedCustomerId == null) {
+                throw ApiException.badRequest("'customerId' is required");
+            }
+            return requestedCustomerId;
+        }
+        Customer customer = auth.getCustomer();
+        if (customer == null) {
+            throw ApiException.forbidden("No customer profile for this account");
+        }
+        if (requestedCustomerId != null && requestedCustomerId != customer.getCustomerId()) {
+            throw ApiException.forbidden("Customers can only act for themselves");
+        }
+        return customer.getCustomerId();
+    }
+
+    private static Passenger toPassenger(Map<String, Object> json) {
+        Passenger passenger = new Passenger();
+        passenger.setFirstName(ApiRequest.requireString(json, "firstName"));
+        passenger.setLastName(ApiRequest.requireString(json, "lastName"));
+        Integer age = ApiRequest.integer(json, "age");
+        passenger.setAge(age != null ? age : 0);
+        String idType = ApiRequest.requireString(json, "idType");
+        try {
+            passenger.setIdType(Passenger.IdType.valueOf(idType.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Unknown idType '" + idType + "'");
+        }
+        passenger.setIdNumber(ApiRequest.requireString(json, "idNumber"));
+        passenger.setContactEmail(ApiRequest.string(json, "email"));
+        passenger.setContactPhone(ApiRequest.string(json, "phone"));
+        passenger.setSeatId(ApiRequest.requireInt(json, "seatId"));
+        return passenger;
+    }
+
+    private static PaymentStrategy toPaymentStrategy(Map<String, Object> json) {
+        String method = ApiRequest.requireString(json, "method").toUpperCase();
+        switch (method) {
+            case "CREDIT_CARD":
+                return new CreditCardPaymentStrategy(
+                        ApiRequest.requireString(json, "cardNumber"),
+                        ApiRequest.requireString(json, "cardHolder"),
+                        ApiRequest.requireString(json, "expiryDate"),
+                        ApiRequest.requireString(json, "cvv"));
+            case "DEBIT_CARD":
+                return new DebitCardPaymentStrategy(
+                        ApiRequest.requireString(json, "cardNumber"),
+                        ApiRequest.requireString(json, "cardHolder"),
+                        ApiRequest.requireString(json, "expiryDate"),
+                        ApiRequest.requireString(json, "cvv"));
+            case "PAYPAL":
+                return new PayPalPaymentStrategy(
+                        ApiRequest.requireString(json, "email"),
+                        ApiRequest.requireString(json, "password"));
+            case "BANK_TRANSFER":
+                return new BankTransferPaymentStrategy(
+                        ApiRequest.requireString(json, "bankName"),
+                        ApiRequest.requireString(json, "accountNumber"),
+                        ApiRequest.requireString(json, "routingNumber"),
+                        ApiRequest.requireString(json, "accountHolder"));
+            default:
+                throw ApiException.badRequest("Unknown payment method '" + method + "'");
+        }
+    }
+
+    private static Map<String, Object> toJson(Flight flight) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("flightId", flight.getFlightId());
+        json.put("flightNumber", flight.getFlightNumber());
+        if (flight.getAirline() != null) {
+            json.put("airline", flight.getAirline().getAirlineName());
+            json.put("airlineCode", flight.getAirline().getAirlineCode());
+        }
+        if (flight.getRoute() != null) {
+            json.put("origin", flight.getRoute().getOriginAirport());
+            json.put("destination", flight.getRoute().getDestinationAirport());
+        }
+        json.put("departureTime", flight.getDepartureTime());
+        json.put("arrivalTime", flight.getArrivalTime());
+        json.put("duration", flight.getDuration());
+        json.put("status", flight.getStatus());
+        json.put("basePrice", flight.getBasePrice());
+        json.put("availableSeats", flight.getAvailableSeats());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Seat seat) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("seatId", seat.getSeatId());
+        json.put("seatNumber", seat.getSeatNumber());
+        json.put("seatClass", seat.getSeatClass());
+        json.put("seatType", seat.getSeatType());
+        json.put("price", seat.getPrice());
+        json.put("status", seat.getStatus());
+        return json;
+    }
+
+    private static Map<String, Object> toJson(Reservation reservation) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("reservationId", reservation.getReservationId());
+        json.put("confirmationNumber", reservation.getConfirmationNumber());
+        json.put("status", reservation.getStatus());
+        json.put("reservationDate", reservation.getReservationDate());
+        json.put("totalFare", reservation.getTotalFare());
+        json.put("customerId", reservation.getCustomerId());
+        json.put("flightId", reservation.getFlightId());
+        if (reservation.getFlight() != null) {
+            json.put("flight", toJson(reservation.getFlight()));
+        }
+        List<Object> passengers = new ArrayList<>();
+        if (reservation.getPassengers() != null) {
+            for (Passenger passenger : reservation.getPassengers()) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("firstName", passenger.getFirstName());
+                entry.put("lastName", passenger.getLastName());
+                entry.put("seatId", passenger.getSeatId());
+                if (passenger.getSeat() != null) {
+                    entry.put("seatNumber", passenger.getSeat().getSeatNumber());
+                }
+                passengers.add(entry);
+            }
+        }
+        json.put("passengers", passengers);
+        return json;
+    }
+}
@@ -0,0 +1,430 @@
+package com.flightreservation.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.database.QueryHandle;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.util.LatencyHistogram;
+import com.flightreservation.util.SessionContext;
+import com.flightreservation.util.SessionStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JSON over HTTP on the JDK's built-in server
+ *
+ * - every request runs on its own virtual thread when the JVM has them, on a cached pool otherwise
+ * - at most maxConcurrent requests do work at once, a request that cannot get a slot within the
+ * admission wait is answered 503 right away instead of queueing behind the database
+ * - a request still running after the timeout is answered 504 and its query cancelled, its slot is
+ * only given back once the work really stops so admission reflects actual database load, or right
+ * away when the cancelled work never started
+ * - the caller's identity is resolved per request from its bearer token, see {@link AuthContext}, and
+ * is the {@link SessionContext} of the handler's thread
+ */
+public class ApiServer {
+    private static final Logger logger = LoggerFactory.getLogger(ApiServer.class);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+    private final int port;
+    private final int maxConcurrent;
+    private final long admissionWaitMillis;
+    private final long requestTimeoutMillis;
+    private final Semaphore permits;
+    private final List<Route> routes = new ArrayList<>();
+    private final SessionStore sessionStore = SessionStore.getInstance();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService dispatchers;
+    private ExecutorService workers;
+    private boolean virtualThreads;
+
+    /**
+     * handles one route, returns the response body or a {@link Response} for a status other than 200
+     */
+    public interface Handler {
+        Object handle(ApiRequest request) throws Exception;
+    }
+
+    public static final class Response {
+        private final int status;
+        private final Object body;
+        private final boolean text;
+
+        public Response(int status, Object body) {
+            this(status, body, false);
+        }
+
+        private Response(int status, Object body, boolean text) {
+            this.status = status;
+            this.body = body;
+            this.text = text;
+        }
+
+        /**
+         * 200 with a text/plain body written as is
+         */
+        public static Response text(String body) {
+            return new Response(200, body, true);
+        }
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String[] segments;
+        private final Handler handler;
+
+        Route(String method, String pattern, Handler handler) {
+            this.method = method;
+            this.segments = split(pattern);
+            this.handler = handler;
+        }
+
+        /**
+         * path parameters when the path matches the pattern, otherwise null
+         */
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = null;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.startsWith("{")) {
+                    if (params == null) {
+                        params = new HashMap<>();
+                    }
+                    params.put(segment.substring(1, segment.length() - 1), path[i]);
+                } else if (!segment.equals(path[i])) {
+                    return null;
+                }
+            }
+            return params != null ? params : Collections.emptyMap();
+        }
+    }
+
+    public ApiServer(int port, int maxConcurrent, Duration admissionWait, Duration requestTimeout) {
+        this.port = port;
+        this.maxConcurrent = maxConcurrent;
+        this.admissionWaitMillis = admissionWait.toMillis();
+        this.requestTimeoutMillis = requestTimeout.toMillis();
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    private void registerGauges() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("api.ApiServer.inFlight", () -> maxConcurrent - permits.availablePermits());
+        metrics.gauge("api.ApiServer.maxConcurrent", () -> maxConcurrent);
+        metrics.gauge("api.ApiServer.served", served::get);
+        metrics.gauge("api.ApiServer.rejected", rejected::get);
+        metrics.gauge("api.ApiServer.timedOut", timedOut::get);
+        metrics.gauge("api.ApiServer.failed", failed::get);
+    }
+
+    /**
+     * registers a route, patterns are literal segments and {name} placeholders, e.g. /api/flights/{id}
+     */
+    public ApiServer route(String method, String pattern, Handler handler) {
+        routes.add(new Route(method, pattern, handler));
+        return this;
+    }
+
+    public static Response created(Object body) {
+        return new Response(201, body);
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        dispatchers = newRequestExecutor("api-dispatch");
+        workers = newRequestExecutor("api-worker");
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::dispatch);
+        server.setExecutor(dispatchers);
+        server.start();
+        registerGauges();
+        logger.info("API listening on port {} ({} threads, {} concurrent, {} ms timeout)", getPort(),
+                virtualThreads ? "virtual" : "platform", maxConcurrent, requestTimeoutMillis);
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(1);
+        workers.shutdownNow();
+        dispatchers.shutdownNow();
+        server = null;
+        logger.info("API stopped, {}", latency.summary());
+    }
+
+    /**
+     * port actually bound, differs from the configured one when that was 0
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * counters and latency for the status endpoint
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("virtualThreads", virtualThreads);
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("inFlight", maxConcurrent - permits.availablePermits());
+        stats.put("served", served.get());
+        stats.put("rejected", rejected.get());
+        stats.put("timedOut", timedOut.get());
+        stats.put("failed", failed.get());
+        stats.put("latency", latency.summary());
+        return stats;
+    }
+
+    private ExecutorService newRequestExecutor(String name) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            virtualThreads = true;
+            return executor;
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            // the build targets Java 11, on older runtimes the admission limit keeps the pool in check
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) {
+        long start = System.nanoTime();
+        try {
+            Response response = process(exchange);
+            send(exchange, response);
+        } catch (IOException e) {
+            logger.debug("Client went away during {} {}", exchange.getRequestMethod(),
+                    exchange.getRequestURI().getPath());
+        } finally {
+            exchange.close();
+            latency.recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    private Response process(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = split(path);
+
+        Route route = null;
+        Map<String, String> pathParams = null;
+        boolean pathKnown = false;
+        for (Route candidate : routes) {
+            Map<String, String> params = candidate.match(segments);
+            if (params == null) {
+                continue;
+            }
+            pathKnown = true;
+            if (candidate.method.equals(method)) {
+                route = candidate;
+                pathParams = params;
+                break;
+            }
+        }
+        if (route == null) {
+            return pathKnown ? error(405, "Method not allowed") : error(404, "Not found");
+        }
+
+        String body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            return error(413, "Request body too large");
+        }
+
+        try {
+            if (!permits.tryAcquire(admissionWaitMillis, TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                return error(503, "Server busy, retry later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(503, "Server shutting down");
+        }
+
+        Route matched = route;
+        Map<String, String> params = pathParams;
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String remoteAddress = exchange.getRemoteAddress().getAddress().getHostAddress();
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        QueryHandle queryHandle = new QueryHandle();
+
+        // the permit goes back exactly once, from the task or from a cancel that beat the task to its start
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        Future<Response> work;
+        try {
+            work = workers.submit(() -> {
+                started.set(true);
+                try {
+                    AuthContext auth = AuthContext.resolve(authorization, sessionStore);
+                    ApiRequest request = new ApiRequest(method, path, params, rawQuery, body, remoteAddress, auth,
+                            queryHandle);
+                    try (SessionContext.Scope scope = SessionContext.open(auth != null ? auth.getSession() : null)) {
+                        return handle(matched, request);
+                    }
+                } finally {
+                    releasePermit.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermit.run();
+            return error(503, "Server shutting down");
+        }
+
+        try {
+            Response response = work.get(requestTimeoutMillis, TimeUnit.MILLISECONDS);
+            served.incrementAndGet();
+            return response;
+        } catch (TimeoutException e) {
+            timedOut.incrementAndGet();
+            queryHandle.cancel();
+            if (work.cancel(true) && !started.get()) {
+                releasePermit.run();
+            }
+            logger.warn("{} {} timed out after {} ms", method, path, requestTimeoutMillis);
+            return error(504, "Request timed out");
+        } catch (ExecutionException e) {
+            return fromException(method, path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (work.cancel(true) && !started.get()) {
+                releasePermit.run();
+            }
+            return error(503, "Server shutting down");
+        }
+    }
+
+    private Response handle(Route route, ApiRequest request) {
+        try {
+            Object result = route.handler.handle(request);
+            if (result instanceof Response) {
+                return (Response) result;
+            }
+            return result == null ? new Response(204, null) : new Response(200, result);
+        } catch (Exception e) {
+            return fromException(request.getMethod(), request.getPath(), e);
+        }
+    }
+
+    private Response fromException(String method, String path, Throwable e) {
+        if (e instanceof ApiException) {
+            return error(((ApiException) e).getStatus(), e.getMessage());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return error(400, e.getMessage());
+        }
+        if (e instanceof IllegalStateException) {
+            return error(409, e.getMessage());
+        }
+        if (e instanceof InterruptedException) {
+            // cancelled after a timeout or on shutdown, the client already got its answer
+            return error(503, "Request cancelled");
+        }
+        failed.incrementAndGet();
+        if (e instanceof SQLException) {
+            logger.error("Database error in {} {}", method, path, e);
+            return error(500, "Database error");
+        }
+        logger.error("Unexpected error in {} {}", method, path, e);
+        return error(500, "Internal error");
+    }
+
+    private static Response error(int status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", message != null ? message : "Error " + status);
+        return new Response(status, body);
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body == null) {
+            exchange.sendResponseHeaders(response.status, -1);
+            return;
+        }
+        String body = response.text ? response.body.toString() : Json.write(response.body);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.text ? TEXT_TYPE : JSON_TYPE);
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * request body as text, null when it is larger than the limit
+     */
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            if (buffer.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+}
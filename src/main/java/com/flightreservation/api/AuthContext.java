@@ -0,0 +1,89 @@
+package com.flightreservation.api;
+
+import java.sql.SQLException;
+
+import com.flightreservation.controller.CustomerManagementController;
+import com.flightreservation.model.entities.Customer;
+import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.User;
+import com.flightreservation.util.Session;
+import com.flightreservation.util.SessionStore;
+
+/**
+ * who is calling, resolved once per request from its bearer token through the {@link SessionStore},
+ * so concurrent requests of different users never see each other's session
+ */
+public final class AuthContext {
+    private static final String BEARER = "Bearer ";
+
+    private final Session session;
+    private final User user;
+    private Customer customer;
+    private boolean customerLoaded;
+
+    private AuthContext(Session session) {
+        this.session = session;
+        this.user = session.getUser();
+    }
+
+    /**
+     * resolves the Authorization header, null when the request carries no token
+     *
+     * @throws ApiException 401 when a token is sent but does not belong to an active session
+     */
+    static AuthContext resolve(String authorization, SessionStore sessionStore) throws SQLException {
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        String token = authorization.substring(BEARER.length()).trim();
+        Session session = token.isEmpty() ? null : sessionStore.find(token);
+        if (session == null) {
+            throw ApiException.unauthorized("Session expired or invalid");
+        }
+        return new AuthContext(session);
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public String getSessionId() {
+        return session.getSessionId();
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public User.UserRole getRole() {
+        return user.getRole();
+    }
+
+    /**
+     * agents and admins act on behalf of any customer
+     */
+    public boolean isStaff() {
+        return user.getRole() == User.UserRole.AGENT || user.getRole() == User.UserRole.ADMIN;
+    }
+
+    /**
+     * customer record of the caller, loaded on first use, null for staff accounts
+     */
+    public Customer getCustomer() {
+        if (!customerLoaded) {
+            customer = user.getRole() == User.UserRole.CUSTOMER
+                    ? new CustomerManagementController().getCustomerByUserId(user.getUserId())
+                    : null;
+            customerLoaded = true;
+        }
+        return customer;
+    }
+
+    public boolean canAccess(Reservation reservation) {
+        if (isStaff()) {
+            return true;
+        }
+        Customer own = getCustomer();
+        return own != null && own.getCustomerId() == reservation.getCustomerId();
+    }
+}
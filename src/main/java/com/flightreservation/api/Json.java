@@ -0,0 +1,312 @@
+package com.flightreservation.api;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * minimal JSON reader and writer for the API, no dependency needed for the handful of shapes we use
+ *
+ * - objects parse to LinkedHashMap, arrays to ArrayList, integral numbers to Long, others to Double
+ * - writes maps, collections, strings, numbers, booleans, enums and java.time values, anything else
+ * is written as its toString
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    public static String write(Object value) {
+        StringBuilder out = new StringBuilder(256);
+        writeValue(out, value);
+        return out.toString();
+    }
+
+    /**
+     * parses a JSON document, throws IllegalArgumentException with the offset when it is malformed
+     */
+    public static Object parse(String text) {
+        Parser parser = new Parser(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    private static void writeValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String) {
+            writeString(out, (String) value);
+        } else if (value instanceof Number) {
+            writeNumber(out, (Number) value);
+        } else if (value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeString(out, String.valueOf(entry.getKey()));
+                out.append(':');
+                writeValue(out, entry.getValue());
+            }
+            out.append('}');
+        } else if (value instanceof Collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeValue(out, element);
+            }
+            out.append(']');
+        } else if (value instanceof Enum) {
+            writeString(out, ((Enum<?>) value).name());
+        } else if (value instanceof TemporalAccessor) {
+            writeString(out, value.toString());
+        } else {
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void writeNumber(StringBuilder out, Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                out.append("null");
+                return;
+            }
+            if (d == Math.rint(d) && Math.abs(d) < 1e15) {
+                out.append((long) d);
+                return;
+            }
+        }
+        out.append(number);
+    }
+
+    private static void writeString(StringBuilder out, String s) {
+        out.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Object readValue() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    return readLiteral("true", Boolean.TRUE);
+                case 'f':
+                    return readLiteral("false", Boolean.FALSE);
+                case 'n':
+                    return readLiteral("null", null);
+                default:
+                    if (c == '-' || (c >= '0' && c <= '9')) {
+                        return readNumber();
+                    }
+                    throw error("Unexpected character '" + c + "'");
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek() != '"') {
+                    throw error("Expected a property name");
+                }
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                object.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return object;
+                }
+            }
+        }
+
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return array;
+            }
+            while (true) {
+                skipWhitespace();
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return array;
+                }
+            }
+        }
+
+        private String readString() {
+            pos++;
+            StringBuilder value = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Bad unicode escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Bad unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private Number readNumber() {
+            int start = pos;
+            boolean integral = true;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '.' || c == 'e' || c == 'E') {
+                    integral = false;
+                } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                    break;
+                }
+                pos++;
+            }
+            String number = text.substring(start, pos);
+            try {
+                return integral ? (Number) Long.valueOf(number) : (Number) Double.valueOf(number);
+            } catch (NumberFormatException e) {
+                throw error("Bad number '" + number + "'");
+            }
+        }
+
+        private Object readLiteral(String literal, Object value) {
+            if (!text.startsWith(literal, pos)) {
+                throw error("Unexpected token");
+            }
+            pos += literal.length();
+            return value;
+        }
+
+        private char peek() {
+            return pos < text.length() ? text.charAt(pos) : '\0';
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw error("Expected '" + c + "'");
+            }
+            pos++;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed JSON at offset " + pos + ": " + message);
+        }
+    }
+}
@@ -17,6 +17,11 @@ import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Reservation;
 import com.flightreservation.model.entities.Route;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.observer.NotificationAudience;
+import com.flightreservation.observer.NotificationSubject;
+import com.flightreservation.observer.NotificationType;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
 
 public class AdminController {
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
@@ -37,95 +42,161 @@ public class AdminController {
     }
 
     public List<Flight> getAllFlights() {
-        return flightDAO.getAllFlights();
+        try (Span span = Tracer.start("AdminController.getAllFlights")) {
+            return flightDAO.getAllFlights();
+        }
     }
 
     public boolean createFlight(Flight flight) {
-        logger.info("Creating new flight: {}", flight.getFlightNumber());
+        try (Span span = Tracer.start("AdminController.createFlight")) {
+            logger.info("Creating new flight: {}", flight.getFlightNumber());
 
-        validateFlight(flight);
+            validateFlight(flight);
 
-        if (hasScheduleConflict(flight)) {
-            throw new IllegalStateException("Aircraft is already scheduled for this time period");
-        }
+            if (hasScheduleConflict(flight)) {
+                throw new IllegalStateException("Aircraft is already scheduled for this time period");
+            }
 
-        if (flightDAO.createFlight(flight)) {
-            generateSeatsForFlight(flight);
-            logger.info("Flight created successfully");
-            return true;
+            if (flightDAO.createFlight(flight)) {
+                generateSeatsForFlight(flight);
+                logger.info("Flight created successfully");
+                return true;
+            }
+            return false;
         }
-        return false;
     }
 
     public boolean updateFlight(Flight flight) {
-        logger.info("Updating flight: {}", flight.getFlightNumber());
-        validateFlight(flight);
-        return flightDAO.updateFlight(flight);
+        try (Span span = Tracer.start("AdminController.updateFlight")) {
+            logger.info("Updating flight: {}", flight.getFlightNumber());
+            validateFlight(flight);
+
+            Flight previous = flightDAO.getFlightById(flight.getFlightId());
+            if (!flightDAO.updateFlight(flight)) {
+                return false;
+            }
+
+            if (previous != null) {
+                notifyPassengersOfChange(previous, flight);
+            }
+            return true;
+        }
     }
 
-    public boolean deleteFlight(int flightId) {
-        logger.info("Deleting flight ID: {}", flightId);
+    private void notifyPassengersOfChange(Flight previous, Flight updated) {
+        boolean statusChanged = previous.getStatus() != updated.getStatus();
+        boolean departureChanged = !previous.getDepartureTime().equals(updated.getDepartureTime());
+        boolean arrivalChanged = !previous.getArrivalTime().equals(updated.getArrivalTime());
 
-        List<Reservation> reservations = reservationDAO.getAllReservations();
-        long activeReservations = reservations.stream()
-                .filter(r -> r.getFlightId() == flightId)
-                .filter(r -> r.getStatus() == Reservation.ReservationStatus.CONFIRMED ||
-                        r.getStatus() == Reservation.ReservationStatus.PENDING)
-                .count();
+        if (!statusChanged && !departureChanged && !arrivalChanged) {
+            return;
+        }
 
-        if (activeReservations > 0) {
-            logger.warn("Cannot delete flight {} - has {} active reservations", flightId, activeReservations);
-            throw new IllegalStateException(
-                    "Cannot delete flight with active reservations. Please cancel all reservations first.");
+        NotificationType type;
+        String subject;
+        if (updated.getStatus() == Flight.FlightStatus.CANCELLED) {
+            type = NotificationType.FLIGHT_CANCELLATION;
+            subject = "Flight " + updated.getFlightNumber() + " has been cancelled";
+        } else if (updated.getStatus() == Flight.FlightStatus.DELAYED
+                || updated.getDepartureTime().isAfter(previous.getDepartureTime())) {
+            type = NotificationType.FLIGHT_DELAY;
+            subject = "Flight " + updated.getFlightNumber() + " is delayed";
+        } else {
+            type = NotificationType.FLIGHT_UPDATE;
+            subject = "Flight " + updated.getFlightNumber() + " schedule update";
         }
 
-        return flightDAO.deleteFlight(flightId);
+        String message = String.format("Status: %s%nDeparture: %s%nArrival: %s",
+                updated.getStatus(), updated.getDepartureTime(), updated.getArrivalTime());
+
+        // the fan-out streams every passenger of the flight, it must not hold up the caller (the EDT for the admin UI)
+        NotificationSubject.getInstance().notifyAudienceAsync(
+                NotificationAudience.passengersOnFlight(updated.getFlightId()), subject, message, type);
+    }
+
+    public boolean deleteFlight(int flightId) {
+        try (Span span = Tracer.start("AdminController.deleteFlight")) {
+            logger.info("Deleting flight ID: {}", flightId);
+
+            List<Reservation> reservations = reservationDAO.getAllReservations();
+            long activeReservations = reservations.stream()
+                    .filter(r -> r.getFlightId() == flightId)
+                    .filter(r -> r.getStatus() == Reservation.ReservationStatus.CONFIRMED ||
+                            r.getStatus() == Reservation.ReservationStatus.PENDING)
+                    .count();
+
+            if (activeReservations > 0) {
+                logger.warn("Cannot delete flight {} - has {} active reservations", flightId, activeReservations);
+                throw new IllegalStateException(
+                        "Cannot delete flight with active reservations. Please cancel all reservations first.");
+            }
+
+            return flightDAO.deleteFlight(flightId);
+        }
     }
 
     public List<Route> getAllRoutes() {
-        return routeDAO.getAllRoutes();
+        try (Span span = Tracer.start("AdminController.getAllRoutes")) {
+            return routeDAO.getAllRoutes();
+        }
     }
 
     public boolean createRoute(Route route) {
-        logger.info("Creating new route: {} -> {}", route.getOriginAirport(), route.getDestinationAirport());
-        validateRoute(route);
-        return routeDAO.createRoute(route);
+        try (Span span = Tracer.start("AdminController.createRoute")) {
+            logger.info("Creating new route: {} -> {}", route.getOriginAirport(), route.getDestinationAirport());
+            validateRoute(route);
+            return routeDAO.createRoute(route);
+        }
     }
 
     public boolean updateRoute(Route route) {
-        logger.info("Updating route ID: {}", route.getRouteId());
-        validateRoute(route);
-        return routeDAO.updateRoute(route);
+        try (Span span = Tracer.start("AdminController.updateRoute")) {
+            logger.info("Updating route ID: {}", route.getRouteId());
+            validateRoute(route);
+            return routeDAO.updateRoute(route);
+        }
     }
 
     public boolean deleteRoute(int routeId) {
-        logger.info("Deleting route ID: {}", routeId);
-        return routeDAO.deleteRoute(routeId);
+        try (Span span = Tracer.start("AdminController.deleteRoute")) {
+            logger.info("Deleting route ID: {}", routeId);
+            return routeDAO.deleteRoute(routeId);
+        }
     }
 
     public List<Aircraft> getAllAircraft() {
-        return aircraftDAO.getAllAircraft();
+        try (Span span = Tracer.start("AdminController.getAllAircraft")) {
+            return aircraftDAO.getAllAircraft();
+        }
     }
 
     public boolean createAircraft(Aircraft aircraft) {
-        logger.info("Creating new aircraft: {}", aircraft.getTailNumber());
-        validateAircraft(aircraft);
-        return aircraftDAO.createAircraft(aircraft);
+        try (Span span = Tracer.start("AdminController.createAircraft")) {
+            logger.info("Creating new aircraft: {}", aircraft.getTailNumber());
+            validateAircraft(aircraft);
+            return aircraftDAO.createAircraft(aircraft);
+        }
     }
 
     public boolean updateAircraft(Aircraft aircraft) {
-        logger.info("Updating aircraft ID: {}", aircraft.getAircraftId());
-        validateAircraft(aircraft);
-        return aircraftDAO.updateAircraft(aircraft);
+        try (Span span = Tracer.start("AdminController.updateAircraft")) {
+            logger.info("Updating aircraft ID: {}", aircraft.getAircraftId());
+            validateAircraft(aircraft);
+            return aircraftDAO.updateAircraft(aircraft);
+        }
     }
 
     public boolean deleteAircraft(int aircraftId) {
-        logger.info("Deleting aircraft ID: {}", aircraftId);
-        return aircraftDAO.deleteAircraft(aircraftId);
+        try (Span span = Tracer.start("AdminController.deleteAircraft")) {
+            logger.info("Deleting aircraft ID: {}", aircraftId);
+            return aircraftDAO.deleteAircraft(aircraftId);
+        }
     }
 
     public List<Airline> getAllAirlines() {
-        return airlineDAO.getAllAirlines();
+        try (Span span = Tracer.start("AdminController.getAllAirlines")) {
+            return airlineDAO.getAllAirlines();
+        }
     }
 
     private void validateFlight(Flight flight) {
@@ -1,5 +1,7 @@
 package com.flightreservation.controller;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -7,8 +9,12 @@ import org.slf4j.LoggerFactory;
 
 import com.flightreservation.dao.CustomerDAO;
 import com.flightreservation.dao.UserDAO;
+import com.flightreservation.database.DatabaseManager;
 import com.flightreservation.model.entities.Customer;
 import com.flightreservation.model.entities.User;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.ChangeSet;
 
 public class CustomerManagementController {
     private static final Logger logger = LoggerFactory.getLogger(CustomerManagementController.class);
@@ -21,100 +27,136 @@ public class CustomerManagementController {
     }
 
     public List<Customer> getAllCustomers() {
-        logger.info("Retrieving all customers");
-        List<Customer> customers = customerDAO.getAllCustomers();
-
-        for (Customer customer : customers) {
-            if (customer.getUser() == null) {
-                User user = userDAO.getUserById(customer.getUserId());
-                customer.setUser(user);
+        try (Span span = Tracer.start("CustomerManagementController.getAllCustomers")) {
+            logger.info("Retrieving all customers");
+            List<Customer> customers = customerDAO.getAllCustomers();
+
+            for (Customer customer : customers) {
+                if (customer.getUser() == null) {
+                    User user = userDAO.getUserById(customer.getUserId());
+                    customer.setUser(user);
+                }
             }
-        }
 
-        return customers;
+            return customers;
+        }
     }
 
     public List<Customer> searchCustomers(String keyword) {
-        logger.info("Searching customers with keyword: {}", keyword);
+        try (Span span = Tracer.start("CustomerManagementController.searchCustomers")) {
+            logger.info("Searching customers with keyword: {}", keyword);
 
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllCustomers();
-        }
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return getAllCustomers();
+            }
 
-        List<Customer> customers = customerDAO.searchCustomers(keyword);
+            List<Customer> customers = customerDAO.searchCustomers(keyword);
 
-        for (Customer customer : customers) {
-            if (customer.getUser() == null) {
-                User user = userDAO.getUserById(customer.getUserId());
-                customer.setUser(user);
+            for (Customer customer : customers) {
+                if (customer.getUser() == null) {
+                    User user = userDAO.getUserById(customer.getUserId());
+                    customer.setUser(user);
+                }
             }
+
+            return customers;
         }
+    }
+
+    /**
+     * customers changed since the given database time together with the IDs of every customer still
+     * present, or a full load when since is null
+     */
+    public ChangeSet<Customer> getCustomerChanges(Instant since) throws SQLException {
+        try (Span span = Tracer.start("CustomerManagementController.getCustomerChanges")) {
+            Instant syncedAt = DatabaseManager.getInstance().getCurrentTimestamp();
+            if (since == null) {
+                return ChangeSet.full(getAllCustomers(), syncedAt);
+            }
 
-        return customers;
+            List<Customer> changed = customerDAO.getChangedSince(since);
+            for (Customer customer : changed) {
+                if (customer.getUser() == null) {
+                    customer.setUser(userDAO.getUserById(customer.getUserId()));
+                }
+            }
+            logger.debug("{} customers changed since {}", changed.size(), since);
+            return ChangeSet.incremental(changed, customerDAO.getAllCustomerIds(), syncedAt);
+        }
     }
 
     public Customer getCustomerById(int customerId) {
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer != null) {
-            User user = userDAO.getUserById(customer.getUserId());
-            customer.setUser(user);
+        try (Span span = Tracer.start("CustomerManagementController.getCustomerById")) {
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer != null) {
+                User user = userDAO.getUserById(customer.getUserId());
+                customer.setUser(user);
+            }
+            return customer;
         }
-        return customer;
     }
 
     public boolean createCustomer(Customer customer, User user) {
-        logger.info("Creating new customer");
+        try (Span span = Tracer.start("CustomerManagementController.createCustomer")) {
+            logger.info("Creating new customer");
 
-        if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
-            throw new IllegalArgumentException("Username is required");
-        }
-        if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
-            throw new IllegalArgumentException("Email is required");
-        }
-        if (user.getPasswordHash() == null || user.getPasswordHash().trim().isEmpty()) {
-            throw new IllegalArgumentException("Password is required");
-        }
+            if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
+                throw new IllegalArgumentException("Username is required");
+            }
+            if (user.getEmail() == null || user.getEmail().trim().isEmpty()) {
+                throw new IllegalArgumentException("Email is required");
+            }
+            if (user.getPasswordHash() == null || user.getPasswordHash().trim().isEmpty()) {
+                throw new IllegalArgumentException("Password is required");
+            }
 
-        user.setRole(User.UserRole.CUSTOMER);
-        user.setAccountStatus(User.AccountStatus.ACTIVE);
+            user.setRole(User.UserRole.CUSTOMER);
+            user.setAccountStatus(User.AccountStatus.ACTIVE);
 
-        if (userDAO.createUser(user)) {
-            customer.setUserId(user.getUserId());
-            customer.setCustomerId(user.getUserId());
-            logger.info("Customer created successfully");
-            return true;
-        } else {
-            throw new RuntimeException("Failed to create user account");
+            if (userDAO.createUser(user)) {
+                customer.setUserId(user.getUserId());
+                customer.setCustomerId(user.getUserId());
+                logger.info("Customer created successfully");
+                return true;
+            } else {
+                throw new RuntimeException("Failed to create user account");
+            }
         }
     }
 
     public boolean updateCustomer(Customer customer, User user) {
-        logger.info("Updating customer ID: {}", customer.getCustomerId());
+        try (Span span = Tracer.start("CustomerManagementController.updateCustomer")) {
+            logger.info("Updating customer ID: {}", customer.getCustomerId());
 
-        boolean userUpdated = userDAO.updateUser(user);
+            boolean userUpdated = userDAO.updateUser(user);
 
-        return userUpdated;
+            return userUpdated;
+        }
     }
 
     public boolean deleteCustomer(int customerId) {
-        logger.info("Deleting customer ID: {}", customerId);
+        try (Span span = Tracer.start("CustomerManagementController.deleteCustomer")) {
+            logger.info("Deleting customer ID: {}", customerId);
 
-        Customer customer = customerDAO.getCustomerById(customerId);
-        if (customer == null) {
-            throw new IllegalArgumentException("Customer not found");
-        }
+            Customer customer = customerDAO.getCustomerById(customerId);
+            if (customer == null) {
+                throw new IllegalArgumentException("Customer not found");
+            }
 
-        boolean deleted = userDAO.deleteUser(customer.getUserId());
+            boolean deleted = userDAO.deleteUser(customer.getUserId());
 
-        return deleted;
+            return deleted;
+        }
     }
 
     public Customer getCustomerByUserId(int userId) {
-        Customer customer = customerDAO.getCustomerByUserId(userId);
-        if (customer != null) {
-            User user = userDAO.getUserById(userId);
-            customer.setUser(user);
+        try (Span span = Tracer.start("CustomerManagementController.getCustomerByUserId")) {
+            Customer customer = customerDAO.getCustomerByUserId(userId);
+            if (customer != null) {
+                User user = userDAO.getUserById(userId);
+                customer.setUser(user);
+            }
+            return customer;
         }
-        return customer;
     }
 }
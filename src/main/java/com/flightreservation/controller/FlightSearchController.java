@@ -1,17 +1,33 @@
 package com.flightreservation.controller;
 
 import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.database.QueryHandle;
+import com.flightreservation.jfr.FlightSearchEvent;
+import com.flightreservation.metrics.MetricsRegistry;
 import com.flightreservation.dao.SeatDAO;
 import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.LatencyHistogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 public class FlightSearchController {
     private static final Logger logger = LoggerFactory.getLogger(FlightSearchController.class);
+    private static final LatencyHistogram searchFlightsLatency =
+            MetricsRegistry.getInstance().histogram("controller.FlightSearchController.searchFlights");
+    private static final LatencyHistogram searchFlightsLiveLatency =
+            MetricsRegistry.getInstance().histogram("controller.FlightSearchController.searchFlightsLive");
+    private static final LatencyHistogram getFlightDetailsLatency =
+            MetricsRegistry.getInstance().histogram("controller.FlightSearchController.getFlightDetails");
+    private static final LatencyHistogram getAvailableSeatsLatency =
+            MetricsRegistry.getInstance().histogram("controller.FlightSearchController.getAvailableSeats");
     private final FlightDAO flightDAO;
     private final SeatDAO seatDAO;
 
@@ -21,39 +37,86 @@ public class FlightSearchController {
     }
 
     public List<Flight> searchFlights(String origin, String destination, LocalDateTime departureDate) {
-        logger.info("Searching flights: {} -> {} on {}", origin, destination, departureDate.toLocalDate());
+        long startNanos = System.nanoTime();
+        FlightSearchEvent event = new FlightSearchEvent(origin, destination,
+                departureDate != null ? departureDate.toLocalDate() : null, false);
+        event.begin();
+        try (Span span = Tracer.start("FlightSearchController.searchFlights")) {
+            logger.debug("Searching flights: {} -> {} on {}", origin, destination, departureDate.toLocalDate());
 
-        if (origin == null || origin.trim().isEmpty()) {
-            throw new IllegalArgumentException("Origin airport is required");
-        }
-        if (destination == null || destination.trim().isEmpty()) {
-            throw new IllegalArgumentException("Destination airport is required");
-        }
-        if (departureDate == null) {
-            throw new IllegalArgumentException("Departure date is required");
+            if (origin == null || origin.trim().isEmpty()) {
+                throw new IllegalArgumentException("Origin airport is required");
+            }
+            if (destination == null || destination.trim().isEmpty()) {
+                throw new IllegalArgumentException("Destination airport is required");
+            }
+            if (departureDate == null) {
+                throw new IllegalArgumentException("Departure date is required");
+            }
+
+            List<Flight> flights = flightDAO.searchFlights(origin, destination, departureDate);
+            event.setResults(flights.size());
+            return flights;
+        } finally {
+            event.commit();
+            searchFlightsLatency.recordNanos(System.nanoTime() - startNanos);
         }
+    }
 
-        return flightDAO.searchFlights(origin, destination, departureDate);
+    /**
+     * search-as-you-type: returns at most limit flights between two airport codes,
+     * cancelling the handle aborts the query
+     */
+    public List<Flight> searchFlightsLive(String originCode, String destinationCode, LocalDate date, int limit,
+            QueryHandle handle) throws SQLException {
+        long startNanos = System.nanoTime();
+        FlightSearchEvent event = new FlightSearchEvent(originCode, destinationCode, date, true);
+        event.begin();
+        try (Span span = Tracer.start("FlightSearchController.searchFlightsLive")) {
+            if (originCode == null || destinationCode == null || date == null) {
+                throw new IllegalArgumentException("Origin, destination and date are required");
+            }
+            List<Flight> flights = flightDAO.searchFlightsByRoute(originCode, destinationCode, date, limit, handle);
+            event.setResults(flights.size());
+            return flights;
+        } finally {
+            event.commit();
+            searchFlightsLiveLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public Flight getFlightDetails(int flightId) {
-        Flight flight = flightDAO.getFlightById(flightId);
-        if (flight == null) {
-            throw new IllegalArgumentException("Flight not found");
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightSearchController.getFlightDetails")) {
+            Flight flight = flightDAO.getFlightById(flightId);
+            if (flight == null) {
+                throw new IllegalArgumentException("Flight not found");
+            }
+            return flight;
+        } finally {
+            getFlightDetailsLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return flight;
     }
 
     public List<Seat> getAvailableSeats(int flightId) {
-        return seatDAO.getAvailableSeats(flightId);
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightSearchController.getAvailableSeats")) {
+            return seatDAO.getAvailableSeats(flightId);
+        } finally {
+            getAvailableSeatsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public List<Seat> getAllSeatsForFlight(int flightId) {
-        return seatDAO.getSeatsByFlightId(flightId);
+        try (Span span = Tracer.start("FlightSearchController.getAllSeatsForFlight")) {
+            return seatDAO.getSeatsByFlightId(flightId);
+        }
     }
 
     public boolean isSeatAvailable(int seatId) {
-        Seat seat = seatDAO.getSeatById(seatId);
-        return seat != null && seat.isAvailable();
+        try (Span span = Tracer.start("FlightSearchController.isSeatAvailable")) {
+            Seat seat = seatDAO.getSeatById(seatId);
+            return seat != null && seat.isAvailable();
+        }
     }
 }
@@ -9,15 +9,31 @@ import org.slf4j.LoggerFactory;
 import com.flightreservation.dao.FlightDAO;
 import com.flightreservation.dao.ReservationDAO;
 import com.flightreservation.dao.SeatDAO;
+import com.flightreservation.jfr.BookingEvent;
+import com.flightreservation.metrics.MetricsRegistry;
 import com.flightreservation.model.strategies.payment.CreditCardPaymentStrategy;
 import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Passenger;
 import com.flightreservation.model.strategies.payment.PaymentStrategy;
 import com.flightreservation.model.entities.Reservation;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.AuditLog;
+import com.flightreservation.util.LatencyHistogram;
 
 public class ReservationController {
     private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
+    private static final LatencyHistogram createReservationLatency =
+            MetricsRegistry.getInstance().histogram("controller.ReservationController.createReservation");
+    private static final LatencyHistogram confirmReservationLatency =
+            MetricsRegistry.getInstance().histogram("controller.ReservationController.confirmReservation");
+    private static final LatencyHistogram cancelReservationLatency =
+            MetricsRegistry.getInstance().histogram("controller.ReservationController.cancelReservation");
+    private static final LatencyHistogram getCustomerReservationsLatency =
+            MetricsRegistry.getInstance().histogram("controller.ReservationController.getCustomerReservations");
+    private static final LatencyHistogram getReservationByIdLatency =
+            MetricsRegistry.getInstance().histogram("controller.ReservationController.getReservationById");
     private final ReservationDAO reservationDAO;
     private final FlightDAO flightDAO;
     private final SeatDAO seatDAO;
@@ -34,123 +50,184 @@ public class ReservationController {
     }
 
     public Reservation createReservation(int customerId, int flightId, List<Passenger> passengers) {
-        logger.info("Creating reservation for customer {} on flight {}", customerId, flightId);
-
-        Flight flight = flightDAO.getFlightById(flightId);
-        if (flight == null) {
-            throw new IllegalArgumentException("Flight not found");
-        }
-
-        if (passengers == null || passengers.isEmpty()) {
-            throw new IllegalArgumentException("At least one passenger is required");
-        }
+        long startNanos = System.nanoTime();
+        BookingEvent event = new BookingEvent(BookingEvent.CREATE);
+        event.begin();
+        event.setCustomerId(customerId);
+        event.setFlightId(flightId);
+        try (Span span = Tracer.start("ReservationController.createReservation")) {
+            logger.debug("Creating reservation for customer {} on flight {}", customerId, flightId);
+
+            Flight flight = flightDAO.getFlightById(flightId);
+            if (flight == null) {
+                event.setOutcome("FLIGHT_NOT_FOUND");
+                throw new IllegalArgumentException("Flight not found");
+            }
 
-        for (Passenger passenger : passengers) {
-            if (passenger.getSeatId() == 0) {
-                throw new IllegalArgumentException("Seat must be selected for each passenger");
+            if (passengers == null || passengers.isEmpty()) {
+                event.setOutcome("NO_PASSENGERS");
+                throw new IllegalArgumentException("At least one passenger is required");
             }
+            event.setPassengers(passengers.size());
 
-            Seat seat = seatDAO.getSeatById(passenger.getSeatId());
-            if (seat == null || !seat.isAvailable()) {
-                throw new IllegalArgumentException("Seat " + passenger.getSeatId() + " is not available");
+            for (Passenger passenger : passengers) {
+                if (passenger.getSeatId() == 0) {
+                    throw new IllegalArgumentException("Seat must be selected for each passenger");
+                }
+
+                Seat seat = seatDAO.getSeatById(passenger.getSeatId());
+                if (seat == null || !seat.isAvailable()) {
+                    event.setOutcome("SEAT_UNAVAILABLE");
+                    throw new IllegalArgumentException("Seat " + passenger.getSeatId() + " is not available");
+                }
             }
-        }
 
-        double totalFare = 0;
-        for (Passenger passenger : passengers) {
-            Seat seat = seatDAO.getSeatById(passenger.getSeatId());
-            totalFare += seat.getPrice();
-        }
+            double totalFare = 0;
+            for (Passenger passenger : passengers) {
+                Seat seat = seatDAO.getSeatById(passenger.getSeatId());
+                totalFare += seat.getPrice();
+            }
 
-        Reservation reservation = new Reservation();
-        reservation.setCustomerId(customerId);
-        reservation.setFlightId(flightId);
-        reservation.setTotalFare(totalFare);
-        reservation.setReservationDate(LocalDateTime.now());
-        reservation.setStatus(Reservation.ReservationStatus.PENDING);
-        reservation.setPassengers(passengers);
+            Reservation reservation = new Reservation();
+            reservation.setCustomerId(customerId);
+            reservation.setFlightId(flightId);
+            reservation.setTotalFare(totalFare);
+            reservation.setReservationDate(LocalDateTime.now());
+            reservation.setStatus(Reservation.ReservationStatus.PENDING);
+            reservation.setPassengers(passengers);
 
-        for (Passenger passenger : passengers) {
-            seatDAO.reserveSeat(passenger.getSeatId());
-        }
+            for (Passenger passenger : passengers) {
+                seatDAO.reserveSeat(passenger.getSeatId());
+            }
 
-        if (paymentStrategy == null) {
-            paymentStrategy = new CreditCardPaymentStrategy("****1234", "Default User", "12/25", "123");
-            logger.info("No payment strategy set, using default Credit Card");
-        }
+            if (paymentStrategy == null) {
+                paymentStrategy = new CreditCardPaymentStrategy("****1234", "Default User", "12/25", "123");
+                logger.debug("No payment strategy set, using default Credit Card");
+            }
 
-        if (!paymentStrategy.processPayment(totalFare)) {
-            for (Passenger passenger : passengers) {
-                seatDAO.releaseSeat(passenger.getSeatId());
+            if (!paymentStrategy.processPayment(totalFare)) {
+                for (Passenger passenger : passengers) {
+                    seatDAO.releaseSeat(passenger.getSeatId());
+                }
+                event.setOutcome("PAYMENT_DECLINED");
+                AuditLog.paymentDeclined(customerId, flightId, totalFare, paymentStrategy.getPaymentMethodName());
+                throw new RuntimeException("Payment processing failed");
             }
-            throw new RuntimeException("Payment processing failed");
-        }
 
-        if (reservationDAO.createReservation(reservation)) {
-            flightDAO.updateAvailableSeats(flightId, -passengers.size());
-            logger.info("Reservation created successfully: {}", reservation.getConfirmationNumber());
-            return reservation;
-        } else {
-            for (Passenger passenger : passengers) {
-                seatDAO.releaseSeat(passenger.getSeatId());
+            if (reservationDAO.createReservation(reservation)) {
+                flightDAO.updateAvailableSeats(flightId, -passengers.size());
+                AuditLog.reservationCreated(reservation);
+                event.setReservationId(reservation.getReservationId());
+                event.setOutcome("OK");
+                return reservation;
+            } else {
+                for (Passenger passenger : passengers) {
+                    seatDAO.releaseSeat(passenger.getSeatId());
+                }
+                throw new RuntimeException("Failed to create reservation");
             }
-            throw new RuntimeException("Failed to create reservation");
+        } finally {
+            event.commit();
+            createReservationLatency.recordNanos(System.nanoTime() - startNanos);
         }
     }
 
     public boolean confirmReservation(int reservationId) {
-        logger.info("Confirming reservation {}", reservationId);
-        return reservationDAO.updateReservationStatus(reservationId, Reservation.ReservationStatus.CONFIRMED);
+        long startNanos = System.nanoTime();
+        BookingEvent event = new BookingEvent(BookingEvent.CONFIRM);
+        event.begin();
+        event.setReservationId(reservationId);
+        try (Span span = Tracer.start("ReservationController.confirmReservation")) {
+            logger.debug("Confirming reservation {}", reservationId);
+            boolean confirmed =
+                    reservationDAO.updateReservationStatus(reservationId, Reservation.ReservationStatus.CONFIRMED);
+            if (confirmed) {
+                AuditLog.reservationConfirmed(reservationId);
+                event.setOutcome("OK");
+            }
+            return confirmed;
+        } finally {
+            event.commit();
+            confirmReservationLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public boolean cancelReservation(int reservationId) {
-        logger.info("Cancelling reservation {}", reservationId);
+        long startNanos = System.nanoTime();
+        BookingEvent event = new BookingEvent(BookingEvent.CANCEL);
+        event.begin();
+        event.setReservationId(reservationId);
+        try (Span span = Tracer.start("ReservationController.cancelReservation")) {
+            logger.debug("Cancelling reservation {}", reservationId);
+
+            Reservation reservation = reservationDAO.getReservationById(reservationId);
+            if (reservation == null) {
+                event.setOutcome("RESERVATION_NOT_FOUND");
+                throw new IllegalArgumentException("Reservation not found");
+            }
+            event.setCustomerId(reservation.getCustomerId());
+            event.setFlightId(reservation.getFlightId());
+            event.setPassengers(reservation.getPassengers().size());
 
-        Reservation reservation = reservationDAO.getReservationById(reservationId);
-        if (reservation == null) {
-            throw new IllegalArgumentException("Reservation not found");
-        }
+            if (reservation.getStatus() == Reservation.ReservationStatus.CANCELLED) {
+                event.setOutcome("ALREADY_CANCELLED");
+                throw new IllegalStateException("Reservation is already cancelled");
+            }
 
-        if (reservation.getStatus() == Reservation.ReservationStatus.CANCELLED) {
-            throw new IllegalStateException("Reservation is already cancelled");
-        }
+            boolean success = reservationDAO.cancelReservation(reservationId);
 
-        boolean success = reservationDAO.cancelReservation(reservationId);
+            if (success) {
+                int passengerCount = reservation.getPassengers().size();
+                flightDAO.updateAvailableSeats(reservation.getFlightId(), passengerCount);
+                AuditLog.reservationCancelled(reservation);
+                event.setOutcome("OK");
+            }
 
-        if (success) {
-            int passengerCount = reservation.getPassengers().size();
-            flightDAO.updateAvailableSeats(reservation.getFlightId(), passengerCount);
+            return success;
+        } finally {
+            event.commit();
+            cancelReservationLatency.recordNanos(System.nanoTime() - startNanos);
         }
-
-        return success;
     }
 
     public Reservation getReservationByConfirmation(String confirmationNumber) {
-        Reservation reservation = reservationDAO.getReservationByConfirmation(confirmationNumber);
-        if (reservation != null) {
-            Flight flight = flightDAO.getFlightById(reservation.getFlightId());
-            reservation.setFlight(flight);
+        try (Span span = Tracer.start("ReservationController.getReservationByConfirmation")) {
+            Reservation reservation = reservationDAO.getReservationByConfirmation(confirmationNumber);
+            if (reservation != null) {
+                Flight flight = flightDAO.getFlightById(reservation.getFlightId());
+                reservation.setFlight(flight);
+            }
+            return reservation;
         }
-        return reservation;
     }
 
     public List<Reservation> getCustomerReservations(int customerId) {
-        List<Reservation> reservations = reservationDAO.getReservationsByCustomerId(customerId);
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationController.getCustomerReservations")) {
+            List<Reservation> reservations = reservationDAO.getReservationsByCustomerId(customerId);
 
-        for (Reservation reservation : reservations) {
-            Flight flight = flightDAO.getFlightById(reservation.getFlightId());
-            reservation.setFlight(flight);
-        }
+            for (Reservation reservation : reservations) {
+                Flight flight = flightDAO.getFlightById(reservation.getFlightId());
+                reservation.setFlight(flight);
+            }
 
-        return reservations;
+            return reservations;
+        } finally {
+            getCustomerReservationsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public Reservation getReservationById(int reservationId) {
-        Reservation reservation = reservationDAO.getReservationById(reservationId);
-        if (reservation != null) {
-            Flight flight = flightDAO.getFlightById(reservation.getFlightId());
-            reservation.setFlight(flight);
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationController.getReservationById")) {
+            Reservation reservation = reservationDAO.getReservationById(reservationId);
+            if (reservation != null) {
+                Flight flight = flightDAO.getFlightById(reservation.getFlightId());
+                reservation.setFlight(flight);
+            }
+            return reservation;
+        } finally {
+            getReservationByIdLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return reservation;
     }
 }
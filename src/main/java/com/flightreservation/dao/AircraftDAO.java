@@ -23,7 +23,7 @@ public class AircraftDAO {
             while (rs.next()) {
                 aircraftList.add(mapResultSetToAircraft(rs));
             }
-            logger.info("Retrieved {} aircraft", aircraftList.size());
+            logger.debug("Retrieved {} aircraft", aircraftList.size());
         } catch (SQLException e) {
             logger.error("Error retrieving all aircraft", e);
         }
@@ -23,7 +23,7 @@ public class AirlineDAO {
             while (rs.next()) {
                 airlines.add(mapResultSetToAirline(rs));
             }
-            logger.info("Retrieved {} airlines", airlines.size());
+            logger.debug("Retrieved {} airlines", airlines.size());
         } catch (SQLException e) {
             logger.error("Error retrieving all airlines", e);
         }
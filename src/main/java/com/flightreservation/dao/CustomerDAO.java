@@ -5,8 +5,14 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,7 +74,7 @@ public class CustomerDAO {
             while (rs.next()) {
                 customers.add(mapResultSetToCustomer(rs));
             }
-            logger.info("Retrieved {} customers", customers.size());
+            logger.debug("Retrieved {} customers", customers.size());
         } catch (SQLException e) {
             logger.error("Error retrieving all customers", e);
         }
@@ -94,13 +100,127 @@ public class CustomerDAO {
             while (rs.next()) {
                 customers.add(mapResultSetToCustomer(rs));
             }
-            logger.info("Found {} customers matching '{}'", customers.size(), keyword);
+            logger.debug("Found {} customers matching '{}'", customers.size(), keyword);
         } catch (SQLException e) {
             logger.error("Error searching customers", e);
         }
         return customers;
     }
 
+    /**
+     * customers whose user or customers row was inserted or updated after the given time
+     */
+    public List<Customer> getChangedSince(Instant since) throws SQLException {
+        String sql = "SELECT user_id, username, email, phone_number, role, account_status " +
+                "FROM users WHERE role = 'CUSTOMER' AND (updated_at > ? " +
+                "OR user_id IN (SELECT customer_id FROM customers WHERE updated_at > ?))";
+
+        List<Customer> customers = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            Timestamp sinceTs = Timestamp.from(since);
+            stmt.setTimestamp(1, sinceTs);
+            stmt.setTimestamp(2, sinceTs);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapResultSetToCustomer(rs));
+                }
+            }
+        }
+        logger.debug("{} customers changed since {}", customers.size(), since);
+        return customers;
+    }
+
+    /**
+     * IDs of every customer, lets incremental refreshes drop rows for removed customers
+     */
+    public Set<Integer> getAllCustomerIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT user_id FROM users WHERE role = 'CUSTOMER'")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    // active reservations only, a customer appears once however many bookings they hold
+    private static final String AUDIENCE_SELECT = "SELECT u.user_id, u.username, u.email, u.phone_number, u.role, " +
+            "u.account_status FROM users u WHERE u.role = 'CUSTOMER' AND u.account_status = 'ACTIVE' " +
+            "AND EXISTS (SELECT 1 FROM reservations r ";
+
+    public int forEachCustomerOnFlight(int flightId, Consumer<Customer> sink) {
+        return forEachCustomerOnFlight(flightId, false, sink);
+    }
+
+    public int forEachCustomerOnFlight(int flightId, boolean confirmedOnly, Consumer<Customer> sink) {
+        String sql = AUDIENCE_SELECT +
+                "WHERE r.customer_id = u.user_id AND r.flight_id = ? " +
+                (confirmedOnly ? "AND r.status = 'CONFIRMED' " : "AND r.status IN ('PENDING', 'CONFIRMED') ") +
+                "AND EXISTS (SELECT 1 FROM reservation_passengers rp WHERE rp.reservation_id = r.reservation_id))";
+
+        return streamCustomers(sql, stmt -> stmt.setInt(1, flightId), sink,
+                "flight " + flightId);
+    }
+
+    public int forEachCustomerOnRoute(int routeId, LocalDateTime from, LocalDateTime to, Consumer<Customer> sink) {
+        String sql = AUDIENCE_SELECT +
+                "JOIN flights f ON r.flight_id = f.flight_id " +
+                "WHERE r.customer_id = u.user_id AND f.route_id = ? " +
+                "AND f.departure_time >= ? AND f.departure_time < ? " +
+                "AND r.status IN ('PENDING', 'CONFIRMED'))";
+
+        return streamCustomers(sql, stmt -> {
+            stmt.setInt(1, routeId);
+            stmt.setTimestamp(2, Timestamp.valueOf(from));
+            stmt.setTimestamp(3, Timestamp.valueOf(to));
+        }, sink, "route " + routeId);
+    }
+
+    public int forEachCustomerDepartingBetween(LocalDateTime from, LocalDateTime to, Consumer<Customer> sink) {
+        String sql = AUDIENCE_SELECT +
+                "JOIN flights f ON r.flight_id = f.flight_id " +
+                "WHERE r.customer_id = u.user_id " +
+                "AND f.departure_time >= ? AND f.departure_time < ? " +
+                "AND r.status IN ('PENDING', 'CONFIRMED'))";
+
+        return streamCustomers(sql, stmt -> {
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
+        }, sink, "departures between " + from + " and " + to);
+    }
+
+    private int streamCustomers(String sql, StatementBinder binder, Consumer<Customer> sink, String audience) {
+        int count = 0;
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+
+            // MySQL Connector/J streams rows one at a time instead of buffering the whole result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            binder.bind(stmt);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapResultSetToCustomer(rs));
+                    count++;
+                }
+            }
+            logger.debug("Streamed {} customers for {}", count, audience);
+        } catch (SQLException e) {
+            logger.error("Error streaming customers for {}", audience, e);
+        }
+        return count;
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
     public boolean createCustomer(Customer customer) {
         String sql = "INSERT INTO customers (customer_id, frequent_flyer_number, loyalty_points, preferred_airline, address) "
                 +
@@ -6,24 +6,194 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.database.QueryHandle;
+import com.flightreservation.metrics.MetricsRegistry;
 import com.flightreservation.model.entities.Aircraft;
 import com.flightreservation.model.entities.Airline;
 import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Route;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.LatencyHistogram;
 
 public class FlightDAO {
     private static final Logger logger = LoggerFactory.getLogger(FlightDAO.class);
+    private static final LatencyHistogram searchFlightsLatency =
+            MetricsRegistry.getInstance().histogram("dao.FlightDAO.searchFlights");
+    private static final LatencyHistogram searchFlightsByRouteLatency =
+            MetricsRegistry.getInstance().histogram("dao.FlightDAO.searchFlightsByRoute");
+    private static final LatencyHistogram getFlightByIdLatency =
+            MetricsRegistry.getInstance().histogram("dao.FlightDAO.getFlightById");
+    private static final LatencyHistogram getAllFlightsLatency =
+            MetricsRegistry.getInstance().histogram("dao.FlightDAO.getAllFlights");
+    private static final LatencyHistogram updateAvailableSeatsLatency =
+            MetricsRegistry.getInstance().histogram("dao.FlightDAO.updateAvailableSeats");
+    private static final List<FlightScheduleListener> scheduleListeners = new CopyOnWriteArrayList<>();
+    private static final String ROUTE_SEARCH_SQL = "SELECT f.*, r.origin_airport, r.destination_airport, " +
+            "a.model as aircraft_model, a.manufacturer, " +
+            "al.airline_name, al.airline_code " +
+            "FROM flights f " +
+            "JOIN routes r ON f.route_id = r.route_id " +
+            "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
+            "JOIN airlines al ON f.airline_id = al.airline_id " +
+            "WHERE r.origin_airport = ? AND r.destination_airport = ? " +
+            "AND f.departure_time >= ? AND f.departure_time < ? " +
+            "AND f.status = 'SCHEDULED' " +
+            "ORDER BY f.departure_time";
+
+    /**
+     * notified after a flight row has been updated, e.g. to reschedule departure reminders
+     */
+    public interface FlightScheduleListener {
+        void onFlightUpdated(Flight flight);
+    }
+
+    public static void addScheduleListener(FlightScheduleListener listener) {
+        scheduleListeners.add(listener);
+    }
+
+    public static void removeScheduleListener(FlightScheduleListener listener) {
+        scheduleListeners.remove(listener);
+    }
 
     public List<Flight> searchFlights(String origin, String destination, LocalDateTime departureDate) {
-        List<Flight> flights = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightDAO.searchFlights")) {
+            return searchFlightsByRoute(origin, destination, departureDate.toLocalDate(), 0, null);
+        } catch (SQLException e) {
+            logger.error("Error searching flights", e);
+            return new ArrayList<>();
+        } finally {
+            searchFlightsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * read path for search-as-you-type, called on every debounced keystroke, and for searchFlights
+     *
+     * - airport codes are matched exactly and the day as a departure_time range so both
+     * predicates can use an index, unlike LIKE '%..%' and DATE(departure_time)
+     * - at most limit rows are returned, all of them when limit is 0
+     * - the statement is attached to the handle, if given, so a superseded search can be cancelled on
+     * the server
+     */
+    public List<Flight> searchFlightsByRoute(String originCode, String destinationCode, LocalDate date,
+            int limit, QueryHandle handle) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightDAO.searchFlightsByRoute")) {
+            String sql = limit > 0 ? ROUTE_SEARCH_SQL + " LIMIT ?" : ROUTE_SEARCH_SQL;
+
+            List<Flight> flights = new ArrayList<>();
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, originCode.trim().toUpperCase());
+                stmt.setString(2, destinationCode.trim().toUpperCase());
+                stmt.setTimestamp(3, Timestamp.valueOf(date.atStartOfDay()));
+                stmt.setTimestamp(4, Timestamp.valueOf(date.plusDays(1).atStartOfDay()));
+                if (limit > 0) {
+                    stmt.setInt(5, limit);
+                }
+
+                if (handle != null) {
+                    handle.attach(stmt);
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        flights.add(mapResultSetToFlight(rs));
+                    }
+                } finally {
+                    if (handle != null) {
+                        handle.detach();
+                    }
+                }
+            }
+            logger.debug("Route search {} -> {} on {} found {} flights", originCode, destinationCode, date,
+                    flights.size());
+            return flights;
+        } finally {
+            searchFlightsByRouteLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    public Flight getFlightById(int flightId) {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightDAO.getFlightById")) {
+            String sql = "SELECT f.*, r.origin_airport, r.destination_airport, r.distance, r.estimated_duration, " +
+                    "a.model as aircraft_model, a.manufacturer, a.total_seats, " +
+                    "al.airline_name, al.airline_code " +
+                    "FROM flights f " +
+                    "JOIN routes r ON f.route_id = r.route_id " +
+                    "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
+                    "JOIN airlines al ON f.airline_id = al.airline_id " +
+                    "WHERE f.flight_id = ?";
+
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, flightId);
+                ResultSet rs = stmt.executeQuery();
+
+                if (rs.next()) {
+                    return mapResultSetToFlight(rs);
+                }
+            } catch (SQLException e) {
+                logger.error("Error retrieving flight by ID: {}", flightId, e);
+            }
+            return null;
+        } finally {
+            getFlightByIdLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    public List<Flight> getAllFlights() {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightDAO.getAllFlights")) {
+            List<Flight> flights = new ArrayList<>();
+            String sql = "SELECT f.*, r.origin_airport, r.destination_airport, " +
+                    "a.model as aircraft_model, a.manufacturer, " +
+                    "al.airline_name, al.airline_code " +
+                    "FROM flights f " +
+                    "JOIN routes r ON f.route_id = r.route_id " +
+                    "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
+                    "JOIN airlines al ON f.airline_id = al.airline_id " +
+                    "ORDER BY f.departure_time DESC";
+
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery(sql)) {
+
+                while (rs.next()) {
+                    flights.add(mapResultSetToFlight(rs));
+                }
+                logger.debug("Retrieved {} flights", flights.size());
+            } catch (SQLException e) {
+                logger.error("Error retrieving all flights", e);
+            }
+            return flights;
+        } finally {
+            getAllFlightsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * flights inserted or updated after the given time, see ChangeCursor
+     */
+    public List<Flight> getChangedSince(Instant since) throws SQLException {
         String sql = "SELECT f.*, r.origin_airport, r.destination_airport, " +
                 "a.model as aircraft_model, a.manufacturer, " +
                 "al.airline_name, al.airline_code " +
@@ -31,57 +201,71 @@ public class FlightDAO {
                 "JOIN routes r ON f.route_id = r.route_id " +
                 "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
                 "JOIN airlines al ON f.airline_id = al.airline_id " +
-                "WHERE r.origin_airport LIKE ? AND r.destination_airport LIKE ? " +
-                "AND DATE(f.departure_time) = DATE(?) " +
-                "AND f.status = 'SCHEDULED' " +
-                "ORDER BY f.departure_time";
+                "WHERE f.updated_at > ?";
 
+        List<Flight> flights = new ArrayList<>();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, "%" + origin + "%");
-            stmt.setString(2, "%" + destination + "%");
-            stmt.setTimestamp(3, Timestamp.valueOf(departureDate));
-
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                flights.add(mapResultSetToFlight(rs));
+            stmt.setTimestamp(1, Timestamp.from(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(mapResultSetToFlight(rs));
+                }
             }
-            logger.info("Found {} flights from {} to {} on {}", flights.size(), origin, destination,
-                    departureDate.toLocalDate());
-        } catch (SQLException e) {
-            logger.error("Error searching flights", e);
         }
+        logger.debug("{} flights changed since {}", flights.size(), since);
         return flights;
     }
 
-    public Flight getFlightById(int flightId) {
-        String sql = "SELECT f.*, r.origin_airport, r.destination_airport, r.distance, r.estimated_duration, " +
-                "a.model as aircraft_model, a.manufacturer, a.total_seats, " +
-                "al.airline_name, al.airline_code " +
-                "FROM flights f " +
-                "JOIN routes r ON f.route_id = r.route_id " +
-                "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
-                "JOIN airlines al ON f.airline_id = al.airline_id " +
-                "WHERE f.flight_id = ?";
-
+    /**
+     * IDs of every flight, lets incremental refreshes drop rows for deleted flights
+     */
+    public Set<Integer> getAllFlightIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT flight_id FROM flights")) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
 
-            stmt.setInt(1, flightId);
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * columns the flight list can be ordered by, mapped to the SQL used by getFlightsPage
+     */
+    public enum FlightSort {
+        FLIGHT_NUMBER("f.flight_number"),
+        AIRLINE("al.airline_name"),
+        ROUTE("r.origin_airport, r.destination_airport"),
+        DEPARTURE("f.departure_time"),
+        ARRIVAL("f.arrival_time"),
+        STATUS("f.status"),
+        BASE_PRICE("f.base_price"),
+        AVAILABLE_SEATS("f.available_seats");
+
+        private final String columns;
+
+        FlightSort(String columns) {
+            this.columns = columns;
+        }
+    }
 
-            if (rs.next()) {
-                return mapResultSetToFlight(rs);
-            }
-        } catch (SQLException e) {
-            logger.error("Error retrieving flight by ID: {}", flightId, e);
+    public int countFlights() throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM flights")) {
+            return rs.next() ? rs.getInt(1) : 0;
         }
-        return null;
     }
 
-    public List<Flight> getAllFlights() {
-        List<Flight> flights = new ArrayList<>();
+    /**
+     * one page of flights with route, aircraft and airline names, ordered in the database
+     */
+    public List<Flight> getFlightsPage(FlightSort sort, boolean ascending, int offset, int limit) throws SQLException {
+        String direction = ascending ? " ASC" : " DESC";
+        String orderBy = String.join(direction + ", ", sort.columns.split(", ")) + direction;
         String sql = "SELECT f.*, r.origin_airport, r.destination_airport, " +
                 "a.model as aircraft_model, a.manufacturer, " +
                 "al.airline_name, al.airline_code " +
@@ -89,20 +273,48 @@ public class FlightDAO {
                 "JOIN routes r ON f.route_id = r.route_id " +
                 "JOIN aircraft a ON f.aircraft_id = a.aircraft_id " +
                 "JOIN airlines al ON f.airline_id = al.airline_id " +
-                "ORDER BY f.departure_time DESC";
+                "ORDER BY " + orderBy + ", f.flight_id" + direction + " " +
+                "LIMIT ? OFFSET ?";
 
+        List<Flight> flights = new ArrayList<>(limit);
         try (Connection conn = DatabaseManager.getInstance().getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    flights.add(mapResultSetToFlight(rs));
+                }
+            }
+        }
+        return flights;
+    }
+
+    /**
+     * departure times of active flights leaving in [from, to), keyed by flight ID
+     */
+    public Map<Integer, LocalDateTime> getDepartureTimesBetween(LocalDateTime from, LocalDateTime to) {
+        Map<Integer, LocalDateTime> departures = new LinkedHashMap<>();
+        String sql = "SELECT flight_id, departure_time FROM flights " +
+                "WHERE departure_time >= ? AND departure_time < ? " +
+                "AND status IN ('SCHEDULED', 'DELAYED', 'BOARDING') " +
+                "ORDER BY departure_time";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(from));
+            stmt.setTimestamp(2, Timestamp.valueOf(to));
 
+            ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                flights.add(mapResultSetToFlight(rs));
+                departures.put(rs.getInt("flight_id"), rs.getTimestamp("departure_time").toLocalDateTime());
             }
-            logger.info("Retrieved {} flights", flights.size());
+            logger.debug("Loaded {} departures between {} and {}", departures.size(), from, to);
         } catch (SQLException e) {
-            logger.error("Error retrieving all flights", e);
+            logger.error("Error loading departures between {} and {}", from, to, e);
         }
-        return flights;
+        return departures;
     }
 
     public boolean createFlight(Flight flight) {
@@ -162,6 +374,9 @@ public class FlightDAO {
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 logger.info("Updated flight: {}", flight.getFlightNumber());
+                for (FlightScheduleListener listener : scheduleListeners) {
+                    listener.onFlightUpdated(flight);
+                }
                 return true;
             }
         } catch (SQLException e) {
@@ -189,20 +404,48 @@ public class FlightDAO {
     }
 
     public boolean updateAvailableSeats(int flightId, int seatChange) {
-        String sql = "UPDATE flights SET available_seats = available_seats + ? WHERE flight_id = ?";
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("FlightDAO.updateAvailableSeats")) {
+            String sql = "UPDATE flights SET available_seats = available_seats + ? WHERE flight_id = ?";
 
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, seatChange);
-            stmt.setInt(2, flightId);
+                stmt.setInt(1, seatChange);
+                stmt.setInt(2, flightId);
 
-            int affectedRows = stmt.executeUpdate();
-            return affectedRows > 0;
-        } catch (SQLException e) {
-            logger.error("Error updating available seats", e);
+                int affectedRows = stmt.executeUpdate();
+                return affectedRows > 0;
+            } catch (SQLException e) {
+                logger.error("Error updating available seats", e);
+            }
+            return false;
+        } finally {
+            updateAvailableSeatsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * resets available_seats from the seats table for flights that have not departed yet
+     * returns the number of flights whose counter had drifted
+     */
+    public int reconcileAvailableSeats() throws SQLException {
+        String sql = "UPDATE flights f " +
+                "JOIN (SELECT s.flight_id, SUM(s.status = 'AVAILABLE') AS available FROM seats s " +
+                "JOIN flights fl ON s.flight_id = fl.flight_id WHERE fl.departure_time >= NOW() " +
+                "GROUP BY s.flight_id) counted ON f.flight_id = counted.flight_id " +
+                "SET f.available_seats = counted.available " +
+                "WHERE f.available_seats <> counted.available";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                Statement stmt = conn.createStatement()) {
+
+            int corrected = stmt.executeUpdate(sql);
+            if (corrected > 0) {
+                logger.warn("Corrected available seat count on {} flights", corrected);
+            }
+            return corrected;
         }
-        return false;
     }
 
     private Flight mapResultSetToFlight(ResultSet rs) throws SQLException {
@@ -0,0 +1,128 @@
+package com.flightreservation.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.model.entities.JobRun;
+
+public class JobDAO {
+    private static final Logger logger = LoggerFactory.getLogger(JobDAO.class);
+
+    /**
+     * takes or renews the lease on a job, only one instance holds an unexpired lease at a time
+     */
+    public boolean tryAcquireLease(String jobName, String ownerId, int leaseSeconds) {
+        String insertSql = "INSERT IGNORE INTO job_leases (job_name, owner_id, lease_until) VALUES (?, NULL, NULL)";
+        String claimSql = "UPDATE job_leases SET owner_id = ?, lease_until = NOW() + INTERVAL ? SECOND " +
+                "WHERE job_name = ? AND (owner_id = ? OR owner_id IS NULL OR lease_until IS NULL " +
+                "OR lease_until < NOW())";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                stmt.setString(1, jobName);
+                stmt.executeUpdate();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(claimSql)) {
+                stmt.setString(1, ownerId);
+                stmt.setInt(2, leaseSeconds);
+                stmt.setString(3, jobName);
+                stmt.setString(4, ownerId);
+                return stmt.executeUpdate() > 0;
+            }
+        } catch (SQLException e) {
+            logger.error("Error acquiring lease for job: {}", jobName, e);
+        }
+        return false;
+    }
+
+    public void releaseLease(String jobName, String ownerId) {
+        String sql = "UPDATE job_leases SET owner_id = NULL, lease_until = NULL WHERE job_name = ? AND owner_id = ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, jobName);
+            stmt.setString(2, ownerId);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("Error releasing lease for job: {}", jobName, e);
+        }
+    }
+
+    public boolean recordRun(JobRun run) {
+        String sql = "INSERT INTO job_runs (job_name, owner_id, started_at, duration_ms, rows_processed, " +
+                "status, error_message) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setString(1, run.getJobName());
+            stmt.setString(2, run.getOwnerId());
+            stmt.setTimestamp(3, Timestamp.valueOf(run.getStartedAt()));
+            stmt.setLong(4, run.getDurationMillis());
+            stmt.setInt(5, run.getRowsProcessed());
+            stmt.setString(6, run.getStatus().name());
+            stmt.setString(7, run.getErrorMessage());
+
+            if (stmt.executeUpdate() > 0) {
+                ResultSet generatedKeys = stmt.getGeneratedKeys();
+                if (generatedKeys.next()) {
+                    run.setRunId(generatedKeys.getLong(1));
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.error("Error recording run of job: {}", run.getJobName(), e);
+        }
+        return false;
+    }
+
+    public List<JobRun> getRecentRuns(String jobName, int limit) {
+        List<JobRun> runs = new ArrayList<>();
+        String sql = "SELECT * FROM job_runs WHERE job_name = ? ORDER BY started_at DESC LIMIT ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, jobName);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                runs.add(mapResultSetToJobRun(rs));
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving runs of job: {}", jobName, e);
+        }
+        return runs;
+    }
+
+    private JobRun mapResultSetToJobRun(ResultSet rs) throws SQLException {
+        JobRun run = new JobRun();
+        run.setRunId(rs.getLong("run_id"));
+        run.setJobName(rs.getString("job_name"));
+        run.setOwnerId(rs.getString("owner_id"));
+
+        Timestamp startedAt = rs.getTimestamp("started_at");
+        if (startedAt != null) {
+            run.setStartedAt(startedAt.toLocalDateTime());
+        }
+
+        run.setDurationMillis(rs.getLong("duration_ms"));
+        run.setRowsProcessed(rs.getInt("rows_processed"));
+        run.setStatus(JobRun.RunStatus.valueOf(rs.getString("status")));
+        run.setErrorMessage(rs.getString("error_message"));
+        return run;
+    }
+}
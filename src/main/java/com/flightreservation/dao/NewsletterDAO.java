@@ -14,9 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
 import com.flightreservation.model.entities.Newsletter;
+import com.flightreservation.model.entities.NewsletterReadState;
+import com.flightreservation.util.LruCache;
 
 public class NewsletterDAO {
     private static final Logger logger = LoggerFactory.getLogger(NewsletterDAO.class);
+    // bodies of recently opened newsletters, shared by every panel
+    private static final LruCache<Integer, Newsletter> recentNewsletters = new LruCache<>(32);
 
     public boolean saveNewsletter(Newsletter newsletter) {
         String sql = "INSERT INTO newsletters (subject, message, sent_date) VALUES (?, ?, ?)";
@@ -54,7 +58,7 @@ public class NewsletterDAO {
             while (rs.next()) {
                 newsletters.add(mapResultSetToNewsletter(rs));
             }
-            logger.info("Retrieved {} newsletters", newsletters.size());
+            logger.debug("Retrieved {} newsletters", newsletters.size());
         } catch (SQLException e) {
             logger.error("Error retrieving newsletters", e);
         }
@@ -80,6 +84,192 @@ public class NewsletterDAO {
         return newsletters;
     }
 
+    /**
+     * one page of newsletters without their bodies, newest first
+     */
+    public List<Newsletter> getNewsletterSummaries(int offset, int limit) {
+        List<Newsletter> newsletters = new ArrayList<>();
+        String sql = "SELECT newsletter_id, subject, sent_date FROM newsletters " +
+                "ORDER BY sent_date DESC, newsletter_id DESC LIMIT ? OFFSET ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                Newsletter newsletter = new Newsletter();
+                newsletter.setNewsletterId(rs.getInt("newsletter_id"));
+                newsletter.setSubject(rs.getString("subject"));
+                Timestamp sentDate = rs.getTimestamp("sent_date");
+                if (sentDate != null) {
+                    newsletter.setSentDate(sentDate.toLocalDateTime());
+                }
+                newsletters.add(newsletter);
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving newsletter summaries", e);
+        }
+        return newsletters;
+    }
+
+    public int countNewsletters() {
+        return countNewslettersAbove(0);
+    }
+
+    public Newsletter getNewsletterById(int newsletterId) {
+        Newsletter cached = recentNewsletters.get(newsletterId);
+        if (cached != null) {
+            return cached;
+        }
+
+        String sql = "SELECT * FROM newsletters WHERE newsletter_id = ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, newsletterId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                Newsletter newsletter = mapResultSetToNewsletter(rs);
+                recentNewsletters.put(newsletterId, newsletter);
+                return newsletter;
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving newsletter by ID: {}", newsletterId, e);
+        }
+        return null;
+    }
+
+    public NewsletterReadState getReadState(int customerId) {
+        String sql = "SELECT high_water_mark, read_above_mark FROM newsletter_read_state WHERE customer_id = ?";
+        NewsletterReadState state = new NewsletterReadState(customerId);
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, customerId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                state.setHighWaterMark(rs.getInt("high_water_mark"));
+                state.setReadAboveMarkFromString(rs.getString("read_above_mark"));
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving newsletter read state for customer: {}", customerId, e);
+        }
+        return state;
+    }
+
+    public int getUnreadCount(int customerId) {
+        NewsletterReadState state = getReadState(customerId);
+        return state.getUnreadCount(countNewslettersAbove(state.getHighWaterMark()));
+    }
+
+    public boolean markRead(NewsletterReadState state, int newsletterId) {
+        if (!state.markRead(newsletterId)) {
+            return true;
+        }
+        state.setHighWaterMark(findNewHighWaterMark(state));
+        return saveReadState(state);
+    }
+
+    public boolean markAllRead(NewsletterReadState state) {
+        state.setHighWaterMark(Math.max(state.getHighWaterMark(), getLatestNewsletterId()));
+        return saveReadState(state);
+    }
+
+    private boolean saveReadState(NewsletterReadState state) {
+        String sql = "INSERT INTO newsletter_read_state (customer_id, high_water_mark, read_above_mark) " +
+                "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "high_water_mark = VALUES(high_water_mark), read_above_mark = VALUES(read_above_mark)";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, state.getCustomerId());
+            stmt.setInt(2, state.getHighWaterMark());
+            stmt.setString(3, state.getReadAboveMarkAsString());
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            logger.error("Error saving newsletter read state for customer: {}", state.getCustomerId(), e);
+        }
+        return false;
+    }
+
+    // the mark can move up to just below the oldest newsletter above it that is still unread
+    private int findNewHighWaterMark(NewsletterReadState state) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT MIN(newsletter_id) FROM newsletters WHERE newsletter_id > ?");
+        if (!state.getReadAboveMark().isEmpty()) {
+            sql.append(" AND newsletter_id NOT IN (");
+            for (int i = 0; i < state.getReadAboveMark().size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+            }
+            sql.append(")");
+        }
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int index = 1;
+            stmt.setInt(index++, state.getHighWaterMark());
+            for (Integer id : state.getReadAboveMark()) {
+                stmt.setInt(index++, id);
+            }
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                int oldestUnread = rs.getInt(1);
+                if (!rs.wasNull()) {
+                    return oldestUnread - 1;
+                }
+            }
+            return Math.max(state.getHighWaterMark(), getLatestNewsletterId());
+        } catch (SQLException e) {
+            logger.error("Error compacting newsletter read state", e);
+        }
+        return state.getHighWaterMark();
+    }
+
+    private int getLatestNewsletterId() {
+        String sql = "SELECT COALESCE(MAX(newsletter_id), 0) FROM newsletters";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Error retrieving latest newsletter ID", e);
+        }
+        return 0;
+    }
+
+    private int countNewslettersAbove(int newsletterId) {
+        String sql = "SELECT COUNT(*) FROM newsletters WHERE newsletter_id > ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, newsletterId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Error counting newsletters", e);
+        }
+        return 0;
+    }
+
     public boolean deleteNewsletter(int newsletterId) {
         String sql = "DELETE FROM newsletters WHERE newsletter_id = ?";
 
@@ -89,6 +279,7 @@ public class NewsletterDAO {
             stmt.setInt(1, newsletterId);
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
+                recentNewsletters.remove(newsletterId);
                 logger.info("Deleted newsletter ID: {}", newsletterId);
                 return true;
             }
@@ -43,7 +43,7 @@ public class PassengerDAO {
                 if (generatedKeys.next()) {
                     passenger.setPassengerId(generatedKeys.getInt(1));
                 }
-                logger.info("Created passenger: {}", passenger.getFullName());
+                logger.debug("Created passenger: {}", passenger.getFullName());
                 return true;
             }
         }
@@ -86,6 +86,7 @@ public class PassengerDAO {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
+                touchReservations(passenger.getPassengerId(), conn);
                 logger.info("Updated passenger: {}", passenger.getFullName());
                 return true;
             }
@@ -95,6 +96,18 @@ public class PassengerDAO {
         return false;
     }
 
+    /**
+     * passenger details are shown with their reservations, so bump those for incremental refreshes
+     */
+    private void touchReservations(int passengerId, Connection conn) throws SQLException {
+        String sql = "UPDATE reservations r JOIN reservation_passengers rp ON r.reservation_id = rp.reservation_id " +
+                "SET r.updated_at = CURRENT_TIMESTAMP(3) WHERE rp.passenger_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, passengerId);
+            stmt.executeUpdate();
+        }
+    }
+
     public Passenger mapResultSetToPassenger(ResultSet rs) throws SQLException {
         Passenger passenger = new Passenger();
         passenger.setPassengerId(rs.getInt("passenger_id"));
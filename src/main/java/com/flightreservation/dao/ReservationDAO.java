@@ -6,6 +6,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -14,73 +16,96 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.model.entities.Customer;
+import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Passenger;
 import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.User;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.LatencyHistogram;
+import com.flightreservation.util.SeatChangeFeed;
 
 public class ReservationDAO {
     private static final Logger logger = LoggerFactory.getLogger(ReservationDAO.class);
+    private static final LatencyHistogram createReservationLatency =
+            MetricsRegistry.getInstance().histogram("dao.ReservationDAO.createReservation");
+    private static final LatencyHistogram cancelReservationLatency =
+            MetricsRegistry.getInstance().histogram("dao.ReservationDAO.cancelReservation");
+    private static final LatencyHistogram getReservationByIdLatency =
+            MetricsRegistry.getInstance().histogram("dao.ReservationDAO.getReservationById");
+    private static final LatencyHistogram getReservationsByCustomerIdLatency =
+            MetricsRegistry.getInstance().histogram("dao.ReservationDAO.getReservationsByCustomerId");
+    private static final LatencyHistogram getReservationSummariesLatency =
+            MetricsRegistry.getInstance().histogram("dao.ReservationDAO.getReservationSummaries");
 
     public boolean createReservation(Reservation reservation) {
-        Connection conn = null;
-        try {
-            conn = DatabaseManager.getInstance().getConnection();
-            conn.setAutoCommit(false);
-
-            if (reservation.getConfirmationNumber() == null) {
-                reservation.setConfirmationNumber(generateConfirmationNumber());
-            }
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationDAO.createReservation")) {
+            Connection conn = null;
+            try {
+                conn = DatabaseManager.getInstance().getConnection();
+                conn.setAutoCommit(false);
+
+                if (reservation.getConfirmationNumber() == null) {
+                    reservation.setConfirmationNumber(generateConfirmationNumber());
+                }
 
-            String sql = "INSERT INTO reservations (confirmation_number, reservation_date, status, " +
-                    "total_fare, customer_id, flight_id) VALUES (?, ?, ?, ?, ?, ?)";
+                String sql = "INSERT INTO reservations (confirmation_number, reservation_date, status, " +
+                        "total_fare, customer_id, flight_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                stmt.setString(1, reservation.getConfirmationNumber());
+                stmt.setTimestamp(2, Timestamp.valueOf(reservation.getReservationDate()));
+                stmt.setString(3, reservation.getStatus().name());
+                stmt.setDouble(4, reservation.getTotalFare());
+                stmt.setInt(5, reservation.getCustomerId());
+                stmt.setInt(6, reservation.getFlightId());
+
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows > 0) {
+                    ResultSet generatedKeys = stmt.getGeneratedKeys();
+                    if (generatedKeys.next()) {
+                        reservation.setReservationId(generatedKeys.getInt(1));
+                    }
 
-            PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            stmt.setString(1, reservation.getConfirmationNumber());
-            stmt.setTimestamp(2, Timestamp.valueOf(reservation.getReservationDate()));
-            stmt.setString(3, reservation.getStatus().name());
-            stmt.setDouble(4, reservation.getTotalFare());
-            stmt.setInt(5, reservation.getCustomerId());
-            stmt.setInt(6, reservation.getFlightId());
+                    if (reservation.getPassengers() != null && !reservation.getPassengers().isEmpty()) {
+                        PassengerDAO passengerDAO = new PassengerDAO();
+                        for (Passenger passenger : reservation.getPassengers()) {
+                            passengerDAO.createPassenger(passenger, conn);
+                            linkPassengerToReservation(reservation.getReservationId(), passenger.getPassengerId(),
+                                    passenger.getSeatId(), conn);
+                        }
+                    }
 
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows > 0) {
-                ResultSet generatedKeys = stmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    reservation.setReservationId(generatedKeys.getInt(1));
+                    conn.commit();
+                    logger.debug("Created reservation: {}", reservation.getConfirmationNumber());
+                    return true;
                 }
-
-                if (reservation.getPassengers() != null && !reservation.getPassengers().isEmpty()) {
-                    PassengerDAO passengerDAO = new PassengerDAO();
-                    for (Passenger passenger : reservation.getPassengers()) {
-                        passengerDAO.createPassenger(passenger, conn);
-                        linkPassengerToReservation(reservation.getReservationId(), passenger.getPassengerId(),
-                                passenger.getSeatId(), conn);
+            } catch (SQLException e) {
+                if (conn != null) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException ex) {
+                        logger.error("Error rolling back transaction", ex);
                     }
                 }
-
-                conn.commit();
-                logger.info("Created reservation: {}", reservation.getConfirmationNumber());
-                return true;
-            }
-        } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    logger.error("Error rolling back transaction", ex);
+                logger.error("Error creating reservation", e);
+            } finally {
+                if (conn != null) {
+                    try {
+                        conn.setAutoCommit(true);
+                        conn.close();
+                    } catch (SQLException e) {
+                        logger.error("Error closing connection", e);
+                    }
                 }
             }
-            logger.error("Error creating reservation", e);
+            return false;
         } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    logger.error("Error closing connection", e);
-                }
-            }
+            createReservationLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return false;
     }
 
     private void linkPassengerToReservation(int reservationId, int passengerId, int seatId, Connection conn)
@@ -95,23 +120,28 @@ public class ReservationDAO {
     }
 
     public Reservation getReservationById(int reservationId) {
-        String sql = "SELECT * FROM reservations WHERE reservation_id = ?";
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationDAO.getReservationById")) {
+            String sql = "SELECT * FROM reservations WHERE reservation_id = ?";
 
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, reservationId);
-            ResultSet rs = stmt.executeQuery();
+                stmt.setInt(1, reservationId);
+                ResultSet rs = stmt.executeQuery();
 
-            if (rs.next()) {
-                Reservation reservation = mapResultSetToReservation(rs);
-                loadReservationPassengers(reservation);
-                return reservation;
+                if (rs.next()) {
+                    Reservation reservation = mapResultSetToReservation(rs);
+                    loadReservationPassengers(reservation);
+                    return reservation;
+                }
+            } catch (SQLException e) {
+                logger.error("Error retrieving reservation by ID: {}", reservationId, e);
             }
-        } catch (SQLException e) {
-            logger.error("Error retrieving reservation by ID: {}", reservationId, e);
+            return null;
+        } finally {
+            getReservationByIdLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return null;
     }
 
     public Reservation getReservationByConfirmation(String confirmationNumber) {
@@ -135,25 +165,30 @@ public class ReservationDAO {
     }
 
     public List<Reservation> getReservationsByCustomerId(int customerId) {
-        List<Reservation> reservations = new ArrayList<>();
-        String sql = "SELECT * FROM reservations WHERE customer_id = ? ORDER BY reservation_date DESC";
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationDAO.getReservationsByCustomerId")) {
+            List<Reservation> reservations = new ArrayList<>();
+            String sql = "SELECT * FROM reservations WHERE customer_id = ? ORDER BY reservation_date DESC";
 
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, customerId);
-            ResultSet rs = stmt.executeQuery();
+                stmt.setInt(1, customerId);
+                ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                Reservation reservation = mapResultSetToReservation(rs);
-                loadReservationPassengers(reservation);
-                reservations.add(reservation);
+                while (rs.next()) {
+                    Reservation reservation = mapResultSetToReservation(rs);
+                    loadReservationPassengers(reservation);
+                    reservations.add(reservation);
+                }
+                logger.debug("Retrieved {} reservations for customer {}", reservations.size(), customerId);
+            } catch (SQLException e) {
+                logger.error("Error retrieving reservations for customer: {}", customerId, e);
             }
-            logger.info("Retrieved {} reservations for customer {}", reservations.size(), customerId);
-        } catch (SQLException e) {
-            logger.error("Error retrieving reservations for customer: {}", customerId, e);
+            return reservations;
+        } finally {
+            getReservationsByCustomerIdLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return reservations;
     }
 
     public boolean updateReservationStatus(int reservationId, Reservation.ReservationStatus status) {
@@ -167,7 +202,7 @@ public class ReservationDAO {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
-                logger.info("Updated reservation {} to status {}", reservationId, status);
+                logger.debug("Updated reservation {} to status {}", reservationId, status);
                 return true;
             }
         } catch (SQLException e) {
@@ -196,7 +231,7 @@ public class ReservationDAO {
 
                 reservations.add(reservation);
             }
-            logger.info("Retrieved {} total reservations", reservations.size());
+            logger.debug("Retrieved {} total reservations", reservations.size());
         } catch (SQLException e) {
             logger.error("Error retrieving all reservations", e);
         }
@@ -225,55 +260,267 @@ public class ReservationDAO {
 
                 reservations.add(reservation);
             }
-            logger.info("Retrieved {} reservations with status {}", reservations.size(), status);
+            logger.debug("Retrieved {} reservations with status {}", reservations.size(), status);
         } catch (SQLException e) {
             logger.error("Error retrieving reservations by status", e);
         }
         return reservations;
     }
 
-    public boolean cancelReservation(int reservationId) {
-        Connection conn = null;
-        try {
-            conn = DatabaseManager.getInstance().getConnection();
-            conn.setAutoCommit(false);
+    /**
+     * columns the reservation list can be ordered by, mapped to the SQL used by getReservationSummaries
+     */
+    public enum ReservationSort {
+        RESERVATION_ID("r.reservation_id"),
+        CONFIRMATION_NUMBER("r.confirmation_number"),
+        CUSTOMER("u.username"),
+        FLIGHT_NUMBER("f.flight_number"),
+        DEPARTURE("f.departure_time"),
+        TOTAL_FARE("r.total_fare"),
+        STATUS("r.status"),
+        RESERVATION_DATE("r.reservation_date");
+
+        private final String column;
+
+        ReservationSort(String column) {
+            this.column = column;
+        }
+    }
 
-            updateReservationStatus(reservationId, Reservation.ReservationStatus.CANCELLED);
+    /**
+     * number of reservations with the given status, or all reservations when status is null
+     */
+    public int countReservations(Reservation.ReservationStatus status) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM reservations" + (status != null ? " WHERE status = ?" : "");
 
-            String sql = "SELECT seat_id FROM reservation_passengers WHERE reservation_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, reservationId);
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (status != null) {
+                stmt.setString(1, status.name());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
 
-            SeatDAO seatDAO = new SeatDAO();
-            while (rs.next()) {
-                int seatId = rs.getInt("seat_id");
-                seatDAO.releaseSeat(seatId);
+    /**
+     * one page of reservations for list views, ordered in the database
+     *
+     * flight and customer are filled with the display fields only (flight number, departure, username)
+     * and passengers are not loaded, use getReservationById for the full reservation
+     */
+    public List<Reservation> getReservationSummaries(Reservation.ReservationStatus status, ReservationSort sort,
+            boolean ascending, int offset, int limit) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationDAO.getReservationSummaries")) {
+            String direction = ascending ? " ASC" : " DESC";
+            String sql = "SELECT r.*, f.flight_number, f.departure_time, u.username FROM reservations r " +
+                    "LEFT JOIN flights f ON r.flight_id = f.flight_id " +
+                    "LEFT JOIN users u ON r.customer_id = u.user_id " +
+                    (status != null ? "WHERE r.status = ? " : "") +
+                    "ORDER BY " + sort.column + direction + ", r.reservation_id" + direction + " " +
+                    "LIMIT ? OFFSET ?";
+
+            List<Reservation> reservations = new ArrayList<>(limit);
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (status != null) {
+                    stmt.setString(index++, status.name());
+                }
+                stmt.setInt(index++, limit);
+                stmt.setInt(index, offset);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        reservations.add(mapResultSetToReservationSummary(rs));
+                    }
+                }
             }
+            return reservations;
+        } finally {
+            getReservationSummariesLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
 
-            conn.commit();
-            logger.info("Cancelled reservation {}", reservationId);
-            return true;
-        } catch (SQLException e) {
-            if (conn != null) {
-                try {
-                    conn.rollback();
-                } catch (SQLException ex) {
-                    logger.error("Error rolling back transaction", ex);
+    /**
+     * reservations inserted or updated after the given time, in the same shape as getReservationSummaries
+     */
+    public List<Reservation> getChangedSince(Instant since) throws SQLException {
+        String sql = "SELECT r.*, f.flight_number, f.departure_time, u.username FROM reservations r " +
+                "LEFT JOIN flights f ON r.flight_id = f.flight_id " +
+                "LEFT JOIN users u ON r.customer_id = u.user_id " +
+                "WHERE r.updated_at > ?";
+
+        List<Reservation> reservations = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    reservations.add(mapResultSetToReservationSummary(rs));
                 }
             }
-            logger.error("Error cancelling reservation", e);
+        }
+        logger.debug("{} reservations changed since {}", reservations.size(), since);
+        return reservations;
+    }
+
+    public boolean cancelReservation(int reservationId) {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("ReservationDAO.cancelReservation")) {
+            Connection conn = null;
+            try {
+                conn = DatabaseManager.getInstance().getConnection();
+                conn.setAutoCommit(false);
+
+                updateReservationStatus(reservationId, Reservation.ReservationStatus.CANCELLED);
+
+                String sql = "SELECT seat_id FROM reservation_passengers WHERE reservation_id = ?";
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                stmt.setInt(1, reservationId);
+                ResultSet rs = stmt.executeQuery();
+
+                SeatDAO seatDAO = new SeatDAO();
+                while (rs.next()) {
+                    int seatId = rs.getInt("seat_id");
+                    seatDAO.releaseSeat(seatId);
+                }
+
+                conn.commit();
+                logger.debug("Cancelled reservation {}", reservationId);
+                return true;
+            } catch (SQLException e) {
+                if (conn != null) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException ex) {
+                        logger.error("Error rolling back transaction", ex);
+                    }
+                }
+                logger.error("Error cancelling reservation", e);
+            } finally {
+                if (conn != null) {
+                    try {
+                        conn.setAutoCommit(true);
+                        conn.close();
+                    } catch (SQLException e) {
+                        logger.error("Error closing connection", e);
+                    }
+                }
+            }
+            return false;
         } finally {
-            if (conn != null) {
-                try {
-                    conn.setAutoCommit(true);
-                    conn.close();
-                } catch (SQLException e) {
-                    logger.error("Error closing connection", e);
+            cancelReservationLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * cancels up to batchSize PENDING reservations created before the cutoff and releases their seats
+     * returns the number of reservations expired
+     */
+    public int expirePendingReservations(LocalDateTime cutoff, int batchSize) throws SQLException {
+        try (Connection conn = DatabaseManager.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> expired = new ArrayList<>();
+                String lockSql = "SELECT reservation_id FROM reservations " +
+                        "WHERE status = 'PENDING' AND reservation_date < ? LIMIT ? FOR UPDATE";
+                try (PreparedStatement stmt = conn.prepareStatement(lockSql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                    stmt.setInt(2, batchSize);
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        expired.add(rs.getInt("reservation_id"));
+                    }
+                }
+
+                if (expired.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+
+                String ids = placeholders(expired.size());
+
+                List<Integer> releasedSeats = new ArrayList<>();
+                if (SeatChangeFeed.getInstance().hasSubscribers()) {
+                    String releasedSql = "SELECT seat_id FROM reservation_passengers WHERE reservation_id IN (" +
+                            ids + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(releasedSql)) {
+                        for (int i = 0; i < expired.size(); i++) {
+                            stmt.setInt(i + 1, expired.get(i));
+                        }
+                        ResultSet rs = stmt.executeQuery();
+                        while (rs.next()) {
+                            releasedSeats.add(rs.getInt("seat_id"));
+                        }
+                    }
                 }
+
+                String seatsSql = "UPDATE seats s JOIN reservation_passengers rp ON s.seat_id = rp.seat_id " +
+                        "SET s.status = 'AVAILABLE' WHERE rp.reservation_id IN (" + ids + ")";
+                executeWithIds(conn, seatsSql, expired);
+
+                String flightsSql = "UPDATE flights f JOIN (SELECT r.flight_id, COUNT(*) AS released " +
+                        "FROM reservations r JOIN reservation_passengers rp ON r.reservation_id = rp.reservation_id " +
+                        "WHERE r.reservation_id IN (" + ids + ") GROUP BY r.flight_id) x " +
+                        "ON f.flight_id = x.flight_id SET f.available_seats = f.available_seats + x.released";
+                executeWithIds(conn, flightsSql, expired);
+
+                String reservationsSql = "UPDATE reservations SET status = 'CANCELLED' " +
+                        "WHERE reservation_id IN (" + ids + ")";
+                executeWithIds(conn, reservationsSql, expired);
+
+                conn.commit();
+                SeatChangeFeed.getInstance().seatsWritten(releasedSeats);
+                logger.info("Expired {} pending reservations created before {}", expired.size(), cutoff);
+                return expired.size();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         }
-        return false;
+    }
+
+    /**
+     * marks confirmed reservations on flights that have already arrived as COMPLETED
+     */
+    public int completeArrivedReservations(int batchSize) throws SQLException {
+        String sql = "UPDATE reservations r JOIN (SELECT r2.reservation_id FROM reservations r2 " +
+                "JOIN flights f ON r2.flight_id = f.flight_id " +
+                "WHERE r2.status = 'CONFIRMED' AND f.arrival_time < NOW() LIMIT ?) arrived " +
+                "ON r.reservation_id = arrived.reservation_id SET r.status = 'COMPLETED'";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, batchSize);
+            int completed = stmt.executeUpdate();
+            if (completed > 0) {
+                logger.info("Marked {} reservations as completed", completed);
+            }
+            return completed;
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    private static void executeWithIds(Connection conn, String sql, List<Integer> ids) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            stmt.executeUpdate();
+        }
     }
 
     private void loadReservationPassengers(Reservation reservation) {
@@ -304,6 +551,35 @@ public class ReservationDAO {
         return "FRA" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
     }
 
+    private Reservation mapResultSetToReservationSummary(ResultSet rs) throws SQLException {
+        Reservation reservation = mapResultSetToReservation(rs);
+
+        String flightNumber = rs.getString("flight_number");
+        if (flightNumber != null) {
+            Flight flight = new Flight();
+            flight.setFlightId(reservation.getFlightId());
+            flight.setFlightNumber(flightNumber);
+            Timestamp departure = rs.getTimestamp("departure_time");
+            if (departure != null) {
+                flight.setDepartureTime(departure.toLocalDateTime());
+            }
+            reservation.setFlight(flight);
+        }
+
+        String username = rs.getString("username");
+        if (username != null) {
+            User user = new User();
+            user.setUserId(reservation.getCustomerId());
+            user.setUsername(username);
+            Customer customer = new Customer();
+            customer.setCustomerId(reservation.getCustomerId());
+            customer.setUserId(reservation.getCustomerId());
+            customer.setUser(user);
+            reservation.setCustomer(customer);
+        }
+        return reservation;
+    }
+
     private Reservation mapResultSetToReservation(ResultSet rs) throws SQLException {
         Reservation reservation = new Reservation();
         reservation.setReservationId(rs.getInt("reservation_id"));
@@ -7,10 +7,35 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class RouteDAO {
     private static final Logger logger = LoggerFactory.getLogger(RouteDAO.class);
+    private static final List<RouteChangeListener> routeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * notified after a route was created, updated or deleted, e.g. to rebuild the airport dictionary
+     */
+    public interface RouteChangeListener {
+        void onRoutesChanged();
+    }
+
+    public static void addRouteListener(RouteChangeListener listener) {
+        routeListeners.add(listener);
+    }
+
+    public static void removeRouteListener(RouteChangeListener listener) {
+        routeListeners.remove(listener);
+    }
+
+    private static void fireRoutesChanged() {
+        for (RouteChangeListener listener : routeListeners) {
+            listener.onRoutesChanged();
+        }
+    }
 
     public List<Route> getAllRoutes() {
         List<Route> routes = new ArrayList<>();
@@ -23,13 +48,37 @@ public class RouteDAO {
             while (rs.next()) {
                 routes.add(mapResultSetToRoute(rs));
             }
-            logger.info("Retrieved {} routes", routes.size());
+            logger.debug("Retrieved {} routes", routes.size());
         } catch (SQLException e) {
             logger.error("Error retrieving all routes", e);
         }
         return routes;
     }
 
+    /**
+     * every airport code used by a route, mapped to the number of flights on routes touching it
+     * (airports on routes without flights map to 0)
+     */
+    public Map<String, Integer> getAirportPopularity() throws SQLException {
+        String sql = "SELECT code, SUM(flights) AS flights FROM (" +
+                "SELECT r.origin_airport AS code, COUNT(f.flight_id) AS flights FROM routes r " +
+                "LEFT JOIN flights f ON f.route_id = r.route_id GROUP BY r.origin_airport " +
+                "UNION ALL " +
+                "SELECT r.destination_airport, COUNT(f.flight_id) FROM routes r " +
+                "LEFT JOIN flights f ON f.route_id = r.route_id GROUP BY r.destination_airport" +
+                ") airports GROUP BY code ORDER BY code";
+
+        Map<String, Integer> popularity = new LinkedHashMap<>();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                popularity.put(rs.getString("code").toUpperCase(), rs.getInt("flights"));
+            }
+        }
+        return popularity;
+    }
+
     public Route getRouteById(int routeId) {
         String sql = "SELECT * FROM routes WHERE route_id = ?";
 
@@ -67,6 +116,7 @@ public class RouteDAO {
                     route.setRouteId(generatedKeys.getInt(1));
                 }
                 logger.info("Created route: {} -> {}", route.getOriginAirport(), route.getDestinationAirport());
+                fireRoutesChanged();
                 return true;
             }
         } catch (SQLException e) {
@@ -91,6 +141,7 @@ public class RouteDAO {
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 logger.info("Updated route ID: {}", route.getRouteId());
+                fireRoutesChanged();
                 return true;
             }
         } catch (SQLException e) {
@@ -109,6 +160,7 @@ public class RouteDAO {
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
                 logger.info("Deleted route ID: {}", routeId);
+                fireRoutesChanged();
                 return true;
             }
         } catch (SQLException e) {
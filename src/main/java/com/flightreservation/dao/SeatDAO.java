@@ -5,93 +5,224 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.jfr.SeatQueryEvent;
+import com.flightreservation.jfr.SeatReserveEvent;
+import com.flightreservation.metrics.MetricsRegistry;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.LatencyHistogram;
+import com.flightreservation.util.SeatChangeFeed;
 
 public class SeatDAO {
     private static final Logger logger = LoggerFactory.getLogger(SeatDAO.class);
+    private static final LatencyHistogram getSeatsByFlightIdLatency =
+            MetricsRegistry.getInstance().histogram("dao.SeatDAO.getSeatsByFlightId");
+    private static final LatencyHistogram getAvailableSeatsLatency =
+            MetricsRegistry.getInstance().histogram("dao.SeatDAO.getAvailableSeats");
+    private static final LatencyHistogram getSeatByIdLatency =
+            MetricsRegistry.getInstance().histogram("dao.SeatDAO.getSeatById");
+    private static final LatencyHistogram reserveSeatLatency =
+            MetricsRegistry.getInstance().histogram("dao.SeatDAO.reserveSeat");
+    private static final LatencyHistogram releaseSeatLatency =
+            MetricsRegistry.getInstance().histogram("dao.SeatDAO.releaseSeat");
+    /**
+     * getAvailableSeats logs one seat out of this many at DEBUG, the rest only show up in the row count
+     */
+    private static final int SEAT_LOG_SAMPLE_EVERY = Math.max(1, Integer.getInteger("log.seatSampleEvery", 50));
 
     public List<Seat> getSeatsByFlightId(int flightId) {
-        List<Seat> seats = new ArrayList<>();
-        String sql = "SELECT * FROM seats WHERE flight_id = ? ORDER BY seat_number";
+        long startNanos = System.nanoTime();
+        SeatQueryEvent event = new SeatQueryEvent(flightId, false);
+        event.begin();
+        try (Span span = Tracer.start("SeatDAO.getSeatsByFlightId")) {
+            List<Seat> seats = new ArrayList<>();
+            String sql = "SELECT * FROM seats WHERE flight_id = ? ORDER BY seat_number";
 
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, flightId);
-            ResultSet rs = stmt.executeQuery();
+                stmt.setInt(1, flightId);
+                ResultSet rs = stmt.executeQuery();
 
-            while (rs.next()) {
-                seats.add(mapResultSetToSeat(rs));
+                while (rs.next()) {
+                    seats.add(mapResultSetToSeat(rs));
+                }
+                logger.debug("Retrieved {} seats for flight {}", seats.size(), flightId);
+            } catch (SQLException e) {
+                logger.error("Error retrieving seats for flight: {}", flightId, e);
             }
-            logger.info("Retrieved {} seats for flight {}", seats.size(), flightId);
-        } catch (SQLException e) {
-            logger.error("Error retrieving seats for flight: {}", flightId, e);
+            event.setRows(seats.size());
+            return seats;
+        } finally {
+            event.commit();
+            getSeatsByFlightIdLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return seats;
     }
 
     public List<Seat> getAvailableSeats(int flightId) {
-        List<Seat> seats = new ArrayList<>();
-        String sql = "SELECT * FROM seats WHERE flight_id = ? AND status = 'AVAILABLE'";
+        long startNanos = System.nanoTime();
+        SeatQueryEvent event = new SeatQueryEvent(flightId, true);
+        event.begin();
+        try (Span span = Tracer.start("SeatDAO.getAvailableSeats")) {
+            List<Seat> seats = new ArrayList<>();
+            String sql = "SELECT * FROM seats WHERE flight_id = ? AND status = 'AVAILABLE'";
+
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+                stmt.setInt(1, flightId);
+                logger.debug("Executing query: {} with flight_id={}", sql, flightId);
+                ResultSet rs = stmt.executeQuery();
+
+                boolean debug = logger.isDebugEnabled();
+                int rowCount = 0;
+                while (rs.next()) {
+                    rowCount++;
+                    Seat seat = mapResultSetToSeat(rs);
+                    if (debug && (rowCount - 1) % SEAT_LOG_SAMPLE_EVERY == 0) {
+                        logger.debug("Found seat #{}: {} - {} - {} - {}", rowCount,
+                                seat.getSeatNumber(), seat.getSeatClass(), seat.getStatus(), seat.getPrice());
+                    }
+                    seats.add(seat);
+                }
+                logger.debug("Query returned {} rows, mapped to {} seats for flight {}",
+                        rowCount, seats.size(), flightId);
+            } catch (SQLException e) {
+                logger.error("Error retrieving available seats for flight {}: {}", flightId, e.getMessage(), e);
+            }
+            event.setRows(seats.size());
+            return seats;
+        } finally {
+            event.commit();
+            getAvailableSeatsLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * seats of one flight inserted or updated after the given time, mostly status changes
+     */
+    public List<Seat> getChangedSince(int flightId, Instant since) throws SQLException {
+        String sql = "SELECT * FROM seats WHERE flight_id = ? AND updated_at > ?";
+
+        List<Seat> seats = new ArrayList<>();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-
             stmt.setInt(1, flightId);
-            logger.info("Executing query: {} with flight_id={}", sql, flightId);
-            ResultSet rs = stmt.executeQuery();
-
-            int rowCount = 0;
-            while (rs.next()) {
-                rowCount++;
-                Seat seat = mapResultSetToSeat(rs);
-                logger.info("Found seat: {} - {} - {} - {}",
-                        seat.getSeatNumber(), seat.getSeatClass(), seat.getStatus(), seat.getPrice());
-                seats.add(seat);
+            stmt.setTimestamp(2, Timestamp.from(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seats.add(mapResultSetToSeat(rs));
+                }
             }
-            logger.info("Query returned {} rows, mapped to {} seats for flight {}", rowCount, seats.size(), flightId);
-        } catch (SQLException e) {
-            logger.error("Error retrieving available seats for flight {}: {}", flightId, e.getMessage(), e);
         }
+        logger.debug("{} seats of flight {} changed since {}", seats.size(), flightId, since);
         return seats;
     }
 
-    public Seat getSeatById(int seatId) {
-        String sql = "SELECT * FROM seats WHERE seat_id = ?";
+    /**
+     * seats of every flight inserted or updated after the given time
+     */
+    public List<Seat> getChangedSince(Instant since) throws SQLException {
+        String sql = "SELECT * FROM seats WHERE updated_at > ?";
 
+        List<Seat> seats = new ArrayList<>();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.from(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seats.add(mapResultSetToSeat(rs));
+                }
+            }
+        }
+        logger.debug("{} seats changed since {}", seats.size(), since);
+        return seats;
+    }
+
+    public Seat getSeatById(int seatId) {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("SeatDAO.getSeatById")) {
+            String sql = "SELECT * FROM seats WHERE seat_id = ?";
 
-            stmt.setInt(1, seatId);
-            ResultSet rs = stmt.executeQuery();
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            if (rs.next()) {
-                return mapResultSetToSeat(rs);
+                stmt.setInt(1, seatId);
+                ResultSet rs = stmt.executeQuery();
+
+                if (rs.next()) {
+                    return mapResultSetToSeat(rs);
+                }
+            } catch (SQLException e) {
+                logger.error("Error retrieving seat by ID: {}", seatId, e);
             }
-        } catch (SQLException e) {
-            logger.error("Error retrieving seat by ID: {}", seatId, e);
+            return null;
+        } finally {
+            getSeatByIdLatency.recordNanos(System.nanoTime() - startNanos);
         }
-        return null;
+    }
+
+    /**
+     * current state of the given seats, in no particular order
+     */
+    public List<Seat> getSeatsByIds(Collection<Integer> seatIds) throws SQLException {
+        if (seatIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT * FROM seats WHERE seat_id IN (" +
+                String.join(", ", Collections.nCopies(seatIds.size(), "?")) + ")";
+
+        List<Seat> seats = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (int seatId : seatIds) {
+                stmt.setInt(index++, seatId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seats.add(mapResultSetToSeat(rs));
+                }
+            }
+        }
+        return seats;
     }
 
     public boolean reserveSeat(int seatId) {
-        return updateSeatStatus(seatId, Seat.SeatStatus.RESERVED);
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("SeatDAO.reserveSeat")) {
+            return updateSeatStatus(seatId, Seat.SeatStatus.RESERVED);
+        } finally {
+            reserveSeatLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public boolean releaseSeat(int seatId) {
-        return updateSeatStatus(seatId, Seat.SeatStatus.AVAILABLE);
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("SeatDAO.releaseSeat")) {
+            return updateSeatStatus(seatId, Seat.SeatStatus.AVAILABLE);
+        } finally {
+            releaseSeatLatency.recordNanos(System.nanoTime() - startNanos);
+        }
     }
 
     public boolean updateSeatStatus(int seatId, Seat.SeatStatus status) {
         String sql = "UPDATE seats SET status = ? WHERE seat_id = ?";
 
+        SeatReserveEvent event = new SeatReserveEvent(seatId, status.name());
+        event.begin();
         try (Connection conn = DatabaseManager.getInstance().getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
@@ -100,11 +231,15 @@ public class SeatDAO {
 
             int affectedRows = stmt.executeUpdate();
             if (affectedRows > 0) {
-                logger.info("Updated seat {} to status {}", seatId, status);
+                logger.debug("Updated seat {} to status {}", seatId, status);
+                SeatChangeFeed.getInstance().seatsWritten(Collections.singletonList(seatId));
+                event.setUpdated(true);
                 return true;
             }
         } catch (SQLException e) {
             logger.error("Error updating seat status", e);
+        } finally {
+            event.commit();
         }
         return false;
     }
@@ -6,17 +6,28 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.metrics.MetricsRegistry;
 import com.flightreservation.model.strategies.authentication.AuthenticationStrategy;
 import com.flightreservation.model.strategies.authentication.PasswordAuthenticationStrategy;
 import com.flightreservation.model.entities.User;
+import com.flightreservation.tracing.Span;
+import com.flightreservation.tracing.Tracer;
+import com.flightreservation.util.AuditLog;
+import com.flightreservation.util.LatencyHistogram;
 
 public class UserDAO {
     private static final Logger logger = LoggerFactory.getLogger(UserDAO.class);
+    private static final LatencyHistogram authenticateLatency =
+            MetricsRegistry.getInstance().histogram("dao.UserDAO.authenticate");
+    private static final LatencyHistogram getUserBySessionLatency =
+            MetricsRegistry.getInstance().histogram("dao.UserDAO.getUserBySession");
     private final AuthenticationStrategy authStrategy;
 
     public UserDAO() {
@@ -24,38 +35,46 @@ public class UserDAO {
     }
 
     public User authenticate(String username, String password) {
-        String sql = "SELECT user_id, username, password_hash, email, phone_number, role, " +
-                "account_status, created_date, last_login_date " +
-                "FROM users WHERE username = ? AND account_status = 'ACTIVE'";
-
-        try (Connection conn = DatabaseManager.getInstance().getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, username);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                String storedPassword = rs.getString("password_hash");
-
-                if (authStrategy.authenticate(username, password) && password.equals(storedPassword)) {
-                    User user = mapResultSetToUser(rs);
-                    updateLastLogin(user.getUserId());
-                    logger.info("User authenticated successfully using: {}",
-                            authStrategy.getAuthenticationMethodName());
-                    return user;
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("UserDAO.authenticate")) {
+            String sql = "SELECT user_id, username, password_hash, email, phone_number, role, " +
+                    "account_status, created_date, last_login_date " +
+                    "FROM users WHERE username = ? AND account_status = 'ACTIVE'";
+
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, username);
+                ResultSet rs = stmt.executeQuery();
+
+                if (rs.next()) {
+                    String storedPassword = rs.getString("password_hash");
+
+                    if (authStrategy.authenticate(username, password) && password.equals(storedPassword)) {
+                        User user = mapResultSetToUser(rs);
+                        updateLastLogin(user.getUserId());
+                        logger.debug("User authenticated successfully using: {}",
+                                authStrategy.getAuthenticationMethodName());
+                        AuditLog.loginSucceeded(user);
+                        return user;
+                    }
                 }
-            }
-            logger.warn("Authentication failed for user: {}", username);
-            return null;
+                logger.warn("Authentication failed for user: {}", username);
+                AuditLog.loginFailed(username);
+                return null;
 
-        } catch (SQLException e) {
-            logger.error("Error authenticating user: " + username, e);
-            return null;
+            } catch (SQLException e) {
+                logger.error("Error authenticating user: " + username, e);
+                return null;
+            }
+        } finally {
+            authenticateLatency.recordNanos(System.nanoTime() - startNanos);
         }
     }
 
     private void updateLastLogin(int userId) {
-        String sql = "UPDATE users SET last_login_date = NOW() WHERE user_id = ?";
+        // keeps updated_at as is, a login is not a change incremental refreshes need to pick up
+        String sql = "UPDATE users SET last_login_date = NOW(), updated_at = updated_at WHERE user_id = ?";
 
         try (Connection conn = DatabaseManager.getInstance().getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -80,7 +99,7 @@ public class UserDAO {
             stmt.setString(3, ipAddress);
             stmt.executeUpdate();
 
-            logger.info("Session created for user: {}", userId);
+            logger.debug("Session created for user: {}", userId);
             return sessionId;
 
         } catch (SQLException e) {
@@ -97,13 +116,78 @@ public class UserDAO {
 
             stmt.setString(1, sessionId);
             stmt.executeUpdate();
-            logger.info("Session ended: {}", sessionId);
+            logger.debug("Session ended: {}", sessionId);
 
         } catch (SQLException e) {
             logger.error("Error ending session: " + sessionId, e);
         }
     }
 
+    /**
+     * active user owning the session, or null when the session does not exist, has been idle for longer
+     * than maxIdleSeconds or the account is not active
+     */
+    public User getUserBySession(String sessionId, long maxIdleSeconds) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (Span span = Tracer.start("UserDAO.getUserBySession")) {
+            String sql = "SELECT u.user_id, u.username, u.password_hash, u.email, u.phone_number, u.role, " +
+                    "u.account_status, u.created_date, u.last_login_date " +
+                    "FROM sessions s JOIN users u ON s.user_id = u.user_id " +
+                    "WHERE s.session_id = ? AND s.last_activity_timestamp > NOW() - INTERVAL ? SECOND " +
+                    "AND u.account_status = 'ACTIVE'";
+
+            try (Connection conn = DatabaseManager.getInstance().getConnection();
+                    PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, sessionId);
+                stmt.setLong(2, maxIdleSeconds);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? mapResultSetToUser(rs) : null;
+                }
+            }
+        } finally {
+            getUserBySessionLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * writes the last activity of many sessions in one batch, keyed by session id
+     */
+    public void touchSessions(Map<String, Instant> lastActivity) throws SQLException {
+        String sql = "UPDATE sessions SET last_activity_timestamp = ? WHERE session_id = ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (Map.Entry<String, Instant> entry : lastActivity.entrySet()) {
+                stmt.setTimestamp(1, Timestamp.from(entry.getValue()));
+                stmt.setString(2, entry.getKey());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            logger.debug("Wrote back activity of {} sessions", lastActivity.size());
+        }
+    }
+
+    /**
+     * deletes up to batchSize sessions idle for longer than maxIdleMinutes, returns the number removed
+     */
+    public int deleteStaleSessions(int maxIdleMinutes, int batchSize) throws SQLException {
+        String sql = "DELETE FROM sessions WHERE last_activity_timestamp < NOW() - INTERVAL ? MINUTE LIMIT ?";
+
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, maxIdleMinutes);
+            stmt.setInt(2, batchSize);
+            int deleted = stmt.executeUpdate();
+            if (deleted > 0) {
+                logger.info("Deleted {} stale sessions", deleted);
+            }
+            return deleted;
+        }
+    }
+
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         User user = new User();
         user.setUserId(rs.getInt("user_id"));
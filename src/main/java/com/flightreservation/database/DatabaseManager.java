@@ -4,14 +4,26 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
 import java.util.Properties;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.flightreservation.metrics.Counter;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.tracing.InstrumentedJdbc;
+import com.flightreservation.util.LatencyHistogram;
+
 public class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
+    private static final LatencyHistogram connectLatency =
+            MetricsRegistry.getInstance().histogram("db.DatabaseManager.getConnection");
+    private static final Counter connectFailures =
+            MetricsRegistry.getInstance().counter("db.DatabaseManager.connectFailures");
     private static volatile DatabaseManager instance;
     private String jdbcUrl;
     private String username;
@@ -38,9 +50,10 @@ public class DatabaseManager {
 
             Properties props = loadDatabaseProperties();
 
-            this.jdbcUrl = buildJdbcUrl(props);
-            this.username = props.getProperty("db.username");
-            this.password = props.getProperty("db.password");
+            // system properties take precedence, e.g. to point benchmarks and load runs at an embedded database
+            this.jdbcUrl = System.getProperty("db.url", buildJdbcUrl(props));
+            this.username = System.getProperty("db.username", props.getProperty("db.username"));
+            this.password = System.getProperty("db.password", props.getProperty("db.password"));
 
             logger.info("Database manager initialized successfully");
 
@@ -97,7 +110,29 @@ public class DatabaseManager {
         if (jdbcUrl == null || username == null) {
             throw new SQLException("Database not initialized");
         }
-        return DriverManager.getConnection(jdbcUrl, username, password);
+        // every call opens a new physical connection, its latency is what a pool would save
+        long startNanos = System.nanoTime();
+        try {
+            return InstrumentedJdbc.wrap(DriverManager.getConnection(jdbcUrl, username, password));
+        } catch (SQLException e) {
+            connectFailures.increment();
+            throw e;
+        } finally {
+            connectLatency.recordNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * current time on the database server, used as the watermark for "changed since" queries
+     * so they do not depend on the application clock
+     */
+    public Instant getCurrentTimestamp() throws SQLException {
+        try (Connection conn = getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP(3)")) {
+            rs.next();
+            return rs.getTimestamp(1).toInstant();
+        }
     }
 
     public boolean testConnection() {
@@ -0,0 +1,56 @@
+package com.flightreservation.database;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * lets the caller of a long-running query cancel it on the server from another thread
+ *
+ * - the DAO attaches its statement before executing and detaches it once the result is read
+ * - attaching to an already cancelled handle throws, the DAO never executes the statement
+ *   (Statement.cancel before executeQuery is a no-op on Connector/J)
+ */
+public class QueryHandle {
+    private static final Logger logger = LoggerFactory.getLogger(QueryHandle.class);
+
+    private Statement statement;
+    private boolean cancelled;
+
+    public synchronized void attach(Statement statement) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query was cancelled before it started", "70100");
+        }
+        this.statement = statement;
+    }
+
+    public synchronized void detach() {
+        statement = null;
+    }
+
+    public void cancel() {
+        Statement running;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            running = statement;
+        }
+        if (running == null) {
+            return;
+        }
+        try {
+            running.cancel();
+            logger.debug("Cancelled superseded query");
+        } catch (SQLException e) {
+            logger.warn("Could not cancel query: {}", e.getMessage());
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightreservation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one create, confirm or cancel of a reservation, committed whatever the outcome
+ */
+@Name("com.flightreservation.Booking")
+@Label("Booking")
+@Category({ "Flight Reservation", "Booking" })
+@Description("Creating, confirming or cancelling a reservation")
+@StackTrace(false)
+public class BookingEvent extends jdk.jfr.Event {
+    public static final String CREATE = "create";
+    public static final String CONFIRM = "confirm";
+    public static final String CANCEL = "cancel";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Customer Id")
+    private int customerId;
+
+    @Label("Flight Id")
+    private int flightId;
+
+    @Label("Reservation Id")
+    private int reservationId;
+
+    @Label("Passengers")
+    private int passengers;
+
+    @Label("Outcome")
+    @Description("OK, or why the operation did not go through")
+    private String outcome = "FAILED";
+
+    public BookingEvent(String operation) {
+        this.operation = operation;
+    }
+
+    public void setCustomerId(int customerId) {
+        this.customerId = customerId;
+    }
+
+    public void setFlightId(int flightId) {
+        this.flightId = flightId;
+    }
+
+    public void setReservationId(int reservationId) {
+        this.reservationId = reservationId;
+    }
+
+    public void setPassengers(int passengers) {
+        this.passengers = passengers;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+}
@@ -0,0 +1,50 @@
+package com.flightreservation.jfr;
+
+import java.time.LocalDate;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timestamp;
+
+/**
+ * one flight search, from the search panel or the live search
+ */
+@Name("com.flightreservation.FlightSearch")
+@Label("Flight Search")
+@Category({ "Flight Reservation", "Search" })
+@Description("Search for flights between two airports")
+@StackTrace(false)
+public class FlightSearchEvent extends jdk.jfr.Event {
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    @Label("Origin")
+    private String origin;
+
+    @Label("Destination")
+    private String destination;
+
+    @Label("Departure Date")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    private long departureDate;
+
+    @Label("Live")
+    @Description("Search as you type, limited and cancellable")
+    private boolean live;
+
+    @Label("Results")
+    private int results;
+
+    public FlightSearchEvent(String origin, String destination, LocalDate departureDate, boolean live) {
+        this.origin = origin;
+        this.destination = destination;
+        this.departureDate = departureDate != null ? departureDate.toEpochDay() * MILLIS_PER_DAY : 0;
+        this.live = live;
+    }
+
+    public void setResults(int results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,42 @@
+package com.flightreservation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one notification sent to many recipients, the attached observers or a targeted audience
+ */
+@Name("com.flightreservation.NotificationBatch")
+@Label("Notification Batch")
+@Category({ "Flight Reservation", "Notifications" })
+@Description("Notification delivered or queued for a digest, per recipient")
+@StackTrace(false)
+public class NotificationBatchEvent extends jdk.jfr.Event {
+    @Label("Type")
+    private String type;
+
+    @Label("Audience")
+    private String audience;
+
+    @Label("Recipients")
+    private int recipients;
+
+    @Label("Delivered")
+    private int delivered;
+
+    public NotificationBatchEvent(String type, String audience) {
+        this.type = type;
+        this.audience = audience;
+    }
+
+    public void setRecipients(int recipients) {
+        this.recipients = recipients;
+    }
+
+    public void setDelivered(int delivered) {
+        this.delivered = delivered;
+    }
+}
@@ -0,0 +1,35 @@
+package com.flightreservation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one read of a flight's seats, all of them or only the available ones
+ */
+@Name("com.flightreservation.SeatQuery")
+@Label("Seat Query")
+@Category({ "Flight Reservation", "Seats" })
+@Description("Seats of a flight read from the database")
+@StackTrace(false)
+public class SeatQueryEvent extends jdk.jfr.Event {
+    @Label("Flight Id")
+    private int flightId;
+
+    @Label("Available Only")
+    private boolean availableOnly;
+
+    @Label("Rows")
+    private int rows;
+
+    public SeatQueryEvent(int flightId, boolean availableOnly) {
+        this.flightId = flightId;
+        this.availableOnly = availableOnly;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+}
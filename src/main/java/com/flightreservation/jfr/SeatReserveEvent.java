@@ -0,0 +1,35 @@
+package com.flightreservation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * one seat status change, reserving or releasing a seat
+ */
+@Name("com.flightreservation.SeatReserve")
+@Label("Seat Reserve")
+@Category({ "Flight Reservation", "Seats" })
+@Description("Seat status update, updated is false when the seat row was not changed")
+@StackTrace(false)
+public class SeatReserveEvent extends jdk.jfr.Event {
+    @Label("Seat Id")
+    private int seatId;
+
+    @Label("Status")
+    private String status;
+
+    @Label("Updated")
+    private boolean updated;
+
+    public SeatReserveEvent(int seatId, String status) {
+        this.seatId = seatId;
+        this.status = status;
+    }
+
+    public void setUpdated(boolean updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,28 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+
+import com.flightreservation.dao.ReservationDAO;
+
+/**
+ * marks confirmed reservations as COMPLETED once their flight has arrived
+ */
+public class CompleteArrivedReservationsJob implements Job {
+    private static final int BATCH_SIZE = 1000;
+    private final ReservationDAO reservationDAO = new ReservationDAO();
+
+    @Override
+    public String getName() {
+        return "complete-arrived-reservations";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMinutes(10);
+    }
+
+    @Override
+    public int run() throws Exception {
+        return reservationDAO.completeArrivedReservations(BATCH_SIZE);
+    }
+}
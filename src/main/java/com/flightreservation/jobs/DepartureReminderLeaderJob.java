@@ -0,0 +1,38 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+
+import com.flightreservation.scheduler.DepartureReminderScheduler;
+
+/**
+ * keeps the departure reminder scheduler running on exactly one instance
+ *
+ * - every pass renews this instance's lease and starts the scheduler if it is not running yet
+ * - when another instance holds the lease the scheduler is stopped here, so each reminder goes out once
+ * - a crashed holder's lease runs out after two intervals and the next instance to pass takes over
+ */
+public class DepartureReminderLeaderJob implements Job {
+    private static final Duration INTERVAL = Duration.ofMinutes(2);
+    private final DepartureReminderScheduler scheduler = DepartureReminderScheduler.getInstance();
+
+    @Override
+    public String getName() {
+        return "departure-reminders";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return INTERVAL;
+    }
+
+    @Override
+    public int run() {
+        scheduler.start();
+        return 0;
+    }
+
+    @Override
+    public void onLeaseLost() {
+        scheduler.stop();
+    }
+}
@@ -0,0 +1,34 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.flightreservation.dao.ReservationDAO;
+
+/**
+ * cancels reservations left PENDING past the hold time and releases their seats
+ */
+public class ExpirePendingReservationsJob implements Job {
+    private static final int BATCH_SIZE = 500;
+    private final ReservationDAO reservationDAO = new ReservationDAO();
+    private final Duration holdTime;
+
+    public ExpirePendingReservationsJob(Duration holdTime) {
+        this.holdTime = holdTime;
+    }
+
+    @Override
+    public String getName() {
+        return "expire-pending-reservations";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMinutes(1);
+    }
+
+    @Override
+    public int run() throws Exception {
+        return reservationDAO.expirePendingReservations(LocalDateTime.now().minus(holdTime), BATCH_SIZE);
+    }
+}
@@ -0,0 +1,25 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+
+/**
+ * periodic maintenance task run by the JobScheduler
+ * only the instance holding the job's lease runs it
+ */
+public interface Job {
+
+    String getName();
+
+    Duration getInterval();
+
+    /**
+     * does one bounded pass of work and returns the number of rows processed
+     */
+    int run() throws Exception;
+
+    /**
+     * called when another instance holds the lease, for jobs that keep something running between passes
+     */
+    default void onLeaseLost() {
+    }
+}
@@ -0,0 +1,102 @@
+package com.flightreservation.jobs;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.util.LatencyHistogram;
+
+/**
+ * in-memory counters for one job on this instance
+ *
+ * - published to the MetricsRegistry as jobs.<name>.*, so they show up over JMX and on GET /api/metrics
+ * - jobs.<name>.duration is a histogram of the run times, the rest are gauges over the counters below
+ */
+public class JobMetrics {
+    private final String jobName;
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skippedNotLeader = new AtomicLong();
+    private final AtomicLong rowsProcessed = new AtomicLong();
+    private final AtomicLong totalDurationMillis = new AtomicLong();
+    private final AtomicLong maxDurationMillis = new AtomicLong();
+    private volatile long lastDurationMillis;
+    private volatile int lastRowsProcessed;
+    private final LatencyHistogram duration;
+
+    public JobMetrics(String jobName) {
+        this.jobName = jobName;
+
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String prefix = "jobs." + jobName + ".";
+        this.duration = registry.histogram(prefix + "duration");
+        registry.gauge(prefix + "runs", runs::get);
+        registry.gauge(prefix + "failures", failures::get);
+        registry.gauge(prefix + "skippedNotLeader", skippedNotLeader::get);
+        registry.gauge(prefix + "rowsProcessed", rowsProcessed::get);
+        registry.gauge(prefix + "lastRowsProcessed", () -> lastRowsProcessed);
+        registry.gauge(prefix + "lastDurationMillis", () -> lastDurationMillis);
+        registry.gauge(prefix + "maxDurationMillis", maxDurationMillis::get);
+    }
+
+    void recordRun(long durationMillis, int rows, boolean failed) {
+        runs.incrementAndGet();
+        if (failed) {
+            failures.incrementAndGet();
+        }
+        rowsProcessed.addAndGet(rows);
+        totalDurationMillis.addAndGet(durationMillis);
+        maxDurationMillis.accumulateAndGet(durationMillis, Math::max);
+        lastDurationMillis = durationMillis;
+        lastRowsProcessed = rows;
+        duration.recordNanos(TimeUnit.MILLISECONDS.toNanos(durationMillis));
+    }
+
+    void recordSkipped() {
+        skippedNotLeader.incrementAndGet();
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSkippedNotLeader() {
+        return skippedNotLeader.get();
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    public long getMaxDurationMillis() {
+        return maxDurationMillis.get();
+    }
+
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    public int getLastRowsProcessed() {
+        return lastRowsProcessed;
+    }
+
+    public double getAverageDurationMillis() {
+        long count = runs.get();
+        return count == 0 ? 0 : (double) totalDurationMillis.get() / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: runs=%d failures=%d skipped=%d rows=%d avg=%.1fms max=%dms",
+                jobName, getRuns(), getFailures(), getSkippedNotLeader(), getRowsProcessed(),
+                getAverageDurationMillis(), getMaxDurationMillis());
+    }
+}
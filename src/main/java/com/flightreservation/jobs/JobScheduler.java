@@ -0,0 +1,141 @@
+package com.flightreservation.jobs;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.JobDAO;
+import com.flightreservation.model.entities.JobRun;
+
+/**
+ * runs registered jobs periodically across all app instances
+ *
+ * - every instance schedules every job, a lease row in job_leases picks the one that actually runs it
+ * - each run is recorded in job_runs and in the in-memory JobMetrics, published as jobs.<name>.* metrics
+ */
+public class JobScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(JobScheduler.class);
+    private static JobScheduler instance;
+
+    private final String ownerId;
+    private final JobDAO jobDAO;
+    private final ScheduledExecutorService executor;
+    private final List<Job> jobs = new ArrayList<>();
+    private final Map<String, JobMetrics> metrics = new ConcurrentHashMap<>();
+    private boolean started;
+
+    private JobScheduler() {
+        this.ownerId = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+        this.jobDAO = new JobDAO();
+        this.executor = Executors.newScheduledThreadPool(2, r -> {
+            Thread thread = new Thread(r, "background-jobs");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized JobScheduler getInstance() {
+        if (instance == null) {
+            instance = new JobScheduler();
+        }
+        return instance;
+    }
+
+    public synchronized void register(Job job) {
+        if (started) {
+            throw new IllegalStateException("Jobs must be registered before the scheduler starts");
+        }
+        jobs.add(job);
+        metrics.put(job.getName(), new JobMetrics(job.getName()));
+    }
+
+    /**
+     * the maintenance jobs every instance schedules, both entry points call this before start()
+     */
+    public synchronized void registerDefaultJobs() {
+        register(new ExpirePendingReservationsJob(Duration.ofMinutes(30)));
+        register(new StaleSessionCleanupJob(Duration.ofHours(12)));
+        register(new SeatAvailabilityReconciliationJob());
+        register(new CompleteArrivedReservationsJob());
+        register(new DepartureReminderLeaderJob());
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        for (Job job : jobs) {
+            long intervalMillis = job.getInterval().toMillis();
+            // spread the first runs so instances started together do not all race for the same leases
+            long initialDelay = ThreadLocalRandom.current().nextLong(intervalMillis / 4 + 1);
+            executor.scheduleWithFixedDelay(() -> runOnce(job), initialDelay, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Job scheduler {} started with {} jobs", ownerId, jobs.size());
+    }
+
+    public synchronized void stop() {
+        executor.shutdownNow();
+        for (Job job : jobs) {
+            jobDAO.releaseLease(job.getName(), ownerId);
+        }
+        started = false;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public List<JobMetrics> getMetrics() {
+        List<JobMetrics> snapshot = new ArrayList<>();
+        for (Job job : jobs) {
+            snapshot.add(metrics.get(job.getName()));
+        }
+        return snapshot;
+    }
+
+    private void runOnce(Job job) {
+        JobMetrics jobMetrics = metrics.get(job.getName());
+        int leaseSeconds = (int) Math.max(1, job.getInterval().getSeconds() * 2);
+
+        if (!jobDAO.tryAcquireLease(job.getName(), ownerId, leaseSeconds)) {
+            jobMetrics.recordSkipped();
+            job.onLeaseLost();
+            logger.debug("Skipping job {}, another instance holds the lease", job.getName());
+            return;
+        }
+
+        JobRun run = new JobRun(job.getName(), ownerId, LocalDateTime.now());
+        long start = System.nanoTime();
+        try {
+            run.setRowsProcessed(job.run());
+            run.setStatus(JobRun.RunStatus.SUCCEEDED);
+        } catch (Exception e) {
+            run.setStatus(JobRun.RunStatus.FAILED);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            run.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+            logger.error("Job {} failed", job.getName(), e);
+        }
+        run.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        jobMetrics.recordRun(run.getDurationMillis(), run.getRowsProcessed(),
+                run.getStatus() == JobRun.RunStatus.FAILED);
+        jobDAO.recordRun(run);
+
+        logger.info("Job {} {} in {} ms, {} rows", job.getName(), run.getStatus(), run.getDurationMillis(),
+                run.getRowsProcessed());
+    }
+}
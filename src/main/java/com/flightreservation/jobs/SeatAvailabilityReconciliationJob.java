@@ -0,0 +1,27 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+
+import com.flightreservation.dao.FlightDAO;
+
+/**
+ * recomputes flights.available_seats from the seats table for upcoming flights
+ */
+public class SeatAvailabilityReconciliationJob implements Job {
+    private final FlightDAO flightDAO = new FlightDAO();
+
+    @Override
+    public String getName() {
+        return "seat-availability-reconciliation";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMinutes(30);
+    }
+
+    @Override
+    public int run() throws Exception {
+        return flightDAO.reconcileAvailableSeats();
+    }
+}
@@ -0,0 +1,33 @@
+package com.flightreservation.jobs;
+
+import java.time.Duration;
+
+import com.flightreservation.dao.UserDAO;
+
+/**
+ * removes sessions rows that have been idle for too long
+ */
+public class StaleSessionCleanupJob implements Job {
+    private static final int BATCH_SIZE = 1000;
+    private final UserDAO userDAO = new UserDAO();
+    private final Duration maxIdle;
+
+    public StaleSessionCleanupJob(Duration maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    @Override
+    public String getName() {
+        return "stale-session-cleanup";
+    }
+
+    @Override
+    public Duration getInterval() {
+        return Duration.ofMinutes(15);
+    }
+
+    @Override
+    public int run() throws Exception {
+        return userDAO.deleteStaleSessions((int) maxIdle.toMinutes(), BATCH_SIZE);
+    }
+}
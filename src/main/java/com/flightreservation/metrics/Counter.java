@@ -0,0 +1,25 @@
+package com.flightreservation.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * monotonically increasing count, cheap to update from many threads at once
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,9 @@
+package com.flightreservation.metrics;
+
+/**
+ * value read at the time it is reported, e.g. a queue length or the number of cached entries
+ */
+@FunctionalInterface
+public interface Gauge {
+    long value();
+}
@@ -0,0 +1,75 @@
+package com.flightreservation.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+
+/**
+ * read-only MBean over the metrics of one group, the attributes follow whatever the group holds when
+ * it is read, so metrics registered later show up without re-registering
+ */
+final class MetricGroup implements DynamicMBean {
+    private final String group;
+    private final MetricsRegistry registry;
+
+    MetricGroup(String group, MetricsRegistry registry) {
+        this.group = group;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Object value = registry.groupValues(group).get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Object> values = registry.groupValues(group);
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            Object value = values.get(attribute);
+            if (value != null) {
+                list.add(new Attribute(attribute, value));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (String name : registry.groupValues(group).keySet()) {
+            attributes.add(new MBeanAttributeInfo(name, Long.class.getName(), name, true, false, false));
+        }
+        return new MBeanInfo(MetricGroup.class.getName(), "Metrics of " + group,
+                attributes.toArray(new MBeanAttributeInfo[0]), null, new MBeanOperationInfo[0], null);
+    }
+}
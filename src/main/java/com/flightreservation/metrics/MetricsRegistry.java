@@ -0,0 +1,185 @@
+package com.flightreservation.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiConsumer;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.util.LatencyHistogram;
+
+/**
+ * named counters, gauges and latency histograms of this instance
+ *
+ * - names have at least three dot separated parts, e.g. dao.SeatDAO.reserveSeat, everything before the
+ * last part is the group, each group is one MBean (com.flightreservation:type=dao,name=SeatDAO)
+ * - callers look a metric up once and keep it in a static field, recording is then a few atomic
+ * operations without allocation and can stay on in production
+ * - metrics.jmx=false keeps the MBeans from being registered
+ */
+public class MetricsRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final String DOMAIN = "com.flightreservation";
+    private static final boolean JMX_ENABLED = Boolean.parseBoolean(System.getProperty("metrics.jmx", "true"));
+
+    private static volatile MetricsRegistry instance;
+
+    private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+    private final Map<String, MetricGroup> groups = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Counter counter(String name) {
+        return register(name, Counter.class, new Counter());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return register(name, LatencyHistogram.class, new LatencyHistogram());
+    }
+
+    /**
+     * registers the gauge, replacing one registered before under the same name
+     */
+    public void gauge(String name, Gauge gauge) {
+        Object previous = metrics.get(name);
+        if (previous != null && !(previous instanceof Gauge)) {
+            throw new IllegalArgumentException(name + " is already registered as " + typeOf(previous));
+        }
+        metrics.put(name, gauge);
+        registerGroup(name);
+    }
+
+    private <T> T register(String name, Class<T> type, T created) {
+        Object existing = metrics.putIfAbsent(name, created);
+        if (existing == null) {
+            registerGroup(name);
+            return created;
+        }
+        if (!type.isInstance(existing)) {
+            throw new IllegalArgumentException(name + " is already registered as " + typeOf(existing));
+        }
+        return type.cast(existing);
+    }
+
+    private void registerGroup(String name) {
+        String group = groupOf(name);
+        if (groups.containsKey(group)) {
+            return;
+        }
+        MetricGroup mbean = new MetricGroup(group, this);
+        if (groups.putIfAbsent(group, mbean) != null || !JMX_ENABLED) {
+            return;
+        }
+        int dot = group.indexOf('.');
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + group.substring(0, dot)
+                    + ",name=" + group.substring(dot + 1));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, objectName);
+        } catch (JMException e) {
+            logger.warn("Could not register MBean for metric group {}", group, e);
+        }
+    }
+
+    private static String groupOf(String name) {
+        int last = name.lastIndexOf('.');
+        if (last <= 0 || name.indexOf('.') == last) {
+            throw new IllegalArgumentException("Metric names look like dao.SeatDAO.reserveSeat, got " + name);
+        }
+        return name.substring(0, last);
+    }
+
+    /**
+     * every metric as name to value, histograms as a map of count and percentiles in microseconds
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            Object metric = entry.getValue();
+            if (metric instanceof LatencyHistogram) {
+                Map<String, Object> values = new LinkedHashMap<>();
+                describe("", metric, values::put);
+                snapshot.put(entry.getKey(), values);
+            } else {
+                snapshot.put(entry.getKey(), valueOf(metric));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * one "name value" line per value, histograms expand into name.count, name.p99Micros etc.
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            describe(entry.getKey(), entry.getValue(),
+                    (name, value) -> text.append(name).append(' ').append(value).append('\n'));
+        }
+        return text.toString();
+    }
+
+    /**
+     * values of one group keyed by their part of the name, as the group's MBean shows them
+     */
+    Map<String, Object> groupValues(String group) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        String prefix = group + ".";
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            String name = entry.getKey();
+            if (name.startsWith(prefix) && name.indexOf('.', prefix.length()) < 0) {
+                describe(name.substring(prefix.length()), entry.getValue(), values::put);
+            }
+        }
+        return values;
+    }
+
+    private static void describe(String name, Object metric, BiConsumer<String, Object> out) {
+        if (metric instanceof LatencyHistogram) {
+            LatencyHistogram histogram = (LatencyHistogram) metric;
+            String prefix = name.isEmpty() ? "" : name + ".";
+            out.accept(prefix + "count", histogram.getCount());
+            out.accept(prefix + "meanMicros", Math.round(histogram.getMeanMicros()));
+            out.accept(prefix + "p50Micros", histogram.percentileMicros(50));
+            out.accept(prefix + "p99Micros", histogram.percentileMicros(99));
+            out.accept(prefix + "p999Micros", histogram.percentileMicros(99.9));
+            out.accept(prefix + "maxMicros", histogram.getMaxMicros());
+        } else {
+            out.accept(name, valueOf(metric));
+        }
+    }
+
+    private static long valueOf(Object metric) {
+        if (metric instanceof Counter) {
+            return ((Counter) metric).get();
+        }
+        try {
+            return ((Gauge) metric).value();
+        } catch (RuntimeException e) {
+            // a gauge reading a stopped component must not break the whole report
+            return -1;
+        }
+    }
+
+    private static String typeOf(Object metric) {
+        return metric instanceof LatencyHistogram ? "histogram" : metric instanceof Counter ? "counter" : "gauge";
+    }
+}
@@ -0,0 +1,92 @@
+package com.flightreservation.model.entities;
+
+import java.time.LocalDateTime;
+
+// one execution of a background job
+public class JobRun {
+    private long runId;
+    private String jobName;
+    private String ownerId;
+    private LocalDateTime startedAt;
+    private long durationMillis;
+    private int rowsProcessed;
+    private RunStatus status;
+    private String errorMessage;
+
+    public enum RunStatus {
+        SUCCEEDED, FAILED
+    }
+
+    public JobRun() {
+    }
+
+    public JobRun(String jobName, String ownerId, LocalDateTime startedAt) {
+        this.jobName = jobName;
+        this.ownerId = ownerId;
+        this.startedAt = startedAt;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(long runId) {
+        this.runId = runId;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public int getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(int rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public RunStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RunStatus status) {
+        this.status = status;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
@@ -0,0 +1,90 @@
+package com.flightreservation.model.entities;
+
+import java.util.TreeSet;
+
+/**
+ * which newsletters a customer has read
+ *
+ * every newsletter with an ID up to the high-water mark counts as read,
+ * only newsletters above it that were read out of order are kept in the sparse set
+ */
+public class NewsletterReadState {
+    private int customerId;
+    private int highWaterMark;
+    private final TreeSet<Integer> readAboveMark = new TreeSet<>();
+
+    public NewsletterReadState() {
+    }
+
+    public NewsletterReadState(int customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(int customerId) {
+        this.customerId = customerId;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public void setHighWaterMark(int highWaterMark) {
+        this.highWaterMark = highWaterMark;
+        readAboveMark.headSet(highWaterMark, true).clear();
+    }
+
+    public TreeSet<Integer> getReadAboveMark() {
+        return readAboveMark;
+    }
+
+    public boolean isRead(int newsletterId) {
+        return newsletterId <= highWaterMark || readAboveMark.contains(newsletterId);
+    }
+
+    /**
+     * returns false if the newsletter was already read
+     */
+    public boolean markRead(int newsletterId) {
+        if (isRead(newsletterId)) {
+            return false;
+        }
+        readAboveMark.add(newsletterId);
+        return true;
+    }
+
+    /**
+     * unread count given how many newsletters exist above the high-water mark
+     */
+    public int getUnreadCount(int newslettersAboveMark) {
+        return Math.max(0, newslettersAboveMark - readAboveMark.size());
+    }
+
+    // compact form stored in the database, e.g. "12,15,19"
+    public String getReadAboveMarkAsString() {
+        StringBuilder sb = new StringBuilder();
+        for (Integer id : readAboveMark) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(id);
+        }
+        return sb.toString();
+    }
+
+    public void setReadAboveMarkFromString(String ids) {
+        readAboveMark.clear();
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        for (String id : ids.split(",")) {
+            int value = Integer.parseInt(id.trim());
+            if (value > highWaterMark) {
+                readAboveMark.add(value);
+            }
+        }
+    }
+}
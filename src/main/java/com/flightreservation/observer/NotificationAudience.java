@@ -0,0 +1,90 @@
+package com.flightreservation.observer;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import com.flightreservation.dao.CustomerDAO;
+import com.flightreservation.model.entities.Customer;
+
+/**
+ * describes who a targeted notification goes to
+ * recipients are resolved by a single set-based query and streamed,
+ * so the cost follows the audience size rather than the customer base
+ */
+public abstract class NotificationAudience {
+
+    private NotificationAudience() {
+    }
+
+    /**
+     * streams every recipient to the sink, returns how many were visited
+     */
+    abstract int forEachRecipient(CustomerDAO customerDAO, Consumer<Customer> sink);
+
+    public abstract String describe();
+
+    // customers holding an active reservation with passengers on the flight
+    public static NotificationAudience passengersOnFlight(int flightId) {
+        return new NotificationAudience() {
+            @Override
+            int forEachRecipient(CustomerDAO customerDAO, Consumer<Customer> sink) {
+                return customerDAO.forEachCustomerOnFlight(flightId, sink);
+            }
+
+            @Override
+            public String describe() {
+                return "passengers of flight " + flightId;
+            }
+        };
+    }
+
+    // customers holding a confirmed reservation with passengers on the flight
+    public static NotificationAudience confirmedPassengersOnFlight(int flightId) {
+        return new NotificationAudience() {
+            @Override
+            int forEachRecipient(CustomerDAO customerDAO, Consumer<Customer> sink) {
+                return customerDAO.forEachCustomerOnFlight(flightId, true, sink);
+            }
+
+            @Override
+            public String describe() {
+                return "confirmed passengers of flight " + flightId;
+            }
+        };
+    }
+
+    // customers with an active reservation departing on the route inside the window
+    public static NotificationAudience travellersOnRoute(int routeId, LocalDateTime from, LocalDateTime to) {
+        return new NotificationAudience() {
+            @Override
+            int forEachRecipient(CustomerDAO customerDAO, Consumer<Customer> sink) {
+                return customerDAO.forEachCustomerOnRoute(routeId, from, to, sink);
+            }
+
+            @Override
+            public String describe() {
+                return "travellers on route " + routeId + " between " + from + " and " + to;
+            }
+        };
+    }
+
+    // customers with any active reservation departing inside the window
+    public static NotificationAudience travellersDepartingBetween(LocalDateTime from, LocalDateTime to) {
+        return new NotificationAudience() {
+            @Override
+            int forEachRecipient(CustomerDAO customerDAO, Consumer<Customer> sink) {
+                return customerDAO.forEachCustomerDepartingBetween(from, to, sink);
+            }
+
+            @Override
+            public String describe() {
+                return "travellers departing between " + from + " and " + to;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+}
@@ -0,0 +1,179 @@
+package com.flightreservation.observer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * buffers notifications per customer for a time window and delivers one digest
+ * identical notifications inside the same window are only delivered once
+ */
+public class NotificationCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private final Map<String, PendingDigest> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile Duration window;
+
+    public NotificationCoalescer(Duration window) {
+        this.window = window;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-digest");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public boolean isEnabled() {
+        return !window.isZero() && !window.isNegative();
+    }
+
+    public void submit(NotificationObserver observer, String subject, String message, NotificationType type) {
+        if (scheduler.isShutdown()) {
+            observer.update(subject, message, type);
+            return;
+        }
+        String key = observer.getEmail().toLowerCase(Locale.ROOT);
+        Entry entry = new Entry(subject, message, type);
+
+        // add and flush both go through compute on the same key, so an entry never lands in a flushed digest
+        boolean[] created = { false };
+        PendingDigest digest = pending.compute(key, (k, current) -> {
+            if (current == null) {
+                current = new PendingDigest(observer);
+                created[0] = true;
+            }
+            if (!current.entries.add(entry)) {
+                logger.debug("Dropped duplicate notification for {}: {}", k, subject);
+            }
+            return current;
+        });
+
+        // scheduled outside compute, a rejected timer must not throw out of the map update
+        if (created[0]) {
+            try {
+                scheduler.schedule(() -> flush(key, digest), window.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush(key, digest);
+            }
+        }
+    }
+
+    public void flushAll() {
+        for (Map.Entry<String, PendingDigest> e : new ArrayList<>(pending.entrySet())) {
+            flush(e.getKey(), e.getValue());
+        }
+    }
+
+    public int getPendingCustomerCount() {
+        return pending.size();
+    }
+
+    public void shutdown() {
+        flushAll();
+        scheduler.shutdownNow();
+    }
+
+    private void flush(String key, PendingDigest digest) {
+        boolean[] removed = { false };
+        pending.computeIfPresent(key, (k, current) -> {
+            if (current == digest) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (!removed[0]) {
+            return;
+        }
+
+        List<Entry> entries = new ArrayList<>(digest.entries);
+        try {
+            if (entries.size() == 1) {
+                Entry only = entries.get(0);
+                digest.observer.update(only.subject, only.message, only.type);
+            } else {
+                deliverDigest(digest.observer, entries);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to deliver digest to {}", digest.observer.getEmail(), e);
+        }
+    }
+
+    private void deliverDigest(NotificationObserver observer, List<Entry> entries) {
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (i > 0) {
+                message.append("\n\n──────────────────────────────────────\n\n");
+            }
+            message.append("[").append(entry.type.getDisplayName()).append("] ")
+                    .append(entry.subject).append("\n")
+                    .append(entry.message);
+        }
+
+        String subject = "You have " + entries.size() + " travel updates";
+        logger.info("Delivering digest of {} notifications to {}", entries.size(), observer.getEmail());
+        observer.update(subject, message.toString(), NotificationType.DIGEST);
+    }
+
+    private static final class PendingDigest {
+        private final NotificationObserver observer;
+        private final Set<Entry> entries = new LinkedHashSet<>();
+
+        private PendingDigest(NotificationObserver observer) {
+            this.observer = observer;
+        }
+    }
+
+    private static final class Entry {
+        private final String subject;
+        private final String message;
+        private final NotificationType type;
+
+        private Entry(String subject, String message, NotificationType type) {
+            this.subject = subject;
+            this.message = message;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return type == other.type && Objects.equals(subject, other.subject)
+                    && Objects.equals(message, other.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subject, message, type);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.flightreservation.observer;
 
 import com.flightreservation.dao.CustomerDAO;
+import com.flightreservation.jfr.NotificationBatchEvent;
 import com.flightreservation.model.entities.Customer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * subject in Observer pattern
@@ -15,12 +23,21 @@ import java.util.List;
 public class NotificationSubject {
     private static final Logger logger = LoggerFactory.getLogger(NotificationSubject.class);
     private static NotificationSubject instance;
+    private static final Duration DEFAULT_DIGEST_WINDOW = Duration.ofSeconds(60);
     private final List<NotificationObserver> observers;
     private final CustomerDAO customerDAO;
+    private final NotificationCoalescer coalescer;
+    private final ExecutorService dispatcher;
 
     private NotificationSubject() {
         this.observers = new ArrayList<>();
         this.customerDAO = new CustomerDAO();
+        this.coalescer = new NotificationCoalescer(DEFAULT_DIGEST_WINDOW);
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "audience-notifications");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public static synchronized NotificationSubject getInstance() {
@@ -59,15 +76,20 @@ public class NotificationSubject {
         logger.info("Sending {} notification to {} observers: {}",
                 type.getDisplayName(), observers.size(), subject);
 
+        NotificationBatchEvent event = new NotificationBatchEvent(type.name(), "observers");
+        event.begin();
         int successCount = 0;
         for (NotificationObserver observer : observers) {
             try {
-                observer.update(subject, message, type);
+                deliver(observer, subject, message, type);
                 successCount++;
             } catch (Exception e) {
                 logger.error("Failed to notify observer: {}", observer.getEmail(), e);
             }
         }
+        event.setRecipients(observers.size());
+        event.setDelivered(successCount);
+        event.commit();
 
         logger.info("Successfully notified {}/{} observers", successCount, observers.size());
     }
@@ -75,7 +97,7 @@ public class NotificationSubject {
     public void notifyObserver(String email, String subject, String message, NotificationType type) {
         for (NotificationObserver observer : observers) {
             if (observer.getEmail().equalsIgnoreCase(email)) {
-                observer.update(subject, message, type);
+                deliver(observer, subject, message, type);
                 logger.info("Notification sent to: {}", email);
                 return;
             }
@@ -83,6 +105,88 @@ public class NotificationSubject {
         logger.warn("Observer not found: {}", email);
     }
 
+    /**
+     * sends a notification to a targeted audience
+     * recipients are streamed from the database, not looked up in the attached observers
+     */
+    public int notifyAudience(NotificationAudience audience, String subject, String message, NotificationType type) {
+        logger.info("Sending {} notification to {}: {}", type.getDisplayName(), audience.describe(), subject);
+
+        NotificationBatchEvent event = new NotificationBatchEvent(type.name(), audience.describe());
+        event.begin();
+        int[] successCount = { 0 };
+        int recipients = audience.forEachRecipient(customerDAO, customer -> {
+            NotificationObserver observer = new CustomerObserver(customer);
+            try {
+                deliver(observer, subject, message, type);
+                successCount[0]++;
+            } catch (Exception e) {
+                logger.error("Failed to notify observer: {}", observer.getEmail(), e);
+            }
+        });
+        event.setRecipients(recipients);
+        event.setDelivered(successCount[0]);
+        event.commit();
+
+        logger.info("Successfully notified {}/{} recipients ({})", successCount[0], recipients, audience.describe());
+        return successCount[0];
+    }
+
+    /**
+     * queues notifyAudience on the background dispatcher and returns right away
+     * - the audience is resolved and streamed on the dispatcher thread, never on the caller's
+     * - after shutdown the notification is sent on the calling thread instead of being dropped
+     */
+    public Future<Integer> notifyAudienceAsync(NotificationAudience audience, String subject, String message,
+            NotificationType type) {
+        try {
+            return dispatcher.submit(() -> notifyAudience(audience, subject, message, type));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Notification dispatcher is shut down, sending {} inline", subject);
+            return CompletableFuture.completedFuture(notifyAudience(audience, subject, message, type));
+        }
+    }
+
+    // coalescible types wait in the per-customer digest window, everything else goes out immediately
+    private void deliver(NotificationObserver observer, String subject, String message, NotificationType type) {
+        if (type.isCoalescible() && coalescer.isEnabled()) {
+            coalescer.submit(observer, subject, message, type);
+        } else {
+            observer.update(subject, message, type);
+        }
+    }
+
+    /**
+     * sets how long flight notifications are buffered per customer, zero delivers immediately
+     */
+    public void setDigestWindow(Duration window) {
+        coalescer.setWindow(window);
+        logger.info("Notification digest window set to {} seconds", window.getSeconds());
+    }
+
+    public Duration getDigestWindow() {
+        return coalescer.getWindow();
+    }
+
+    public void flushDigests() {
+        coalescer.flushAll();
+    }
+
+    /**
+     * lets queued audience notifications finish, then flushes the pending digests
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+        try {
+            if (!dispatcher.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Audience notifications still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        coalescer.shutdown();
+    }
+
     public int getObserverCount() {
         return observers.size();
     }
@@ -2,17 +2,29 @@ package com.flightreservation.observer;
 
 /**
  * types of notifications that can be sent
+ * coalescible types may be merged into a per-customer digest before delivery
  */
 public enum NotificationType {
-    NEWSLETTER("Newsletter"); // only one used in our current UI implementation, extendable for future
+    NEWSLETTER("Newsletter", false),
+    FLIGHT_UPDATE("Flight Update", true),
+    FLIGHT_DELAY("Flight Delay", true),
+    FLIGHT_CANCELLATION("Flight Cancellation", true),
+    DEPARTURE_REMINDER("Departure Reminder", false),
+    DIGEST("Travel Updates Digest", false);
 
     private final String displayName;
+    private final boolean coalescible;
 
-    NotificationType(String displayName) {
+    NotificationType(String displayName, boolean coalescible) {
         this.displayName = displayName;
+        this.coalescible = coalescible;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    public boolean isCoalescible() {
+        return coalescible;
+    }
 }
@@ -0,0 +1,282 @@
+package com.flightreservation.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.model.entities.Flight;
+import com.flightreservation.observer.NotificationAudience;
+import com.flightreservation.observer.NotificationSubject;
+import com.flightreservation.observer.NotificationType;
+
+/**
+ * sends pre-departure reminders to confirmed passengers
+ *
+ * - one timer per flight and reminder offset, never one per reservation
+ * - departures are loaded incrementally, only a sliding horizon is ever held in memory
+ * - flight updates only reschedule timers when the departure or active status changed
+ * - every (re)track bumps the flight's generation, timers of an older generation are dropped when they fire
+ * - recipients are resolved per flight when the reminder fires
+ * - meant to run on one instance at a time, DepartureReminderLeaderJob starts and stops it with the
+ * departure-reminders job lease, so it can be started again after stop()
+ */
+public class DepartureReminderScheduler implements FlightDAO.FlightScheduleListener {
+    private static final Logger logger = LoggerFactory.getLogger(DepartureReminderScheduler.class);
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 60;
+    private static final int WHEEL_LEVELS = 4;
+    private static final Duration LOAD_INTERVAL = Duration.ofMinutes(10);
+    private static final DateTimeFormatter DEPARTURE_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+
+    private static DepartureReminderScheduler instance;
+
+    private final FlightDAO flightDAO;
+    private final List<Duration> offsets;
+    private final ZoneId zone;
+    private volatile ScheduledExecutorService executor;
+
+    // everything below is confined to the executor thread, stop() waits for it before a restart
+    private final Map<Integer, TrackedFlight> trackedFlights = new HashMap<>();
+    private long nextGeneration;
+    private HierarchicalTimingWheel<Reminder> wheel;
+    private LocalDateTime loadedUntil;
+    private boolean started;
+
+    public DepartureReminderScheduler(List<Duration> offsets) {
+        this(offsets, new FlightDAO());
+    }
+
+    DepartureReminderScheduler(List<Duration> offsets, FlightDAO flightDAO) {
+        this.flightDAO = flightDAO;
+        this.offsets = new ArrayList<>(offsets);
+        this.offsets.sort(Duration::compareTo);
+        this.zone = ZoneId.systemDefault();
+    }
+
+    public static synchronized DepartureReminderScheduler getInstance() {
+        if (instance == null) {
+            instance = new DepartureReminderScheduler(List.of(Duration.ofHours(24), Duration.ofHours(3)));
+        }
+        return instance;
+    }
+
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "departure-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(() -> {
+            trackedFlights.clear();
+            long now = System.currentTimeMillis();
+            wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, WHEEL_LEVELS, now);
+            loadedUntil = toLocal(now);
+            loadNextSlice();
+        });
+        executor.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::loadNextSlice, LOAD_INTERVAL.toMillis(), LOAD_INTERVAL.toMillis(),
+                TimeUnit.MILLISECONDS);
+        FlightDAO.addScheduleListener(this);
+
+        logger.info("Departure reminder scheduler started with offsets {}", offsets);
+    }
+
+    public synchronized void stop() {
+        if (!started) {
+            return;
+        }
+        FlightDAO.removeScheduleListener(this);
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Departure reminder thread did not stop within 5 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        started = false;
+        logger.info("Departure reminder scheduler stopped");
+    }
+
+    public synchronized boolean isRunning() {
+        return started;
+    }
+
+    @Override
+    public void onFlightUpdated(Flight flight) {
+        int flightId = flight.getFlightId();
+        LocalDateTime departure = flight.getDepartureTime();
+        Flight.FlightStatus status = flight.getStatus();
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            current.execute(() -> updateFlight(flightId, departure, status));
+        } catch (RejectedExecutionException e) {
+            // stopped while the update was on its way, the next start reloads the departures
+        }
+    }
+
+    // only ever runs on the executor thread
+    private void updateFlight(int flightId, LocalDateTime departure, Flight.FlightStatus status) {
+        if (wheel == null) {
+            return;
+        }
+        boolean active = status == Flight.FlightStatus.SCHEDULED || status == Flight.FlightStatus.DELAYED
+                || status == Flight.FlightStatus.BOARDING;
+        // departures past the loaded horizon are picked up by a later slice
+        boolean tracked = active && departure.isBefore(loadedUntil);
+
+        TrackedFlight current = trackedFlights.get(flightId);
+        boolean unchanged = current == null
+                ? !tracked
+                : tracked && current.departureMillis == toMillis(departure);
+        if (unchanged) {
+            return;
+        }
+        trackedFlights.remove(flightId);
+        if (tracked) {
+            track(flightId, departure, System.currentTimeMillis());
+        }
+    }
+
+    // only ever runs on the executor thread
+    private void loadNextSlice() {
+        try {
+            long now = System.currentTimeMillis();
+            LocalDateTime target = toLocal(now).plus(offsets.get(offsets.size() - 1)).plus(LOAD_INTERVAL.multipliedBy(2));
+            if (!target.isAfter(loadedUntil)) {
+                return;
+            }
+
+            Map<Integer, LocalDateTime> departures = flightDAO.getDepartureTimesBetween(loadedUntil, target);
+            for (Map.Entry<Integer, LocalDateTime> departure : departures.entrySet()) {
+                track(departure.getKey(), departure.getValue(), now);
+            }
+            loadedUntil = target;
+
+            trackedFlights.values().removeIf(flight -> flight.departureMillis < now);
+            logger.debug("Loaded {} departures up to {}, {} flights and {} timers tracked",
+                    departures.size(), target, trackedFlights.size(), wheel.size());
+        } catch (Exception e) {
+            logger.error("Error loading upcoming departures", e);
+        }
+    }
+
+    private void track(int flightId, LocalDateTime departure, long now) {
+        long departureMillis = toMillis(departure);
+        long generation = ++nextGeneration;
+        trackedFlights.put(flightId, new TrackedFlight(departureMillis, generation));
+
+        List<Reminder> dueNow = new ArrayList<>();
+        for (Duration offset : offsets) {
+            long fireAt = departureMillis - offset.toMillis();
+            if (fireAt > now) {
+                wheel.schedule(fireAt, new Reminder(flightId, generation, offset), dueNow);
+            }
+        }
+        fire(dueNow);
+    }
+
+    private void tick() {
+        if (wheel == null) {
+            return;
+        }
+        try {
+            List<Reminder> due = new ArrayList<>();
+            wheel.advanceTo(System.currentTimeMillis(), due);
+            fire(due);
+        } catch (Exception e) {
+            logger.error("Error firing departure reminders", e);
+        }
+    }
+
+    private void fire(List<Reminder> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int sent = 0;
+        for (Reminder reminder : due) {
+            TrackedFlight current = trackedFlights.get(reminder.flightId);
+            if (current == null || current.generation != reminder.generation) {
+                continue;
+            }
+
+            Flight flight = flightDAO.getFlightById(reminder.flightId);
+            if (flight == null || flight.getStatus() == Flight.FlightStatus.CANCELLED) {
+                continue;
+            }
+
+            sendReminder(flight, reminder.offset);
+            sent++;
+        }
+        logger.info("Fired {} departure reminders out of {} due timers", sent, due.size());
+    }
+
+    // package-private so tests can count reminders without a notification backend
+    void sendReminder(Flight flight, Duration offset) {
+        String route = flight.getRoute() != null
+                ? flight.getRoute().getOriginAirport() + " → " + flight.getRoute().getDestinationAirport()
+                : "";
+        String subject = "Reminder: flight " + flight.getFlightNumber() + " departs in "
+                + offset.toHours() + " hours";
+        String message = String.format("Flight: %s %s%nDeparture: %s%n%nPlease arrive at the airport early.",
+                flight.getFlightNumber(), route, flight.getDepartureTime().format(DEPARTURE_FORMAT));
+
+        NotificationSubject.getInstance().notifyAudience(
+                NotificationAudience.confirmedPassengersOnFlight(flight.getFlightId()),
+                subject, message, NotificationType.DEPARTURE_REMINDER);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    private static final class TrackedFlight {
+        private final long departureMillis;
+        private final long generation;
+
+        private TrackedFlight(long departureMillis, long generation) {
+            this.departureMillis = departureMillis;
+            this.generation = generation;
+        }
+    }
+
+    private static final class Reminder {
+        private final int flightId;
+        private final long generation;
+        private final Duration offset;
+
+        private Reminder(int flightId, long generation, Duration offset) {
+            this.flightId = flightId;
+            this.generation = generation;
+            this.offset = offset;
+        }
+    }
+}
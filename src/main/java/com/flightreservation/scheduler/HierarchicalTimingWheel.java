@@ -0,0 +1,141 @@
+package com.flightreservation.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * hierarchical timing wheel for large numbers of timers
+ *
+ * - level 0 has one slot per tick, every higher level covers a full rotation of the one below
+ * - entries cascade down a level when their coarse slot comes due
+ * - scheduling and expiry are O(1) per entry, memory only grows with live entries
+ *
+ * not thread safe, callers confine it to a single thread
+ */
+public class HierarchicalTimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTickMillis;
+    private final List<ArrayDeque<Entry<T>>[]> levels;
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel dimensions");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTickMillis = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+
+        long levelTick = tickMillis;
+        for (int i = 0; i < levelCount; i++) {
+            levelTickMillis[i] = levelTick;
+            levels.add(newSlots(wheelSize));
+            levelTick = Math.multiplyExact(levelTick, wheelSize);
+        }
+        this.currentTime = startMillis - (startMillis % tickMillis);
+    }
+
+    /**
+     * furthest deadline (exclusive) that can be scheduled right now
+     */
+    public long getHorizon() {
+        return currentTime + levelTickMillis[levelTickMillis.length - 1] * wheelSize;
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * schedules a payload, returns false when the deadline is beyond the horizon
+     * deadlines inside the current tick are added to the expired list straight away
+     */
+    public boolean schedule(long deadlineMillis, T payload, List<T> expired) {
+        return add(new Entry<>(deadlineMillis, payload), expired);
+    }
+
+    /**
+     * moves the wheel forward to the given time, collecting every payload that came due
+     */
+    public void advanceTo(long nowMillis, List<T> expired) {
+        while (currentTime + tickMillis <= nowMillis) {
+            currentTime += tickMillis;
+
+            for (int level = levels.size() - 1; level > 0; level--) {
+                if (currentTime % levelTickMillis[level] == 0) {
+                    ArrayDeque<Entry<T>> bucket = takeBucket(level, currentTime);
+                    if (bucket != null) {
+                        size -= bucket.size();
+                        for (Entry<T> entry : bucket) {
+                            add(entry, expired);
+                        }
+                    }
+                }
+            }
+
+            ArrayDeque<Entry<T>> due = takeBucket(0, currentTime);
+            if (due != null) {
+                size -= due.size();
+                for (Entry<T> entry : due) {
+                    expired.add(entry.payload);
+                }
+            }
+        }
+    }
+
+    private boolean add(Entry<T> entry, List<T> expired) {
+        long delay = entry.deadline - currentTime;
+        if (delay < tickMillis) {
+            expired.add(entry.payload);
+            return true;
+        }
+
+        for (int level = 0; level < levels.size(); level++) {
+            // a level is only used once the delay exceeds one of its ticks, so the slot is always ahead of now
+            if (delay < levelTickMillis[level] * wheelSize) {
+                int slot = (int) ((entry.deadline / levelTickMillis[level]) % wheelSize);
+                ArrayDeque<Entry<T>>[] wheel = levels.get(level);
+                if (wheel[slot] == null) {
+                    wheel[slot] = new ArrayDeque<>();
+                }
+                wheel[slot].add(entry);
+                size++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ArrayDeque<Entry<T>> takeBucket(int level, long time) {
+        ArrayDeque<Entry<T>>[] wheel = levels.get(level);
+        int slot = (int) ((time / levelTickMillis[level]) % wheelSize);
+        ArrayDeque<Entry<T>> bucket = wheel[slot];
+        wheel[slot] = null;
+        return bucket;
+    }
+
+    // generic arrays cannot be created directly, every slot only ever holds Entry<T> buckets
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<Entry<T>>[] newSlots(int size) {
+        return (ArrayDeque<Entry<T>>[]) new ArrayDeque<?>[size];
+    }
+
+    private static final class Entry<T> {
+        private final long deadline;
+        private final T payload;
+
+        private Entry(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.flightreservation.tracing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * the setXxx calls made on a prepared statement, by parameter index, so the same values can be bound
+ * to its EXPLAIN
+ */
+final class BindValues {
+    private final List<Method> setters = new ArrayList<>();
+    private final List<Object[]> arguments = new ArrayList<>();
+
+    void put(Method setter, Object[] args) {
+        int index = (Integer) args[0] - 1;
+        while (setters.size() <= index) {
+            setters.add(null);
+            arguments.add(null);
+        }
+        setters.set(index, setter);
+        arguments.set(index, args);
+    }
+
+    void clear() {
+        setters.clear();
+        arguments.clear();
+    }
+
+    BindValues copy() {
+        BindValues copy = new BindValues();
+        copy.setters.addAll(setters);
+        copy.arguments.addAll(arguments);
+        return copy;
+    }
+
+    void applyTo(PreparedStatement stmt) throws SQLException {
+        for (int i = 0; i < setters.size(); i++) {
+            if (setters.get(i) == null) {
+                continue;
+            }
+            try {
+                setters.get(i).invoke(stmt, arguments.get(i));
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof SQLException ? (SQLException) e.getCause()
+                        : new SQLException("Could not bind parameter " + (i + 1), e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new SQLException("Could not bind parameter " + (i + 1), e);
+            }
+        }
+    }
+}
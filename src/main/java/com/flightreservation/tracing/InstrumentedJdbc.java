@@ -0,0 +1,129 @@
+package com.flightreservation.tracing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * dynamic proxies over the JDBC interfaces the DAOs use, timing each execute call for the
+ * {@link SlowQueryLog} and, while a trace is open, recording it with the rows it returned or changed
+ *
+ * - the duration covers the execute call only, reading a result set is not included
+ * - everything else is passed through unchanged
+ */
+public final class InstrumentedJdbc {
+
+    private InstrumentedJdbc() {
+    }
+
+    /**
+     * the connection itself when neither tracing nor the slow query log is on
+     */
+    public static Connection wrap(Connection conn) {
+        if (!Tracer.isEnabled() && !SlowQueryLog.isEnabled()) {
+            return conn;
+        }
+        return proxy(Connection.class, conn, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, result, statementHandler((String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, result, statementHandler((String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, result, statementHandler(null));
+                default:
+                    return result;
+            }
+        });
+    }
+
+    /**
+     * @param preparedSql text of a prepared statement, null for a plain statement that gets its text
+     *                    with each execute call
+     */
+    private static Handler statementHandler(String preparedSql) {
+        BindValues binds = preparedSql != null && SlowQueryLog.capturesBinds() ? new BindValues() : null;
+        return (target, method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if (binds != null) {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        binds.put(method, args);
+                    } else if ("clearParameters".equals(name)) {
+                        binds.clear();
+                    }
+                }
+                return invoke(target, method, args);
+            }
+            String sql = preparedSql;
+            if (sql == null && args != null && args.length > 0 && args[0] instanceof String) {
+                sql = (String) args[0];
+            }
+            long start = System.nanoTime();
+            long duration;
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                // failed and cancelled statements count as well, a timeout is exactly what the log is for
+                duration = System.nanoTime() - start;
+                if (SlowQueryLog.isEnabled()) {
+                    SlowQueryLog.getInstance().executed(sql, binds, duration);
+                }
+            }
+            StatementRecord statement = Tracer.isEnabled() ? Tracer.record(sql, start, duration, rows(result)) : null;
+            if (statement != null && result instanceof ResultSet) {
+                return proxy(ResultSet.class, result, (rs, rsMethod, rsArgs) -> {
+                    Object value = invoke(rs, rsMethod, rsArgs);
+                    if (Boolean.TRUE.equals(value) && "next".equals(rsMethod.getName())) {
+                        statement.rows++;
+                    }
+                    return value;
+                });
+            }
+            return result;
+        };
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Integer || result instanceof Long) {
+            return Math.max(0, ((Number) result).longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return type.cast(Proxy.newProxyInstance(InstrumentedJdbc.class.getClassLoader(), new Class<?>[] { type },
+                invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.flightreservation.tracing;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.metrics.Counter;
+import com.flightreservation.metrics.MetricsRegistry;
+
+/**
+ * time and count of every statement run through DatabaseManager's connections, aggregated by
+ * fingerprint (the {@link SqlShape} of its text), with the slow ones logged
+ *
+ * - off unless slowQuery.enabled=true, connections are only proxied while it or trace.enabled is on
+ * - slowQuery.thresholdMillis (200) is what counts as slow
+ * - slowQuery.explain=true runs EXPLAIN once per fingerprint the first time it is slow, with the values
+ * that were bound, on a background thread, the plan is kept for the report
+ * - at most MAX_FINGERPRINTS are tracked, statements of new shapes beyond that go to OTHER
+ */
+public class SlowQueryLog {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final boolean ENABLED = Boolean.getBoolean("slowQuery.enabled");
+    private static final boolean EXPLAIN = Boolean.getBoolean("slowQuery.explain");
+    private static final long THRESHOLD_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("slowQuery.thresholdMillis", 200));
+    private static final int MAX_FINGERPRINTS = 1000;
+    private static final String OTHER = "(other)";
+
+    private static volatile SlowQueryLog instance;
+
+    private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Counter slowCount = MetricsRegistry.getInstance().counter("db.SlowQueryLog.slow");
+    private final ThreadPoolExecutor explainer;
+
+    /**
+     * totals of one fingerprint, read while statements keep being added
+     */
+    public static final class Fingerprint {
+        private final String sql;
+        private final int binds;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicBoolean explainRequested = new AtomicBoolean();
+        private volatile String plan;
+
+        Fingerprint(String sql, int binds) {
+            this.sql = sql;
+            this.binds = binds;
+        }
+
+        void add(long nanos, boolean isSlow) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            if (isSlow) {
+                slow.increment();
+            }
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getBinds() {
+            return binds;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+        }
+
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        public long getSlowCount() {
+            return slow.sum();
+        }
+
+        /**
+         * EXPLAIN output, null when it was not captured
+         */
+        public String getPlan() {
+            return plan;
+        }
+    }
+
+    private SlowQueryLog() {
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), r -> {
+            Thread thread = new Thread(r, "slow-query-explain");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public static SlowQueryLog getInstance() {
+        if (instance == null) {
+            synchronized (SlowQueryLog.class) {
+                if (instance == null) {
+                    instance = new SlowQueryLog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static boolean capturesBinds() {
+        return ENABLED && EXPLAIN;
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(THRESHOLD_NANOS);
+    }
+
+    public boolean isExplainEnabled() {
+        return EXPLAIN;
+    }
+
+    /**
+     * @param binds values bound to the statement, null when they were not captured
+     */
+    void executed(String sql, BindValues binds, long durationNanos) {
+        if (sql == null || sql.regionMatches(true, 0, "EXPLAIN", 0, 7)) {
+            return;
+        }
+        String shape = SqlShape.of(sql);
+        Fingerprint fingerprint = fingerprints.get(shape);
+        if (fingerprint == null) {
+            String key = fingerprints.size() < MAX_FINGERPRINTS ? shape : OTHER;
+            fingerprint = fingerprints.computeIfAbsent(key, k -> new Fingerprint(k, countPlaceholders(sql)));
+        }
+        boolean isSlow = durationNanos >= THRESHOLD_NANOS;
+        fingerprint.add(durationNanos, isSlow);
+        if (!isSlow) {
+            return;
+        }
+        slowCount.increment();
+        logger.warn("Slow query: {} ms, {} binds: {}", TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                fingerprint.binds, shape);
+        if (EXPLAIN && !OTHER.equals(fingerprint.sql) && isExplainable(sql)
+                && fingerprint.explainRequested.compareAndSet(false, true)) {
+            Fingerprint target = fingerprint;
+            BindValues values = binds != null ? binds.copy() : null;
+            explainer.execute(() -> explain(target, sql, values));
+        }
+    }
+
+    /**
+     * fingerprints with the highest value first, at most limit of them
+     */
+    public List<Fingerprint> getTop(Comparator<Fingerprint> order, int limit) {
+        List<Fingerprint> all = new ArrayList<>(fingerprints.values());
+        all.sort(order.reversed());
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    public List<Fingerprint> getTopByTotalTime(int limit) {
+        return getTop(Comparator.comparingLong(Fingerprint::getTotalMillis), limit);
+    }
+
+    public List<Fingerprint> getTopByCount(int limit) {
+        return getTop(Comparator.comparingLong(Fingerprint::getCount), limit);
+    }
+
+    public int getFingerprintCount() {
+        return fingerprints.size();
+    }
+
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    /**
+     * forgets the totals, cached plans go with them
+     */
+    public void reset() {
+        fingerprints.clear();
+    }
+
+    private void explain(Fingerprint fingerprint, String sql, BindValues binds) {
+        try (Connection conn = DatabaseManager.getInstance().getConnection();
+                PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            if (binds != null) {
+                binds.applyTo(stmt);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                fingerprint.plan = format(rs);
+            }
+            logger.info("Plan of slow query {}:\n{}", fingerprint.sql, fingerprint.plan);
+        } catch (SQLException e) {
+            fingerprint.plan = "EXPLAIN failed: " + e.getMessage();
+            logger.warn("Could not explain {}", fingerprint.sql, e);
+        }
+    }
+
+    private static String format(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            text.append(i > 1 ? " | " : "").append(meta.getColumnLabel(i));
+        }
+        while (rs.next()) {
+            text.append('\n');
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                text.append(i > 1 ? " | " : "").append(rs.getString(i));
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isExplainable(String sql) {
+        String verb = sql.stripLeading().toUpperCase(Locale.ROOT);
+        return verb.startsWith("SELECT") || verb.startsWith("UPDATE") || verb.startsWith("DELETE");
+    }
+
+    private static int countPlaceholders(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,51 @@
+package com.flightreservation.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * one timed operation of a trace, e.g. a controller or DAO method, with the statements it ran
+ * itself and the spans it opened
+ *
+ * - opened by {@link Tracer#start}, closing it makes its parent current again
+ * - only touched by the thread that opened it
+ */
+public class Span implements AutoCloseable {
+    static final Span NOOP = new Span(null, null, 0, 0) {
+        @Override
+        public void close() {
+        }
+    };
+
+    final String name;
+    final Span parent;
+    final long startMillis;
+    final long startNanos;
+    long durationNanos;
+    final List<Span> children = new ArrayList<>(0);
+    final List<StatementRecord> statements = new ArrayList<>(0);
+
+    Span(String name, Span parent, long startMillis, long startNanos) {
+        this.name = name;
+        this.parent = parent;
+        this.startMillis = startMillis;
+        this.startNanos = startNanos;
+    }
+
+    @Override
+    public void close() {
+        durationNanos = System.nanoTime() - startNanos;
+        Tracer.end(this);
+    }
+
+    /**
+     * statements of this span and all spans below it
+     */
+    int statementCount() {
+        int count = statements.size();
+        for (Span child : children) {
+            count += child.statementCount();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,43 @@
+package com.flightreservation.tracing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL text with literals replaced by ? and whitespace collapsed, so statements that differ only in
+ * their values group together
+ *
+ * - IN lists collapse to IN (?), however many values they had
+ * - shapes of recently seen texts are cached, prepared statements reuse a handful of texts
+ */
+public final class SqlShape {
+    private static final int MAX_CACHED = 1024;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, String> cache = new ConcurrentHashMap<>();
+
+    private SqlShape() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = cache.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("IN (?)");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        if (cache.size() < MAX_CACHED) {
+            cache.put(sql, shape);
+        }
+        return shape;
+    }
+}
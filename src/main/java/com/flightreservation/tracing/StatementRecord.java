@@ -0,0 +1,18 @@
+package com.flightreservation.tracing;
+
+/**
+ * one JDBC execution inside a span, rows are counted while the result set is read
+ */
+final class StatementRecord {
+    final String shape;
+    final long offsetNanos;
+    final long durationNanos;
+    long rows;
+
+    StatementRecord(String shape, long offsetNanos, long durationNanos, long rows) {
+        this.shape = shape;
+        this.offsetNanos = offsetNanos;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+    }
+}
@@ -0,0 +1,123 @@
+package com.flightreservation.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.api.Json;
+import com.flightreservation.metrics.Counter;
+import com.flightreservation.metrics.MetricsRegistry;
+
+/**
+ * appends finished traces to trace.file (traces.jsonl), one JSON object per line, on a background
+ * thread so request threads never wait for the disk
+ *
+ * - trace.overBudgetOnly=true writes only the traces that broke their budget
+ * - at most QUEUE_CAPACITY traces wait for the writer, further ones are dropped and counted
+ */
+final class TraceExporter {
+    private static final Logger logger = LoggerFactory.getLogger(TraceExporter.class);
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final boolean OVER_BUDGET_ONLY = Boolean.getBoolean("trace.overBudgetOnly");
+
+    private static volatile TraceExporter instance;
+
+    private final Path file = Paths.get(System.getProperty("trace.file", "traces.jsonl"));
+    private final Counter dropped = MetricsRegistry.getInstance().counter("trace.Tracer.dropped");
+    private final ThreadPoolExecutor executor;
+    private BufferedWriter writer;
+
+    private TraceExporter() {
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "trace-export");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (task, pool) -> dropped.increment());
+        logger.info("Writing traces to {}", file.toAbsolutePath());
+    }
+
+    static TraceExporter getInstance() {
+        if (instance == null) {
+            synchronized (TraceExporter.class) {
+                if (instance == null) {
+                    instance = new TraceExporter();
+                }
+            }
+        }
+        return instance;
+    }
+
+    void export(Span root, List<String> violations) {
+        if (OVER_BUDGET_ONLY && violations.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> write(root, violations));
+    }
+
+    private void write(Span root, List<String> violations) {
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("operation", root.name);
+        trace.put("start", Instant.ofEpochMilli(root.startMillis));
+        trace.put("durationMicros", root.durationNanos / 1000);
+        trace.put("statements", root.statementCount());
+        trace.put("overBudget", violations);
+        trace.put("root", toJson(root, root.startNanos));
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            writer.write(Json.write(trace));
+            writer.newLine();
+            if (executor.getQueue().isEmpty()) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            dropped.increment();
+            logger.warn("Could not write trace of {} to {}", root.name, file, e);
+        }
+    }
+
+    private static Map<String, Object> toJson(Span span, long traceStartNanos) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", span.name);
+        json.put("offsetMicros", (span.startNanos - traceStartNanos) / 1000);
+        json.put("durationMicros", span.durationNanos / 1000);
+        if (!span.statements.isEmpty()) {
+            List<Object> statements = new ArrayList<>();
+            for (StatementRecord statement : span.statements) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("sql", statement.shape);
+                entry.put("rows", statement.rows);
+                entry.put("offsetMicros", (span.startNanos - traceStartNanos + statement.offsetNanos) / 1000);
+                entry.put("durationMicros", statement.durationNanos / 1000);
+                statements.add(entry);
+            }
+            json.put("statements", statements);
+        }
+        if (!span.children.isEmpty()) {
+            List<Object> children = new ArrayList<>();
+            for (Span child : span.children) {
+                children.add(toJson(child, traceStartNanos));
+            }
+            json.put("children", children);
+        }
+        return json;
+    }
+}
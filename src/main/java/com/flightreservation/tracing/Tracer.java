@@ -0,0 +1,120 @@
+package com.flightreservation.tracing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.metrics.Counter;
+import com.flightreservation.metrics.MetricsRegistry;
+
+/**
+ * in-process traces of controller and DAO calls with the JDBC statements they run, to catch
+ * operations that quietly issue a query per row
+ *
+ * - off unless trace.enabled=true, then {@link #start} opens a span on the current thread and
+ * {@link InstrumentedJdbc} records every statement into the current span
+ * - a finished trace is checked against its budget, trace.maxStatements (20), trace.maxRepeats (5,
+ * the same statement shape within one trace) and trace.maxMillis (500), each can be set per
+ * operation, e.g. trace.maxStatements.ReservationController.getCustomerReservations=40
+ * - traces over budget are logged and counted, all traces are written to trace.file, see
+ * {@link TraceExporter}
+ */
+public final class Tracer {
+    private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+    private static final boolean ENABLED = Boolean.getBoolean("trace.enabled");
+    private static final int MAX_STATEMENTS = Integer.getInteger("trace.maxStatements", 20);
+    private static final int MAX_REPEATS = Integer.getInteger("trace.maxRepeats", 5);
+    private static final long MAX_MILLIS = Long.getLong("trace.maxMillis", 500);
+
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+    private static final Counter overBudget = MetricsRegistry.getInstance().counter("trace.Tracer.overBudget");
+
+    private Tracer() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * opens a span below the current one, or a new trace when there is none, close it with
+     * try-with-resources; a shared no-op span when tracing is off
+     */
+    public static Span start(String name) {
+        if (!ENABLED) {
+            return Span.NOOP;
+        }
+        Span parent = current.get();
+        Span span = new Span(name, parent, System.currentTimeMillis(), System.nanoTime());
+        if (parent != null) {
+            parent.children.add(span);
+        }
+        current.set(span);
+        return span;
+    }
+
+    static void end(Span span) {
+        if (span.parent != null) {
+            current.set(span.parent);
+            return;
+        }
+        current.remove();
+        List<String> violations = checkBudget(span);
+        if (!violations.isEmpty()) {
+            overBudget.increment();
+            logger.warn("{} over budget: {}", span.name, String.join("; ", violations));
+        }
+        TraceExporter.getInstance().export(span, violations);
+    }
+
+    /**
+     * adds a statement to the current span, null when the thread is not tracing
+     */
+    static StatementRecord record(String sql, long startNanos, long durationNanos, long rows) {
+        Span span = current.get();
+        if (span == null) {
+            return null;
+        }
+        StatementRecord statement =
+                new StatementRecord(SqlShape.of(sql), startNanos - span.startNanos, durationNanos, rows);
+        span.statements.add(statement);
+        return statement;
+    }
+
+    private static List<String> checkBudget(Span root) {
+        List<String> violations = new ArrayList<>();
+        int maxStatements = Integer.getInteger("trace.maxStatements." + root.name, MAX_STATEMENTS);
+        int maxRepeats = Integer.getInteger("trace.maxRepeats." + root.name, MAX_REPEATS);
+        long maxMillis = Long.getLong("trace.maxMillis." + root.name, MAX_MILLIS);
+
+        int statements = root.statementCount();
+        if (statements > maxStatements) {
+            violations.add(statements + " statements, budget " + maxStatements);
+        }
+        long millis = root.durationNanos / 1_000_000;
+        if (millis > maxMillis) {
+            violations.add(millis + " ms, budget " + maxMillis);
+        }
+        Map<String, Integer> repeats = new HashMap<>();
+        countShapes(root, repeats);
+        for (Map.Entry<String, Integer> entry : repeats.entrySet()) {
+            if (entry.getValue() > maxRepeats) {
+                violations.add(entry.getValue() + "x " + entry.getKey());
+            }
+        }
+        return violations;
+    }
+
+    private static void countShapes(Span span, Map<String, Integer> repeats) {
+        for (StatementRecord statement : span.statements) {
+            repeats.merge(statement.shape, 1, Integer::sum);
+        }
+        for (Span child : span.children) {
+            countShapes(child, repeats);
+        }
+    }
+}
@@ -17,12 +17,17 @@ import javax.swing.JPanel;
 import javax.swing.JTextArea;
 
 import com.flightreservation.ui.panels.admin.FlightManagementPanel;
+import com.flightreservation.util.Session;
 
 /**
  * Admin Dashboard - Manage flights, routes, aircraft, schedules
  */
 public class AdminDashboard extends BaseDashboard {
 
+    public AdminDashboard(Session session) {
+        super(session);
+    }
+
     @Override
     protected String getDashboardTitle() {
         return "Flight Reservation System - Administrator Dashboard";
@@ -73,6 +78,15 @@ public class AdminDashboard extends BaseDashboard {
         notificationsMenu.add(manageNotificationsItem);
         menuBar.add(notificationsMenu);
 
+        JMenu systemMenu = createStyledMenu("System");
+        JMenuItem responsivenessItem = createStyledMenuItem("UI Responsiveness");
+        responsivenessItem.addActionListener(e -> showUiResponsiveness());
+        systemMenu.add(responsivenessItem);
+        JMenuItem slowQueriesItem = createStyledMenuItem("Slow Queries");
+        slowQueriesItem.addActionListener(e -> showSlowQueries());
+        systemMenu.add(slowQueriesItem);
+        menuBar.add(systemMenu);
+
         JMenu accountMenu = createStyledMenu("Account");
         JMenuItem profileItem = createStyledMenuItem("My Profile");
         profileItem.addActionListener(e -> showProfile());
@@ -197,4 +211,22 @@ public class AdminDashboard extends BaseDashboard {
         contentPanel.revalidate();
         contentPanel.repaint();
     }
+
+    private void showUiResponsiveness() {
+        contentPanel.removeAll();
+        com.flightreservation.ui.panels.admin.UiResponsivenessPanel panel = new com.flightreservation.ui.panels.admin.UiResponsivenessPanel();
+        contentPanel.add(panel, BorderLayout.CENTER);
+        contentPanel.add(createNavigationPanel(), BorderLayout.SOUTH);
+        contentPanel.revalidate();
+        contentPanel.repaint();
+    }
+
+    private void showSlowQueries() {
+        contentPanel.removeAll();
+        com.flightreservation.ui.panels.admin.SlowQueryPanel panel = new com.flightreservation.ui.panels.admin.SlowQueryPanel();
+        contentPanel.add(panel, BorderLayout.CENTER);
+        contentPanel.add(createNavigationPanel(), BorderLayout.SOUTH);
+        contentPanel.revalidate();
+        contentPanel.repaint();
+    }
 }
@@ -18,12 +18,17 @@ import javax.swing.JPanel;
 import javax.swing.JTextArea;
 
 import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.util.Session;
 
 /**
  * Agent Dashboard - Assist customers, manage profiles, modify reservations
  */
 public class AgentDashboard extends BaseDashboard {
 
+    public AgentDashboard(Session session) {
+        super(session);
+    }
+
     @Override
     protected String getDashboardTitle() {
         return "Flight Reservation System - Agent Dashboard";
@@ -6,6 +6,8 @@ import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -15,26 +17,43 @@ import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.SwingConstants;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.flightreservation.dao.UserDAO;
 import com.flightreservation.model.entities.User;
 import com.flightreservation.ui.decorators.ButtonDecoratorFactory;
-import com.flightreservation.util.SessionManager;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.util.Session;
+import com.flightreservation.util.SessionContext;
+import com.flightreservation.util.SessionStore;
 
 /**
- * base class for all dashboard implementations.
+ * base class for all dashboard implementations. The dashboard owns the
+ * session it was opened for and makes it the EDT's session while its window
+ * is active, panels and their background calls pick it up from there.
  */
 public abstract class BaseDashboard extends JFrame {
     protected final Logger logger = LoggerFactory.getLogger(getClass());
+    protected final Session session;
     protected User currentUser;
     protected JPanel contentPanel;
-
-    public BaseDashboard() {
-        this.currentUser = SessionManager.getInstance().getCurrentUser();
+    private JLabel busyLabel;
+    private JProgressBar busyIndicator;
+    private final AsyncLoader.BusyListener busyListener = this::showBusy;
+
+    public BaseDashboard(Session session) {
+        this.session = session;
+        this.currentUser = session.getUser();
+        SessionContext.attach(session);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowActivated(WindowEvent e) {
+                SessionContext.attach(session);
+            }
+        });
         initializeUI();
     }
 
@@ -53,6 +72,37 @@ public abstract class BaseDashboard extends JFrame {
         contentPanel.add(welcomePanel, BorderLayout.CENTER);
 
         add(contentPanel);
+        add(createStatusBar(), BorderLayout.SOUTH);
+        AsyncLoader.addBusyListener(busyListener);
+    }
+
+    private JPanel createStatusBar() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 2));
+
+        busyLabel = new JLabel(" ");
+        busyLabel.setFont(new Font("Arial", Font.ITALIC, 11));
+        busyLabel.setForeground(Color.GRAY);
+        panel.add(busyLabel);
+
+        busyIndicator = new JProgressBar();
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setPreferredSize(new Dimension(120, 12));
+        busyIndicator.setVisible(false);
+        panel.add(busyIndicator);
+
+        showBusy(AsyncLoader.getPendingCalls());
+        return panel;
+    }
+
+    private void showBusy(int pendingCalls) {
+        busyIndicator.setVisible(pendingCalls > 0);
+        busyLabel.setText(pendingCalls > 0 ? "Loading..." : " ");
+    }
+
+    @Override
+    public void dispose() {
+        AsyncLoader.removeBusyListener(busyListener);
+        super.dispose();
     }
 
     protected JMenu createStyledMenu(String text) {
@@ -152,9 +202,8 @@ public abstract class BaseDashboard extends JFrame {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            UserDAO userDAO = new UserDAO();
-            userDAO.endSession(SessionManager.getInstance().getSessionId());
-            SessionManager.getInstance().endSession();
+            SessionStore.getInstance().end(session);
+            SessionContext.detach();
 
             logger.info("{} logged out", getRoleDisplayName());
 
@@ -18,9 +18,12 @@ import javax.swing.JTextArea;
 import javax.swing.SwingConstants;
 
 import com.flightreservation.dao.CustomerDAO;
+import com.flightreservation.dao.NewsletterDAO;
 import com.flightreservation.model.entities.Customer;
 import com.flightreservation.ui.panels.customer.FlightSearchPanel;
+import com.flightreservation.ui.panels.customer.NewslettersPanel;
 import com.flightreservation.ui.panels.customer.ReservationsPanel;
+import com.flightreservation.util.Session;
 
 /**
  * Customer Dashboard - Search flights, make/cancel reservations, view booking
@@ -28,6 +31,10 @@ import com.flightreservation.ui.panels.customer.ReservationsPanel;
  */
 public class CustomerDashboard extends BaseDashboard {
 
+    public CustomerDashboard(Session session) {
+        super(session);
+    }
+
     @Override
     protected String getDashboardTitle() {
         return "Flight Reservation System - Customer Dashboard";
@@ -134,7 +141,9 @@ public class CustomerDashboard extends BaseDashboard {
         JButton reservationsBtn = createActionButton("My Reservations", new Color(76, 175, 80));
         reservationsBtn.addActionListener(e -> showMyReservations());
 
-        JButton newslettersBtn = createActionButton("Newsletters", new Color(255, 152, 0));
+        int unread = new NewsletterDAO().getUnreadCount(currentUser.getUserId());
+        String newslettersLabel = unread > 0 ? "Newsletters (" + unread + ")" : "Newsletters";
+        JButton newslettersBtn = createActionButton(newslettersLabel, new Color(255, 152, 0));
         newslettersBtn.addActionListener(e -> showNewsletters());
 
         panel.add(searchBtn);
@@ -175,7 +184,7 @@ public class CustomerDashboard extends BaseDashboard {
 
     private void showNewsletters() {
         contentPanel.removeAll();
-        com.flightreservation.ui.panels.customer.NewslettersPanel newslettersPanel = new com.flightreservation.ui.panels.customer.NewslettersPanel();
+        NewslettersPanel newslettersPanel = new NewslettersPanel(currentUser.getUserId());
         contentPanel.add(newslettersPanel, BorderLayout.CENTER);
         contentPanel.add(createNavigationPanel(), BorderLayout.SOUTH);
         contentPanel.revalidate();
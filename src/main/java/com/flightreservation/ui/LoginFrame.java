@@ -2,7 +2,8 @@ package com.flightreservation.ui;
 
 import com.flightreservation.dao.UserDAO;
 import com.flightreservation.model.entities.User;
-import com.flightreservation.util.SessionManager;
+import com.flightreservation.util.Session;
+import com.flightreservation.util.SessionStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -193,12 +194,18 @@ public class LoginFrame extends JFrame {
                     User user = get();
 
                     if (user != null) {
-                        String sessionId = userDAO.createSession(user.getUserId(), "localhost");
-                        SessionManager.getInstance().startSession(user, sessionId);
+                        Session session = SessionStore.getInstance().start(user, "localhost");
+                        if (session == null) {
+                            JOptionPane.showMessageDialog(LoginFrame.this,
+                                    "Could not start a session.\nPlease try again.",
+                                    "Login Failed",
+                                    JOptionPane.ERROR_MESSAGE);
+                            return;
+                        }
 
                         logger.info("User logged in: {} ({})", user.getUsername(), user.getRole());
 
-                        openDashboard(user);
+                        openDashboard(session);
 
                         dispose();
 
@@ -227,20 +234,20 @@ public class LoginFrame extends JFrame {
         worker.execute();
     }
 
-    private void openDashboard(User user) {
+    private void openDashboard(Session session) {
         SwingUtilities.invokeLater(() -> {
-            switch (user.getRole()) {
+            switch (session.getRole()) {
                 case CUSTOMER:
-                    new CustomerDashboard().setVisible(true);
+                    new CustomerDashboard(session).setVisible(true);
                     break;
                 case AGENT:
-                    new AgentDashboard().setVisible(true);
+                    new AgentDashboard(session).setVisible(true);
                     break;
                 case ADMIN:
-                    new AdminDashboard().setVisible(true);
+                    new AdminDashboard(session).setVisible(true);
                     break;
                 default:
-                    logger.error("Unknown user role: {}", user.getRole());
+                    logger.error("Unknown user role: {}", session.getRole());
                     JOptionPane.showMessageDialog(this,
                             "Unknown user role. Please contact administrator.",
                             "Error",
@@ -21,18 +21,15 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
-import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
-import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.flightreservation.controller.ReservationController;
-import com.flightreservation.dao.SeatDAO;
 import com.flightreservation.model.strategies.payment.BankTransferPaymentStrategy;
 import com.flightreservation.model.strategies.payment.CreditCardPaymentStrategy;
 import com.flightreservation.model.entities.Customer;
@@ -43,19 +40,27 @@ import com.flightreservation.model.strategies.payment.PayPalPaymentStrategy;
 import com.flightreservation.model.strategies.payment.PaymentStrategy;
 import com.flightreservation.model.entities.Reservation;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.ui.util.SeatMapView;
+import com.flightreservation.util.SeatChangeFeed;
+import com.flightreservation.util.SeatMapCache;
 
 public class BookingDialog extends JDialog {
     private static final Logger logger = LoggerFactory.getLogger(BookingDialog.class);
 
     private final Flight flight;
     private final Customer customer;
-    private final SeatDAO seatDAO;
+    private final SeatMapCache seatMapCache;
     private final ReservationController reservationController;
 
-    private JTable seatsTable;
-    private DefaultTableModel seatsTableModel;
-    private List<Seat> availableSeats;
+    private SeatMapView seatMapView;
+    private JLabel selectedSeatLabel;
     private Seat selectedSeat;
+    private final AsyncLoader.Request seatsRequest = new AsyncLoader.Request();
+    private final AsyncLoader.Request bookingRequest = new AsyncLoader.Request();
+    private final SeatChangeFeed.Subscription seatChanges;
+    private boolean seatsLoading;
+    private final List<Seat> changesWhileLoading = new ArrayList<>();
 
     private JTextField firstNameField;
     private JTextField lastNameField;
@@ -85,7 +90,7 @@ public class BookingDialog extends JDialog {
         super(parent, "Book Flight - " + flight.getFlightNumber(), true);
         this.flight = flight;
         this.customer = customer;
-        this.seatDAO = new SeatDAO();
+        this.seatMapCache = SeatMapCache.getInstance();
         this.reservationController = new ReservationController();
 
         setSize(900, 700);
@@ -93,6 +98,9 @@ public class BookingDialog extends JDialog {
         setLayout(new BorderLayout(10, 10));
 
         initComponents();
+        seatChanges = SeatChangeFeed.getInstance().subscribe(flight.getFlightId(),
+                (flightId, changed) -> SwingUtilities.invokeLater(() -> applySeatChanges(changed)));
+        showCachedSeats();
         loadAvailableSeats();
     }
 
@@ -151,40 +159,29 @@ public class BookingDialog extends JDialog {
         seatPanel.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(Color.GRAY), "Select Your Seat"));
 
-        String[] columnNames = { "Seat #", "Class", "Type", "Price", "Status" };
-        seatsTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        seatsTable = new JTable(seatsTableModel);
-        seatsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        seatsTable.setRowHeight(25);
-        seatsTable.getTableHeader().setReorderingAllowed(false);
-
-        seatsTable.getSelectionModel().addListSelectionListener(e -> {
-            if (!e.getValueIsAdjusting()) {
-                int selectedRow = seatsTable.getSelectedRow();
-                if (selectedRow >= 0 && selectedRow < availableSeats.size()) {
-                    selectedSeat = availableSeats.get(selectedRow);
-                    updateTotalPrice();
-                }
-            }
+        seatMapView = new SeatMapView();
+        seatMapView.addSeatSelectionListener(seat -> {
+            selectedSeat = seat;
+            updateSelectedSeatLabel();
+            updateTotalPrice();
         });
 
-        JScrollPane seatsScrollPane = new JScrollPane(seatsTable);
+        JScrollPane seatsScrollPane = seatMapView.createScrollPane();
         seatsScrollPane.setPreferredSize(new Dimension(0, 200));
+        seatPanel.add(SeatMapView.createLegend(), BorderLayout.NORTH);
         seatPanel.add(seatsScrollPane, BorderLayout.CENTER);
 
-        JButton refreshSeatsButton = new JButton("Refresh Seats");
-        refreshSeatsButton.setBackground(new Color(0, 123, 255));
-        refreshSeatsButton.setFocusPainted(false);
-        refreshSeatsButton.addActionListener(e -> loadAvailableSeats());
+        selectedSeatLabel = new JLabel("Click a seat to select it");
+        selectedSeatLabel.setFont(new Font("Arial", Font.BOLD, 13));
+
+        JLabel liveLabel = new JLabel("Seat availability updates live");
+        liveLabel.setFont(new Font("Arial", Font.ITALIC, 11));
+        liveLabel.setForeground(Color.GRAY);
 
-        JPanel refreshPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-        refreshPanel.add(refreshSeatsButton);
-        seatPanel.add(refreshPanel, BorderLayout.SOUTH);
+        JPanel selectionPanel = new JPanel(new BorderLayout());
+        selectionPanel.add(selectedSeatLabel, BorderLayout.WEST);
+        selectionPanel.add(liveLabel, BorderLayout.EAST);
+        seatPanel.add(selectionPanel, BorderLayout.SOUTH);
 
         panel.add(flightInfoPanel, BorderLayout.NORTH);
         panel.add(seatPanel, BorderLayout.CENTER);
@@ -317,45 +314,118 @@ public class BookingDialog extends JDialog {
         return panel;
     }
 
+    /**
+     * shows the seat map prefetched when the flight was selected, if any, so the dialog opens
+     * populated, loadAvailableSeats then revalidates it
+     */
+    private void showCachedSeats() {
+        SeatMapCache.SeatMap cached = seatMapCache.getIfPresent(flight.getFlightId());
+        if (cached != null) {
+            logger.debug("Opening flight {} from cached seat map", flight.getFlightId());
+            displaySeats(cached.getSeats(), false);
+        }
+    }
+
     private void loadAvailableSeats() {
-        try {
-            logger.info("Loading seats for flight ID: {}", flight.getFlightId());
-            availableSeats = seatDAO.getAvailableSeats(flight.getFlightId());
-            seatsTableModel.setRowCount(0);
+        logger.info("Loading seats for flight ID: {}", flight.getFlightId());
+        seatsLoading = true;
+        seatsRequest.submit(() -> seatMapCache.refresh(flight.getFlightId()).getSeats(),
+                seats -> {
+                    seatsLoading = false;
+                    displaySeats(seats, true);
+                    // the load may have read the seats before these changes were written
+                    if (!changesWhileLoading.isEmpty()) {
+                        applySeatChanges(new ArrayList<>(changesWhileLoading));
+                        changesWhileLoading.clear();
+                    }
+                },
+                e -> {
+                    seatsLoading = false;
+                    changesWhileLoading.clear();
+                    JOptionPane.showMessageDialog(this,
+                            "Error loading seat information: " + e.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                });
+    }
 
-            if (availableSeats.isEmpty()) {
-                logger.warn("No available seats found for flight {} ({})", flight.getFlightId(),
-                        flight.getFlightNumber());
-                JOptionPane.showMessageDialog(this,
-                        "No seats are currently available for this flight.\n" +
-                                "Flight ID: " + flight.getFlightId() + "\n" +
-                                "Please try another flight or contact support.",
-                        "No Seats Available",
-                        JOptionPane.WARNING_MESSAGE);
+    /**
+     * applies seats sold or released elsewhere while the dialog is open
+     */
+    private void applySeatChanges(List<Seat> changed) {
+        if (!isDisplayable()) {
+            return;
+        }
+        if (seatsLoading) {
+            changesWhileLoading.addAll(changed);
+        }
+
+        Seat previouslySelected = selectedSeat;
+        seatMapView.updateSeats(changed);
+        selectedSeat = seatMapView.getSelectedSeat();
+        updateSelectedSeatLabel();
+        if (previouslySelected != null && selectedSeat == null) {
+            warnSeatTaken(previouslySelected);
+        }
+    }
+
+    /**
+     * shows the flight's seats on the map, keeping the chosen seat selected if it is still available
+     *
+     * @param confirmed true when the seats come straight from the database rather than the cache
+     */
+    private void displaySeats(List<Seat> seats, boolean confirmed) {
+        Seat previouslySelected = selectedSeat;
+        seatMapView.setSeats(seats);
+        selectedSeat = seatMapView.getSelectedSeat();
+        updateSelectedSeatLabel();
+        updateTotalPrice();
+
+        long available = seats.stream().filter(Seat::isAvailable).count();
+        if (available == 0) {
+            if (!confirmed) {
                 return;
             }
+            logger.warn("No available seats found for flight {} ({})", flight.getFlightId(),
+                    flight.getFlightNumber());
+            JOptionPane.showMessageDialog(this,
+                    "No seats are currently available for this flight.\n" +
+                            "Flight ID: " + flight.getFlightId() + "\n" +
+                            "Please try another flight or contact support.",
+                    "No Seats Available",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
 
-            for (Seat seat : availableSeats) {
-                seatsTableModel.addRow(new Object[] {
-                        seat.getSeatNumber(),
-                        seat.getSeatClass(),
-                        seat.getSeatType(),
-                        "$" + String.format("%.2f", seat.getPrice()),
-                        seat.getStatus()
-                });
-            }
+        if (previouslySelected != null && selectedSeat == null) {
+            warnSeatTaken(previouslySelected);
+        }
 
-            logger.info("Loaded {} available seats for flight {}", availableSeats.size(), flight.getFlightId());
-        } catch (Exception e) {
-            logger.error("Error loading seats", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error loading seat information: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
+        logger.info("Loaded {} seats ({} available) for flight {}", seats.size(), available, flight.getFlightId());
+    }
+
+    private void warnSeatTaken(Seat seat) {
+        JOptionPane.showMessageDialog(this,
+                "Seat " + seat.getSeatNumber() + " is no longer available.\n" +
+                        "Please choose another seat.",
+                "Seat Taken",
+                JOptionPane.WARNING_MESSAGE);
+    }
+
+    private void updateSelectedSeatLabel() {
+        if (selectedSeat == null) {
+            selectedSeatLabel.setText("Click a seat to select it");
+            return;
         }
+        selectedSeatLabel.setText("Seat " + selectedSeat.getSeatNumber() + " - " + selectedSeat.getSeatClass()
+                + ", " + selectedSeat.getSeatType() + ", $" + String.format("%.2f", selectedSeat.getPrice()));
     }
 
     private void processBooking() {
+        if (bookingRequest.isRunning()) {
+            return;
+        }
+
         if (selectedSeat == null) {
             JOptionPane.showMessageDialog(this,
                     "Please select a seat from the 'Flight & Seat Selection' tab.",
@@ -423,26 +493,34 @@ public class BookingDialog extends JDialog {
             List<Passenger> passengers = new ArrayList<>();
             passengers.add(passenger);
 
-            Reservation reservation = reservationController.createReservation(
-                    customer.getCustomerId(),
-                    flight.getFlightId(),
-                    passengers);
-
-            reservationController.confirmReservation(reservation.getReservationId());
-
-            bookingConfirmed = true;
-            dispose();
-
-            JOptionPane.showMessageDialog(getParent(),
-                    "Booking Successful!\n\n" +
-                            "Confirmation Number: " + reservation.getConfirmationNumber() + "\n" +
-                            "Flight: " + flight.getFlightNumber() + "\n" +
-                            "Seat: " + selectedSeat.getSeatNumber() + "\n" +
-                            "Total Paid: $" + String.format("%.2f", reservation.getTotalFare()) + "\n\n" +
-                            "A confirmation email has been sent to " + passenger.getContactEmail() + "\n" +
-                            "You can view your reservation in 'My Reservations'.",
-                    "Booking Confirmed",
-                    JOptionPane.INFORMATION_MESSAGE);
+            bookingRequest.submit(() -> {
+                Reservation reservation = reservationController.createReservation(
+                        customer.getCustomerId(),
+                        flight.getFlightId(),
+                        passengers);
+
+                reservationController.confirmReservation(reservation.getReservationId());
+                return reservation;
+            }, reservation -> {
+                seatMapCache.invalidate(flight.getFlightId());
+                bookingConfirmed = true;
+                dispose();
+
+                JOptionPane.showMessageDialog(getParent(),
+                        "Booking Successful!\n\n" +
+                                "Confirmation Number: " + reservation.getConfirmationNumber() + "\n" +
+                                "Flight: " + flight.getFlightNumber() + "\n" +
+                                "Seat: " + selectedSeat.getSeatNumber() + "\n" +
+                                "Total Paid: $" + String.format("%.2f", reservation.getTotalFare()) + "\n\n" +
+                                "A confirmation email has been sent to " + passenger.getContactEmail() + "\n" +
+                                "You can view your reservation in 'My Reservations'.",
+                        "Booking Confirmed",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }, ex -> JOptionPane.showMessageDialog(this,
+                    "Booking failed: " + ex.getMessage() +
+                            "\n\nPlease try again or contact support.",
+                    "Booking Error",
+                    JOptionPane.ERROR_MESSAGE));
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this,
@@ -601,6 +679,13 @@ public class BookingDialog extends JDialog {
         return label;
     }
 
+    @Override
+    public void dispose() {
+        seatsRequest.cancel();
+        seatChanges.close();
+        super.dispose();
+    }
+
     public boolean isBookingConfirmed() {
         return bookingConfirmed;
     }
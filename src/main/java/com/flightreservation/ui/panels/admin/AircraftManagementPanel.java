@@ -1,7 +1,5 @@
 package com.flightreservation.ui.panels.admin;
 
-import java.util.List;
-
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -44,26 +42,19 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
 
     @Override
     protected void loadData() {
-        tableModel.setRowCount(0);
-        List<Aircraft> aircraftList = aircraftDAO.getAllAircraft();
-
-        for (Aircraft aircraft : aircraftList) {
-            Object[] row = {
-                    aircraft.getAircraftId(),
-                    aircraft.getTailNumber(),
-                    aircraft.getModel(),
-                    aircraft.getManufacturer(),
-                    aircraft.getTotalSeats(),
-                    aircraft.getSeatConfiguration()
-            };
-            tableModel.addRow(row);
-        }
+        loadRows(aircraftDAO::getAllAircraft, aircraft -> new Object[] {
+                aircraft.getAircraftId(),
+                aircraft.getTailNumber(),
+                aircraft.getModel(),
+                aircraft.getManufacturer(),
+                aircraft.getTotalSeats(),
+                aircraft.getSeatConfiguration()
+        });
     }
 
     @Override
-    protected Aircraft getItemFromRow(int row) {
-        int aircraftId = (int) tableModel.getValueAt(row, 0);
-        return aircraftDAO.getAircraftById(aircraftId);
+    protected Aircraft getItemById(int id) {
+        return aircraftDAO.getAircraftById(id);
     }
 
     @Override
@@ -101,18 +92,20 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
                 aircraft.setTotalSeats(Integer.parseInt(totalSeatsField.getText().trim()));
                 aircraft.setSeatConfiguration(configField.getText().trim());
 
-                if (aircraftDAO.createAircraft(aircraft)) {
-                    JOptionPane.showMessageDialog(this,
-                            "Aircraft added successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    loadData();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to add aircraft.",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                runAction(() -> aircraftDAO.createAircraft(aircraft), created -> {
+                    if (created) {
+                        JOptionPane.showMessageDialog(this,
+                                "Aircraft added successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        loadData();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to add aircraft.",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Total seats must be a valid number.",
@@ -124,10 +117,10 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
 
     @Override
     protected void edit() {
-        Aircraft aircraft = getSelectedItem();
-        if (aircraft == null)
-            return;
+        withSelectedItem(this::editAircraft);
+    }
 
+    private void editAircraft(Aircraft aircraft) {
         JPanel editPanel = new JPanel(new java.awt.GridLayout(0, 2, 10, 10));
 
         JTextField tailNumberField = new JTextField(aircraft.getTailNumber());
@@ -160,18 +153,20 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
                 aircraft.setTotalSeats(Integer.parseInt(totalSeatsField.getText().trim()));
                 aircraft.setSeatConfiguration(configField.getText().trim());
 
-                if (aircraftDAO.updateAircraft(aircraft)) {
-                    JOptionPane.showMessageDialog(this,
-                            "Aircraft updated successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    loadData();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to update aircraft.",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                runAction(() -> aircraftDAO.updateAircraft(aircraft), updated -> {
+                    if (updated) {
+                        JOptionPane.showMessageDialog(this,
+                                "Aircraft updated successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        loadData();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to update aircraft.",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Total seats must be a valid number.",
@@ -183,10 +178,10 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
 
     @Override
     protected void delete() {
-        Aircraft aircraft = getSelectedItem();
-        if (aircraft == null)
-            return;
+        withSelectedItem(this::deleteAircraft);
+    }
 
+    private void deleteAircraft(Aircraft aircraft) {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete this aircraft?\n" +
                         aircraft.getTailNumber() + " (" + aircraft.getModel() + ")",
@@ -194,18 +189,20 @@ public class AircraftManagementPanel extends BaseManagementPanel<Aircraft> {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (aircraftDAO.deleteAircraft(aircraft.getAircraftId())) {
-                JOptionPane.showMessageDialog(this,
-                        "Aircraft deleted successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                loadData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to delete aircraft. It may be used by existing flights.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            runAction(() -> aircraftDAO.deleteAircraft(aircraft.getAircraftId()), deleted -> {
+                if (deleted) {
+                    JOptionPane.showMessageDialog(this,
+                            "Aircraft deleted successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    loadData();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to delete aircraft. It may be used by existing flights.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 }
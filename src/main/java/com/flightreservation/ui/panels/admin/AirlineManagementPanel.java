@@ -1,7 +1,6 @@
 package com.flightreservation.ui.panels.admin;
 
 import java.awt.GridLayout;
-import java.util.List;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -57,24 +56,17 @@ public class AirlineManagementPanel extends BaseManagementPanel<Airline> {
 
     @Override
     protected void loadData() {
-        tableModel.setRowCount(0);
-        List<Airline> airlines = airlineDAO.getAllAirlines();
-
-        for (Airline airline : airlines) {
-            Object[] row = {
-                    airline.getAirlineId(),
-                    airline.getAirlineName(),
-                    airline.getAirlineCode(),
-                    airline.getContactInfo() != null ? airline.getContactInfo() : ""
-            };
-            tableModel.addRow(row);
-        }
+        loadRows(airlineDAO::getAllAirlines, airline -> new Object[] {
+                airline.getAirlineId(),
+                airline.getAirlineName(),
+                airline.getAirlineCode(),
+                airline.getContactInfo() != null ? airline.getContactInfo() : ""
+        });
     }
 
     @Override
-    protected Airline getItemFromRow(int row) {
-        int airlineId = (int) tableModel.getValueAt(row, 0);
-        return airlineDAO.getAirlineById(airlineId);
+    protected Airline getItemById(int id) {
+        return airlineDAO.getAirlineById(id);
     }
 
     @Override
@@ -118,20 +110,27 @@ public class AirlineManagementPanel extends BaseManagementPanel<Airline> {
                 return;
             }
 
-            if (airlineDAO.isAirlineCodeExists(code)) {
-                JOptionPane.showMessageDialog(this,
-                        "An airline with code '" + code + "' already exists.",
-                        "Duplicate Code",
-                        JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
             Airline airline = new Airline();
             airline.setAirlineName(name);
             airline.setAirlineCode(code);
             airline.setContactInfo(contact.isEmpty() ? null : contact);
 
-            if (airlineDAO.createAirline(airline)) {
+            runAction(() -> airlineDAO.isAirlineCodeExists(code), exists -> {
+                if (exists) {
+                    JOptionPane.showMessageDialog(this,
+                            "An airline with code '" + code + "' already exists.",
+                            "Duplicate Code",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                createAirline(airline);
+            });
+        }
+    }
+
+    private void createAirline(Airline airline) {
+        runAction(() -> airlineDAO.createAirline(airline), created -> {
+            if (created) {
                 JOptionPane.showMessageDialog(this,
                         "Airline added successfully!",
                         "Success",
@@ -143,16 +142,15 @@ public class AirlineManagementPanel extends BaseManagementPanel<Airline> {
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-        }
+        });
     }
 
     @Override
     protected void edit() {
-        Airline airline = getSelectedItem();
-        if (airline == null) {
-            return;
-        }
+        withSelectedItem(this::editAirline);
+    }
 
+    private void editAirline(Airline airline) {
         JPanel editPanel = new JPanel(new GridLayout(0, 2, 10, 10));
 
         JTextField nameField = new JTextField(airline.getAirlineName());
@@ -188,28 +186,29 @@ public class AirlineManagementPanel extends BaseManagementPanel<Airline> {
             airline.setAirlineCode(code);
             airline.setContactInfo(contact.isEmpty() ? null : contact);
 
-            if (airlineDAO.updateAirline(airline)) {
-                JOptionPane.showMessageDialog(this,
-                        "Airline updated successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                loadData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to update airline. Please try again.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            runAction(() -> airlineDAO.updateAirline(airline), updated -> {
+                if (updated) {
+                    JOptionPane.showMessageDialog(this,
+                            "Airline updated successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    loadData();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to update airline. Please try again.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     @Override
     protected void delete() {
-        Airline airline = getSelectedItem();
-        if (airline == null) {
-            return;
-        }
+        withSelectedItem(this::deleteAirline);
+    }
 
+    private void deleteAirline(Airline airline) {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete airline:\n" +
                         airline.getAirlineName() + " (" + airline.getAirlineCode() + ")?",
@@ -218,18 +217,20 @@ public class AirlineManagementPanel extends BaseManagementPanel<Airline> {
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (airlineDAO.deleteAirline(airline.getAirlineId())) {
-                JOptionPane.showMessageDialog(this,
-                        "Airline deleted successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                loadData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to delete airline. It may be in use by existing flights.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            runAction(() -> airlineDAO.deleteAirline(airline.getAirlineId()), deleted -> {
+                if (deleted) {
+                    JOptionPane.showMessageDialog(this,
+                            "Airline deleted successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    loadData();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to delete airline. It may be in use by existing flights.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 }
@@ -9,6 +9,7 @@ import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.BorderFactory;
@@ -21,24 +22,41 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
-import javax.swing.ListSelectionModel;
-import javax.swing.SwingWorker;
-import javax.swing.table.DefaultTableModel;
 
 import com.flightreservation.controller.AdminController;
+import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.dao.FlightDAO.FlightSort;
 import com.flightreservation.model.entities.Aircraft;
 import com.flightreservation.model.entities.Airline;
 import com.flightreservation.model.entities.Flight;
 import com.flightreservation.model.entities.Route;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.ui.util.CellFormats;
+import com.flightreservation.ui.util.PagedDataSource;
+import com.flightreservation.ui.util.PagedTableModel;
+import com.flightreservation.ui.util.RowColumn;
+import com.flightreservation.ui.util.TableFactory;
 
 public class FlightManagementPanel extends JPanel {
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm";
+
+    /**
+     * database ordering for each table column, in column order
+     */
+    private static final FlightSort[] COLUMN_SORTS = {
+            FlightSort.FLIGHT_NUMBER, FlightSort.AIRLINE, FlightSort.ROUTE, FlightSort.DEPARTURE,
+            FlightSort.ARRIVAL, FlightSort.STATUS, FlightSort.BASE_PRICE, FlightSort.AVAILABLE_SEATS
+    };
+
     private final AdminController controller;
+    private final FlightDAO flightDAO;
     private JTable flightsTable;
-    private DefaultTableModel tableModel;
-    private List<Flight> currentFlights;
+    private PagedTableModel<Flight> tableModel;
+    private final AsyncLoader.Request dialogRequest = new AsyncLoader.Request();
 
     public FlightManagementPanel() {
         this.controller = new AdminController();
+        this.flightDAO = new FlightDAO();
         initializeUI();
         loadFlights();
     }
@@ -51,17 +69,25 @@ public class FlightManagementPanel extends JPanel {
         titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
         add(titleLabel, BorderLayout.NORTH);
 
-        String[] columns = { "Flight #", "Airline", "Route", "Departure", "Arrival", "Status", "Price", "Seats" };
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        flightsTable = new JTable(tableModel);
-        flightsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        flightsTable.setRowHeight(25);
+        List<RowColumn<Flight>> columns = Arrays.asList(
+                RowColumn.of("Flight #", String.class, Flight::getFlightNumber),
+                RowColumn.of("Airline", String.class,
+                        f -> f.getAirline() != null ? f.getAirline().getAirlineName() : null),
+                RowColumn.of("Route", String.class,
+                        f -> f.getRoute() != null
+                                ? f.getRoute().getOriginAirport() + " → " + f.getRoute().getDestinationAirport()
+                                : null),
+                RowColumn.<Flight>of("Departure", LocalDateTime.class, Flight::getDepartureTime)
+                        .formattedWith(CellFormats.dateTime(DATE_PATTERN)),
+                RowColumn.<Flight>of("Arrival", LocalDateTime.class, Flight::getArrivalTime)
+                        .formattedWith(CellFormats.dateTime(DATE_PATTERN)),
+                RowColumn.of("Status", Flight.FlightStatus.class, Flight::getStatus),
+                RowColumn.<Flight>of("Price", Double.class, Flight::getBasePrice)
+                        .formattedWith(CellFormats.CURRENCY),
+                RowColumn.of("Seats", Integer.class, Flight::getAvailableSeats));
+        tableModel = new PagedTableModel<>(columns);
+
+        flightsTable = TableFactory.createPagedTable(tableModel);
 
         JScrollPane scrollPane = new JScrollPane(flightsTable);
         add(scrollPane, BorderLayout.CENTER);
@@ -91,143 +117,123 @@ public class FlightManagementPanel extends JPanel {
     }
 
     private void loadFlights() {
-        SwingWorker<List<Flight>, Void> worker = new SwingWorker<>() {
+        flightsTable.clearSelection();
+        tableModel.load(new PagedDataSource<Flight>() {
             @Override
-            protected List<Flight> doInBackground() throws Exception {
-                return controller.getAllFlights();
+            public int count() throws Exception {
+                return flightDAO.countFlights();
             }
 
             @Override
-            protected void done() {
-                try {
-                    currentFlights = get();
-                    displayFlights(currentFlights);
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(FlightManagementPanel.this,
-                            "Error loading flights: " + ex.getMessage(),
-                            "Load Error",
-                            JOptionPane.ERROR_MESSAGE);
+            public List<Flight> fetch(int offset, int limit, int sortColumn, boolean ascending) throws Exception {
+                if (sortColumn < 0) {
+                    return flightDAO.getFlightsPage(FlightSort.DEPARTURE, false, offset, limit);
                 }
+                return flightDAO.getFlightsPage(COLUMN_SORTS[sortColumn], ascending, offset, limit);
             }
-        };
-        worker.execute();
+        }, null, ex -> JOptionPane.showMessageDialog(this,
+                "Error loading flights: " + ex.getMessage(),
+                "Load Error",
+                JOptionPane.ERROR_MESSAGE));
     }
 
-    private void displayFlights(List<Flight> flights) {
-        tableModel.setRowCount(0);
-
-        if (flights.isEmpty()) {
-            return;
-        }
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-        for (Flight flight : flights) {
-            String airline = flight.getAirline() != null ? flight.getAirline().getAirlineName() : "N/A";
-            String route = "N/A";
-            if (flight.getRoute() != null) {
-                route = flight.getRoute().getOriginAirport() + " → " + flight.getRoute().getDestinationAirport();
-            }
-            String departure = flight.getDepartureTime() != null ? flight.getDepartureTime().format(formatter) : "N/A";
-            String arrival = flight.getArrivalTime() != null ? flight.getArrivalTime().format(formatter) : "N/A";
-
-            Object[] row = {
-                    flight.getFlightNumber(),
-                    airline,
-                    route,
-                    departure,
-                    arrival,
-                    flight.getStatus().name(),
-                    String.format("$%.2f", flight.getBasePrice()),
-                    flight.getAvailableSeats()
-            };
-            tableModel.addRow(row);
+    private Flight getSelectedFlight(String action) {
+        int selectedRow = flightsTable.getSelectedRow();
+        Flight flight = selectedRow >= 0 ? tableModel.getRowAt(selectedRow) : null;
+        if (flight == null) {
+            JOptionPane.showMessageDialog(this,
+                    "Please select a flight to " + action,
+                    "No Selection",
+                    JOptionPane.WARNING_MESSAGE);
         }
+        return flight;
     }
 
     private void addFlight() {
-        FlightDialog dialog = new FlightDialog(null, controller);
-        dialog.setVisible(true);
-
-        if (dialog.isConfirmed()) {
-            loadFlights();
-        }
+        openFlightDialog(null);
     }
 
     private void editFlight() {
-        int selectedRow = flightsTable.getSelectedRow();
-        if (selectedRow == -1) {
-            JOptionPane.showMessageDialog(this,
-                    "Please select a flight to edit",
-                    "No Selection",
-                    JOptionPane.WARNING_MESSAGE);
+        Flight flight = getSelectedFlight("edit");
+        if (flight == null) {
             return;
         }
+        openFlightDialog(flight);
+    }
 
-        Flight flight = currentFlights.get(selectedRow);
-        FlightDialog dialog = new FlightDialog(flight, controller);
-        dialog.setVisible(true);
-
-        if (dialog.isConfirmed()) {
-            loadFlights();
-        }
+    /**
+     * loads the routes, aircraft and airlines off the EDT, then shows the dialog
+     */
+    private void openFlightDialog(Flight flight) {
+        dialogRequest.submit(() -> new Lookups(controller.getAllRoutes(), controller.getAllAircraft(),
+                controller.getAllAirlines()),
+                lookups -> {
+                    FlightDialog dialog = new FlightDialog(flight, controller, lookups);
+                    dialog.setVisible(true);
+
+                    if (dialog.isConfirmed()) {
+                        loadFlights();
+                    }
+                },
+                ex -> JOptionPane.showMessageDialog(this,
+                        "Error loading routes, aircraft and airlines: " + ex.getMessage(),
+                        "Load Error",
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     private void deleteFlight() {
-        int selectedRow = flightsTable.getSelectedRow();
-        if (selectedRow == -1) {
-            JOptionPane.showMessageDialog(this,
-                    "Please select a flight to delete",
-                    "No Selection",
-                    JOptionPane.WARNING_MESSAGE);
+        Flight flight = getSelectedFlight("delete");
+        if (flight == null) {
             return;
         }
 
-        Flight flight = currentFlights.get(selectedRow);
-
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete flight " + flight.getFlightNumber() + "?",
                 "Confirm Deletion",
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            SwingWorker<Boolean, Void> worker = new SwingWorker<>() {
-                @Override
-                protected Boolean doInBackground() throws Exception {
-                    return controller.deleteFlight(flight.getFlightId());
-                }
-
-                @Override
-                protected void done() {
-                    try {
-                        boolean success = get();
+            AsyncLoader.load(() -> controller.deleteFlight(flight.getFlightId()),
+                    success -> {
                         if (success) {
-                            JOptionPane.showMessageDialog(FlightManagementPanel.this,
+                            JOptionPane.showMessageDialog(this,
                                     "Flight deleted successfully",
                                     "Success",
                                     JOptionPane.INFORMATION_MESSAGE);
                             loadFlights();
                         } else {
-                            JOptionPane.showMessageDialog(FlightManagementPanel.this,
+                            JOptionPane.showMessageDialog(this,
                                     "Failed to delete flight",
                                     "Error",
                                     JOptionPane.ERROR_MESSAGE);
                         }
-                    } catch (Exception ex) {
-                        JOptionPane.showMessageDialog(FlightManagementPanel.this,
-                                "Error deleting flight: " + ex.getMessage(),
-                                "Error",
-                                JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            };
-            worker.execute();
+                    },
+                    ex -> JOptionPane.showMessageDialog(this,
+                            "Error deleting flight: " + ex.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE));
+        }
+    }
+
+    /**
+     * choices offered by the flight dialog
+     */
+    private static class Lookups {
+        private final List<Route> routes;
+        private final List<Aircraft> aircrafts;
+        private final List<Airline> airlines;
+
+        Lookups(List<Route> routes, List<Aircraft> aircrafts, List<Airline> airlines) {
+            this.routes = routes;
+            this.aircrafts = aircrafts;
+            this.airlines = airlines;
         }
     }
 
     private static class FlightDialog extends JDialog {
         private final AdminController controller;
         private final Flight flight;
+        private final AsyncLoader.Request saveRequest = new AsyncLoader.Request();
         private boolean confirmed = false;
 
         private JTextField flightNumberField;
@@ -240,14 +246,19 @@ public class FlightManagementPanel extends JPanel {
         private JTextField arrivalTimeField;
         private JTextField priceField;
         private JComboBox<Flight.FlightStatus> statusComboBox;
+        private JButton saveButton;
+        private JButton cancelButton;
 
-        private List<Route> routes;
-        private List<Aircraft> aircrafts;
-        private List<Airline> airlines;
+        private final List<Route> routes;
+        private final List<Aircraft> aircrafts;
+        private final List<Airline> airlines;
 
-        public FlightDialog(Flight flight, AdminController controller) {
+        FlightDialog(Flight flight, AdminController controller, Lookups lookups) {
             this.flight = flight;
             this.controller = controller;
+            this.routes = lookups.routes;
+            this.aircrafts = lookups.aircrafts;
+            this.airlines = lookups.airlines;
 
             setTitle(flight == null ? "Add Flight" : "Edit Flight");
             setModal(true);
@@ -347,9 +358,9 @@ public class FlightManagementPanel extends JPanel {
             add(formPanel, BorderLayout.CENTER);
 
             JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
-            JButton saveButton = new JButton("Save");
+            saveButton = new JButton("Save");
             saveButton.addActionListener(e -> saveFlight());
-            JButton cancelButton = new JButton("Cancel");
+            cancelButton = new JButton("Cancel");
             cancelButton.addActionListener(e -> dispose());
             buttonPanel.add(saveButton);
             buttonPanel.add(cancelButton);
@@ -357,21 +368,18 @@ public class FlightManagementPanel extends JPanel {
         }
 
         private void loadRoutes() {
-            routes = controller.getAllRoutes();
             for (Route route : routes) {
                 routeComboBox.addItem(route.toString());
             }
         }
 
         private void loadAircraft() {
-            aircrafts = controller.getAllAircraft();
             for (Aircraft aircraft : aircrafts) {
                 aircraftComboBox.addItem(aircraft.toString());
             }
         }
 
         private void loadAirlines() {
-            airlines = controller.getAllAirlines();
             for (Airline airline : airlines) {
                 airlineComboBox.addItem(airline.getAirlineName());
             }
@@ -445,23 +453,7 @@ public class FlightManagementPanel extends JPanel {
                 long duration = java.time.Duration.between(departure, arrival).toMinutes();
                 newFlight.setDuration((int) duration);
 
-                boolean success;
-                if (flight == null) {
-                    success = controller.createFlight(newFlight);
-                } else {
-                    success = controller.updateFlight(newFlight);
-                }
-
-                if (success) {
-                    confirmed = true;
-                    dispose();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to save flight",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-
+                submitFlight(newFlight);
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                         "Invalid input: " + ex.getMessage(),
@@ -470,6 +462,42 @@ public class FlightManagementPanel extends JPanel {
             }
         }
 
+        /**
+         * saves off the EDT, creating a flight checks the schedule and inserts its seats; the dialog
+         * cannot be closed until the save is done
+         */
+        private void submitFlight(Flight newFlight) {
+            setSaving(true);
+            saveRequest.submit(() -> flight == null
+                    ? controller.createFlight(newFlight)
+                    : controller.updateFlight(newFlight),
+                    success -> {
+                        setSaving(false);
+                        if (success) {
+                            confirmed = true;
+                            dispose();
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to save flight",
+                                    "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    ex -> {
+                        setSaving(false);
+                        JOptionPane.showMessageDialog(this,
+                                "Error saving flight: " + ex.getMessage(),
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    });
+        }
+
+        private void setSaving(boolean saving) {
+            saveButton.setEnabled(!saving);
+            cancelButton.setEnabled(!saving);
+            setDefaultCloseOperation(saving ? DO_NOTHING_ON_CLOSE : DISPOSE_ON_CLOSE);
+        }
+
         public boolean isConfirmed() {
             return confirmed;
         }
@@ -1,7 +1,5 @@
 package com.flightreservation.ui.panels.admin;
 
-import java.util.List;
-
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTable;
@@ -43,25 +41,18 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
 
     @Override
     protected void loadData() {
-        tableModel.setRowCount(0);
-        List<Route> routes = routeDAO.getAllRoutes();
-
-        for (Route route : routes) {
-            Object[] row = {
-                    route.getRouteId(),
-                    route.getOriginAirport(),
-                    route.getDestinationAirport(),
-                    route.getDistance(),
-                    route.getEstimatedDuration()
-            };
-            tableModel.addRow(row);
-        }
+        loadRows(routeDAO::getAllRoutes, route -> new Object[] {
+                route.getRouteId(),
+                route.getOriginAirport(),
+                route.getDestinationAirport(),
+                route.getDistance(),
+                route.getEstimatedDuration()
+        });
     }
 
     @Override
-    protected Route getItemFromRow(int row) {
-        int routeId = (int) tableModel.getValueAt(row, 0);
-        return routeDAO.getRouteById(routeId);
+    protected Route getItemById(int id) {
+        return routeDAO.getRouteById(id);
     }
 
     @Override
@@ -87,18 +78,20 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
                 route.setDistance(Integer.parseInt(formBuilder.getTextValue("distance")));
                 route.setEstimatedDuration(Integer.parseInt(formBuilder.getTextValue("duration")));
 
-                if (routeDAO.createRoute(route)) {
-                    JOptionPane.showMessageDialog(this,
-                            "Route added successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    loadData();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to add route.",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                runAction(() -> routeDAO.createRoute(route), created -> {
+                    if (created) {
+                        JOptionPane.showMessageDialog(this,
+                                "Route added successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        loadData();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to add route.",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Distance and Duration must be valid numbers.",
@@ -110,10 +103,10 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
 
     @Override
     protected void edit() {
-        Route route = getSelectedItem();
-        if (route == null)
-            return;
+        withSelectedItem(this::editRoute);
+    }
 
+    private void editRoute(Route route) {
         FormBuilder formBuilder = new FormBuilder()
                 .addTextField("Origin Airport Code", "origin", route.getOriginAirport())
                 .addTextField("Destination Airport Code", "destination", route.getDestinationAirport())
@@ -134,18 +127,20 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
                 route.setDistance(Integer.parseInt(formBuilder.getTextValue("distance")));
                 route.setEstimatedDuration(Integer.parseInt(formBuilder.getTextValue("duration")));
 
-                if (routeDAO.updateRoute(route)) {
-                    JOptionPane.showMessageDialog(this,
-                            "Route updated successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    loadData();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to update route.",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                runAction(() -> routeDAO.updateRoute(route), updated -> {
+                    if (updated) {
+                        JOptionPane.showMessageDialog(this,
+                                "Route updated successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        loadData();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to update route.",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Distance and Duration must be valid numbers.",
@@ -157,10 +152,10 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
 
     @Override
     protected void delete() {
-        Route route = getSelectedItem();
-        if (route == null)
-            return;
+        withSelectedItem(this::deleteRoute);
+    }
 
+    private void deleteRoute(Route route) {
         int confirm = JOptionPane.showConfirmDialog(this,
                 "Are you sure you want to delete this route?\n" +
                         route.getOriginAirport() + " → " + route.getDestinationAirport(),
@@ -168,18 +163,20 @@ public class RouteManagementPanel extends BaseManagementPanel<Route> {
                 JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (routeDAO.deleteRoute(route.getRouteId())) {
-                JOptionPane.showMessageDialog(this,
-                        "Route deleted successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                loadData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to delete route. It may be used by existing flights.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            runAction(() -> routeDAO.deleteRoute(route.getRouteId()), deleted -> {
+                if (deleted) {
+                    JOptionPane.showMessageDialog(this,
+                            "Route deleted successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    loadData();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            "Failed to delete route. It may be used by existing flights.",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 }
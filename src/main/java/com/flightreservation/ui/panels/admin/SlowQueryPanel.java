@@ -0,0 +1,202 @@
+package com.flightreservation.ui.panels.admin;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+import com.flightreservation.tracing.SlowQueryLog;
+import com.flightreservation.ui.util.TableFactory;
+
+/**
+ * admin report of the statements this instance ran, the fingerprints that cost the most time and the
+ * ones run most often, with the captured plan of the selected one
+ */
+public class SlowQueryPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 2000;
+    private static final int TOP_N = 20;
+    private static final String[] COLUMNS =
+            { "Fingerprint", "Count", "Total (ms)", "Mean (ms)", "Max (ms)", "Slow", "Binds" };
+
+    private final SlowQueryLog slowQueryLog = SlowQueryLog.getInstance();
+    private final Timer refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+
+    private JLabel fingerprintsLabel;
+    private JLabel slowLabel;
+    private JTable byTimeTable;
+    private JTable byCountTable;
+    private JTextArea planArea;
+    private List<SlowQueryLog.Fingerprint> shownByTime = new ArrayList<>();
+    private List<SlowQueryLog.Fingerprint> shownByCount = new ArrayList<>();
+
+    public SlowQueryPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel titleLabel = new JLabel("Slow Queries", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        add(titleLabel, BorderLayout.NORTH);
+
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.add(createSummaryPanel(), BorderLayout.NORTH);
+        content.add(createTablesPanel(), BorderLayout.CENTER);
+        add(content, BorderLayout.CENTER);
+        add(createButtonPanel(), BorderLayout.SOUTH);
+
+        refresh();
+    }
+
+    private JPanel createSummaryPanel() {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 10, 6));
+        panel.setBorder(BorderFactory.createTitledBorder("Statements"));
+
+        fingerprintsLabel = new JLabel();
+        slowLabel = new JLabel();
+
+        panel.add(new JLabel("Logging:"));
+        panel.add(new JLabel(SlowQueryLog.isEnabled() ? "on" : "off (slowQuery.enabled=true enables it)"));
+        panel.add(new JLabel("Slow threshold:"));
+        panel.add(new JLabel(slowQueryLog.getThresholdMillis() + " ms"));
+        panel.add(new JLabel("EXPLAIN capture:"));
+        panel.add(new JLabel(slowQueryLog.isExplainEnabled() ? "on" : "off (slowQuery.explain=true enables it)"));
+        panel.add(new JLabel("Fingerprints:"));
+        panel.add(fingerprintsLabel);
+        panel.add(new JLabel("Slow statements:"));
+        panel.add(slowLabel);
+        return panel;
+    }
+
+    private JSplitPane createTablesPanel() {
+        byTimeTable = TableFactory.createReadOnlyTable(COLUMNS);
+        byTimeTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && byTimeTable.getSelectedRow() >= 0) {
+                byCountTable.clearSelection();
+                showPlan(shownByTime, byTimeTable.getSelectedRow());
+            }
+        });
+        JScrollPane byTimeScroll = new JScrollPane(byTimeTable);
+        byTimeScroll.setBorder(BorderFactory.createTitledBorder("Top " + TOP_N + " by Total Time"));
+
+        byCountTable = TableFactory.createReadOnlyTable(COLUMNS);
+        byCountTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting() && byCountTable.getSelectedRow() >= 0) {
+                byTimeTable.clearSelection();
+                showPlan(shownByCount, byCountTable.getSelectedRow());
+            }
+        });
+        JScrollPane byCountScroll = new JScrollPane(byCountTable);
+        byCountScroll.setBorder(BorderFactory.createTitledBorder("Top " + TOP_N + " by Count"));
+
+        planArea = new JTextArea(8, 40);
+        planArea.setEditable(false);
+        planArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        JScrollPane planScroll = new JScrollPane(planArea);
+        planScroll.setBorder(BorderFactory.createTitledBorder("Statement and Plan"));
+
+        JSplitPane tables = new JSplitPane(JSplitPane.VERTICAL_SPLIT, byTimeScroll, byCountScroll);
+        tables.setResizeWeight(0.5);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tables, planScroll);
+        split.setResizeWeight(0.7);
+        return split;
+    }
+
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.setFocusPainted(false);
+        refreshButton.addActionListener(e -> refresh());
+
+        JButton resetButton = new JButton("Reset");
+        resetButton.setFocusPainted(false);
+        resetButton.addActionListener(e -> {
+            slowQueryLog.reset();
+            planArea.setText("");
+            refresh();
+        });
+
+        panel.add(refreshButton);
+        panel.add(resetButton);
+        return panel;
+    }
+
+    private void refresh() {
+        fingerprintsLabel.setText(String.valueOf(slowQueryLog.getFingerprintCount()));
+        slowLabel.setText(String.valueOf(slowQueryLog.getSlowCount()));
+        shownByTime = fill(byTimeTable, shownByTime, slowQueryLog.getTopByTotalTime(TOP_N));
+        shownByCount = fill(byCountTable, shownByCount, slowQueryLog.getTopByCount(TOP_N));
+    }
+
+    /**
+     * replaces the rows and keeps the selected fingerprint selected if it is still listed
+     */
+    private static List<SlowQueryLog.Fingerprint> fill(JTable table, List<SlowQueryLog.Fingerprint> shown,
+            List<SlowQueryLog.Fingerprint> top) {
+        int selected = table.getSelectedRow();
+        SlowQueryLog.Fingerprint selectedFingerprint = selected >= 0 && selected < shown.size()
+                ? shown.get(selected)
+                : null;
+
+        DefaultTableModel model = TableFactory.getTableModel(table);
+        model.setRowCount(0);
+        for (SlowQueryLog.Fingerprint fingerprint : top) {
+            model.addRow(new Object[] {
+                    fingerprint.getSql(),
+                    fingerprint.getCount(),
+                    fingerprint.getTotalMillis(),
+                    String.format("%.2f", fingerprint.getMeanMillis()),
+                    String.format("%.1f", fingerprint.getMaxMillis()),
+                    fingerprint.getSlowCount(),
+                    fingerprint.getBinds()
+            });
+        }
+
+        int reselect = selectedFingerprint != null ? top.indexOf(selectedFingerprint) : -1;
+        if (reselect >= 0) {
+            table.setRowSelectionInterval(reselect, reselect);
+        }
+        return top;
+    }
+
+    private void showPlan(List<SlowQueryLog.Fingerprint> shown, int row) {
+        if (row < 0 || row >= shown.size()) {
+            planArea.setText("");
+            return;
+        }
+        SlowQueryLog.Fingerprint fingerprint = shown.get(row);
+        String plan = fingerprint.getPlan();
+        if (plan == null) {
+            plan = fingerprint.getSlowCount() > 0 && slowQueryLog.isExplainEnabled()
+                    ? "(plan is being captured)"
+                    : "(no plan, captured the first time a statement is slow while EXPLAIN capture is on)";
+        }
+        planArea.setText(fingerprint.getSql() + "\n\n" + plan);
+        planArea.setCaretPosition(0);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+}
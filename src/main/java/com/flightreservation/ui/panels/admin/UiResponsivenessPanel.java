@@ -0,0 +1,213 @@
+package com.flightreservation.ui.panels.admin;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+import com.flightreservation.ui.util.EdtMonitor;
+import com.flightreservation.ui.util.TableFactory;
+import com.flightreservation.util.LatencyHistogram;
+
+/**
+ * admin summary of how responsive the UI of this instance has been, stalls are grouped by panel and
+ * DAO call so the worst offenders are the first ones to make async
+ */
+public class UiResponsivenessPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 2000;
+    private static final long SLOW_EVENT_MICROS = 100_000;
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private final EdtMonitor monitor = EdtMonitor.getInstance();
+    private final Timer refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+
+    private JLabel viewLabel;
+    private JLabel stallsLabel;
+    private JLabel queueLabel;
+    private JLabel dispatchLabel;
+    private JLabel slowEventsLabel;
+    private JTable offendersTable;
+    private JTable stallsTable;
+    private JTextArea stackArea;
+    private List<EdtMonitor.Stall> shownStalls = new ArrayList<>();
+
+    public UiResponsivenessPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JLabel titleLabel = new JLabel("UI Responsiveness", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
+        add(titleLabel, BorderLayout.NORTH);
+
+        JPanel content = new JPanel(new BorderLayout(10, 10));
+        content.add(createSummaryPanel(), BorderLayout.NORTH);
+        content.add(createStallsPanel(), BorderLayout.CENTER);
+        add(content, BorderLayout.CENTER);
+        add(createButtonPanel(), BorderLayout.SOUTH);
+
+        refresh();
+    }
+
+    private JPanel createSummaryPanel() {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 10, 6));
+        panel.setBorder(BorderFactory.createTitledBorder("Event Dispatch Thread"));
+
+        viewLabel = new JLabel();
+        stallsLabel = new JLabel();
+        queueLabel = new JLabel();
+        dispatchLabel = new JLabel();
+        slowEventsLabel = new JLabel();
+
+        panel.add(new JLabel("Current view:"));
+        panel.add(viewLabel);
+        panel.add(new JLabel("Stalls (over " + monitor.getStallThresholdMillis() + " ms):"));
+        panel.add(stallsLabel);
+        panel.add(new JLabel("Queue latency:"));
+        panel.add(queueLabel);
+        panel.add(new JLabel("Event dispatch time:"));
+        panel.add(dispatchLabel);
+        panel.add(new JLabel("Events over " + SLOW_EVENT_MICROS / 1000 + " ms:"));
+        panel.add(slowEventsLabel);
+        return panel;
+    }
+
+    private JSplitPane createStallsPanel() {
+        offendersTable = TableFactory.createReadOnlyTable(
+                new String[] { "Panel", "DAO Call", "Stalls", "Worst (ms)", "Total (ms)" });
+        JScrollPane offendersScroll = new JScrollPane(offendersTable);
+        offendersScroll.setBorder(BorderFactory.createTitledBorder("Worst Offenders"));
+
+        stallsTable = TableFactory.createReadOnlyTable(
+                new String[] { "Time", "Duration (ms)", "Window", "Panel", "DAO Call" });
+        stallsTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showStack(stallsTable.getSelectedRow());
+            }
+        });
+        JScrollPane stallsScroll = new JScrollPane(stallsTable);
+        stallsScroll.setBorder(BorderFactory.createTitledBorder("Recent Stalls"));
+
+        stackArea = new JTextArea(8, 40);
+        stackArea.setEditable(false);
+        stackArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
+        JScrollPane stackScroll = new JScrollPane(stackArea);
+        stackScroll.setBorder(BorderFactory.createTitledBorder("EDT Stack"));
+
+        JSplitPane tables = new JSplitPane(JSplitPane.VERTICAL_SPLIT, offendersScroll, stallsScroll);
+        tables.setResizeWeight(0.4);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, tables, stackScroll);
+        split.setResizeWeight(0.65);
+        return split;
+    }
+
+    private JPanel createButtonPanel() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.setFocusPainted(false);
+        refreshButton.addActionListener(e -> refresh());
+
+        JButton resetButton = new JButton("Reset");
+        resetButton.setFocusPainted(false);
+        resetButton.addActionListener(e -> {
+            monitor.reset();
+            refresh();
+        });
+
+        panel.add(refreshButton);
+        panel.add(resetButton);
+        return panel;
+    }
+
+    private void refresh() {
+        LatencyHistogram queue = monitor.getQueueLatency();
+        LatencyHistogram dispatch = monitor.getDispatchTime();
+        viewLabel.setText(monitor.getActivePanel());
+        stallsLabel.setText(String.valueOf(monitor.getStallCount()));
+        queueLabel.setText(queue.summary());
+        dispatchLabel.setText(dispatch.summary());
+        slowEventsLabel.setText(String.valueOf(dispatch.countAtOrAbove(SLOW_EVENT_MICROS)));
+
+        List<EdtMonitor.Stall> stalls = monitor.getRecentStalls();
+        int selected = stallsTable.getSelectedRow();
+        EdtMonitor.Stall selectedStall = selected >= 0 && selected < shownStalls.size()
+                ? shownStalls.get(selected)
+                : null;
+        shownStalls = stalls;
+
+        DefaultTableModel stallsModel = TableFactory.getTableModel(stallsTable);
+        stallsModel.setRowCount(0);
+        Map<String, long[]> offenders = new LinkedHashMap<>();
+        for (EdtMonitor.Stall stall : stalls) {
+            String panel = stall.getPanel().isEmpty() ? stall.getWindow() : stall.getPanel();
+            String daoCall = stall.getDaoCall() != null ? stall.getDaoCall() : "-";
+            stallsModel.addRow(new Object[] {
+                    TIME_FORMAT.format(stall.getDetectedAt()),
+                    stall.isEnded() ? String.valueOf(stall.getDurationMillis()) : stall.getDurationMillis() + "+",
+                    stall.getWindow(),
+                    stall.getPanel(),
+                    daoCall
+            });
+
+            long[] totals = offenders.computeIfAbsent(panel + "\t" + daoCall, key -> new long[3]);
+            totals[0]++;
+            totals[1] = Math.max(totals[1], stall.getDurationMillis());
+            totals[2] += stall.getDurationMillis();
+        }
+
+        List<Map.Entry<String, long[]>> ranked = new ArrayList<>(offenders.entrySet());
+        ranked.sort((a, b) -> Long.compare(b.getValue()[2], a.getValue()[2]));
+        DefaultTableModel offendersModel = TableFactory.getTableModel(offendersTable);
+        offendersModel.setRowCount(0);
+        for (Map.Entry<String, long[]> entry : ranked) {
+            String[] key = entry.getKey().split("\t", 2);
+            long[] totals = entry.getValue();
+            offendersModel.addRow(new Object[] { key[0], key[1], totals[0], totals[1], totals[2] });
+        }
+
+        int reselect = selectedStall != null ? stalls.indexOf(selectedStall) : -1;
+        if (reselect >= 0) {
+            stallsTable.setRowSelectionInterval(reselect, reselect);
+        }
+    }
+
+    private void showStack(int row) {
+        if (row < 0 || row >= shownStalls.size()) {
+            stackArea.setText("");
+            return;
+        }
+        stackArea.setText(shownStalls.get(row).getStackTrace());
+        stackArea.setCaretPosition(0);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+}
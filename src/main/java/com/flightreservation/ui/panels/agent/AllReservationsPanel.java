@@ -1,27 +1,58 @@
 package com.flightreservation.ui.panels.agent;
 
 import com.flightreservation.dao.ReservationDAO;
+import com.flightreservation.database.DatabaseManager;
 import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.dao.ReservationDAO.ReservationSort;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.ui.util.CellFormats;
+import com.flightreservation.ui.util.PagedDataSource;
+import com.flightreservation.ui.util.PagedTableModel;
+import com.flightreservation.ui.util.RowColumn;
+import com.flightreservation.ui.util.TableFactory;
+import com.flightreservation.util.ChangeCursor;
+import com.flightreservation.util.ChangeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class AllReservationsPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(AllReservationsPanel.class);
+    private static final String DATE_PATTERN = "MMM dd, yyyy HH:mm";
+
+    /**
+     * database ordering for each table column, in column order
+     */
+    private static final ReservationSort[] COLUMN_SORTS = {
+            ReservationSort.RESERVATION_ID, ReservationSort.CONFIRMATION_NUMBER, ReservationSort.CUSTOMER,
+            ReservationSort.FLIGHT_NUMBER, ReservationSort.DEPARTURE, ReservationSort.TOTAL_FARE,
+            ReservationSort.STATUS, ReservationSort.RESERVATION_DATE
+    };
 
     private final ReservationDAO reservationDAO;
 
     private JTextField searchField;
     private JComboBox<String> statusFilterCombo;
     private JTable reservationsTable;
-    private DefaultTableModel tableModel;
-    private List<Reservation> allReservations;
+    private PagedTableModel<Reservation> tableModel;
+    private final AsyncLoader.Request actionRequest = new AsyncLoader.Request();
+    private final AsyncLoader.Request refreshRequest = new AsyncLoader.Request();
+    private final ChangeCursor changeCursor = new ChangeCursor();
+
+    /**
+     * status filter of the current listing (null for all), only meaningful when not showing a search result
+     */
+    private Reservation.ReservationStatus shownStatus;
+    private boolean showingSearch;
 
     public AllReservationsPanel() {
         this.reservationDAO = new ReservationDAO();
@@ -44,20 +75,24 @@ public class AllReservationsPanel extends JPanel {
         JPanel searchPanel = createSearchPanel();
         centerPanel.add(searchPanel, BorderLayout.NORTH);
 
-        String[] columnNames = { "Reservation ID", "Confirmation #", "Customer", "Flight #",
-                "Departure", "Total Fare", "Status", "Booking Date" };
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        reservationsTable = new JTable(tableModel);
-        reservationsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        reservationsTable.setRowHeight(25);
-        reservationsTable.getTableHeader().setReorderingAllowed(false);
-        reservationsTable.setAutoCreateRowSorter(true);
+        List<RowColumn<Reservation>> columns = Arrays.asList(
+                RowColumn.of("Reservation ID", Integer.class, Reservation::getReservationId),
+                RowColumn.of("Confirmation #", String.class, Reservation::getConfirmationNumber),
+                RowColumn.of("Customer", String.class,
+                        r -> r.getCustomer() != null ? r.getCustomer().getUser().getUsername() : null),
+                RowColumn.of("Flight #", String.class,
+                        r -> r.getFlight() != null ? r.getFlight().getFlightNumber() : null),
+                RowColumn.<Reservation>of("Departure", LocalDateTime.class,
+                        r -> r.getFlight() != null ? r.getFlight().getDepartureTime() : null)
+                        .formattedWith(CellFormats.dateTime(DATE_PATTERN)),
+                RowColumn.<Reservation>of("Total Fare", Double.class, Reservation::getTotalFare)
+                        .formattedWith(CellFormats.CURRENCY),
+                RowColumn.of("Status", Reservation.ReservationStatus.class, Reservation::getStatus),
+                RowColumn.<Reservation>of("Booking Date", LocalDateTime.class, Reservation::getReservationDate)
+                        .formattedWith(CellFormats.dateTime(DATE_PATTERN)));
+        tableModel = new PagedTableModel<>(columns);
+
+        reservationsTable = TableFactory.createPagedTable(tableModel);
 
         JScrollPane scrollPane = new JScrollPane(reservationsTable);
         centerPanel.add(scrollPane, BorderLayout.CENTER);
@@ -93,7 +128,7 @@ public class AllReservationsPanel extends JPanel {
         JButton refreshBtn = new JButton("Refresh All");
         refreshBtn.setBackground(new Color(108, 117, 125));
         refreshBtn.setFocusPainted(false);
-        refreshBtn.addActionListener(e -> loadAllReservations());
+        refreshBtn.addActionListener(e -> refreshReservations());
         panel.add(refreshBtn);
 
         return panel;
@@ -118,19 +153,7 @@ public class AllReservationsPanel extends JPanel {
     }
 
     private void loadAllReservations() {
-        tableModel.setRowCount(0);
-        allReservations = reservationDAO.getAllReservations();
-
-        if (allReservations.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                    "No reservations found in the system.",
-                    "No Data",
-                    JOptionPane.INFORMATION_MESSAGE);
-            return;
-        }
-
-        displayReservations(allReservations);
-        logger.info("Loaded {} reservations", allReservations.size());
+        showReservations(null, "No reservations found in the system.", "No Data");
     }
 
     private void searchReservations() {
@@ -143,18 +166,20 @@ public class AllReservationsPanel extends JPanel {
             return;
         }
 
-        Reservation reservation = reservationDAO.getReservationByConfirmation(confirmationNumber);
-        tableModel.setRowCount(0);
-
-        if (reservation == null) {
-            JOptionPane.showMessageDialog(this,
-                    "No reservation found with confirmation number: " + confirmationNumber,
-                    "Not Found",
-                    JOptionPane.INFORMATION_MESSAGE);
-            return;
-        }
-
-        addReservationToTable(reservation);
+        refreshRequest.cancel();
+        showingSearch = true;
+        changeCursor.reset();
+        reservationsTable.clearSelection();
+        tableModel.load(new ConfirmationSearch(confirmationNumber),
+                count -> {
+                    if (count == 0) {
+                        JOptionPane.showMessageDialog(this,
+                                "No reservation found with confirmation number: " + confirmationNumber,
+                                "Not Found",
+                                JOptionPane.INFORMATION_MESSAGE);
+                    }
+                },
+                this::showLoadError);
     }
 
     private void filterByStatus() {
@@ -165,57 +190,131 @@ public class AllReservationsPanel extends JPanel {
             return;
         }
 
-        tableModel.setRowCount(0);
-        List<Reservation> filteredReservations = reservationDAO.getReservationsByStatus(
-                Reservation.ReservationStatus.valueOf(status));
+        showReservations(Reservation.ReservationStatus.valueOf(status),
+                "No reservations found with status: " + status, "No Results");
+    }
 
-        if (filteredReservations.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                    "No reservations found with status: " + status,
-                    "No Results",
-                    JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * points the table at reservations with the given status (null for all), rows are fetched as they scroll in
+     */
+    private void showReservations(Reservation.ReservationStatus status, String emptyMessage, String emptyTitle) {
+        refreshRequest.cancel();
+        shownStatus = status;
+        showingSearch = false;
+        changeCursor.reset();
+        reservationsTable.clearSelection();
+        tableModel.load(new PagedDataSource<Reservation>() {
+            @Override
+            public int count() throws Exception {
+                // taken before counting so rows written meanwhile are picked up by the next refresh
+                Instant syncedAt = DatabaseManager.getInstance().getCurrentTimestamp();
+                int count = reservationDAO.countReservations(status);
+                changeCursor.advance(syncedAt);
+                return count;
+            }
+
+            @Override
+            public List<Reservation> fetch(int offset, int limit, int sortColumn, boolean ascending)
+                    throws Exception {
+                if (sortColumn < 0) {
+                    return reservationDAO.getReservationSummaries(status, ReservationSort.RESERVATION_DATE, false,
+                            offset, limit);
+                }
+                return reservationDAO.getReservationSummaries(status, COLUMN_SORTS[sortColumn], ascending,
+                        offset, limit);
+            }
+        }, count -> {
+            if (count == 0) {
+                JOptionPane.showMessageDialog(this,
+                        emptyMessage,
+                        emptyTitle,
+                        JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            logger.info("Showing {} reservations (status filter: {})", count, status != null ? status : "ALL");
+        }, this::showLoadError);
+    }
+
+    /**
+     * brings the current listing up to date with only the reservations changed since the last sync,
+     * unchanged rows keep their place and the selection survives
+     */
+    private void refreshReservations() {
+        Instant since = changeCursor.since();
+        if (showingSearch || since == null) {
+            loadAllReservations();
             return;
         }
 
-        displayReservations(filteredReservations);
-        logger.info("Filtered {} reservations with status {}", filteredReservations.size(), status);
+        Reservation.ReservationStatus status = shownStatus;
+        refreshRequest.submit(() -> {
+            Instant syncedAt = DatabaseManager.getInstance().getCurrentTimestamp();
+            return ChangeSet.incremental(reservationDAO.getChangedSince(since), null, syncedAt);
+        }, changes -> {
+            changeCursor.advance(changes.getSyncedAt());
+            tableModel.applyChanges(changes.getChanged(), Reservation::getReservationId,
+                    r -> status == null || r.getStatus() == status);
+            logger.debug("Applied {} changed reservations", changes.getChanged().size());
+        }, this::showLoadError);
     }
 
-    private void displayReservations(List<Reservation> reservations) {
+    private void showLoadError(Throwable error) {
+        JOptionPane.showMessageDialog(this,
+                "Error loading reservations: " + error.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
 
-        for (Reservation reservation : reservations) {
-            addReservationToTable(reservation);
+    /**
+     * the single reservation matching a confirmation number, looked up once by count()
+     */
+    private class ConfirmationSearch implements PagedDataSource<Reservation> {
+        private final String confirmationNumber;
+        private volatile Reservation match;
+
+        ConfirmationSearch(String confirmationNumber) {
+            this.confirmationNumber = confirmationNumber;
         }
-    }
 
-    private void addReservationToTable(Reservation reservation) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
+        @Override
+        public int count() {
+            match = reservationDAO.getReservationByConfirmation(confirmationNumber);
+            return match != null ? 1 : 0;
+        }
 
-        tableModel.addRow(new Object[] {
-                reservation.getReservationId(),
-                reservation.getConfirmationNumber(),
-                reservation.getCustomer() != null ? reservation.getCustomer().getUser().getUsername() : "N/A",
-                reservation.getFlight() != null ? reservation.getFlight().getFlightNumber() : "N/A",
-                reservation.getFlight() != null ? reservation.getFlight().getDepartureTime().format(formatter) : "N/A",
-                "$" + String.format("%.2f", reservation.getTotalFare()),
-                reservation.getStatus(),
-                reservation.getReservationDate().format(formatter)
-        });
+        @Override
+        public List<Reservation> fetch(int offset, int limit, int sortColumn, boolean ascending) {
+            Reservation reservation = match;
+            return reservation != null && offset == 0 ? Collections.singletonList(reservation)
+                    : Collections.emptyList();
+        }
     }
 
-    private void viewReservationDetails() {
+    private Reservation getSelectedReservation(String action) {
         int selectedRow = reservationsTable.getSelectedRow();
-        if (selectedRow < 0) {
+        Reservation reservation = selectedRow >= 0 ? tableModel.getRowAt(selectedRow) : null;
+        if (reservation == null) {
             JOptionPane.showMessageDialog(this,
-                    "Please select a reservation to view details.",
+                    "Please select a reservation to " + action + ".",
                     "Selection Required",
                     JOptionPane.WARNING_MESSAGE);
+        }
+        return reservation;
+    }
+
+    private void viewReservationDetails() {
+        Reservation selected = getSelectedReservation("view details");
+        if (selected == null) {
             return;
         }
 
-        int reservationId = (int) tableModel.getValueAt(selectedRow, 0);
-        Reservation reservation = reservationDAO.getReservationById(reservationId);
+        int reservationId = selected.getReservationId();
+        actionRequest.submit(() -> reservationDAO.getReservationById(reservationId),
+                this::showReservationDetails,
+                error -> showReservationDetails(null));
+    }
 
+    private void showReservationDetails(Reservation reservation) {
         if (reservation == null) {
             JOptionPane.showMessageDialog(this,
                     "Error loading reservation details.",
@@ -291,18 +390,14 @@ public class AllReservationsPanel extends JPanel {
     }
 
     private void cancelReservation() {
-        int selectedRow = reservationsTable.getSelectedRow();
-        if (selectedRow < 0) {
-            JOptionPane.showMessageDialog(this,
-                    "Please select a reservation to cancel.",
-                    "Selection Required",
-                    JOptionPane.WARNING_MESSAGE);
+        Reservation selected = getSelectedReservation("cancel");
+        if (selected == null) {
             return;
         }
 
-        int reservationId = (int) tableModel.getValueAt(selectedRow, 0);
-        String confirmationNumber = (String) tableModel.getValueAt(selectedRow, 1);
-        String status = (String) tableModel.getValueAt(selectedRow, 6);
+        int reservationId = selected.getReservationId();
+        String confirmationNumber = selected.getConfirmationNumber();
+        String status = selected.getStatus().name();
 
         if ("CANCELLED".equals(status) || "COMPLETED".equals(status)) {
             JOptionPane.showMessageDialog(this,
@@ -320,26 +415,30 @@ public class AllReservationsPanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = reservationDAO.cancelReservation(reservationId);
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Reservation cancelled successfully.",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-
-                String filterStatus = (String) statusFilterCombo.getSelectedItem();
-                if ("ALL".equals(filterStatus)) {
-                    loadAllReservations();
-                } else {
-                    filterByStatus();
-                }
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to cancel reservation. Please try again.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            actionRequest.submit(() -> reservationDAO.cancelReservation(reservationId),
+                    success -> {
+                        if (success) {
+                            JOptionPane.showMessageDialog(this,
+                                    "Reservation cancelled successfully.",
+                                    "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
+
+                            if (showingSearch) {
+                                searchReservations();
+                            } else {
+                                refreshReservations();
+                            }
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to cancel reservation. Please try again.",
+                                    "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    error -> JOptionPane.showMessageDialog(this,
+                            "Error cancelling reservation: " + error.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE));
         }
     }
 }
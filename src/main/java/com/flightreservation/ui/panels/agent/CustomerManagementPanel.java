@@ -3,6 +3,8 @@ package com.flightreservation.ui.panels.agent;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.BorderFactory;
@@ -13,17 +15,24 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
-import javax.swing.table.DefaultTableModel;
 
 import com.flightreservation.controller.CustomerManagementController;
 import com.flightreservation.model.entities.Customer;
 import com.flightreservation.model.entities.User;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.ui.util.KeyedTableModel;
+import com.flightreservation.ui.util.RowColumn;
+import com.flightreservation.ui.util.TableFactory;
+import com.flightreservation.util.ChangeCursor;
 
 public class CustomerManagementPanel extends JPanel {
     private final CustomerManagementController controller;
     private JTable customersTable;
-    private DefaultTableModel tableModel;
+    private KeyedTableModel<Integer, Customer> tableModel;
     private JTextField searchField;
+    private final AsyncLoader.Request customersRequest = new AsyncLoader.Request();
+    private final ChangeCursor changeCursor = new ChangeCursor();
+    private boolean showingSearch;
 
     public CustomerManagementPanel() {
         this.controller = new CustomerManagementController();
@@ -60,7 +69,7 @@ public class CustomerManagementPanel extends JPanel {
         panel.add(searchButton);
 
         JButton refreshButton = new JButton("Show All");
-        refreshButton.addActionListener(e -> loadAllCustomers());
+        refreshButton.addActionListener(e -> refreshCustomers());
         panel.add(refreshButton);
 
         return panel;
@@ -91,17 +100,17 @@ public class CustomerManagementPanel extends JPanel {
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
 
-        String[] columns = { "Customer ID", "Username", "Email", "Phone", "Frequent Flyer", "Loyalty Points",
-                "Account Status" };
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        customersTable = new JTable(tableModel);
-        customersTable.setRowHeight(25);
+        List<RowColumn<Customer>> columns = Arrays.asList(
+                RowColumn.of("Customer ID", Integer.class, Customer::getCustomerId),
+                RowColumn.of("Username", String.class, c -> c.getUser().getUsername()),
+                RowColumn.of("Email", String.class, c -> c.getUser().getEmail()),
+                RowColumn.of("Phone", String.class, c -> c.getUser().getPhoneNumber()),
+                RowColumn.of("Frequent Flyer", String.class, Customer::getFrequentFlyerNumber),
+                RowColumn.of("Loyalty Points", Integer.class, Customer::getLoyaltyPoints),
+                RowColumn.of("Account Status", User.AccountStatus.class, c -> c.getUser().getAccountStatus()));
+        tableModel = new KeyedTableModel<>(columns, Customer::getCustomerId);
+
+        customersTable = TableFactory.createKeyedTable(tableModel);
         JScrollPane scrollPane = new JScrollPane(customersTable);
         panel.add(scrollPane, BorderLayout.CENTER);
 
@@ -109,21 +118,35 @@ public class CustomerManagementPanel extends JPanel {
     }
 
     private void loadAllCustomers() {
-        tableModel.setRowCount(0);
-        List<Customer> customers = controller.getAllCustomers();
-
-        for (Customer customer : customers) {
-            Object[] row = {
-                    customer.getCustomerId(),
-                    customer.getUser().getUsername(),
-                    customer.getUser().getEmail(),
-                    customer.getUser().getPhoneNumber() != null ? customer.getUser().getPhoneNumber() : "N/A",
-                    customer.getFrequentFlyerNumber() != null ? customer.getFrequentFlyerNumber() : "N/A",
-                    customer.getLoyaltyPoints(),
-                    customer.getUser().getAccountStatus()
-            };
-            tableModel.addRow(row);
+        showingSearch = false;
+        changeCursor.reset();
+        syncCustomers(null);
+    }
+
+    /**
+     * applies only the customers changed since the last sync, plus deletions, to the full list,
+     * a search result is replaced by the full list as before
+     */
+    private void refreshCustomers() {
+        Instant since = changeCursor.since();
+        if (showingSearch || since == null) {
+            loadAllCustomers();
+            return;
         }
+        syncCustomers(since);
+    }
+
+    private void syncCustomers(Instant since) {
+        customersRequest.submit(() -> controller.getCustomerChanges(since),
+                changes -> {
+                    changeCursor.advance(changes.getSyncedAt());
+                    if (changes.isFullLoad()) {
+                        tableModel.setRows(changes.getChanged());
+                    } else {
+                        tableModel.applyChanges(changes.getChanged(), changes.getLiveIds());
+                    }
+                },
+                this::showLoadError);
     }
 
     private void searchCustomers() {
@@ -133,21 +156,17 @@ public class CustomerManagementPanel extends JPanel {
             return;
         }
 
-        tableModel.setRowCount(0);
-        List<Customer> customers = controller.searchCustomers(searchTerm);
-
-        for (Customer customer : customers) {
-            Object[] row = {
-                    customer.getCustomerId(),
-                    customer.getUser().getUsername(),
-                    customer.getUser().getEmail(),
-                    customer.getUser().getPhoneNumber() != null ? customer.getUser().getPhoneNumber() : "N/A",
-                    customer.getFrequentFlyerNumber() != null ? customer.getFrequentFlyerNumber() : "N/A",
-                    customer.getLoyaltyPoints(),
-                    customer.getUser().getAccountStatus()
-            };
-            tableModel.addRow(row);
-        }
+        showingSearch = true;
+        changeCursor.reset();
+        customersRequest.submit(() -> controller.searchCustomers(searchTerm), tableModel::setRows,
+                this::showLoadError);
+    }
+
+    private void showLoadError(Throwable error) {
+        javax.swing.JOptionPane.showMessageDialog(this,
+                "Error loading customers: " + error.getMessage(),
+                "Load Error",
+                javax.swing.JOptionPane.ERROR_MESSAGE);
     }
 
     private Customer getSelectedCustomer() {
@@ -160,7 +179,7 @@ public class CustomerManagementPanel extends JPanel {
             return null;
         }
 
-        int customerId = (int) tableModel.getValueAt(selectedRow, 0);
+        int customerId = tableModel.getRow(customersTable.convertRowIndexToModel(selectedRow)).getCustomerId();
         return controller.getCustomerById(customerId);
     }
 
@@ -246,7 +265,7 @@ public class CustomerManagementPanel extends JPanel {
                             "Customer updated successfully!",
                             "Success",
                             javax.swing.JOptionPane.INFORMATION_MESSAGE);
-                    loadAllCustomers();
+                    refreshCustomers();
                 } else {
                     javax.swing.JOptionPane.showMessageDialog(this,
                             "Failed to update customer.",
@@ -284,7 +303,7 @@ public class CustomerManagementPanel extends JPanel {
                         "Account suspended successfully!",
                         "Success",
                         javax.swing.JOptionPane.INFORMATION_MESSAGE);
-                loadAllCustomers();
+                refreshCustomers();
             } else {
                 javax.swing.JOptionPane.showMessageDialog(this,
                         "Failed to suspend account.",
@@ -305,7 +324,7 @@ public class CustomerManagementPanel extends JPanel {
                     "Account activated successfully!",
                     "Success",
                     javax.swing.JOptionPane.INFORMATION_MESSAGE);
-            loadAllCustomers();
+            refreshCustomers();
         } else {
             javax.swing.JOptionPane.showMessageDialog(this,
                     "Failed to activate account.",
@@ -1,16 +1,26 @@
 package com.flightreservation.ui.panels.agent;
 
 import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.database.DatabaseManager;
 import com.flightreservation.model.entities.Flight;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.ui.util.CellFormats;
+import com.flightreservation.ui.util.KeyedTableModel;
+import com.flightreservation.ui.util.RowColumn;
+import com.flightreservation.ui.util.TableFactory;
+import com.flightreservation.util.ChangeCursor;
+import com.flightreservation.util.ChangeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -18,6 +28,7 @@ import java.util.List;
  */
 public class FlightSchedulePanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(FlightSchedulePanel.class);
+    private static final String TIME_PATTERN = "MMM dd HH:mm";
 
     private final FlightDAO flightDAO;
 
@@ -26,8 +37,10 @@ public class FlightSchedulePanel extends JPanel {
     private JTextField dateField;
     private JComboBox<String> statusCombo;
     private JTable flightsTable;
-    private DefaultTableModel tableModel;
-    private List<Flight> allFlights;
+    private KeyedTableModel<Integer, Flight> tableModel;
+    private final AsyncLoader.Request flightsRequest = new AsyncLoader.Request();
+    private final ChangeCursor changeCursor = new ChangeCursor();
+    private boolean showingSearch;
 
     public FlightSchedulePanel() {
         this.flightDAO = new FlightDAO();
@@ -50,20 +63,27 @@ public class FlightSchedulePanel extends JPanel {
         JPanel filterPanel = createFilterPanel();
         centerPanel.add(filterPanel, BorderLayout.NORTH);
 
-        String[] columnNames = { "Flight #", "Airline", "Origin", "Destination",
-                "Departure", "Arrival", "Duration", "Base Price", "Available Seats", "Status" };
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-
-        flightsTable = new JTable(tableModel);
-        flightsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        flightsTable.setRowHeight(25);
-        flightsTable.getTableHeader().setReorderingAllowed(false);
-        flightsTable.setAutoCreateRowSorter(true);
+        List<RowColumn<Flight>> columns = Arrays.asList(
+                RowColumn.of("Flight #", String.class, Flight::getFlightNumber),
+                RowColumn.of("Airline", String.class,
+                        f -> f.getAirline() != null ? f.getAirline().getAirlineName() : null),
+                RowColumn.of("Origin", String.class,
+                        f -> f.getRoute() != null ? f.getRoute().getOriginAirport() : null),
+                RowColumn.of("Destination", String.class,
+                        f -> f.getRoute() != null ? f.getRoute().getDestinationAirport() : null),
+                RowColumn.<Flight>of("Departure", LocalDateTime.class, Flight::getDepartureTime)
+                        .formattedWith(CellFormats.dateTime(TIME_PATTERN)),
+                RowColumn.<Flight>of("Arrival", LocalDateTime.class, Flight::getArrivalTime)
+                        .formattedWith(CellFormats.dateTime(TIME_PATTERN)),
+                RowColumn.<Flight>of("Duration", Integer.class, Flight::getDuration)
+                        .formattedWith(value -> value + " min"),
+                RowColumn.<Flight>of("Base Price", Double.class, Flight::getBasePrice)
+                        .formattedWith(CellFormats.CURRENCY),
+                RowColumn.of("Available Seats", Integer.class, Flight::getAvailableSeats),
+                RowColumn.of("Status", Flight.FlightStatus.class, Flight::getStatus));
+        tableModel = new KeyedTableModel<>(columns, Flight::getFlightId);
+
+        flightsTable = TableFactory.createKeyedTable(tableModel);
 
         JScrollPane scrollPane = new JScrollPane(flightsTable);
         centerPanel.add(scrollPane, BorderLayout.CENTER);
@@ -116,7 +136,7 @@ public class FlightSchedulePanel extends JPanel {
         JButton refreshBtn = new JButton("Refresh All");
         refreshBtn.setBackground(new Color(0, 123, 255));
         refreshBtn.setFocusPainted(false);
-        refreshBtn.addActionListener(e -> loadAllFlights());
+        refreshBtn.addActionListener(e -> refreshFlights());
         row2.add(refreshBtn);
 
         panel.add(row2);
@@ -137,19 +157,52 @@ public class FlightSchedulePanel extends JPanel {
     }
 
     private void loadAllFlights() {
-        tableModel.setRowCount(0);
-        allFlights = flightDAO.getAllFlights();
+        showingSearch = false;
+        changeCursor.reset();
+        flightsRequest.submit(() -> {
+            Instant syncedAt = DatabaseManager.getInstance().getCurrentTimestamp();
+            return ChangeSet.full(flightDAO.getAllFlights(), syncedAt);
+        }, changes -> {
+            changeCursor.advance(changes.getSyncedAt());
+            List<Flight> flights = changes.getChanged();
+            tableModel.setRows(flights);
+            if (flights.isEmpty()) {
+                JOptionPane.showMessageDialog(this,
+                        "No flights found in the system.",
+                        "No Data",
+                        JOptionPane.INFORMATION_MESSAGE);
+                return;
+            }
+            logger.info("Loaded {} flights", flights.size());
+        }, this::showLoadError);
+    }
 
-        if (allFlights.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                    "No flights found in the system.",
-                    "No Data",
-                    JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * applies only the flights changed since the last sync, plus deletions, to the full schedule,
+     * a search result is re-run instead
+     */
+    private void refreshFlights() {
+        Instant since = changeCursor.since();
+        if (showingSearch || since == null) {
+            loadAllFlights();
             return;
         }
 
-        displayFlights(allFlights);
-        logger.info("Loaded {} flights", allFlights.size());
+        flightsRequest.submit(() -> {
+            Instant syncedAt = DatabaseManager.getInstance().getCurrentTimestamp();
+            return ChangeSet.incremental(flightDAO.getChangedSince(since), flightDAO.getAllFlightIds(), syncedAt);
+        }, changes -> {
+            changeCursor.advance(changes.getSyncedAt());
+            tableModel.applyChanges(changes.getChanged(), changes.getLiveIds());
+            logger.debug("Applied {} changed flights", changes.getChanged().size());
+        }, this::showLoadError);
+    }
+
+    private void showLoadError(Throwable error) {
+        JOptionPane.showMessageDialog(this,
+                "Error loading flights: " + error.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
     }
 
     private void searchFlights() {
@@ -158,12 +211,22 @@ public class FlightSchedulePanel extends JPanel {
         String dateStr = dateField.getText().trim();
         String status = (String) statusCombo.getSelectedItem();
 
+        LocalDate date;
         try {
-            tableModel.setRowCount(0);
-            List<Flight> results;
+            date = dateStr.isEmpty() ? null : LocalDate.parse(dateStr);
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this,
+                    "Error searching flights: " + e.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            if (!origin.isEmpty() && !destination.isEmpty() && !dateStr.isEmpty()) {
-                LocalDate date = LocalDate.parse(dateStr);
+        showingSearch = true;
+        changeCursor.reset();
+        flightsRequest.submit(() -> {
+            List<Flight> results;
+            if (!origin.isEmpty() && !destination.isEmpty() && date != null) {
                 results = flightDAO.searchFlights(origin, destination, date.atStartOfDay());
             } else {
                 results = flightDAO.getAllFlights();
@@ -172,7 +235,9 @@ public class FlightSchedulePanel extends JPanel {
             if (!"ALL".equals(status)) {
                 results.removeIf(f -> !f.getStatus().toString().equals(status));
             }
-
+            return results;
+        }, results -> {
+            tableModel.setRows(results);
             if (results.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
                         "No flights found matching the search criteria.",
@@ -180,16 +245,11 @@ public class FlightSchedulePanel extends JPanel {
                         JOptionPane.INFORMATION_MESSAGE);
                 return;
             }
-
-            displayFlights(results);
             logger.info("Search returned {} flights", results.size());
-        } catch (Exception e) {
-            logger.error("Error searching flights", e);
-            JOptionPane.showMessageDialog(this,
-                    "Error searching flights: " + e.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        }, error -> JOptionPane.showMessageDialog(this,
+                "Error searching flights: " + error.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE));
     }
 
     private void clearFilters() {
@@ -200,25 +260,6 @@ public class FlightSchedulePanel extends JPanel {
         loadAllFlights();
     }
 
-    private void displayFlights(List<Flight> flights) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd HH:mm");
-
-        for (Flight flight : flights) {
-            tableModel.addRow(new Object[] {
-                    flight.getFlightNumber(),
-                    flight.getAirline() != null ? flight.getAirline().getAirlineName() : "N/A",
-                    flight.getRoute() != null ? flight.getRoute().getOriginAirport() : "N/A",
-                    flight.getRoute() != null ? flight.getRoute().getDestinationAirport() : "N/A",
-                    flight.getDepartureTime().format(formatter),
-                    flight.getArrivalTime().format(formatter),
-                    flight.getDuration() + " min",
-                    "$" + String.format("%.2f", flight.getBasePrice()),
-                    flight.getAvailableSeats(),
-                    flight.getStatus()
-            });
-        }
-    }
-
     private void viewFlightDetails() {
         int selectedRow = flightsTable.getSelectedRow();
         if (selectedRow < 0) {
@@ -229,17 +270,7 @@ public class FlightSchedulePanel extends JPanel {
             return;
         }
 
-        int selectedIndex = selectedRow;
-        Flight flight = (selectedIndex >= 0 && selectedIndex < allFlights.size()) ? allFlights.get(selectedIndex)
-                : null;
-
-        if (flight == null) {
-            JOptionPane.showMessageDialog(this,
-                    "Error loading flight details.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return;
-        }
+        Flight flight = tableModel.getRow(flightsTable.convertRowIndexToModel(selectedRow));
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
         StringBuilder details = new StringBuilder();
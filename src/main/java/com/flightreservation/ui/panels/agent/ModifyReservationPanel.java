@@ -5,14 +5,25 @@ import com.flightreservation.dao.SeatDAO;
 import com.flightreservation.model.entities.Passenger;
 import com.flightreservation.model.entities.Reservation;
 import com.flightreservation.model.entities.Seat;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.util.SeatChangeFeed;
+import com.flightreservation.util.SeatMapCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ModifyReservationPanel extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(ModifyReservationPanel.class);
@@ -23,6 +34,17 @@ public class ModifyReservationPanel extends JPanel {
     private JTextField confirmationField;
     private JPanel detailsPanel;
     private Reservation currentReservation;
+    private Map<Integer, Seat> passengerSeats = new HashMap<>();
+    private final AsyncLoader.Request searchRequest = new AsyncLoader.Request();
+    private final AsyncLoader.Request actionRequest = new AsyncLoader.Request();
+    private final AsyncLoader.Request flightSeatsRequest = new AsyncLoader.Request();
+
+    // live seats of the shown reservation's flight, kept current by the seat change feed
+    private final Map<Integer, Seat> flightSeats = new LinkedHashMap<>();
+    private final List<Seat> changesWhileLoading = new ArrayList<>();
+    private SeatChangeFeed.Subscription seatChanges;
+    private int watchedFlightId = -1;
+    private boolean flightSeatsLoaded;
 
     public ModifyReservationPanel() {
         this.reservationDAO = new ReservationDAO();
@@ -81,7 +103,37 @@ public class ModifyReservationPanel extends JPanel {
             return;
         }
 
-        currentReservation = reservationDAO.getReservationByConfirmation(confirmationNumber);
+        searchRequest.submit(() -> loadReservation(confirmationNumber),
+                loaded -> showReservation(confirmationNumber, loaded),
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error loading reservation: " + error.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * runs off the EDT, fetches the reservation and then the seats its passengers hold in one query
+     */
+    private LoadedReservation loadReservation(String confirmationNumber) throws SQLException {
+        Reservation reservation = reservationDAO.getReservationByConfirmation(confirmationNumber);
+        Map<Integer, Seat> seats = new HashMap<>();
+        if (reservation != null && reservation.getPassengers() != null) {
+            Set<Integer> seatIds = new LinkedHashSet<>();
+            for (Passenger passenger : reservation.getPassengers()) {
+                if (passenger.getSeatId() > 0) {
+                    seatIds.add(passenger.getSeatId());
+                }
+            }
+            for (Seat seat : seatDAO.getSeatsByIds(seatIds)) {
+                seats.put(seat.getSeatId(), seat);
+            }
+        }
+        return new LoadedReservation(reservation, seats);
+    }
+
+    private void showReservation(String confirmationNumber, LoadedReservation loaded) {
+        currentReservation = loaded.reservation;
+        passengerSeats = loaded.seats;
 
         if (currentReservation == null) {
             JOptionPane.showMessageDialog(this,
@@ -100,9 +152,77 @@ public class ModifyReservationPanel extends JPanel {
             return;
         }
 
+        watchFlightSeats(currentReservation.getFlightId());
         displayReservationDetails();
     }
 
+    /**
+     * loads the flight's seats once and then follows the seat change feed, so choosing a new seat
+     * needs no query and never offers a seat that was just sold
+     */
+    private void watchFlightSeats(int flightId) {
+        if (flightId == watchedFlightId) {
+            return;
+        }
+        stopWatchingFlightSeats();
+        watchedFlightId = flightId;
+        seatChanges = SeatChangeFeed.getInstance().subscribe(flightId,
+                (id, changed) -> SwingUtilities.invokeLater(() -> applySeatChanges(id, changed)));
+
+        flightSeatsRequest.submit(() -> SeatMapCache.getInstance().refresh(flightId).getSeats(), seats -> {
+            if (flightId != watchedFlightId) {
+                return;
+            }
+            flightSeats.clear();
+            for (Seat seat : seats) {
+                flightSeats.put(seat.getSeatId(), seat);
+            }
+            // the load may have read the seats before these changes were written
+            for (Seat seat : changesWhileLoading) {
+                flightSeats.put(seat.getSeatId(), seat);
+            }
+            changesWhileLoading.clear();
+            flightSeatsLoaded = true;
+        }, error -> logger.warn("Could not load seats of flight {}", flightId, error));
+    }
+
+    private void applySeatChanges(int flightId, List<Seat> changed) {
+        if (flightId != watchedFlightId) {
+            return;
+        }
+        if (!flightSeatsLoaded) {
+            changesWhileLoading.addAll(changed);
+            return;
+        }
+        for (Seat seat : changed) {
+            flightSeats.put(seat.getSeatId(), seat);
+        }
+    }
+
+    private void stopWatchingFlightSeats() {
+        if (seatChanges != null) {
+            seatChanges.close();
+            seatChanges = null;
+        }
+        flightSeatsRequest.cancel();
+        watchedFlightId = -1;
+        flightSeatsLoaded = false;
+        flightSeats.clear();
+        changesWhileLoading.clear();
+    }
+
+    private List<Seat> liveAvailableSeats() {
+        return flightSeats.values().stream()
+                .filter(Seat::isAvailable)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void removeNotify() {
+        stopWatchingFlightSeats();
+        super.removeNotify();
+    }
+
     private void displayReservationDetails() {
         detailsPanel.removeAll();
 
@@ -228,7 +348,7 @@ public class ModifyReservationPanel extends JPanel {
         }
 
         if (passenger.getSeatId() > 0) {
-            Seat seat = seatDAO.getSeatById(passenger.getSeatId());
+            Seat seat = passengerSeats.get(passenger.getSeatId());
             if (seat != null) {
                 panel.add(createBoldLabel("Seat:"));
                 panel.add(new JLabel(seat.getSeatNumber() + " (" + seat.getSeatClass() + ")"));
@@ -272,8 +392,20 @@ public class ModifyReservationPanel extends JPanel {
             return;
         }
 
-        List<Seat> availableSeats = seatDAO.getAvailableSeats(currentReservation.getFlightId());
+        if (flightSeatsLoaded) {
+            chooseNewSeat(liveAvailableSeats());
+            return;
+        }
+        actionRequest.submit(() -> SeatMapCache.getInstance().get(currentReservation.getFlightId())
+                .getAvailableSeats(),
+                this::chooseNewSeat,
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error loading seats: " + error.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE));
+    }
 
+    private void chooseNewSeat(List<Seat> availableSeats) {
         if (availableSeats.isEmpty()) {
             JOptionPane.showMessageDialog(this,
                     "No available seats for this flight.",
@@ -301,27 +433,42 @@ public class ModifyReservationPanel extends JPanel {
                     .findFirst()
                     .orElse(null);
 
+            Seat current = newSeat != null ? flightSeats.get(newSeat.getSeatId()) : null;
+            if (current != null && !current.isAvailable()) {
+                JOptionPane.showMessageDialog(this,
+                        "Seat " + seatNumber + " was just taken. Please choose another seat.",
+                        "Seat Taken",
+                        JOptionPane.WARNING_MESSAGE);
+                chooseNewSeat(liveAvailableSeats());
+                return;
+            }
+
             if (newSeat != null) {
                 Passenger passenger = currentReservation.getPassengers().get(0);
-
-                if (passenger.getSeatId() > 0) {
-                    seatDAO.releaseSeat(passenger.getSeatId());
-                }
-
-                boolean reserved = seatDAO.reserveSeat(newSeat.getSeatId());
-
-                if (reserved) {
-                    JOptionPane.showMessageDialog(this,
-                            "Seat changed successfully to " + seatNumber,
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    searchReservation();
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to reserve new seat.",
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
+                int oldSeatId = passenger.getSeatId();
+
+                actionRequest.submit(() -> {
+                    if (oldSeatId > 0) {
+                        seatDAO.releaseSeat(oldSeatId);
+                    }
+                    return seatDAO.reserveSeat(newSeat.getSeatId());
+                }, reserved -> {
+                    if (reserved) {
+                        JOptionPane.showMessageDialog(this,
+                                "Seat changed successfully to " + seatNumber,
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        searchReservation();
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Failed to reserve new seat.",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                }, error -> JOptionPane.showMessageDialog(this,
+                        "Failed to reserve new seat: " + error.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE));
             }
         }
     }
@@ -337,22 +484,27 @@ public class ModifyReservationPanel extends JPanel {
                 currentReservation.getStatus().toString());
 
         if (newStatus != null && !newStatus.equals(currentReservation.getStatus().toString())) {
-            boolean success = reservationDAO.updateReservationStatus(
-                    currentReservation.getReservationId(),
-                    Reservation.ReservationStatus.valueOf(newStatus));
-
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Reservation status updated successfully.",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                searchReservation();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to update reservation status.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            int reservationId = currentReservation.getReservationId();
+            actionRequest.submit(() -> reservationDAO.updateReservationStatus(
+                    reservationId, Reservation.ReservationStatus.valueOf(newStatus)),
+                    success -> {
+                        if (success) {
+                            JOptionPane.showMessageDialog(this,
+                                    "Reservation status updated successfully.",
+                                    "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                            searchReservation();
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to update reservation status.",
+                                    "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    error -> JOptionPane.showMessageDialog(this,
+                            "Failed to update reservation status: " + error.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE));
         }
     }
 
@@ -365,26 +517,42 @@ public class ModifyReservationPanel extends JPanel {
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = reservationDAO.cancelReservation(currentReservation.getReservationId());
+            int reservationId = currentReservation.getReservationId();
+            actionRequest.submit(() -> reservationDAO.cancelReservation(reservationId),
+                    success -> {
+                        if (success) {
+                            JOptionPane.showMessageDialog(this,
+                                    "Reservation cancelled successfully.",
+                                    "Success",
+                                    JOptionPane.INFORMATION_MESSAGE);
+
+                            detailsPanel.removeAll();
+                            detailsPanel.add(createEmptyStatePanel(), BorderLayout.CENTER);
+                            detailsPanel.revalidate();
+                            detailsPanel.repaint();
+                            confirmationField.setText("");
+                            currentReservation = null;
+                        } else {
+                            JOptionPane.showMessageDialog(this,
+                                    "Failed to cancel reservation.",
+                                    "Error",
+                                    JOptionPane.ERROR_MESSAGE);
+                        }
+                    },
+                    error -> JOptionPane.showMessageDialog(this,
+                            "Failed to cancel reservation: " + error.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE));
+        }
+    }
 
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Reservation cancelled successfully.",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-
-                detailsPanel.removeAll();
-                detailsPanel.add(createEmptyStatePanel(), BorderLayout.CENTER);
-                detailsPanel.revalidate();
-                detailsPanel.repaint();
-                confirmationField.setText("");
-                currentReservation = null;
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Failed to cancel reservation.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+    private static class LoadedReservation {
+        private final Reservation reservation;
+        private final Map<Integer, Seat> seats;
+
+        LoadedReservation(Reservation reservation, Map<Integer, Seat> seats) {
+            this.reservation = reservation;
+            this.seats = seats;
         }
     }
 
@@ -3,6 +3,10 @@ package com.flightreservation.ui.panels.common;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -14,9 +18,13 @@ import javax.swing.JTable;
 import javax.swing.SwingConstants;
 import javax.swing.table.DefaultTableModel;
 
+import com.flightreservation.ui.util.AsyncLoader;
+
 public abstract class BaseManagementPanel<T> extends JPanel {
     protected JTable table;
     protected DefaultTableModel tableModel;
+    private final AsyncLoader.Request loadRequest = new AsyncLoader.Request();
+    private final AsyncLoader.Request actionRequest = new AsyncLoader.Request();
 
     public BaseManagementPanel() {
         initializeUI();
@@ -72,16 +80,62 @@ public abstract class BaseManagementPanel<T> extends JPanel {
         return panel;
     }
 
-    protected T getSelectedItem() {
+    /**
+     * Loads the selected row's item off the EDT and hands it to the action on
+     * the EDT. Warns when nothing is selected or the row was deleted meanwhile.
+     */
+    protected void withSelectedItem(Consumer<T> action) {
         int selectedRow = table.getSelectedRow();
         if (selectedRow == -1) {
             JOptionPane.showMessageDialog(this,
                     "Please select a " + getEntityName().toLowerCase() + " from the table.",
                     "No Selection",
                     JOptionPane.WARNING_MESSAGE);
-            return null;
+            return;
         }
-        return getItemFromRow(selectedRow);
+        int id = (int) tableModel.getValueAt(selectedRow, 0);
+        runAction(() -> getItemById(id), item -> {
+            if (item == null) {
+                JOptionPane.showMessageDialog(this,
+                        "The selected " + getEntityName().toLowerCase() + " no longer exists.",
+                        "Not Found",
+                        JOptionPane.WARNING_MESSAGE);
+                loadData();
+                return;
+            }
+            action.accept(item);
+        });
+    }
+
+    /**
+     * Runs a DAO call off the EDT and passes its result to onSuccess on the
+     * EDT, a failure is shown in an error dialog. Starting another action
+     * supersedes the one still running.
+     */
+    protected <R> void runAction(Callable<R> action, Consumer<R> onSuccess) {
+        actionRequest.submit(action, onSuccess,
+                error -> JOptionPane.showMessageDialog(this,
+                        getEntityName() + " operation failed: " + error.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Runs the query off the EDT and replaces the table rows with the mapped
+     * results. A refresh issued while a load is still running supersedes it.
+     */
+    protected <R> void loadRows(Callable<List<R>> query, Function<R, Object[]> rowMapper) {
+        loadRequest.submit(query,
+                items -> {
+                    tableModel.setRowCount(0);
+                    for (R item : items) {
+                        tableModel.addRow(rowMapper.apply(item));
+                    }
+                },
+                error -> JOptionPane.showMessageDialog(this,
+                        "Error loading " + getEntityName().toLowerCase() + " data: " + error.getMessage(),
+                        "Load Error",
+                        JOptionPane.ERROR_MESSAGE));
     }
 
     protected abstract String getTitle();
@@ -94,7 +148,11 @@ public abstract class BaseManagementPanel<T> extends JPanel {
 
     protected abstract void loadData();
 
-    protected abstract T getItemFromRow(int row);
+    /**
+     * Called off the EDT with the id from the first table column, null when
+     * the item no longer exists.
+     */
+    protected abstract T getItemById(int id);
 
     protected abstract void add();
 
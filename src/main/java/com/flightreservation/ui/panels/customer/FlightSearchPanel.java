@@ -17,6 +17,7 @@ import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -24,9 +25,10 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
-import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
-import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.text.AbstractDocument;
 import javax.swing.text.AttributeSet;
@@ -35,13 +37,22 @@ import javax.swing.text.DocumentFilter;
 
 import com.flightreservation.controller.FlightSearchController;
 import com.flightreservation.dao.CustomerDAO;
+import com.flightreservation.database.QueryHandle;
 import com.flightreservation.model.entities.Customer;
 import com.flightreservation.model.entities.Flight;
+import com.flightreservation.model.entities.Seat;
 import com.flightreservation.model.entities.User;
 import com.flightreservation.ui.dialogs.BookingDialog;
-import com.flightreservation.util.SessionManager;
+import com.flightreservation.ui.util.AirportAutoComplete;
+import com.flightreservation.ui.util.AsyncLoader;
+import com.flightreservation.util.AirportDirectory;
+import com.flightreservation.util.SeatMapCache;
+import com.flightreservation.util.SessionContext;
 
 public class FlightSearchPanel extends JPanel {
+    private static final int LIVE_SEARCH_DELAY_MS = 250;
+    private static final int LIVE_SEARCH_LIMIT = 50;
+
     private final FlightSearchController controller;
     private JTextField originField;
     private JTextField destinationField;
@@ -53,6 +64,12 @@ public class FlightSearchPanel extends JPanel {
     private DefaultTableModel tableModel;
     private FlightSelectionListener listener;
     private List<Flight> currentFlights;
+    private JCheckBox liveSearchBox;
+    private JLabel statusLabel;
+    private final Timer liveSearchTimer;
+    private final AsyncLoader.Request searchRequest = new AsyncLoader.Request();
+    private QueryHandle activeQuery;
+    private final AsyncLoader.Request prefetchRequest = new AsyncLoader.Request();
 
     public interface FlightSelectionListener {
         void onFlightSelected(Flight flight);
@@ -61,7 +78,10 @@ public class FlightSearchPanel extends JPanel {
     public FlightSearchPanel() {
         this.controller = new FlightSearchController();
         this.currentFlights = new ArrayList<>();
+        this.liveSearchTimer = new Timer(LIVE_SEARCH_DELAY_MS, e -> runLiveSearch());
+        this.liveSearchTimer.setRepeats(false);
         initializeUI();
+        installLiveSearch();
     }
 
     private void initializeUI() {
@@ -99,6 +119,7 @@ public class FlightSearchPanel extends JPanel {
                 validateOrigin();
             }
         });
+        AirportAutoComplete.install(originField);
         panel.add(originField, gbc);
 
         gbc.gridx = 1;
@@ -122,6 +143,7 @@ public class FlightSearchPanel extends JPanel {
                 validateDestination();
             }
         });
+        AirportAutoComplete.install(destinationField);
         panel.add(destinationField, gbc);
 
         gbc.gridx = 3;
@@ -170,7 +192,7 @@ public class FlightSearchPanel extends JPanel {
 
         gbc.gridx = 0;
         gbc.gridy = 2;
-        gbc.gridwidth = 7;
+        gbc.gridwidth = 5;
         gbc.gridheight = 1;
         JLabel infoLabel = new JLabel(
                 "* Required fields | Date format: YYYY-MM-DD | Airport codes: JFK, LAX, ORD, MIA");
@@ -178,6 +200,19 @@ public class FlightSearchPanel extends JPanel {
         infoLabel.setForeground(Color.GRAY);
         panel.add(infoLabel, gbc);
 
+        gbc.gridx = 5;
+        gbc.gridwidth = 2;
+        liveSearchBox = new JCheckBox("Search as you type", true);
+        liveSearchBox.setFont(new Font("Arial", Font.PLAIN, 11));
+        liveSearchBox.addActionListener(e -> {
+            if (liveSearchBox.isSelected()) {
+                liveSearchTimer.restart();
+            } else {
+                cancelSearch();
+            }
+        });
+        panel.add(liveSearchBox, gbc);
+
         return panel;
     }
 
@@ -191,6 +226,10 @@ public class FlightSearchPanel extends JPanel {
             originErrorLabel.setText("Enter at least 2 characters");
             originField.setBorder(BorderFactory.createLineBorder(Color.ORANGE));
             return false;
+        } else if (!isSearchableCode(origin)) {
+            originErrorLabel.setText("Pick an airport from the list");
+            originField.setBorder(BorderFactory.createLineBorder(Color.ORANGE));
+            return false;
         } else {
             originErrorLabel.setText(" ");
             originField.setBorder(BorderFactory.createLineBorder(Color.GREEN, 1));
@@ -210,6 +249,10 @@ public class FlightSearchPanel extends JPanel {
             destinationErrorLabel.setText("Enter at least 2 characters");
             destinationField.setBorder(BorderFactory.createLineBorder(Color.ORANGE));
             return false;
+        } else if (!isSearchableCode(destination)) {
+            destinationErrorLabel.setText("Pick an airport from the list");
+            destinationField.setBorder(BorderFactory.createLineBorder(Color.ORANGE));
+            return false;
         } else if (!origin.isEmpty() && destination.equalsIgnoreCase(origin)) {
             destinationErrorLabel.setText("Destination must differ from origin");
             destinationField.setBorder(BorderFactory.createLineBorder(Color.RED));
@@ -306,10 +349,20 @@ public class FlightSearchPanel extends JPanel {
         resultsTable = new JTable(tableModel);
         resultsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         resultsTable.setRowHeight(25);
+        resultsTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                prefetchSelectedFlight();
+            }
+        });
 
         JScrollPane scrollPane = new JScrollPane(resultsTable);
         panel.add(scrollPane, BorderLayout.CENTER);
 
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 11));
+        statusLabel.setForeground(Color.GRAY);
+        panel.add(statusLabel, BorderLayout.NORTH);
+
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         JButton bookButton = new JButton("Book Flight");
         bookButton.addActionListener(e -> bookSelectedFlight());
@@ -341,26 +394,15 @@ public class FlightSearchPanel extends JPanel {
             LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
             LocalDateTime departureDateTime = date.atStartOfDay();
 
+            liveSearchTimer.stop();
+            cancelSearch();
             tableModel.setRowCount(0);
+            statusLabel.setText("Searching flights...");
 
-            JLabel loadingLabel = new JLabel("Searching flights...", SwingConstants.CENTER);
-            loadingLabel.setFont(new Font("Arial", Font.BOLD, 16));
-
-            SwingWorker<List<Flight>, Void> worker = new SwingWorker<>() {
-                @Override
-                protected List<Flight> doInBackground() throws Exception {
-                    try {
-                        return controller.searchFlights(origin, destination, departureDateTime);
-                    } catch (Exception e) {
-                        throw new Exception("Database error: " + e.getMessage(), e);
-                    }
-                }
-
-                @Override
-                protected void done() {
-                    try {
-                        List<Flight> flights = get();
+            searchRequest.submit(() -> controller.searchFlights(origin, destination, departureDateTime),
+                    flights -> {
                         displayResults(flights);
+                        statusLabel.setText(describeResults(flights.size(), origin, destination));
 
                         if (flights.isEmpty()) {
                             JOptionPane.showMessageDialog(FlightSearchPanel.this,
@@ -375,21 +417,19 @@ public class FlightSearchPanel extends JPanel {
                                     "No Results",
                                     JOptionPane.INFORMATION_MESSAGE);
                         }
-                    } catch (Exception ex) {
+                    },
+                    error -> {
                         tableModel.setRowCount(0);
+                        statusLabel.setText(" ");
                         JOptionPane.showMessageDialog(FlightSearchPanel.this,
-                                "Error searching flights:\n" + ex.getMessage() +
+                                "Error searching flights:\n" + error.getMessage() +
                                         "\n\nPlease check:\n" +
                                         "1. Database connection is active\n" +
                                         "2. Search terms are valid\n" +
                                         "3. Date format is YYYY-MM-DD",
                                 "Search Error",
                                 JOptionPane.ERROR_MESSAGE);
-                        ex.printStackTrace();
-                    }
-                }
-            };
-            worker.execute();
+                    });
 
         } catch (DateTimeParseException ex) {
             dateErrorLabel.setText("Invalid date format");
@@ -410,6 +450,116 @@ public class FlightSearchPanel extends JPanel {
         }
     }
 
+    /**
+     * restarts the debounce timer on every edit, the search runs once typing pauses
+     */
+    private void installLiveSearch() {
+        DocumentListener criteriaListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                criteriaChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                criteriaChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                criteriaChanged();
+            }
+        };
+        originField.getDocument().addDocumentListener(criteriaListener);
+        destinationField.getDocument().addDocumentListener(criteriaListener);
+        dateField.getDocument().addDocumentListener(criteriaListener);
+    }
+
+    private void criteriaChanged() {
+        if (liveSearchBox.isSelected()) {
+            liveSearchTimer.restart();
+        }
+    }
+
+    /**
+     * runs the live search for the current criteria without any dialogs, it starts once both fields
+     * hold a complete airport code (matched exactly) and the date parses, otherwise it just cancels
+     * whatever is still running
+     */
+    private void runLiveSearch() {
+        String origin = originField.getText().trim();
+        String destination = destinationField.getText().trim();
+        LocalDate date = parseSearchDate(dateField.getText().trim());
+
+        if (!isSearchableCode(origin) || !isSearchableCode(destination) || date == null
+                || origin.equalsIgnoreCase(destination)) {
+            cancelSearch();
+            return;
+        }
+
+        cancelSearch();
+        QueryHandle handle = new QueryHandle();
+        activeQuery = handle;
+        statusLabel.setText("Searching flights...");
+
+        // a superseded request drops its result even if it arrives after the newer one
+        searchRequest.submit(
+                () -> controller.searchFlightsLive(origin, destination, date, LIVE_SEARCH_LIMIT, handle),
+                flights -> {
+                    activeQuery = null;
+                    displayResults(flights);
+                    statusLabel.setText(describeResults(flights.size(), origin, destination));
+                },
+                error -> {
+                    activeQuery = null;
+                    statusLabel.setText("Search failed: " + error.getMessage());
+                });
+    }
+
+    /**
+     * cancels the running search, both the background call and its statement on the server
+     */
+    private void cancelSearch() {
+        searchRequest.cancel();
+        if (activeQuery != null) {
+            QueryHandle handle = activeQuery;
+            activeQuery = null;
+            AsyncLoader.supply(() -> {
+                handle.cancel();
+                return null;
+            });
+        }
+        statusLabel.setText(" ");
+    }
+
+    /**
+     * only airport codes served by a route reach the database, until the directory has loaded
+     * any three-character code is let through
+     */
+    private boolean isSearchableCode(String code) {
+        AirportDirectory directory = AirportDirectory.getInstance();
+        return directory.isLoaded() ? directory.isKnownCode(code) : code.trim().length() == 3;
+    }
+
+    private LocalDate parseSearchDate(String dateStr) {
+        try {
+            LocalDate date = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
+            return date.isBefore(LocalDate.now()) ? null : date;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private String describeResults(int count, String origin, String destination) {
+        if (count == 0) {
+            return "No flights found from " + origin.toUpperCase() + " to " + destination.toUpperCase();
+        }
+        if (count >= LIVE_SEARCH_LIMIT && liveSearchBox.isSelected()) {
+            return "Showing first " + count + " flights, refine the search to narrow down";
+        }
+        return count + (count == 1 ? " flight found" : " flights found");
+    }
+
     private void displayResults(List<Flight> flights) {
         tableModel.setRowCount(0);
         currentFlights = flights;
@@ -438,6 +588,40 @@ public class FlightSearchPanel extends JPanel {
         }
     }
 
+    /**
+     * loads the selected flight's seat map in the background so Book opens without a query,
+     * and shows the seats left per class once it is in
+     */
+    private void prefetchSelectedFlight() {
+        int selectedRow = resultsTable.getSelectedRow();
+        if (selectedRow < 0 || selectedRow >= currentFlights.size()) {
+            prefetchRequest.cancel();
+            return;
+        }
+
+        Flight flight = currentFlights.get(selectedRow);
+        SeatMapCache cache = SeatMapCache.getInstance();
+        SeatMapCache.SeatMap cached = cache.getIfPresent(flight.getFlightId());
+        if (cached != null && cached.isFresh()) {
+            showClassAvailability(flight, cached);
+            return;
+        }
+        prefetchRequest.submit(() -> cache.get(flight.getFlightId()),
+                seatMap -> showClassAvailability(flight, seatMap),
+                error -> {
+                    // best effort, the booking dialog loads the seats itself
+                });
+    }
+
+    private void showClassAvailability(Flight flight, SeatMapCache.SeatMap seatMap) {
+        StringBuilder text = new StringBuilder(flight.getFlightNumber()).append(" seats left:");
+        for (Seat.SeatClass seatClass : Seat.SeatClass.values()) {
+            Integer count = seatMap.getAvailableByClass().get(seatClass);
+            text.append("  ").append(seatClass).append(' ').append(count != null ? count : 0);
+        }
+        statusLabel.setText(text.toString());
+    }
+
     private void bookSelectedFlight() {
         int selectedRow = resultsTable.getSelectedRow();
         if (selectedRow == -1) {
@@ -458,8 +642,7 @@ public class FlightSearchPanel extends JPanel {
 
         Flight selectedFlight = currentFlights.get(selectedRow);
 
-        SessionManager sessionManager = SessionManager.getInstance();
-        User currentUser = sessionManager.getCurrentUser();
+        User currentUser = SessionContext.currentUser();
 
         if (currentUser == null) {
             JOptionPane.showMessageDialog(this,
@@ -2,21 +2,36 @@ package com.flightreservation.ui.panels.customer;
 
 import com.flightreservation.dao.NewsletterDAO;
 import com.flightreservation.model.entities.Newsletter;
+import com.flightreservation.model.entities.NewsletterReadState;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 public class NewslettersPanel extends JPanel {
+    private static final int PAGE_SIZE = 20;
+    private static final String UNREAD_MARKER = "●";
+
     private final NewsletterDAO newsletterDAO;
+    private final int customerId;
+    private NewsletterReadState readState;
+    private List<Newsletter> currentPage = new ArrayList<>();
+    private int pageIndex;
+    private int totalNewsletters;
+
     private JTable newslettersTable;
     private DefaultTableModel tableModel;
     private JTextArea detailsArea;
+    private JLabel pageLabel;
+    private JButton previousButton;
+    private JButton nextButton;
 
-    public NewslettersPanel() {
+    public NewslettersPanel(int customerId) {
         this.newsletterDAO = new NewsletterDAO();
+        this.customerId = customerId;
         initializeUI();
         loadNewsletters();
     }
@@ -36,10 +51,28 @@ public class NewslettersPanel extends JPanel {
         splitPane.setDividerLocation(250);
         add(splitPane, BorderLayout.CENTER);
 
-        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+
+        JPanel pagingPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        previousButton = new JButton("◀ Previous");
+        previousButton.addActionListener(e -> showPage(pageIndex - 1));
+        pageLabel = new JLabel();
+        nextButton = new JButton("Next ▶");
+        nextButton.addActionListener(e -> showPage(pageIndex + 1));
+        pagingPanel.add(previousButton);
+        pagingPanel.add(pageLabel);
+        pagingPanel.add(nextButton);
+        bottomPanel.add(pagingPanel, BorderLayout.WEST);
+
+        JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton markAllReadButton = new JButton("Mark All as Read");
+        markAllReadButton.addActionListener(e -> markAllRead());
         JButton refreshButton = new JButton("Refresh");
         refreshButton.addActionListener(e -> loadNewsletters());
-        bottomPanel.add(refreshButton);
+        actionsPanel.add(markAllReadButton);
+        actionsPanel.add(refreshButton);
+        bottomPanel.add(actionsPanel, BorderLayout.EAST);
+
         add(bottomPanel, BorderLayout.SOUTH);
     }
 
@@ -47,7 +80,7 @@ public class NewslettersPanel extends JPanel {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("All Newsletters"));
 
-        String[] columns = { "Date", "Subject" };
+        String[] columns = { "", "Date", "Subject" };
         tableModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -58,6 +91,7 @@ public class NewslettersPanel extends JPanel {
         newslettersTable = new JTable(tableModel);
         newslettersTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         newslettersTable.setRowHeight(30);
+        newslettersTable.getColumnModel().getColumn(0).setMaxWidth(30);
         newslettersTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 displaySelectedNewsletter();
@@ -89,49 +123,77 @@ public class NewslettersPanel extends JPanel {
     }
 
     private void loadNewsletters() {
-        tableModel.setRowCount(0);
-        List<Newsletter> newsletters = newsletterDAO.getAllNewsletters();
+        readState = newsletterDAO.getReadState(customerId);
+        totalNewsletters = newsletterDAO.countNewsletters();
+        showPage(0);
+
+        if (totalNewsletters == 0) {
+            detailsArea.setText("No newsletters available.\n\nCheck back later for updates!");
+        }
+    }
+
+    private void showPage(int page) {
+        int pageCount = Math.max(1, (totalNewsletters + PAGE_SIZE - 1) / PAGE_SIZE);
+        pageIndex = Math.max(0, Math.min(page, pageCount - 1));
+
+        currentPage = newsletterDAO.getNewsletterSummaries(pageIndex * PAGE_SIZE, PAGE_SIZE);
 
+        tableModel.setRowCount(0);
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
 
-        for (Newsletter newsletter : newsletters) {
+        for (Newsletter newsletter : currentPage) {
             String date = newsletter.getSentDate() != null ? newsletter.getSentDate().format(formatter) : "N/A";
-            Object[] row = { date, newsletter.getSubject() };
+            String marker = readState.isRead(newsletter.getNewsletterId()) ? "" : UNREAD_MARKER;
+            Object[] row = { marker, date, newsletter.getSubject() };
             tableModel.addRow(row);
         }
 
-        if (newsletters.isEmpty()) {
-            detailsArea.setText("No newsletters available.\n\nCheck back later for updates!");
+        pageLabel.setText(String.format("Page %d of %d", pageIndex + 1, pageCount));
+        previousButton.setEnabled(pageIndex > 0);
+        nextButton.setEnabled(pageIndex < pageCount - 1);
+    }
+
+    private void markAllRead() {
+        newsletterDAO.markAllRead(readState);
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            tableModel.setValueAt("", row, 0);
         }
     }
 
     private void displaySelectedNewsletter() {
         int selectedRow = newslettersTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || selectedRow >= currentPage.size()) {
             return;
         }
 
-        List<Newsletter> newsletters = newsletterDAO.getAllNewsletters();
-        if (selectedRow < newsletters.size()) {
-            Newsletter newsletter = newsletters.get(selectedRow);
+        // bodies are only fetched on demand, recently opened ones come from the shared cache
+        Newsletter newsletter = newsletterDAO.getNewsletterById(currentPage.get(selectedRow).getNewsletterId());
+        if (newsletter == null) {
+            detailsArea.setText("This newsletter is no longer available.");
+            return;
+        }
 
-            StringBuilder content = new StringBuilder();
-            content.append("══════════════════════════════════════\n");
-            content.append("  NEWSLETTER\n");
-            content.append("══════════════════════════════════════\n\n");
-            content.append("Subject: ").append(newsletter.getSubject()).append("\n");
+        StringBuilder content = new StringBuilder();
+        content.append("══════════════════════════════════════\n");
+        content.append("  NEWSLETTER\n");
+        content.append("══════════════════════════════════════\n\n");
+        content.append("Subject: ").append(newsletter.getSubject()).append("\n");
 
-            if (newsletter.getSentDate() != null) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' HH:mm");
-                content.append("Date: ").append(newsletter.getSentDate().format(formatter)).append("\n");
-            }
+        if (newsletter.getSentDate() != null) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' HH:mm");
+            content.append("Date: ").append(newsletter.getSentDate().format(formatter)).append("\n");
+        }
+
+        content.append("\n──────────────────────────────────────\n\n");
+        content.append(newsletter.getMessage());
+        content.append("\n\n══════════════════════════════════════\n");
 
-            content.append("\n──────────────────────────────────────\n\n");
-            content.append(newsletter.getMessage());
-            content.append("\n\n══════════════════════════════════════\n");
+        detailsArea.setText(content.toString());
+        detailsArea.setCaretPosition(0);
 
-            detailsArea.setText(content.toString());
-            detailsArea.setCaretPosition(0);
+        if (!readState.isRead(newsletter.getNewsletterId())) {
+            newsletterDAO.markRead(readState, newsletter.getNewsletterId());
+            tableModel.setValueAt("", selectedRow, 0);
         }
     }
 }
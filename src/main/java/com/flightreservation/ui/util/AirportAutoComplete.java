@@ -0,0 +1,183 @@
+package com.flightreservation.ui.util;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+
+import javax.swing.AbstractAction;
+import javax.swing.Action;
+import javax.swing.DefaultListModel;
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.KeyStroke;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.flightreservation.util.AirportDirectory;
+import com.flightreservation.util.AirportDirectory.Airport;
+
+/**
+ * Dropdown of airport suggestions under a text field. Suggestions come from
+ * the in-memory {@link AirportDirectory}, so typing never queries the
+ * database. Up/Down move through the list, Enter or a click puts the code in
+ * the field and Escape closes it.
+ */
+public final class AirportAutoComplete {
+    private static final int MAX_SUGGESTIONS = 8;
+
+    private final JTextField field;
+    private final AirportDirectory directory;
+    private final DefaultListModel<Airport> suggestions = new DefaultListModel<>();
+    private final JList<Airport> list = new JList<>(suggestions);
+    private final JPopupMenu popup = new JPopupMenu();
+
+    private AirportAutoComplete(JTextField field, AirportDirectory directory) {
+        this.field = field;
+        this.directory = directory;
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setFocusable(false);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                acceptSelection();
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(null);
+        popup.add(scrollPane);
+        popup.setFocusable(false);
+    }
+
+    /**
+     * Attaches airport suggestions to the field. The directory is loaded in
+     * the background the first time this is called.
+     *
+     * @param field Text field the user types an airport into
+     */
+    public static void install(JTextField field) {
+        AirportDirectory directory = AirportDirectory.getInstance();
+        if (!directory.isLoaded()) {
+            AsyncLoader.supply(() -> {
+                directory.ensureLoaded();
+                return null;
+            });
+        }
+        new AirportAutoComplete(field, directory).attach();
+    }
+
+    private void attach() {
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(AirportAutoComplete.this::updateSuggestions);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(AirportAutoComplete.this::updateSuggestions);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                popup.setVisible(false);
+            }
+        });
+
+        bind(KeyEvent.VK_DOWN, "airportNext", () -> moveSelection(1));
+        bind(KeyEvent.VK_UP, "airportPrevious", () -> moveSelection(-1));
+        bind(KeyEvent.VK_ESCAPE, "airportClose", () -> popup.setVisible(false));
+
+        // Enter only picks a suggestion while the list is open, otherwise the field's own action runs
+        KeyStroke enter = KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0);
+        Object enterKey = field.getInputMap(JComponent.WHEN_FOCUSED).get(enter);
+        Action fieldAction = enterKey != null ? field.getActionMap().get(enterKey) : null;
+        field.getInputMap(JComponent.WHEN_FOCUSED).put(enter, "airportAccept");
+        field.getActionMap().put("airportAccept", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (popup.isVisible() && list.getSelectedIndex() >= 0) {
+                    acceptSelection();
+                } else if (fieldAction != null) {
+                    fieldAction.actionPerformed(e);
+                }
+            }
+        });
+    }
+
+    private void bind(int keyCode, String name, Runnable action) {
+        field.getInputMap(JComponent.WHEN_FOCUSED).put(KeyStroke.getKeyStroke(keyCode, 0), name);
+        field.getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                action.run();
+            }
+        });
+    }
+
+    private void updateSuggestions() {
+        if (!field.isShowing() || !field.hasFocus()) {
+            return;
+        }
+
+        String text = field.getText().trim();
+        List<Airport> matches = directory.complete(text, MAX_SUGGESTIONS);
+        // a complete code needs no dropdown, this also keeps it closed after a suggestion was picked
+        if (matches.isEmpty() || matches.get(0).getCode().equalsIgnoreCase(text)) {
+            popup.setVisible(false);
+            return;
+        }
+
+        suggestions.clear();
+        for (Airport airport : matches) {
+            suggestions.addElement(airport);
+        }
+        list.setVisibleRowCount(matches.size());
+        list.setSelectedIndex(0);
+
+        popup.pack();
+        popup.setPopupSize(Math.max(field.getWidth(), popup.getPreferredSize().width),
+                popup.getPreferredSize().height);
+        if (!popup.isVisible()) {
+            popup.show(field, 0, field.getHeight());
+        } else {
+            popup.revalidate();
+        }
+    }
+
+    private void moveSelection(int delta) {
+        if (!popup.isVisible() || suggestions.isEmpty()) {
+            updateSuggestions();
+            return;
+        }
+        int index = Math.floorMod(list.getSelectedIndex() + delta, suggestions.size());
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+    }
+
+    private void acceptSelection() {
+        Airport selected = list.getSelectedValue();
+        popup.setVisible(false);
+        if (selected == null) {
+            return;
+        }
+        field.setText(selected.getCode());
+        field.requestFocusInWindow();
+    }
+}
@@ -0,0 +1,197 @@
+package com.flightreservation.ui.util;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.util.SessionContext;
+
+/**
+ * Runs DAO and controller calls for the Swing panels on a dedicated executor
+ * and hands the results back on the EDT.
+ *
+ * - panels keep a {@link Request} per action so re-triggering it cancels the
+ * previous call and drops its late result
+ * - the number of calls in flight is published to {@link BusyListener}s so the
+ * dashboard can show a busy indicator
+ */
+public final class AsyncLoader {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLoader.class);
+    private static final int POOL_SIZE = 4;
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(POOL_SIZE, new ThreadFactory() {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "ui-data-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final List<BusyListener> busyListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified on the EDT whenever the number of calls in flight changes.
+     */
+    public interface BusyListener {
+        void busyChanged(int pendingCalls);
+    }
+
+    private AsyncLoader() {
+    }
+
+    /**
+     * Runs the task on the data executor, acting for the session of the
+     * calling thread. Cancelling the returned future interrupts the task if it
+     * has already started.
+     *
+     * @param task DAO or controller call
+     * @return future completed off the EDT
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> task) {
+        Callable<T> bound = SessionContext.wrap(task);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        inFlight.incrementAndGet();
+        fireBusyChanged();
+
+        Future<?> work = executor.submit(() -> {
+            try {
+                result.complete(bound.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                work.cancel(true);
+            }
+            inFlight.decrementAndGet();
+            fireBusyChanged();
+        });
+        return result;
+    }
+
+    /**
+     * Runs the task on the data executor and delivers the outcome on the EDT.
+     * Cancelled tasks call neither callback.
+     *
+     * @param task      DAO or controller call
+     * @param onSuccess receives the result on the EDT
+     * @param onError   receives the root failure on the EDT
+     * @return future that can be cancelled by the caller
+     */
+    public static <T> CompletableFuture<T> load(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = supply(task);
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(value);
+            } else {
+                Throwable cause = unwrap(error);
+                logger.error("Background data call failed", cause);
+                onError.accept(cause);
+            }
+        }));
+        return future;
+    }
+
+    public static int getPendingCalls() {
+        return inFlight.get();
+    }
+
+    public static void addBusyListener(BusyListener listener) {
+        busyListeners.add(listener);
+    }
+
+    public static void removeBusyListener(BusyListener listener) {
+        busyListeners.remove(listener);
+    }
+
+    private static void fireBusyChanged() {
+        if (busyListeners.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            int pending = inFlight.get();
+            for (BusyListener listener : busyListeners) {
+                listener.busyChanged(pending);
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    /**
+     * A single user-triggered action such as "load reservations". Starting a new
+     * call cancels the one still running, and a result that arrives after it was
+     * superseded is dropped even if the DAO call could not be interrupted.
+     */
+    public static final class Request {
+        private CompletableFuture<?> current;
+        private long generation;
+
+        /**
+         * Must be called on the EDT.
+         */
+        public <T> void submit(Callable<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            cancel();
+            long issued = ++generation;
+            current = load(task,
+                    value -> {
+                        if (issued == generation) {
+                            current = null;
+                            onSuccess.accept(value);
+                        }
+                    },
+                    error -> {
+                        if (issued == generation && !(error instanceof CancellationException)) {
+                            current = null;
+                            onError.accept(error);
+                        }
+                    });
+        }
+
+        /**
+         * Cancels the running call, if any. Must be called on the EDT.
+         */
+        public void cancel() {
+            generation++;
+            if (current != null) {
+                current.cancel(true);
+                current = null;
+            }
+        }
+
+        public boolean isRunning() {
+            return current != null;
+        }
+    }
+}
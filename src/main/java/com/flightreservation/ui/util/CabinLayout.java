@@ -0,0 +1,355 @@
+package com.flightreservation.ui.util;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.flightreservation.model.entities.Seat;
+import com.flightreservation.util.LruCache;
+
+/**
+ * Geometry of one cabin configuration, derived from the seat numbers of a
+ * flight ("12A" is row 12, letter A). Flights flown by the same aircraft type
+ * share one instance, so the static parts of the seat map are rendered once.
+ *
+ * - every seat of the configuration gets a slot index, the seat map keeps its
+ * per-seat state in arrays indexed by slot
+ * - pixel lookup tables map a point to a slot without searching
+ * - the cabin image holds everything that never changes: outline, class
+ * bands, row numbers, column letters and seat frames
+ */
+public final class CabinLayout {
+    static final int SEAT_SIZE = 22;
+    private static final int SEAT_GAP = 4;
+    static final int ROW_PITCH = SEAT_SIZE + SEAT_GAP;
+    private static final int AISLE_WIDTH = 26;
+    private static final int CLASS_GAP = 14;
+    private static final int MARGIN_LEFT = 34;
+    private static final int MARGIN_RIGHT = 16;
+    private static final int MARGIN_TOP = 32;
+    private static final int MARGIN_BOTTOM = 16;
+    private static final int MAX_CACHED_LAYOUTS = 16;
+
+    private static final Color FUSELAGE = new Color(245, 247, 250);
+    private static final Color FUSELAGE_EDGE = new Color(170, 178, 189);
+    private static final Color LABEL = new Color(90, 98, 110);
+    private static final Color SEAT_FRAME = new Color(120, 128, 140);
+    private static final Map<Seat.SeatClass, Color> BAND_COLORS = new HashMap<>();
+
+    static {
+        BAND_COLORS.put(Seat.SeatClass.FIRST, new Color(252, 243, 222));
+        BAND_COLORS.put(Seat.SeatClass.BUSINESS, new Color(229, 238, 252));
+        BAND_COLORS.put(Seat.SeatClass.ECONOMY, FUSELAGE);
+    }
+
+    private static final LruCache<String, CabinLayout> layouts = new LruCache<>(MAX_CACHED_LAYOUTS);
+
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int[] rowNumbers;
+    private final int[] rowY;
+    private final int[] columnX;
+    private final int[] rowFirstSlot;
+    private final Seat.SeatClass[] rowClass;
+
+    private final int[] slotX;
+    private final int[] slotY;
+    private final Seat.SeatClass[] slotClass;
+    private final Map<String, Integer> slotBySeatNumber;
+
+    private final int[] cellSlot;
+    private final int[] rowAtY;
+    private final int[] columnAtX;
+
+    private BufferedImage cabinImage;
+
+    private CabinLayout(TreeMap<Integer, TreeMap<String, Seat.SeatClass>> rows) {
+        int maxAbreast = 1;
+        for (TreeMap<String, Seat.SeatClass> letters : rows.values()) {
+            maxAbreast = Math.max(maxAbreast, letters.size());
+        }
+        this.columns = maxAbreast;
+
+        int leftColumns = (columns + 1) / 2;
+        this.columnX = new int[columns];
+        int x = MARGIN_LEFT;
+        for (int column = 0; column < columns; column++) {
+            if (column == leftColumns) {
+                x += AISLE_WIDTH - SEAT_GAP;
+            }
+            columnX[column] = x;
+            x += SEAT_SIZE + SEAT_GAP;
+        }
+        this.width = x - SEAT_GAP + MARGIN_RIGHT;
+
+        int rowCount = rows.size();
+        this.rowNumbers = new int[rowCount];
+        this.rowY = new int[rowCount];
+        this.rowFirstSlot = new int[rowCount + 1];
+        this.rowClass = new Seat.SeatClass[rowCount];
+        this.cellSlot = new int[rowCount * columns];
+        Arrays.fill(cellSlot, -1);
+
+        List<int[]> positions = new ArrayList<>();
+        List<Seat.SeatClass> classes = new ArrayList<>();
+        this.slotBySeatNumber = new HashMap<>();
+
+        int y = MARGIN_TOP;
+        int row = 0;
+        Seat.SeatClass previousClass = null;
+        for (Map.Entry<Integer, TreeMap<String, Seat.SeatClass>> entry : rows.entrySet()) {
+            TreeMap<String, Seat.SeatClass> letters = entry.getValue();
+            Seat.SeatClass seatClass = letters.firstEntry().getValue();
+            if (previousClass != null && seatClass != previousClass) {
+                y += CLASS_GAP;
+            }
+            previousClass = seatClass;
+
+            rowNumbers[row] = entry.getKey();
+            rowY[row] = y;
+            rowClass[row] = seatClass;
+            rowFirstSlot[row] = positions.size();
+
+            // narrower rows are split across the aisle, so a 4-abreast row sits at the outer columns
+            int count = letters.size();
+            int left = (count + 1) / 2;
+            int index = 0;
+            for (Map.Entry<String, Seat.SeatClass> letter : letters.entrySet()) {
+                int column = index < left ? index : columns - (count - index);
+                int slot = positions.size();
+                positions.add(new int[] { columnX[column], y });
+                classes.add(letter.getValue());
+                slotBySeatNumber.put(entry.getKey() + letter.getKey(), slot);
+                cellSlot[row * columns + column] = slot;
+                index++;
+            }
+
+            y += ROW_PITCH;
+            row++;
+        }
+        rowFirstSlot[rowCount] = positions.size();
+        this.height = y - SEAT_GAP + MARGIN_BOTTOM;
+
+        int slots = positions.size();
+        this.slotX = new int[slots];
+        this.slotY = new int[slots];
+        this.slotClass = classes.toArray(new Seat.SeatClass[0]);
+        for (int slot = 0; slot < slots; slot++) {
+            slotX[slot] = positions.get(slot)[0];
+            slotY[slot] = positions.get(slot)[1];
+        }
+
+        // every pixel row belongs to the seat row above it, every pixel column to the seat column left of it
+        this.rowAtY = new int[height];
+        Arrays.fill(rowAtY, -1);
+        for (int r = 0; r < rowCount; r++) {
+            int end = r + 1 < rowCount ? rowY[r + 1] : height;
+            Arrays.fill(rowAtY, rowY[r], end, r);
+        }
+        this.columnAtX = new int[width];
+        Arrays.fill(columnAtX, -1);
+        for (int column = 0; column < columns; column++) {
+            Arrays.fill(columnAtX, columnX[column], columnX[column] + SEAT_SIZE, column);
+        }
+    }
+
+    /**
+     * Layout for the given seats, shared with every flight that has the same
+     * rows, letters and classes.
+     *
+     * @param seats All seats of one flight
+     * @return the layout, or null when no seat number could be read
+     */
+    public static CabinLayout of(List<Seat> seats) {
+        TreeMap<Integer, TreeMap<String, Seat.SeatClass>> rows = new TreeMap<>();
+        for (Seat seat : seats) {
+            String number = seat.getSeatNumber();
+            int split = 0;
+            while (number != null && split < number.length() && Character.isDigit(number.charAt(split))) {
+                split++;
+            }
+            if (split == 0 || split == number.length()) {
+                continue;
+            }
+            rows.computeIfAbsent(Integer.parseInt(number.substring(0, split)), r -> new TreeMap<>())
+                    .put(number.substring(split), seat.getSeatClass());
+        }
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder signature = new StringBuilder();
+        for (Map.Entry<Integer, TreeMap<String, Seat.SeatClass>> row : rows.entrySet()) {
+            signature.append(row.getKey());
+            for (Map.Entry<String, Seat.SeatClass> letter : row.getValue().entrySet()) {
+                signature.append(letter.getKey()).append(letter.getValue().ordinal());
+            }
+            signature.append(';');
+        }
+
+        String key = signature.toString();
+        CabinLayout layout = layouts.get(key);
+        if (layout == null) {
+            layout = new CabinLayout(rows);
+            layouts.put(key, layout);
+        }
+        return layout;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getSlotCount() {
+        return slotX.length;
+    }
+
+    /**
+     * @return the slot of the seat number, or -1 when it is not part of the layout
+     */
+    public int slotOf(String seatNumber) {
+        Integer slot = slotBySeatNumber.get(seatNumber);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * @return the slot under the point, or -1 for aisles, gaps and margins
+     */
+    public int slotAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return -1;
+        }
+        int row = rowAtY[y];
+        int column = columnAtX[x];
+        if (row < 0 || column < 0 || y - rowY[row] >= SEAT_SIZE) {
+            return -1;
+        }
+        return cellSlot[row * columns + column];
+    }
+
+    public Rectangle slotBounds(int slot) {
+        return new Rectangle(slotX[slot], slotY[slot], SEAT_SIZE, SEAT_SIZE);
+    }
+
+    int slotX(int slot) {
+        return slotX[slot];
+    }
+
+    int slotY(int slot) {
+        return slotY[slot];
+    }
+
+    Seat.SeatClass slotClass(int slot) {
+        return slotClass[slot];
+    }
+
+    /**
+     * First slot at or below the pixel row, for painting only the rows that
+     * intersect the clip.
+     */
+    int firstSlotFrom(int y) {
+        if (y >= height) {
+            return getSlotCount();
+        }
+        int row = y < 0 ? 0 : rowAtY[y];
+        return rowFirstSlot[Math.max(row, 0)];
+    }
+
+    /**
+     * Slot after the last one at or above the pixel row.
+     */
+    int endSlotUntil(int y) {
+        if (y < 0) {
+            return 0;
+        }
+        if (y >= height) {
+            return getSlotCount();
+        }
+        int row = rowAtY[y];
+        return row < 0 ? 0 : rowFirstSlot[row + 1];
+    }
+
+    /**
+     * The static part of the seat map, rendered on first use. Only called on
+     * the EDT.
+     */
+    BufferedImage getCabinImage() {
+        if (cabinImage == null) {
+            cabinImage = renderCabin();
+        }
+        return cabinImage;
+    }
+
+    private BufferedImage renderCabin() {
+        BufferedImage image = GraphicsEnvironment.isHeadless()
+                ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB)
+                : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.OPAQUE);
+
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+
+            int cabinLeft = MARGIN_LEFT - 8;
+            int cabinWidth = width - MARGIN_RIGHT - cabinLeft + 8;
+            g.setColor(FUSELAGE);
+            g.fillRoundRect(cabinLeft, 4, cabinWidth, height - 8, 40, 40);
+
+            for (int row = 0; row < rowY.length; row++) {
+                Color band = BAND_COLORS.get(rowClass[row]);
+                if (band != null && band != FUSELAGE) {
+                    g.setColor(band);
+                    g.fillRect(cabinLeft + 2, rowY[row] - SEAT_GAP / 2, cabinWidth - 4, SEAT_SIZE + SEAT_GAP);
+                }
+            }
+
+            g.setColor(FUSELAGE_EDGE);
+            g.setStroke(new BasicStroke(2f));
+            g.drawRoundRect(cabinLeft, 4, cabinWidth, height - 8, 40, 40);
+
+            g.setFont(new Font("Arial", Font.PLAIN, 10));
+            FontMetrics metrics = g.getFontMetrics();
+            g.setColor(LABEL);
+            for (int column = 0; column < columns; column++) {
+                String letter = String.valueOf((char) ('A' + column));
+                g.drawString(letter, columnX[column] + (SEAT_SIZE - metrics.stringWidth(letter)) / 2,
+                        MARGIN_TOP - 8);
+            }
+            for (int row = 0; row < rowY.length; row++) {
+                String number = String.valueOf(rowNumbers[row]);
+                g.drawString(number, MARGIN_LEFT - 12 - metrics.stringWidth(number),
+                        rowY[row] + (SEAT_SIZE + metrics.getAscent()) / 2 - 1);
+            }
+
+            g.setStroke(new BasicStroke(1f));
+            g.setColor(SEAT_FRAME);
+            for (int slot = 0; slot < slotX.length; slot++) {
+                g.drawRoundRect(slotX[slot], slotY[slot], SEAT_SIZE - 1, SEAT_SIZE - 1, 6, 6);
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
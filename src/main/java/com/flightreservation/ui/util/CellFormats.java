@@ -0,0 +1,25 @@
+package com.flightreservation.ui.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Shared cell formatters for table columns. Date formatters are built once per
+ * pattern instead of on every row.
+ */
+public final class CellFormats {
+    private static final Map<String, DateTimeFormatter> dateFormatters = new ConcurrentHashMap<>();
+
+    public static final Function<Object, String> CURRENCY = value -> String.format("$%.2f", ((Number) value).doubleValue());
+
+    private CellFormats() {
+    }
+
+    public static Function<Object, String> dateTime(String pattern) {
+        DateTimeFormatter formatter = dateFormatters.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+        return value -> ((LocalDateTime) value).format(formatter);
+    }
+}
@@ -0,0 +1,354 @@
+package com.flightreservation.ui.util;
+
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.AWTEventListener;
+import java.awt.event.ContainerEvent;
+import java.awt.event.WindowEvent;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.util.LatencyHistogram;
+
+/**
+ * watches the event dispatch thread, how often the UI freezes and which code freezes it
+ *
+ * - a heartbeat posts a probe to the EDT every {@value #HEARTBEAT_MILLIS} ms, the time until it runs
+ * is the queue latency a user would feel
+ * - an {@link EventQueue} pushed on top of the system queue times how long each event takes to dispatch
+ * - when a probe waits longer than the stall threshold the EDT stack is captured together with the
+ * panel on screen and the DAO method on the stack
+ * - the active panel is followed through AWT container and window events, the dashboards need no changes
+ */
+public final class EdtMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(EdtMonitor.class);
+    private static final long HEARTBEAT_MILLIS = 100;
+    private static final long DEFAULT_STALL_MILLIS = 500;
+    private static final int MAX_STALLS = 50;
+    private static final String PANEL_PACKAGE = "com.flightreservation.ui.panels.";
+    private static final String DAO_PACKAGE = "com.flightreservation.dao.";
+
+    private static final EdtMonitor instance = new EdtMonitor();
+
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram dispatchTime = new LatencyHistogram();
+    private final Deque<Stall> stalls = new ArrayDeque<>();
+    private volatile long stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_STALL_MILLIS);
+    private volatile long stallCount;
+
+    private volatile String activeWindow = "";
+    private volatile String activePanel = "";
+    private volatile Thread edt;
+    private volatile long probePostedAt;
+    private volatile boolean probePending;
+    private Stall currentStall;
+    private Thread heartbeat;
+    private TimingEventQueue timingQueue;
+    private final AWTEventListener viewTracker = this::trackActiveView;
+
+    /**
+     * one freeze of the EDT and what was running when it was noticed
+     */
+    public static final class Stall {
+        private final Instant detectedAt;
+        private final String window;
+        private final String panel;
+        private final String daoCall;
+        private final StackTraceElement[] stack;
+        private volatile long durationMillis;
+        private volatile boolean ended;
+
+        Stall(Instant detectedAt, String window, String panel, String daoCall, StackTraceElement[] stack,
+                long durationMillis) {
+            this.detectedAt = detectedAt;
+            this.window = window;
+            this.panel = panel;
+            this.daoCall = daoCall;
+            this.stack = stack;
+            this.durationMillis = durationMillis;
+        }
+
+        public Instant getDetectedAt() {
+            return detectedAt;
+        }
+
+        public String getWindow() {
+            return window;
+        }
+
+        public String getPanel() {
+            return panel;
+        }
+
+        /**
+         * first DAO method on the EDT stack, null when the stall was not in a DAO call
+         */
+        public String getDaoCall() {
+            return daoCall;
+        }
+
+        /**
+         * how long the EDT was blocked, still growing while the stall has not ended
+         */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public boolean isEnded() {
+            return ended;
+        }
+
+        public String getStackTrace() {
+            StringBuilder text = new StringBuilder();
+            for (StackTraceElement frame : stack) {
+                text.append("    at ").append(frame).append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    private EdtMonitor() {
+    }
+
+    public static EdtMonitor getInstance() {
+        return instance;
+    }
+
+    /**
+     * starts the heartbeat and the dispatch timing, later calls only return until stop()
+     */
+    public synchronized void start() {
+        if (heartbeat != null) {
+            return;
+        }
+
+        TimingEventQueue queue = new TimingEventQueue();
+        timingQueue = queue;
+        EventQueue.invokeLater(() -> Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue));
+        Toolkit.getDefaultToolkit().addAWTEventListener(viewTracker,
+                AWTEvent.CONTAINER_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK);
+
+        heartbeat = new Thread(this::runHeartbeat, "edt-monitor");
+        heartbeat.setDaemon(true);
+        heartbeat.start();
+        logger.info("EDT monitor started, stall threshold {} ms",
+                TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos));
+    }
+
+    /**
+     * stops the heartbeat and takes the timing queue and view listener out again, so a later start()
+     * does not count dispatches twice
+     */
+    public synchronized void stop() {
+        if (heartbeat == null) {
+            return;
+        }
+        heartbeat.interrupt();
+        heartbeat = null;
+
+        TimingEventQueue queue = timingQueue;
+        timingQueue = null;
+        // queued behind the push of start(), pending events move back to the system queue
+        EventQueue.invokeLater(queue::uninstall);
+        Toolkit.getDefaultToolkit().removeAWTEventListener(viewTracker);
+    }
+
+    public long getStallThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos);
+    }
+
+    public void setStallThresholdMillis(long millis) {
+        this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * time from posting a heartbeat probe to the EDT running it
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * time spent dispatching each AWT event
+     */
+    public LatencyHistogram getDispatchTime() {
+        return dispatchTime;
+    }
+
+    public long getStallCount() {
+        return stallCount;
+    }
+
+    /**
+     * most recent stalls, newest first
+     */
+    public synchronized List<Stall> getRecentStalls() {
+        return new ArrayList<>(stalls);
+    }
+
+    /**
+     * window and panel currently on screen, e.g. "AgentDashboard > ModifyReservationPanel"
+     */
+    public String getActivePanel() {
+        return activePanel.isEmpty() ? activeWindow : activeWindow + " > " + activePanel;
+    }
+
+    public synchronized void reset() {
+        queueLatency.reset();
+        dispatchTime.reset();
+        stalls.clear();
+        stallCount = 0;
+    }
+
+    private void runHeartbeat() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!probePending) {
+                    probePending = true;
+                    long postedAt = System.nanoTime();
+                    probePostedAt = postedAt;
+                    SwingUtilities.invokeLater(() -> probeArrived(postedAt));
+                } else {
+                    checkForStall();
+                }
+                Thread.sleep(HEARTBEAT_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void probeArrived(long postedAt) {
+        edt = Thread.currentThread();
+        long waited = System.nanoTime() - postedAt;
+        queueLatency.recordNanos(waited);
+        probePending = false;
+
+        synchronized (this) {
+            if (currentStall != null) {
+                currentStall.durationMillis = TimeUnit.NANOSECONDS.toMillis(waited);
+                currentStall.ended = true;
+                logger.warn("EDT stall ended after {} ms in {}", currentStall.durationMillis,
+                        currentStall.panel.isEmpty() ? currentStall.window : currentStall.panel);
+                currentStall = null;
+            }
+        }
+    }
+
+    private void checkForStall() {
+        long waited = System.nanoTime() - probePostedAt;
+        Thread dispatchThread = edt;
+        if (waited < stallThresholdNanos || dispatchThread == null) {
+            return;
+        }
+
+        Stall stall;
+        synchronized (this) {
+            if (currentStall != null) {
+                currentStall.durationMillis = TimeUnit.NANOSECONDS.toMillis(waited);
+                return;
+            }
+            StackTraceElement[] stack = dispatchThread.getStackTrace();
+            stall = new Stall(Instant.now(), activeWindow, activePanel, findDaoCall(stack), stack,
+                    TimeUnit.NANOSECONDS.toMillis(waited));
+            currentStall = stall;
+            stalls.addFirst(stall);
+            if (stalls.size() > MAX_STALLS) {
+                stalls.removeLast();
+            }
+            stallCount++;
+        }
+
+        if (logger.isWarnEnabled()) {
+            logger.warn("EDT stalled for {} ms in {}{}\n{}", stall.durationMillis, getActivePanel(),
+                    stall.daoCall != null ? " during " + stall.daoCall : "", stall.getStackTrace());
+        }
+    }
+
+    private static String findDaoCall(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(DAO_PACKAGE)) {
+                String className = frame.getClassName();
+                return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+            }
+        }
+        return null;
+    }
+
+    private void trackActiveView(AWTEvent event) {
+        if (event.getID() == WindowEvent.WINDOW_ACTIVATED) {
+            Window window = ((WindowEvent) event).getWindow();
+            activeWindow = window.getClass().getSimpleName();
+            activePanel = findPanel(window);
+        } else if (event.getID() == ContainerEvent.COMPONENT_ADDED) {
+            Component child = ((ContainerEvent) event).getChild();
+            if (child.getClass().getName().startsWith(PANEL_PACKAGE)) {
+                Window window = SwingUtilities.getWindowAncestor(child);
+                if (window == null || window.getClass().getSimpleName().equals(activeWindow)) {
+                    activePanel = child.getClass().getSimpleName();
+                }
+            }
+        }
+    }
+
+    private static String findPanel(Container container) {
+        for (Component child : container.getComponents()) {
+            if (child.getClass().getName().startsWith(PANEL_PACKAGE)) {
+                return child.getClass().getSimpleName();
+            }
+            if (child instanceof Container) {
+                String nested = findPanel((Container) child);
+                if (!nested.isEmpty()) {
+                    return nested;
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * times every event on the EDT
+     *
+     * - costs two clock reads and a few atomic increments per event
+     * - an event that opened a modal dialog runs a nested dispatch loop, it is not recorded since its
+     * duration is the time the dialog was open
+     */
+    private final class TimingEventQueue extends EventQueue {
+        private int depth;
+        private boolean nestedDispatch;
+
+        void uninstall() {
+            pop();
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            nestedDispatch = false;
+            depth++;
+            long start = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                depth--;
+                if (!nestedDispatch) {
+                    dispatchTime.recordNanos(System.nanoTime() - start);
+                }
+                // tells the enclosing event, if any, that it ran a nested loop
+                nestedDispatch = depth > 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.flightreservation.ui.util;
+
+import javax.swing.table.TableModel;
+
+/**
+ * Table model whose cells hold typed values that are turned into text only
+ * when painted.
+ */
+public interface FormattedTableModel extends TableModel {
+
+    String formatValue(int column, Object value);
+
+    /**
+     * @return false while the row is still being fetched
+     */
+    boolean isRowLoaded(int row);
+}
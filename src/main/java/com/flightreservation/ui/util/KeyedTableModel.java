@@ -0,0 +1,169 @@
+package com.flightreservation.ui.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Table model that keeps its rows indexed by primary key so a refresh can be
+ * applied as a diff instead of clearing and re-adding every row.
+ *
+ * - rows whose key disappeared fire rowsDeleted, new keys are appended with
+ * rowsInserted, and rows fire rowsUpdated only when a column value changed
+ * - the selection and a client-side row sorter survive a refresh because
+ * untouched rows keep their model index
+ * - cells hold typed values, formatting is left to the renderer installed by
+ * {@link TableFactory#createKeyedTable(KeyedTableModel)}
+ */
+public class KeyedTableModel<K, T> extends AbstractTableModel implements FormattedTableModel {
+    private final List<RowColumn<T>> columns;
+    private final Function<T, K> keyOf;
+    private final List<T> rows = new ArrayList<>();
+    private final Map<K, Integer> indexByKey = new HashMap<>();
+
+    public KeyedTableModel(List<RowColumn<T>> columns, Function<T, K> keyOf) {
+        this.columns = new ArrayList<>(columns);
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Replaces the contents with the given rows, diffing them against the
+     * current ones by key.
+     */
+    public void setRows(List<T> newRows) {
+        Set<K> liveKeys = new HashSet<>();
+        for (T row : newRows) {
+            liveKeys.add(keyOf.apply(row));
+        }
+        applyChanges(newRows, liveKeys);
+    }
+
+    /**
+     * Applies an incremental change set.
+     *
+     * @param changed  rows that were inserted or modified
+     * @param liveKeys keys of every row that still exists, or null when nothing
+     *                 was deleted
+     */
+    public void applyChanges(Collection<T> changed, Set<K> liveKeys) {
+        if (liveKeys != null) {
+            removeMissing(liveKeys);
+        }
+
+        int firstInserted = rows.size();
+        for (T row : changed) {
+            K key = keyOf.apply(row);
+            Integer index = indexByKey.get(key);
+            if (index == null) {
+                indexByKey.put(key, rows.size());
+                rows.add(row);
+            } else if (!sameValues(rows.get(index), row)) {
+                rows.set(index, row);
+                fireTableRowsUpdated(index, index);
+            } else {
+                rows.set(index, row);
+            }
+        }
+        if (rows.size() > firstInserted) {
+            fireTableRowsInserted(firstInserted, rows.size() - 1);
+        }
+    }
+
+    public void clear() {
+        if (rows.isEmpty()) {
+            return;
+        }
+        int last = rows.size() - 1;
+        rows.clear();
+        indexByKey.clear();
+        fireTableRowsDeleted(0, last);
+    }
+
+    public T getRow(int modelRow) {
+        return rows.get(modelRow);
+    }
+
+    public List<T> getRows() {
+        return new ArrayList<>(rows);
+    }
+
+    @Override
+    public boolean isRowLoaded(int row) {
+        return true;
+    }
+
+    @Override
+    public String formatValue(int column, Object value) {
+        return columns.get(column).format(value);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).valueOf(rows.get(row));
+    }
+
+    /**
+     * Deletes rows from the bottom up so each event refers to indexes that are
+     * still valid when it is delivered.
+     */
+    private void removeMissing(Set<K> liveKeys) {
+        boolean removed = false;
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            K key = keyOf.apply(rows.get(i));
+            if (!liveKeys.contains(key)) {
+                rows.remove(i);
+                indexByKey.remove(key);
+                removed = true;
+                fireTableRowsDeleted(i, i);
+            }
+        }
+        if (removed) {
+            indexByKey.clear();
+            for (int i = 0; i < rows.size(); i++) {
+                indexByKey.put(keyOf.apply(rows.get(i)), i);
+            }
+        }
+    }
+
+    private boolean sameValues(T current, T updated) {
+        for (RowColumn<T> column : columns) {
+            if (!Objects.equals(column.valueOf(current), column.valueOf(updated))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
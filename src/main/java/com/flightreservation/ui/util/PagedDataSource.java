@@ -0,0 +1,25 @@
+package com.flightreservation.ui.util;
+
+import java.util.List;
+
+/**
+ * Source of rows for a {@link PagedTableModel}. Both methods are called off the
+ * EDT.
+ */
+public interface PagedDataSource<T> {
+
+    /**
+     * @return total number of rows the source can return
+     */
+    int count() throws Exception;
+
+    /**
+     * Fetches one block of rows in the requested order.
+     *
+     * @param offset     index of the first row
+     * @param limit      maximum number of rows to return
+     * @param sortColumn model column to order by, or -1 for the default order
+     * @param ascending  sort direction for sortColumn
+     */
+    List<T> fetch(int offset, int limit, int sortColumn, boolean ascending) throws Exception;
+}
@@ -0,0 +1,312 @@
+package com.flightreservation.ui.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+import javax.swing.table.AbstractTableModel;
+
+import com.flightreservation.util.LruCache;
+
+/**
+ * Table model that only holds the blocks of rows the viewport has asked for.
+ *
+ * - rows are fetched block by block from a {@link PagedDataSource} when a cell
+ * of a missing block is first painted, a placeholder (null) is shown meanwhile
+ * - cells hold typed values, formatting is left to the renderer installed by
+ * {@link TableFactory#createPagedTable(PagedTableModel)}
+ * - sorting is passed to the data source so the database does the ordering
+ */
+public class PagedTableModel<T> extends AbstractTableModel implements FormattedTableModel {
+    private static final int DEFAULT_BLOCK_SIZE = 200;
+    private static final int DEFAULT_CACHED_BLOCKS = 20;
+
+    private final List<RowColumn<T>> columns;
+    private final int blockSize;
+    private final int cachedBlocks;
+    private LruCache<Integer, List<T>> blocks;
+    private LruCache<Integer, List<T>> staleBlocks;
+    private final Set<Integer> pendingBlocks = new HashSet<>();
+    private final AsyncLoader.Request countRequest = new AsyncLoader.Request();
+
+    private PagedDataSource<T> dataSource;
+    private int rowCount;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private long generation;
+    private IntConsumer loadListener;
+    private Consumer<Throwable> errorListener;
+
+    public PagedTableModel(List<RowColumn<T>> columns) {
+        this(columns, DEFAULT_BLOCK_SIZE, DEFAULT_CACHED_BLOCKS);
+    }
+
+    public PagedTableModel(List<RowColumn<T>> columns, int blockSize, int cachedBlocks) {
+        this.columns = new ArrayList<>(columns);
+        this.blockSize = blockSize;
+        this.cachedBlocks = cachedBlocks;
+        this.blocks = new LruCache<>(cachedBlocks);
+    }
+
+    /**
+     * Switches to a new data source and reloads from the first row.
+     *
+     * @param source   rows to show
+     * @param onLoaded called on the EDT with the new row count, may be null
+     * @param onError  called on the EDT when the count query fails, may be null
+     */
+    public void load(PagedDataSource<T> source, IntConsumer onLoaded, Consumer<Throwable> onError) {
+        this.dataSource = source;
+        this.loadListener = onLoaded;
+        this.errorListener = onError;
+        reload();
+    }
+
+    /**
+     * Drops every cached block and asks the data source for a fresh count.
+     */
+    public void reload() {
+        generation++;
+        blocks.clear();
+        staleBlocks = null;
+        pendingBlocks.clear();
+        if (dataSource == null) {
+            return;
+        }
+
+        PagedDataSource<T> source = dataSource;
+        IntConsumer listener = loadListener;
+        Consumer<Throwable> failureListener = errorListener;
+        countRequest.submit(source::count,
+                count -> {
+                    rowCount = count;
+                    fireTableDataChanged();
+                    if (listener != null) {
+                        listener.accept(count);
+                    }
+                },
+                error -> {
+                    rowCount = 0;
+                    fireTableDataChanged();
+                    if (failureListener != null) {
+                        failureListener.accept(error);
+                    }
+                });
+    }
+
+    /**
+     * Re-counts and re-fetches the visible rows without resetting the view.
+     * Cached rows stay on screen until their fresh block arrives, and growth or
+     * shrinkage is reported as rows inserted or deleted at the end, so the
+     * selection and scroll position are kept.
+     */
+    public void refresh() {
+        if (dataSource == null) {
+            return;
+        }
+        generation++;
+        staleBlocks = blocks;
+        blocks = new LruCache<>(cachedBlocks);
+        pendingBlocks.clear();
+
+        PagedDataSource<T> source = dataSource;
+        Consumer<Throwable> failureListener = errorListener;
+        countRequest.submit(source::count,
+                count -> {
+                    int previous = rowCount;
+                    rowCount = count;
+                    if (count > previous) {
+                        fireTableRowsInserted(previous, count - 1);
+                    } else if (count < previous) {
+                        fireTableRowsDeleted(count, previous - 1);
+                    }
+                    int kept = Math.min(previous, count);
+                    if (kept > 0) {
+                        fireTableRowsUpdated(0, kept - 1);
+                    }
+                },
+                error -> {
+                    if (failureListener != null) {
+                        failureListener.accept(error);
+                    }
+                });
+    }
+
+    /**
+     * Applies rows changed since the last sync. Cached copies are replaced in
+     * place and only their rows are repainted. When a change may move rows
+     * (a new row, or a cached row that no longer belongs to this view) the
+     * model falls back to {@link #refresh()}.
+     *
+     * @param changed rows modified since the last sync
+     * @param keyOf   primary key of a row
+     * @param belongs whether a row is part of the current view
+     */
+    public <K> void applyChanges(List<T> changed, Function<T, K> keyOf, Predicate<T> belongs) {
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<K, T> byKey = new HashMap<>();
+        for (T row : changed) {
+            byKey.put(keyOf.apply(row), row);
+        }
+
+        boolean structural = false;
+        Set<K> applied = new HashSet<>();
+        for (Map.Entry<Integer, List<T>> entry : blocks.snapshot().entrySet()) {
+            List<T> block = entry.getValue();
+            for (int i = 0; i < block.size(); i++) {
+                K key = keyOf.apply(block.get(i));
+                T updated = byKey.get(key);
+                if (updated == null) {
+                    continue;
+                }
+                applied.add(key);
+                if (!belongs.test(updated)) {
+                    structural = true;
+                    continue;
+                }
+                block.set(i, updated);
+                int row = entry.getKey() * blockSize + i;
+                if (row < rowCount) {
+                    fireTableRowsUpdated(row, row);
+                }
+            }
+        }
+
+        for (T row : changed) {
+            if (!applied.contains(keyOf.apply(row)) && belongs.test(row)) {
+                structural = true;
+                break;
+            }
+        }
+
+        if (structural) {
+            refresh();
+        }
+    }
+
+    /**
+     * Orders by the given column, toggling the direction when it is already the
+     * sort column. Columns that are not sortable are ignored.
+     */
+    public void sortBy(int column) {
+        if (column < 0 || column >= columns.size() || !columns.get(column).isSortable()) {
+            return;
+        }
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        reload();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public boolean isSortable(int column) {
+        return columns.get(column).isSortable();
+    }
+
+    /**
+     * @return the row object, or null when its block has not been loaded yet
+     */
+    public T getRowAt(int row) {
+        List<T> block = blocks.get(row / blockSize);
+        if (block == null && staleBlocks != null) {
+            block = staleBlocks.get(row / blockSize);
+        }
+        int index = row % blockSize;
+        return block != null && index < block.size() ? block.get(index) : null;
+    }
+
+    @Override
+    public boolean isRowLoaded(int row) {
+        return getRowAt(row) != null;
+    }
+
+    @Override
+    public String formatValue(int column, Object value) {
+        return columns.get(column).format(value);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int blockIndex = row / blockSize;
+        List<T> block = blocks.get(blockIndex);
+        if (block == null) {
+            requestBlock(blockIndex);
+            block = staleBlocks != null ? staleBlocks.get(blockIndex) : null;
+            if (block == null) {
+                return null;
+            }
+        }
+        int index = row % blockSize;
+        return index < block.size() ? columns.get(column).valueOf(block.get(index)) : null;
+    }
+
+    private void requestBlock(int blockIndex) {
+        if (dataSource == null || !pendingBlocks.add(blockIndex)) {
+            return;
+        }
+
+        long issued = generation;
+        PagedDataSource<T> source = dataSource;
+        int offset = blockIndex * blockSize;
+        int column = sortColumn;
+        boolean asc = ascending;
+        AsyncLoader.load(() -> source.fetch(offset, blockSize, column, asc),
+                rows -> {
+                    if (issued != generation) {
+                        return;
+                    }
+                    pendingBlocks.remove(blockIndex);
+                    blocks.put(blockIndex, rows);
+                    int last = Math.min(offset + blockSize, rowCount) - 1;
+                    if (last >= offset) {
+                        fireTableRowsUpdated(offset, last);
+                    }
+                },
+                error -> {
+                    if (issued == generation) {
+                        pendingBlocks.remove(blockIndex);
+                    }
+                });
+    }
+}
@@ -0,0 +1,56 @@
+package com.flightreservation.ui.util;
+
+import java.util.function.Function;
+
+/**
+ * One table column over row objects: how to read its typed value and how to
+ * show it. Used by {@link PagedTableModel} and {@link KeyedTableModel}.
+ */
+public final class RowColumn<T> {
+    private final String name;
+    private final Class<?> type;
+    private final Function<T, Object> extractor;
+    private final Function<Object, String> formatter;
+    private final boolean sortable;
+
+    private RowColumn(String name, Class<?> type, Function<T, Object> extractor,
+            Function<Object, String> formatter, boolean sortable) {
+        this.name = name;
+        this.type = type;
+        this.extractor = extractor;
+        this.formatter = formatter;
+        this.sortable = sortable;
+    }
+
+    public static <T> RowColumn<T> of(String name, Class<?> type, Function<T, Object> extractor) {
+        return new RowColumn<>(name, type, extractor, String::valueOf, true);
+    }
+
+    public RowColumn<T> formattedWith(Function<Object, String> formatter) {
+        return new RowColumn<>(name, type, extractor, formatter, sortable);
+    }
+
+    public RowColumn<T> unsorted() {
+        return new RowColumn<>(name, type, extractor, formatter, false);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isSortable() {
+        return sortable;
+    }
+
+    public Object valueOf(T row) {
+        return extractor.apply(row);
+    }
+
+    public String format(Object value) {
+        return formatter.apply(value);
+    }
+}
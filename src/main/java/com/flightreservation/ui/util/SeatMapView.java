@@ -0,0 +1,343 @@
+package com.flightreservation.ui.util;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.swing.BorderFactory;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.ToolTipManager;
+
+import com.flightreservation.model.entities.Seat;
+
+/**
+ * Clickable seat map of one flight. The cabin is blitted from the image
+ * cached by {@link CabinLayout}, on top of it only the seat fills are
+ * painted, and only for the rows inside the clip.
+ *
+ * - seat state is kept in a byte array indexed by layout slot
+ * - {@link #setSeats(List)} with the same configuration repaints just the
+ * seats whose status changed
+ * - hover and selection repaint the two seats involved, clicks are resolved
+ * through the layout's lookup tables
+ */
+public class SeatMapView extends JComponent {
+    private static final byte NO_SEAT = -1;
+    private static final Dimension EMPTY_SIZE = new Dimension(240, 120);
+
+    private static final Color AVAILABLE_FIRST = new Color(222, 170, 60);
+    private static final Color AVAILABLE_BUSINESS = new Color(70, 130, 200);
+    private static final Color AVAILABLE_ECONOMY = new Color(92, 184, 92);
+    private static final Color TAKEN = new Color(200, 204, 210);
+    private static final Color BLOCKED = new Color(120, 124, 130);
+    private static final Color SELECTED = new Color(220, 53, 69);
+    private static final Color HOVER = new Color(33, 37, 41);
+
+    private static final Seat.SeatStatus[] STATUSES = Seat.SeatStatus.values();
+
+    private CabinLayout layout;
+    private Seat[] seats = new Seat[0];
+    private byte[] status = new byte[0];
+    private int selectedSlot = -1;
+    private int hoverSlot = -1;
+
+    private final List<SeatSelectionListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Notified when the user picks an available seat.
+     */
+    public interface SeatSelectionListener {
+        void seatSelected(Seat seat);
+    }
+
+    public SeatMapView() {
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoverSlot(slotAt(e));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoverSlot(-1);
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int slot = slotAt(e);
+                if (slot >= 0 && status[slot] == Seat.SeatStatus.AVAILABLE.ordinal() && slot != selectedSlot) {
+                    setSelectedSlot(slot);
+                    for (SeatSelectionListener listener : listeners) {
+                        listener.seatSelected(seats[slot]);
+                    }
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public void addSeatSelectionListener(SeatSelectionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeSeatSelectionListener(SeatSelectionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Shows the seats of a flight. When the cabin configuration is the one
+     * already shown only changed seats are repainted, and the selection stays
+     * on its seat as long as that seat is still available.
+     *
+     * @param flightSeats Every seat of the flight, not just the available ones
+     */
+    public void setSeats(List<Seat> flightSeats) {
+        CabinLayout next = CabinLayout.of(flightSeats);
+        if (next != layout) {
+            layout = next;
+            int slots = next != null ? next.getSlotCount() : 0;
+            seats = new Seat[slots];
+            status = new byte[slots];
+            Arrays.fill(status, NO_SEAT);
+            selectedSlot = -1;
+            hoverSlot = -1;
+            for (Seat seat : flightSeats) {
+                int slot = next != null ? next.slotOf(seat.getSeatNumber()) : -1;
+                if (slot >= 0) {
+                    seats[slot] = seat;
+                    status[slot] = statusOf(seat);
+                }
+            }
+            revalidate();
+            repaint();
+            return;
+        }
+        updateSeats(flightSeats);
+    }
+
+    /**
+     * Applies a delta of changed seats to the map already shown, repainting
+     * only the seats whose status differs. Seats outside the layout are
+     * ignored.
+     *
+     * @param changed Seats of the shown flight whose state may have changed
+     */
+    public void updateSeats(Collection<Seat> changed) {
+        if (layout == null) {
+            return;
+        }
+
+        for (Seat seat : changed) {
+            int slot = layout.slotOf(seat.getSeatNumber());
+            if (slot < 0) {
+                continue;
+            }
+            seats[slot] = seat;
+            byte updated = statusOf(seat);
+            if (status[slot] != updated) {
+                status[slot] = updated;
+                if (slot == selectedSlot && updated != Seat.SeatStatus.AVAILABLE.ordinal()) {
+                    selectedSlot = -1;
+                }
+                repaintSlot(slot);
+            }
+        }
+    }
+
+    /**
+     * @return the selected seat, or null
+     */
+    public Seat getSelectedSeat() {
+        return selectedSlot >= 0 ? seats[selectedSlot] : null;
+    }
+
+    public void clearSelection() {
+        setSelectedSlot(-1);
+    }
+
+    /**
+     * Wraps the map in a scroll pane that scrolls one seat row per notch.
+     */
+    public JScrollPane createScrollPane() {
+        JScrollPane scrollPane = new JScrollPane(this);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(CabinLayout.ROW_PITCH);
+        scrollPane.getViewport().setScrollMode(JViewport.BLIT_SCROLL_MODE);
+        return scrollPane;
+    }
+
+    /**
+     * Colour key for the map.
+     */
+    public static JPanel createLegend() {
+        JPanel legend = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 2));
+        legend.add(legendEntry(AVAILABLE_FIRST, "First"));
+        legend.add(legendEntry(AVAILABLE_BUSINESS, "Business"));
+        legend.add(legendEntry(AVAILABLE_ECONOMY, "Economy"));
+        legend.add(legendEntry(TAKEN, "Taken"));
+        legend.add(legendEntry(BLOCKED, "Blocked"));
+        legend.add(legendEntry(SELECTED, "Your seat"));
+        return legend;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        if (layout == null) {
+            return EMPTY_SIZE;
+        }
+        return new Dimension(layout.getWidth(), layout.getHeight());
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int slot = slotAt(e);
+        if (slot < 0 || seats[slot] == null) {
+            return null;
+        }
+        Seat seat = seats[slot];
+        return seat.getSeatNumber() + " - " + seat.getSeatClass() + ", " + seat.getSeatType()
+                + ", $" + String.format("%.2f", seat.getPrice())
+                + (status[slot] != Seat.SeatStatus.AVAILABLE.ordinal() ? " (" + seat.getStatus() + ")" : "");
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics;
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (layout == null) {
+            g.setColor(Color.GRAY);
+            g.drawString("No seat map available", 16, 24);
+            return;
+        }
+
+        g.drawImage(layout.getCabinImage(), 0, 0, null);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int end = layout.endSlotUntil(clip.y + clip.height);
+        for (int slot = layout.firstSlotFrom(clip.y); slot < end; slot++) {
+            paintSeat(g, slot);
+        }
+    }
+
+    private void paintSeat(Graphics2D g, int slot) {
+        byte seatStatus = status[slot];
+        if (seatStatus == NO_SEAT) {
+            return;
+        }
+
+        int x = layout.slotX(slot);
+        int y = layout.slotY(slot);
+        int size = CabinLayout.SEAT_SIZE;
+        g.setColor(slot == selectedSlot ? SELECTED : fillFor(slot, STATUSES[seatStatus]));
+        g.fillRoundRect(x + 2, y + 2, size - 4, size - 4, 5, 5);
+
+        if (slot == hoverSlot && seatStatus == Seat.SeatStatus.AVAILABLE.ordinal()) {
+            g.setColor(HOVER);
+            g.setStroke(new BasicStroke(2f));
+            g.drawRoundRect(x + 1, y + 1, size - 3, size - 3, 6, 6);
+        }
+    }
+
+    private Color fillFor(int slot, Seat.SeatStatus seatStatus) {
+        switch (seatStatus) {
+            case AVAILABLE:
+                switch (layout.slotClass(slot)) {
+                    case FIRST:
+                        return AVAILABLE_FIRST;
+                    case BUSINESS:
+                        return AVAILABLE_BUSINESS;
+                    default:
+                        return AVAILABLE_ECONOMY;
+                }
+            case BLOCKED:
+                return BLOCKED;
+            default:
+                return TAKEN;
+        }
+    }
+
+    private int slotAt(MouseEvent e) {
+        return layout != null ? layout.slotAt(e.getX(), e.getY()) : -1;
+    }
+
+    private void setHoverSlot(int slot) {
+        if (slot == hoverSlot) {
+            return;
+        }
+        int previous = hoverSlot;
+        hoverSlot = slot;
+        repaintSlot(previous);
+        repaintSlot(slot);
+    }
+
+    private void setSelectedSlot(int slot) {
+        int previous = selectedSlot;
+        selectedSlot = slot;
+        repaintSlot(previous);
+        repaintSlot(slot);
+    }
+
+    private void repaintSlot(int slot) {
+        if (slot >= 0 && layout != null) {
+            repaint(layout.slotBounds(slot));
+        }
+    }
+
+    private static byte statusOf(Seat seat) {
+        Seat.SeatStatus seatStatus = seat.getStatus() != null ? seat.getStatus() : Seat.SeatStatus.BLOCKED;
+        return (byte) seatStatus.ordinal();
+    }
+
+    private static JLabel legendEntry(Color color, String text) {
+        JLabel label = new JLabel(text);
+        label.setIcon(new Icon() {
+            @Override
+            public void paintIcon(Component c, Graphics g, int x, int y) {
+                g.setColor(color);
+                g.fillRect(x, y, 12, 12);
+            }
+
+            @Override
+            public int getIconWidth() {
+                return 12;
+            }
+
+            @Override
+            public int getIconHeight() {
+                return 12;
+            }
+        });
+        label.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 4));
+        return label;
+    }
+}
@@ -1,9 +1,16 @@
 package com.flightreservation.ui.util;
 
+import java.awt.Component;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
+import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
 
 /**
  * Factory for creating standardized JTable components.
@@ -76,4 +83,96 @@ public class TableFactory {
     public static DefaultTableModel getTableModel(JTable table) {
         return (DefaultTableModel) table.getModel();
     }
+    /**
+     * Creates a read-only table over a paged model. Cells are formatted only
+     * when painted, rows that are still loading show a placeholder, and
+     * clicking a sortable header re-queries the data source in that order.
+     * 
+     * @param model Paged model backing the table
+     * @return Configured JTable without a client-side row sorter
+     */
+    public static JTable createPagedTable(PagedTableModel<?> model) {
+        JTable table = new JTable(model);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setRowHeight(25);
+        table.getTableHeader().setReorderingAllowed(false);
+        installFormattedRenderer(table, model);
+
+        JTableHeader header = table.getTableHeader();
+        header.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(header.columnAtPoint(e.getPoint()));
+                if (column < 0 || !model.isSortable(column)) {
+                    return;
+                }
+                table.clearSelection();
+                model.sortBy(column);
+                updateSortIndicators(table, model);
+            }
+        });
+
+        return table;
+    }
+
+    /**
+     * Creates a read-only, client-side sortable table over a keyed model.
+     * Refreshes applied to the model as diffs keep the selection and sort.
+     * 
+     * @param model Keyed model backing the table
+     * @return Configured JTable with a row sorter
+     */
+    public static JTable createKeyedTable(KeyedTableModel<?, ?> model) {
+        JTable table = new JTable(model);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setRowHeight(25);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setAutoCreateRowSorter(true);
+        installFormattedRenderer(table, model);
+        return table;
+    }
+
+    private static void installFormattedRenderer(JTable table, FormattedTableModel model) {
+        FormattedCellRenderer renderer = new FormattedCellRenderer(model);
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            table.getColumnModel().getColumn(i).setCellRenderer(renderer);
+        }
+    }
+
+    private static void updateSortIndicators(JTable table, PagedTableModel<?> model) {
+        for (int i = 0; i < table.getColumnCount(); i++) {
+            TableColumn column = table.getColumnModel().getColumn(i);
+            int modelIndex = column.getModelIndex();
+            String name = model.getColumnName(modelIndex);
+            if (modelIndex == model.getSortColumn()) {
+                name += model.isAscending() ? " \u25B2" : " \u25BC";
+            }
+            column.setHeaderValue(name);
+        }
+        table.getTableHeader().repaint();
+    }
+
+    /**
+     * Formats typed cell values through the model's column formatters.
+     */
+    private static class FormattedCellRenderer extends DefaultTableCellRenderer {
+        private final FormattedTableModel model;
+
+        FormattedCellRenderer(FormattedTableModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            String text;
+            int modelColumn = table.convertColumnIndexToModel(column);
+            if (value != null) {
+                text = model.formatValue(modelColumn, value);
+            } else {
+                text = model.isRowLoaded(table.convertRowIndexToModel(row)) ? "N/A" : "Loading...";
+            }
+            return super.getTableCellRendererComponent(table, text, isSelected, hasFocus, row, column);
+        }
+    }
 }
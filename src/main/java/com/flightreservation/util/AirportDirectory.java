@@ -0,0 +1,230 @@
+package com.flightreservation.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.RouteDAO;
+
+/**
+ * in-memory dictionary of the airports served by the route network, used for autocomplete and to
+ * validate search input before it reaches the database
+ *
+ * - codes come from the routes table, ranked by the number of flights touching the airport
+ * - names and cities come from the bundled airports.csv and are indexed word by word, so "los"
+ * finds LAX
+ * - built lazily off the EDT, rebuilt in the background whenever a route changes, lookups keep using
+ * the previous snapshot until the new one is published
+ */
+public class AirportDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(AirportDirectory.class);
+    private static final String NAMES_RESOURCE = "airports.csv";
+    private static final int MAX_COMPLETIONS = 10;
+
+    private static volatile AirportDirectory instance;
+
+    private final RouteDAO routeDAO;
+    private final ExecutorService reloader;
+    private final AtomicBoolean reloadQueued = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /**
+     * one airport in the dictionary
+     */
+    public static class Airport {
+        private final String code;
+        private final String name;
+        private final String city;
+        private final int flights;
+
+        Airport(String code, String name, String city, int flights) {
+            this.code = code;
+            this.name = name;
+            this.city = city;
+            this.flights = flights;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public int getFlights() {
+            return flights;
+        }
+
+        @Override
+        public String toString() {
+            if (name == null) {
+                return code;
+            }
+            return code + " - " + name + (city != null ? ", " + city : "");
+        }
+    }
+
+    private static class Snapshot {
+        final PrefixTrie<Airport> trie;
+        final Map<String, Airport> byCode;
+
+        Snapshot(PrefixTrie<Airport> trie, Map<String, Airport> byCode) {
+            this.trie = trie;
+            this.byCode = byCode;
+        }
+    }
+
+    private AirportDirectory() {
+        this.routeDAO = new RouteDAO();
+        this.reloader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "airport-directory");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RouteDAO.addRouteListener(this::scheduleReload);
+    }
+
+    public static AirportDirectory getInstance() {
+        if (instance == null) {
+            synchronized (AirportDirectory.class) {
+                if (instance == null) {
+                    instance = new AirportDirectory();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * builds the dictionary if it is not loaded yet, call off the EDT
+     */
+    public void ensureLoaded() throws SQLException {
+        if (snapshot == null) {
+            reload();
+        }
+    }
+
+    /**
+     * rebuilds the dictionary from the routes table and the bundled names, call off the EDT
+     */
+    public synchronized void reload() throws SQLException {
+        Map<String, Integer> popularity = routeDAO.getAirportPopularity();
+        Map<String, String[]> names = loadNames();
+
+        PrefixTrie<Airport> trie = new PrefixTrie<>(MAX_COMPLETIONS);
+        Map<String, Airport> byCode = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : popularity.entrySet()) {
+            String code = entry.getKey();
+            String[] nameAndCity = names.get(code);
+            Airport airport = new Airport(code,
+                    nameAndCity != null ? nameAndCity[0] : null,
+                    nameAndCity != null ? nameAndCity[1] : null,
+                    entry.getValue());
+
+            int index = trie.add(airport, airport.getFlights());
+            trie.addKey(code, index);
+            if (airport.getName() != null) {
+                addWords(trie, airport.getName(), index);
+            }
+            if (airport.getCity() != null) {
+                addWords(trie, airport.getCity(), index);
+            }
+            byCode.put(code, airport);
+        }
+
+        snapshot = new Snapshot(trie, byCode);
+        logger.info("Airport directory built with {} airports", byCode.size());
+    }
+
+    /**
+     * queues a background rebuild, a burst of route changes results in a single reload
+     */
+    private void scheduleReload() {
+        if (!reloadQueued.compareAndSet(false, true)) {
+            return;
+        }
+        reloader.execute(() -> {
+            reloadQueued.set(false);
+            try {
+                reload();
+            } catch (SQLException e) {
+                logger.warn("Could not rebuild airport directory after a route change: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * best airports for what the user typed so far, most flights first, empty until loaded
+     */
+    public List<Airport> complete(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null || prefix == null || prefix.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        return current.trie.complete(prefix, limit);
+    }
+
+    /**
+     * true when the code is served by at least one route
+     */
+    public boolean isKnownCode(String code) {
+        Snapshot current = snapshot;
+        return current != null && code != null && current.byCode.containsKey(code.trim().toUpperCase());
+    }
+
+    private void addWords(PrefixTrie<Airport> trie, String text, int index) {
+        for (String word : text.split("[\\s/\\-]+")) {
+            if (!word.isEmpty()) {
+                trie.addKey(word, index);
+            }
+        }
+        trie.addKey(text, index);
+    }
+
+    private Map<String, String[]> loadNames() {
+        Map<String, String[]> names = new HashMap<>();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(NAMES_RESOURCE)) {
+            if (input == null) {
+                logger.warn("{} not found, airports will be listed by code only", NAMES_RESOURCE);
+                return names;
+            }
+
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",", 3);
+                if (parts.length == 3) {
+                    names.put(parts[0].trim().toUpperCase(), new String[] { parts[1].trim(), parts[2].trim() });
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {}", NAMES_RESOURCE, e);
+        }
+        return names;
+    }
+}
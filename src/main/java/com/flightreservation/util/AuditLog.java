@@ -0,0 +1,57 @@
+package com.flightreservation.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.model.entities.Reservation;
+import com.flightreservation.model.entities.User;
+
+/**
+ * business events that must not get lost, one line each on the "audit" logger
+ *
+ * - logback.xml writes that logger synchronously to logs/audit.log and nowhere else, unlike the
+ * application logs which may drop lines under load
+ * - lines are an upper case event name followed by key=value pairs, by= is the user of the current
+ * session or "system"
+ */
+public final class AuditLog {
+    private static final Logger audit = LoggerFactory.getLogger("audit");
+
+    private AuditLog() {
+    }
+
+    public static void reservationCreated(Reservation reservation) {
+        audit.info("RESERVATION_CREATED reservation={} confirmation={} customer={} flight={} passengers={} "
+                + "fare={} by={}", reservation.getReservationId(), reservation.getConfirmationNumber(),
+                reservation.getCustomerId(), reservation.getFlightId(), reservation.getPassengers().size(),
+                String.format("%.2f", reservation.getTotalFare()), actor());
+    }
+
+    public static void reservationConfirmed(int reservationId) {
+        audit.info("RESERVATION_CONFIRMED reservation={} by={}", reservationId, actor());
+    }
+
+    public static void reservationCancelled(Reservation reservation) {
+        audit.info("RESERVATION_CANCELLED reservation={} confirmation={} customer={} flight={} passengers={} by={}",
+                reservation.getReservationId(), reservation.getConfirmationNumber(), reservation.getCustomerId(),
+                reservation.getFlightId(), reservation.getPassengers().size(), actor());
+    }
+
+    public static void paymentDeclined(int customerId, int flightId, double amount, String method) {
+        audit.info("PAYMENT_DECLINED customer={} flight={} amount={} method={} by={}", customerId, flightId,
+                String.format("%.2f", amount), method, actor());
+    }
+
+    public static void loginSucceeded(User user) {
+        audit.info("LOGIN user={} username={} role={}", user.getUserId(), user.getUsername(), user.getRole());
+    }
+
+    public static void loginFailed(String username) {
+        audit.info("LOGIN_FAILED username={}", username);
+    }
+
+    private static String actor() {
+        User user = SessionContext.currentUser();
+        return user != null ? "user:" + user.getUserId() : "system";
+    }
+}
@@ -0,0 +1,40 @@
+package com.flightreservation.util;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * remembers how far a consumer has synced with a table's updated_at column
+ *
+ * - since() overlaps the previous sync a little so rows written by transactions that committed
+ * just after the last query are not missed, consumers must apply changes idempotently
+ * - null from since() means a full load is needed
+ */
+public class ChangeCursor {
+    private static final Duration DEFAULT_OVERLAP = Duration.ofSeconds(5);
+
+    private final Duration overlap;
+    private Instant syncedAt;
+
+    public ChangeCursor() {
+        this(DEFAULT_OVERLAP);
+    }
+
+    public ChangeCursor(Duration overlap) {
+        this.overlap = overlap;
+    }
+
+    public synchronized Instant since() {
+        return syncedAt != null ? syncedAt.minus(overlap) : null;
+    }
+
+    public synchronized void advance(Instant databaseTime) {
+        if (syncedAt == null || databaseTime.isAfter(syncedAt)) {
+            syncedAt = databaseTime;
+        }
+    }
+
+    public synchronized void reset() {
+        syncedAt = null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.flightreservation.util;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * result of an incremental sync: rows changed since the cursor, optionally the IDs still present
+ * (so deletions can be detected) and the database time the sync was taken at
+ */
+public class ChangeSet<T> {
+    private final List<T> changed;
+    private final Set<Integer> liveIds;
+    private final Instant syncedAt;
+    private final boolean fullLoad;
+
+    private ChangeSet(List<T> changed, Set<Integer> liveIds, Instant syncedAt, boolean fullLoad) {
+        this.changed = changed;
+        this.liveIds = liveIds;
+        this.syncedAt = syncedAt;
+        this.fullLoad = fullLoad;
+    }
+
+    /**
+     * every row of the view, rows not in the list are gone
+     */
+    public static <T> ChangeSet<T> full(List<T> rows, Instant syncedAt) {
+        return new ChangeSet<>(rows, null, syncedAt, true);
+    }
+
+    /**
+     * rows changed since the cursor, liveIds may be null when deletions are not tracked
+     */
+    public static <T> ChangeSet<T> incremental(List<T> changed, Set<Integer> liveIds, Instant syncedAt) {
+        return new ChangeSet<>(changed, liveIds, syncedAt, false);
+    }
+
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public Set<Integer> getLiveIds() {
+        return liveIds;
+    }
+
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    public boolean isFullLoad() {
+        return fullLoad;
+    }
+}
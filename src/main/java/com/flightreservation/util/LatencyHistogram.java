@@ -0,0 +1,128 @@
+package com.flightreservation.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * lock-free histogram of durations with log-linear buckets
+ *
+ * - values are kept in microseconds, each power of two is split into 8 sub-buckets so any
+ * reported percentile is within about 12% of the true value
+ * - recording is a few atomic increments, safe to call from any thread including the EDT
+ * - covers 1 microsecond up to about 2^43 microseconds (100 days), larger values land in the top bucket
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 40;
+    private static final int BUCKETS = (MAGNITUDES + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long duration, TimeUnit unit) {
+        recordMicros(unit.toMicros(duration));
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sumMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sumMicros.get() / n;
+    }
+
+    /**
+     * upper bound of the bucket holding the given percentile (0-100), 0 when nothing was recorded
+     */
+    public long percentileMicros(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                // the top bucket is open ended, its bound says nothing about the values in it
+                return bucket == BUCKETS - 1 ? maxMicros.get() : Math.min(upperBoundOf(bucket), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * number of recorded values at or above the threshold, bucket precision
+     */
+    public long countAtOrAbove(long micros) {
+        long above = 0;
+        for (int bucket = bucketOf(micros); bucket < BUCKETS; bucket++) {
+            above += counts.get(bucket);
+        }
+        return above;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.set(0);
+        sumMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    /**
+     * one line summary in milliseconds, e.g. for logs and admin views
+     */
+    public String summary() {
+        return String.format("n=%d p50=%.1fms p90=%.1fms p99=%.1fms p999=%.1fms max=%.1fms",
+                getCount(),
+                percentileMicros(50) / 1000.0,
+                percentileMicros(90) / 1000.0,
+                percentileMicros(99) / 1000.0,
+                percentileMicros(99.9) / 1000.0,
+                getMaxMicros() / 1000.0);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        if (magnitude > MAGNITUDES) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (magnitude - 1)) - SUB_BUCKETS;
+        return magnitude * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        int magnitude = bucket / SUB_BUCKETS;
+        int sub = bucket % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return sub;
+        }
+        return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - 1)) - 1;
+    }
+}
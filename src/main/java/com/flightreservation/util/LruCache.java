@@ -0,0 +1,47 @@
+package com.flightreservation.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * small thread safe least-recently-used cache
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+
+    public LruCache(int capacity) {
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * copy of the current entries, eldest first
+     */
+    public synchronized Map<K, V> snapshot() {
+        return new LinkedHashMap<>(entries);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
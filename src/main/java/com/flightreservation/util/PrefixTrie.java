@@ -0,0 +1,140 @@
+package com.flightreservation.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * prefix trie returning the highest weighted values for a prefix
+ *
+ * - children are kept as sorted char arrays, not maps, to stay small
+ * - every node keeps the indexes of its best values, so a lookup is one walk down the prefix
+ * with no subtree scan
+ * - keys are case-insensitive, one value may be reachable through several keys (e.g. code and city)
+ * - not thread safe while adding, build it fully and then publish it
+ */
+public class PrefixTrie<V> {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_RANKED = new int[0];
+
+    private final int maxRanked;
+    private final List<V> values = new ArrayList<>();
+    private final List<Integer> weights = new ArrayList<>();
+    private final Node root = new Node();
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int[] ranked = NO_RANKED;
+    }
+
+    /**
+     * @param maxRanked most completions a lookup can return
+     */
+    public PrefixTrie(int maxRanked) {
+        this.maxRanked = maxRanked;
+    }
+
+    /**
+     * adds a value, returns its index for use with {@link #addKey(String, int)}
+     */
+    public int add(V value, int weight) {
+        values.add(value);
+        weights.add(weight);
+        return values.size() - 1;
+    }
+
+    /**
+     * makes an added value reachable through every prefix of the key
+     */
+    public void addKey(String key, int valueIndex) {
+        String normalized = key.trim().toUpperCase();
+        Node node = root;
+        rank(node, valueIndex);
+        for (int i = 0; i < normalized.length(); i++) {
+            node = childFor(node, normalized.charAt(i));
+            rank(node, valueIndex);
+        }
+    }
+
+    /**
+     * best values whose keys start with the prefix, highest weight first
+     */
+    public List<V> complete(String prefix, int limit) {
+        Node node = root;
+        String normalized = prefix.trim().toUpperCase();
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = find(node, normalized.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        int count = Math.min(limit, node.ranked.length);
+        List<V> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(values.get(node.ranked[i]));
+        }
+        return result;
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    private Node find(Node node, char c) {
+        int index = Arrays.binarySearch(node.keys, c);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    private Node childFor(Node node, char c) {
+        int index = Arrays.binarySearch(node.keys, c);
+        if (index >= 0) {
+            return node.children[index];
+        }
+
+        int insertAt = -index - 1;
+        Node child = new Node();
+        char[] keys = new char[node.keys.length + 1];
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.keys, 0, keys, 0, insertAt);
+        System.arraycopy(node.children, 0, children, 0, insertAt);
+        keys[insertAt] = c;
+        children[insertAt] = child;
+        System.arraycopy(node.keys, insertAt, keys, insertAt + 1, node.keys.length - insertAt);
+        System.arraycopy(node.children, insertAt, children, insertAt + 1, node.children.length - insertAt);
+        node.keys = keys;
+        node.children = children;
+        return child;
+    }
+
+    /**
+     * inserts the value into the node's ranked list, keeping it sorted by weight and capped at maxRanked
+     */
+    private void rank(Node node, int valueIndex) {
+        int[] ranked = node.ranked;
+        for (int existing : ranked) {
+            if (existing == valueIndex) {
+                return;
+            }
+        }
+
+        int weight = weights.get(valueIndex);
+        int position = 0;
+        while (position < ranked.length && weights.get(ranked[position]) >= weight) {
+            position++;
+        }
+        if (position >= maxRanked) {
+            return;
+        }
+
+        int length = Math.min(ranked.length + 1, maxRanked);
+        int[] updated = new int[length];
+        System.arraycopy(ranked, 0, updated, 0, position);
+        updated[position] = valueIndex;
+        System.arraycopy(ranked, position, updated, position + 1, length - position - 1);
+        node.ranked = updated;
+    }
+}
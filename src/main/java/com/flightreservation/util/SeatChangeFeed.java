@@ -0,0 +1,221 @@
+package com.flightreservation.util;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.SeatDAO;
+import com.flightreservation.database.DatabaseManager;
+import com.flightreservation.model.entities.Seat;
+
+/**
+ * in-process stream of seat status changes, delivered per flight to whoever has that flight open
+ *
+ * - fed by seat writes of this instance and, when polling is started, by seats.updated_at so
+ * writes of other instances show up as well
+ * - changes are coalesced per flight for a short window, a listener gets the latest state of each
+ * changed seat once instead of every intermediate write
+ * - seats no one is subscribed to are never loaded or buffered
+ * - all buffering runs on one thread, listeners are called on it and must hop to the EDT themselves
+ */
+public class SeatChangeFeed {
+    private static final Logger logger = LoggerFactory.getLogger(SeatChangeFeed.class);
+    private static final long COALESCE_MILLIS = 200;
+    private static final Duration FIRST_POLL_LOOKBACK = Duration.ofSeconds(5);
+
+    private static volatile SeatChangeFeed instance;
+
+    private final SeatDAO seatDAO;
+    private final ScheduledExecutorService executor;
+    private final Map<Integer, List<SeatChangeListener>> listeners = new ConcurrentHashMap<>();
+
+    // everything below is confined to the executor thread
+    private final Map<Integer, Map<Integer, Seat>> pending = new HashMap<>();
+    private final Map<Integer, Map<Integer, Seat.SeatStatus>> delivered = new HashMap<>();
+    private final ChangeCursor pollCursor = new ChangeCursor();
+    private ScheduledFuture<?> poller;
+
+    /**
+     * receives the seats of one flight whose status changed since the last call
+     */
+    public interface SeatChangeListener {
+        void seatsChanged(int flightId, List<Seat> changed);
+    }
+
+    /**
+     * handle returned by subscribe, closing it stops the deliveries
+     */
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private SeatChangeFeed() {
+        this.seatDAO = new SeatDAO();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "seat-changes");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static SeatChangeFeed getInstance() {
+        if (instance == null) {
+            synchronized (SeatChangeFeed.class) {
+                if (instance == null) {
+                    instance = new SeatChangeFeed();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Subscription subscribe(int flightId, SeatChangeListener listener) {
+        listeners.computeIfAbsent(flightId, id -> new CopyOnWriteArrayList<>()).add(listener);
+        logger.debug("Subscribed to seat changes of flight {}", flightId);
+        return () -> unsubscribe(flightId, listener);
+    }
+
+    public boolean hasSubscribers() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * called after this instance wrote the given seats, the seats are read back on the feed thread
+     * and only when someone is watching, so writers never pay for it
+     */
+    public void seatsWritten(Collection<Integer> seatIds) {
+        if (seatIds.isEmpty() || !hasSubscribers()) {
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(seatIds);
+        executor.execute(() -> {
+            try {
+                publishOnFeedThread(seatDAO.getSeatsByIds(ids));
+            } catch (SQLException e) {
+                logger.warn("Could not read back {} written seats", ids.size(), e);
+            }
+        });
+    }
+
+    /**
+     * hands already loaded seats to the stream, e.g. from another source of changes
+     */
+    public void publish(List<Seat> seats) {
+        if (seats.isEmpty() || !hasSubscribers()) {
+            return;
+        }
+        List<Seat> copy = new ArrayList<>(seats);
+        executor.execute(() -> publishOnFeedThread(copy));
+    }
+
+    /**
+     * polls seats.updated_at for changes made by other instances while anyone is subscribed
+     */
+    public void startPolling(Duration interval) {
+        executor.execute(() -> {
+            if (poller != null) {
+                return;
+            }
+            long millis = interval.toMillis();
+            poller = executor.scheduleWithFixedDelay(this::poll, millis, millis, TimeUnit.MILLISECONDS);
+            logger.info("Polling seat changes every {} ms", millis);
+        });
+    }
+
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void unsubscribe(int flightId, SeatChangeListener listener) {
+        listeners.computeIfPresent(flightId, (id, current) -> {
+            current.remove(listener);
+            return current.isEmpty() ? null : current;
+        });
+        executor.execute(() -> {
+            if (!listeners.containsKey(flightId)) {
+                pending.remove(flightId);
+                delivered.remove(flightId);
+            }
+        });
+    }
+
+    private void poll() {
+        if (!hasSubscribers()) {
+            pollCursor.reset();
+            return;
+        }
+        try {
+            Instant now = DatabaseManager.getInstance().getCurrentTimestamp();
+            Instant since = pollCursor.since() != null ? pollCursor.since() : now.minus(FIRST_POLL_LOOKBACK);
+            publishOnFeedThread(seatDAO.getChangedSince(since));
+            pollCursor.advance(now);
+        } catch (SQLException e) {
+            logger.warn("Seat change poll failed", e);
+        } catch (RuntimeException e) {
+            // an escaping exception would cancel the periodic poll
+            logger.error("Seat change poll failed", e);
+        }
+    }
+
+    private void publishOnFeedThread(List<Seat> seats) {
+        for (Seat seat : seats) {
+            int flightId = seat.getFlightId();
+            if (!listeners.containsKey(flightId)) {
+                continue;
+            }
+            // the poll overlaps its previous window, so most rows it returns were already delivered
+            Seat.SeatStatus last = delivered.computeIfAbsent(flightId, id -> new HashMap<>()).get(seat.getSeatId());
+            if (last == seat.getStatus()) {
+                continue;
+            }
+
+            Map<Integer, Seat> buffer = pending.get(flightId);
+            if (buffer == null) {
+                buffer = new LinkedHashMap<>();
+                pending.put(flightId, buffer);
+                executor.schedule(() -> flush(flightId), COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            buffer.put(seat.getSeatId(), seat);
+        }
+    }
+
+    private void flush(int flightId) {
+        Map<Integer, Seat> buffer = pending.remove(flightId);
+        List<SeatChangeListener> targets = listeners.get(flightId);
+        if (buffer == null || buffer.isEmpty() || targets == null) {
+            return;
+        }
+
+        Map<Integer, Seat.SeatStatus> known = delivered.computeIfAbsent(flightId, id -> new HashMap<>());
+        for (Seat seat : buffer.values()) {
+            known.put(seat.getSeatId(), seat.getStatus());
+        }
+        SeatMapCache.getInstance().invalidate(flightId);
+
+        List<Seat> changed = new ArrayList<>(buffer.values());
+        logger.debug("Delivering {} seat changes of flight {}", changed.size(), flightId);
+        for (SeatChangeListener listener : targets) {
+            try {
+                listener.seatsChanged(flightId, changed);
+            } catch (RuntimeException e) {
+                logger.error("Seat change listener failed for flight {}", flightId, e);
+            }
+        }
+    }
+}
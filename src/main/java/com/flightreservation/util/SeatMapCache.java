@@ -0,0 +1,169 @@
+package com.flightreservation.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.SeatDAO;
+import com.flightreservation.metrics.Counter;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.model.entities.Seat;
+
+/**
+ * short-lived cache of seat maps keyed by flight, filled speculatively when a flight is selected
+ * so the booking dialog can open without waiting for the database
+ *
+ * - entries older than the TTL are still handed out by getIfPresent, callers show them and
+ * revalidate in the background
+ * - concurrent loads of the same flight share one query
+ */
+public class SeatMapCache {
+    private static final Logger logger = LoggerFactory.getLogger(SeatMapCache.class);
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final int MAX_FLIGHTS = 32;
+    private static final Counter hits = MetricsRegistry.getInstance().counter("cache.SeatMapCache.hits");
+    private static final Counter misses = MetricsRegistry.getInstance().counter("cache.SeatMapCache.misses");
+
+    private static volatile SeatMapCache instance;
+
+    private final SeatDAO seatDAO;
+    private final LruCache<Integer, SeatMap> maps = new LruCache<>(MAX_FLIGHTS);
+    private final Map<Integer, CompletableFuture<SeatMap>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * every seat of one flight as read at loadedAt, with available seats counted per class
+     */
+    public static class SeatMap {
+        private final int flightId;
+        private final List<Seat> seats;
+        private final Map<Seat.SeatClass, Integer> availableByClass;
+        private final long loadedAt;
+
+        SeatMap(int flightId, List<Seat> seats, long loadedAt) {
+            this.flightId = flightId;
+            this.seats = Collections.unmodifiableList(seats);
+            this.loadedAt = loadedAt;
+
+            Map<Seat.SeatClass, Integer> counts = new EnumMap<>(Seat.SeatClass.class);
+            for (Seat seat : seats) {
+                if (seat.isAvailable()) {
+                    counts.merge(seat.getSeatClass(), 1, Integer::sum);
+                }
+            }
+            this.availableByClass = Collections.unmodifiableMap(counts);
+        }
+
+        public int getFlightId() {
+            return flightId;
+        }
+
+        public List<Seat> getSeats() {
+            return seats;
+        }
+
+        public List<Seat> getAvailableSeats() {
+            List<Seat> available = new ArrayList<>();
+            for (Seat seat : seats) {
+                if (seat.isAvailable()) {
+                    available.add(seat);
+                }
+            }
+            return available;
+        }
+
+        public Map<Seat.SeatClass, Integer> getAvailableByClass() {
+            return availableByClass;
+        }
+
+        public boolean isFresh() {
+            return System.nanoTime() - loadedAt < TTL_NANOS;
+        }
+    }
+
+    private SeatMapCache() {
+        this.seatDAO = new SeatDAO();
+        MetricsRegistry.getInstance().gauge("cache.SeatMapCache.size", maps::size);
+    }
+
+    public static SeatMapCache getInstance() {
+        if (instance == null) {
+            synchronized (SeatMapCache.class) {
+                if (instance == null) {
+                    instance = new SeatMapCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * cached map of the flight even if stale, or null, never queries
+     */
+    public SeatMap getIfPresent(int flightId) {
+        return maps.get(flightId);
+    }
+
+    /**
+     * cached map when fresh, otherwise loads it, call off the EDT
+     */
+    public SeatMap get(int flightId) {
+        SeatMap cached = maps.get(flightId);
+        if (cached != null && cached.isFresh()) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return refresh(flightId);
+    }
+
+    /**
+     * reads the seat map from the database and caches it, call off the EDT
+     */
+    public SeatMap refresh(int flightId) {
+        CompletableFuture<SeatMap> pending = new CompletableFuture<>();
+        CompletableFuture<SeatMap> running = loading.putIfAbsent(flightId, pending);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            SeatMap map = new SeatMap(flightId, seatDAO.getSeatsByFlightId(flightId), System.nanoTime());
+            maps.put(flightId, map);
+            pending.complete(map);
+            return map;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(flightId, pending);
+        }
+    }
+
+    /**
+     * drops the flight's map, e.g. after a booking changed its seats
+     */
+    public void invalidate(int flightId) {
+        maps.remove(flightId);
+        logger.debug("Seat map of flight {} invalidated", flightId);
+    }
+
+    private SeatMap join(CompletableFuture<SeatMap> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
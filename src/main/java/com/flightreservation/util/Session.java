@@ -0,0 +1,76 @@
+package com.flightreservation.util;
+
+import java.time.Instant;
+
+import com.flightreservation.model.entities.User;
+
+/**
+ * one logged in user, shared by every request or window acting for that login
+ *
+ * - activity is a single volatile timestamp so touching a session from many threads never contends
+ * - the activity already written to the sessions table is tracked so the store only writes back
+ * sessions that were used since the last flush
+ */
+public final class Session {
+    // activity closer together than this is not worth a write to memory shared across cores
+    private static final long TOUCH_RESOLUTION_MILLIS = 1000;
+
+    private final String sessionId;
+    private final User user;
+    private final Instant startedAt;
+    private volatile long lastActivityMillis;
+    private volatile long flushedActivityMillis;
+
+    /**
+     * @param flushedActivityMillis activity the sessions row already holds, 0 when it may be older
+     */
+    Session(String sessionId, User user, long nowMillis, long flushedActivityMillis) {
+        this.sessionId = sessionId;
+        this.user = user;
+        this.startedAt = Instant.ofEpochMilli(nowMillis);
+        this.lastActivityMillis = nowMillis;
+        this.flushedActivityMillis = flushedActivityMillis;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public User.UserRole getRole() {
+        return user.getRole();
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getLastActivity() {
+        return Instant.ofEpochMilli(lastActivityMillis);
+    }
+
+    void touch(long nowMillis) {
+        if (nowMillis - lastActivityMillis >= TOUCH_RESOLUTION_MILLIS) {
+            lastActivityMillis = nowMillis;
+        }
+    }
+
+    boolean isIdleSince(long cutoffMillis) {
+        return lastActivityMillis < cutoffMillis;
+    }
+
+    /**
+     * activity not yet written back, or -1 when the row is up to date
+     */
+    long unflushedActivityMillis() {
+        long last = lastActivityMillis;
+        return last > flushedActivityMillis ? last : -1;
+    }
+
+    void markFlushed(long activityMillis) {
+        flushedActivityMillis = Math.max(flushedActivityMillis, activityMillis);
+    }
+}
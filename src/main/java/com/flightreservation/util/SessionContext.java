@@ -0,0 +1,87 @@
+package com.flightreservation.util;
+
+import java.util.concurrent.Callable;
+
+import com.flightreservation.model.entities.User;
+
+/**
+ * session the current thread acts for
+ *
+ * - API requests open a scope around their handler, the dashboard attaches its login to the EDT
+ * - background work picks up the session of the thread that submitted it through {@link #wrap}
+ * - opening a scope counts as activity of the session, which is what keeps it from expiring
+ */
+public final class SessionContext {
+    private static final ThreadLocal<Session> current = new ThreadLocal<>();
+
+    /**
+     * restores the session the thread had before the scope was opened
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private SessionContext() {
+    }
+
+    /**
+     * session of the current thread, or null
+     */
+    public static Session current() {
+        return current.get();
+    }
+
+    /**
+     * user of the current thread's session, or null when it acts for no one
+     */
+    public static User currentUser() {
+        Session session = current.get();
+        return session != null ? session.getUser() : null;
+    }
+
+    /**
+     * makes the session current until the scope is closed, null runs the scope without a session
+     */
+    public static Scope open(Session session) {
+        Session previous = current.get();
+        if (session != null) {
+            SessionStore.getInstance().touch(session);
+        }
+        current.set(session);
+        return () -> {
+            if (previous != null) {
+                current.set(previous);
+            } else {
+                current.remove();
+            }
+        };
+    }
+
+    /**
+     * makes the session current for the rest of the thread's life, for long lived threads such as the
+     * EDT that act for one login at a time
+     */
+    public static void attach(Session session) {
+        current.set(session);
+    }
+
+    public static void detach() {
+        current.remove();
+    }
+
+    /**
+     * binds the task to the current session so it runs with it on whatever thread executes it
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Session session = current.get();
+        if (session == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope scope = open(session)) {
+                return task.call();
+            }
+        };
+    }
+}
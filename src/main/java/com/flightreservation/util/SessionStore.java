@@ -0,0 +1,168 @@
+package com.flightreservation.util;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightreservation.dao.UserDAO;
+import com.flightreservation.metrics.MetricsRegistry;
+import com.flightreservation.model.entities.User;
+
+/**
+ * all sessions of this instance, keyed by session id, replaces the single-user SessionManager
+ *
+ * - expiry slides, a session idle for longer than the idle timeout is dropped and no longer found
+ * - activity is only recorded in memory, a background flush writes the sessions that were used since
+ * the previous flush to sessions.last_activity_timestamp in one batch
+ * - a session id not known here, e.g. created by another instance, is looked up in the sessions table
+ * once and kept, the table lags by at most one flush interval
+ */
+public class SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(Long.getLong("sessions.idleMinutes", 30));
+    private static final long FLUSH_SECONDS = Long.getLong("sessions.flushSeconds", 30);
+
+    private static volatile SessionStore instance;
+
+    private final UserDAO userDAO;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    private SessionStore() {
+        this.userDAO = new UserDAO();
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-writeback");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, FLUSH_SECONDS, FLUSH_SECONDS, TimeUnit.SECONDS);
+        MetricsRegistry.getInstance().gauge("session.SessionStore.active", this::getActiveCount);
+    }
+
+    public static SessionStore getInstance() {
+        if (instance == null) {
+            synchronized (SessionStore.class) {
+                if (instance == null) {
+                    instance = new SessionStore();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * records a new session for the user, null when it could not be stored
+     */
+    public Session start(User user, String ipAddress) {
+        String sessionId = userDAO.createSession(user.getUserId(), ipAddress);
+        if (sessionId == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        Session session = new Session(sessionId, user, now, now);
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    /**
+     * live session for the id, counting as activity, or null when it is unknown or expired
+     */
+    public Session find(String sessionId) throws SQLException {
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(sessionId);
+        if (session != null) {
+            if (session.isIdleSince(now - IDLE_TIMEOUT.toMillis())) {
+                sessions.remove(sessionId, session);
+                return null;
+            }
+            session.touch(now);
+            return session;
+        }
+
+        User user = userDAO.getUserBySession(sessionId, IDLE_TIMEOUT.getSeconds());
+        if (user == null) {
+            return null;
+        }
+        Session loaded = new Session(sessionId, user, now, 0);
+        Session raced = sessions.putIfAbsent(sessionId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    /**
+     * records activity of a session the caller holds, e.g. a dashboard acting for its login. A session
+     * dropped while idle is taken back, its owner still has it open.
+     */
+    public void touch(Session session) {
+        session.touch(System.currentTimeMillis());
+        sessions.putIfAbsent(session.getSessionId(), session);
+    }
+
+    public void end(Session session) {
+        sessions.remove(session.getSessionId());
+        userDAO.endSession(session.getSessionId());
+    }
+
+    public int getActiveCount() {
+        return sessions.size();
+    }
+
+    public Duration getIdleTimeout() {
+        return IDLE_TIMEOUT;
+    }
+
+    /**
+     * writes back what is still pending and stops the flush thread
+     */
+    public void stop() {
+        executor.execute(this::flush);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush() {
+        long cutoff = System.currentTimeMillis() - IDLE_TIMEOUT.toMillis();
+        Map<String, Instant> activity = new HashMap<>();
+        List<Session> dirty = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            long unflushed = session.unflushedActivityMillis();
+            if (unflushed > 0) {
+                activity.put(session.getSessionId(), Instant.ofEpochMilli(unflushed));
+                dirty.add(session);
+            }
+            if (session.isIdleSince(cutoff)) {
+                sessions.remove(session.getSessionId(), session);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        try {
+            userDAO.touchSessions(activity);
+            for (Session session : dirty) {
+                session.markFlushed(activity.get(session.getSessionId()).toEpochMilli());
+            }
+        } catch (SQLException e) {
+            // nothing is marked flushed, the next run retries with the then latest activity
+            logger.warn("Could not write back activity of {} sessions", dirty.size(), e);
+        } catch (RuntimeException e) {
+            // an escaping exception would cancel the periodic flush
+            logger.error("Session write-back failed", e);
+        }
+    }
+}
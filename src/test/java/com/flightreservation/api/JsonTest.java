@@ -0,0 +1,117 @@
+package com.flightreservation.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class JsonTest {
+
+    private enum Status {
+        CONFIRMED
+    }
+
+    @Test
+    void writesScalars() {
+        assertEquals("null", Json.write(null));
+        assertEquals("true", Json.write(true));
+        assertEquals("42", Json.write(42));
+        assertEquals("-7", Json.write(-7L));
+        assertEquals("199.5", Json.write(199.5));
+        assertEquals("\"CONFIRMED\"", Json.write(Status.CONFIRMED));
+    }
+
+    @Test
+    void writesWholeDoublesWithoutFraction() {
+        assertEquals("250", Json.write(250.0));
+        assertEquals("1.0E15", Json.write(1e15));
+    }
+
+    @Test
+    void writesNonFiniteNumbersAsNull() {
+        assertEquals("null", Json.write(Double.NaN));
+        assertEquals("null", Json.write(Float.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void escapesStrings() {
+        assertEquals("\"a\\\"b\\\\c\\nd\\re\\tf\\u0001\"", Json.write("a\"b\\c\nd\re\tf\u0001"));
+        assertEquals("\"München → LAX\"", Json.write("München → LAX"));
+    }
+
+    @Test
+    void writesJavaTimeAsIsoStrings() {
+        assertEquals("\"2026-10-19\"", Json.write(LocalDate.of(2026, 10, 19)));
+        assertEquals("\"2026-10-19T08:30\"", Json.write(LocalDateTime.of(2026, 10, 19, 8, 30)));
+    }
+
+    @Test
+    void writesMapsAndCollectionsInOrder() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", 1);
+        map.put("seats", Arrays.asList("1A", "1B"));
+        map.put("empty", new ArrayList<>());
+        map.put("note", null);
+
+        assertEquals("{\"id\":1,\"seats\":[\"1A\",\"1B\"],\"empty\":[],\"note\":null}", Json.write(map));
+    }
+
+    @Test
+    void parsesObjectsInOrderWithTypedNumbers() {
+        Object parsed = Json.parse(" { \"flightId\" : 12, \"fare\": 99.5, \"ok\": true, \"seats\": [1, 2], "
+                + "\"none\": null, \"big\": -3e2 } ");
+
+        Map<?, ?> object = (Map<?, ?>) parsed;
+        assertEquals(List.of("flightId", "fare", "ok", "seats", "none", "big"), new ArrayList<>(object.keySet()));
+        assertEquals(12L, object.get("flightId"));
+        assertEquals(99.5, object.get("fare"));
+        assertEquals(Boolean.TRUE, object.get("ok"));
+        assertEquals(List.of(1L, 2L), object.get("seats"));
+        assertNull(object.get("none"));
+        assertEquals(-300.0, object.get("big"));
+    }
+
+    @Test
+    void parsesEscapes() {
+        assertEquals("a\"b\\c/d\n\t\u00e9\b\f", Json.parse("\"a\\\"b\\\\c\\/d\\n\\t\\u00e9\\b\\f\""));
+    }
+
+    @Test
+    void parsesEmptyContainers() {
+        assertEquals(Map.of(), Json.parse("{}"));
+        assertEquals(List.of(), Json.parse("[ ]"));
+    }
+
+    @Test
+    void roundTripsNestedValues() {
+        Map<String, Object> passenger = new LinkedHashMap<>();
+        passenger.put("name", "Ada \"A\" Lovelace");
+        passenger.put("seatId", 14L);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("customerId", 3L);
+        request.put("passengers", List.of(passenger));
+        request.put("fare", 120.25);
+
+        assertEquals(request, Json.parse(Json.write(request)));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        for (String malformed : new String[] { "", "{", "[1,", "{\"a\" 1}", "{a:1}", "\"open", "tru", "[1] x",
+                "1-2", "\"\\u12\"", "{\"a\":1,}" }) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Json.parse(malformed),
+                    malformed);
+            assertTrue(e.getMessage().startsWith("Malformed JSON at offset"), e.getMessage());
+        }
+    }
+}
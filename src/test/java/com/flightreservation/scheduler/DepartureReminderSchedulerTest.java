@@ -0,0 +1,122 @@
+package com.flightreservation.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightreservation.dao.FlightDAO;
+import com.flightreservation.model.entities.Flight;
+
+/**
+ * runs the real scheduler thread with a sub-second reminder offset, so every case waits a couple of ticks
+ */
+class DepartureReminderSchedulerTest {
+    private static final Duration OFFSET = Duration.ofMillis(500);
+    private static final long SETTLE_MILLIS = 3000;
+
+    private final Flight flight = new Flight();
+    private final List<LocalDateTime> sent = new CopyOnWriteArrayList<>();
+    private final DepartureReminderScheduler scheduler = new DepartureReminderScheduler(List.of(OFFSET),
+            new StubFlightDAO(flight)) {
+        @Override
+        void sendReminder(Flight reminded, Duration offset) {
+            sent.add(reminded.getDepartureTime());
+        }
+    };
+
+    @AfterEach
+    void stopScheduler() {
+        scheduler.stop();
+    }
+
+    @Test
+    void updateWithUnchangedDepartureDoesNotDuplicateReminder() throws InterruptedException {
+        flight.setDepartureTime(LocalDateTime.now().plusNanos(Duration.ofMillis(1700).toNanos()));
+        scheduler.start();
+
+        // AdminController.updateFlight and generateSeatsForFlight both end up here without a schedule change
+        scheduler.onFlightUpdated(copy(flight));
+        scheduler.onFlightUpdated(copy(flight));
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void movedDepartureOnlyFiresForTheNewTime() throws InterruptedException {
+        flight.setDepartureTime(LocalDateTime.now().plusNanos(Duration.ofMillis(1700).toNanos()));
+        scheduler.start();
+
+        LocalDateTime moved = flight.getDepartureTime().plusNanos(Duration.ofMillis(300).toNanos());
+        flight.setDepartureTime(moved);
+        scheduler.onFlightUpdated(copy(flight));
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(List.of(moved), sent);
+    }
+
+    @Test
+    void cancelledFlightDropsItsReminder() throws InterruptedException {
+        flight.setDepartureTime(LocalDateTime.now().plusNanos(Duration.ofMillis(1700).toNanos()));
+        scheduler.start();
+
+        flight.setStatus(Flight.FlightStatus.CANCELLED);
+        scheduler.onFlightUpdated(copy(flight));
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(0, sent.size());
+    }
+
+    @Test
+    void restartedSchedulerReloadsAndFiresOnce() throws InterruptedException {
+        flight.setDepartureTime(LocalDateTime.now().plusNanos(Duration.ofMillis(1700).toNanos()));
+        scheduler.start();
+
+        // the lease moved away and came back before the reminder was due
+        scheduler.stop();
+        scheduler.start();
+        Thread.sleep(SETTLE_MILLIS);
+
+        assertEquals(1, sent.size());
+    }
+
+    private static Flight copy(Flight source) {
+        Flight copy = new Flight();
+        copy.setFlightId(source.getFlightId());
+        copy.setDepartureTime(source.getDepartureTime());
+        copy.setStatus(source.getStatus());
+        return copy;
+    }
+
+    private static final class StubFlightDAO extends FlightDAO {
+        private final Flight flight;
+
+        private StubFlightDAO(Flight flight) {
+            this.flight = flight;
+            flight.setFlightId(7);
+            flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        }
+
+        @Override
+        public Map<Integer, LocalDateTime> getDepartureTimesBetween(LocalDateTime from, LocalDateTime to) {
+            LocalDateTime departure = flight.getDepartureTime();
+            if (departure.isBefore(from) || !departure.isBefore(to)) {
+                return Collections.emptyMap();
+            }
+            return Map.of(flight.getFlightId(), departure);
+        }
+
+        @Override
+        public Flight getFlightById(int flightId) {
+            return flightId == flight.getFlightId() ? copy(flight) : null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.flightreservation.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+    private static final long TICK = 10;
+
+    // 10ms ticks, 4 slots, 3 levels: level 0 covers 40ms, level 1 160ms, level 2 640ms
+    private final HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(TICK, 4, 3, 0);
+
+    @Test
+    void deadlineInsideCurrentTickExpiresImmediately() {
+        List<Long> expired = new ArrayList<>();
+
+        assertTrue(wheel.schedule(5, 5L, expired));
+
+        assertEquals(List.of(5L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesOnTheTickOfItsDeadline() {
+        List<Long> expired = new ArrayList<>();
+        wheel.schedule(30, 30L, expired);
+
+        wheel.advanceTo(29, expired);
+        assertTrue(expired.isEmpty());
+
+        wheel.advanceTo(30, expired);
+        assertEquals(List.of(30L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesFromHigherLevelsWithoutFiringEarly() {
+        List<Long> expired = new ArrayList<>();
+        wheel.schedule(130, 130L, expired);
+        wheel.schedule(500, 500L, expired);
+        assertEquals(2, wheel.size());
+
+        wheel.advanceTo(129, expired);
+        assertTrue(expired.isEmpty());
+        wheel.advanceTo(130, expired);
+        assertEquals(List.of(130L), expired);
+
+        wheel.advanceTo(499, expired);
+        assertEquals(List.of(130L), expired);
+        wheel.advanceTo(500, expired);
+        assertEquals(List.of(130L, 500L), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsDeadlinesBeyondTheHorizon() {
+        List<Long> expired = new ArrayList<>();
+
+        assertEquals(640, wheel.getHorizon());
+        assertFalse(wheel.schedule(640, 640L, expired));
+        assertTrue(wheel.schedule(639, 639L, expired));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void everyEntryFiresExactlyOnceOnItsTick() {
+        Random random = new Random(42);
+        long[] deadlines = new long[2000];
+        List<Long> expired = new ArrayList<>();
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = TICK + random.nextInt(630);
+            wheel.schedule(deadlines[i], (long) i, expired);
+        }
+        assertTrue(expired.isEmpty());
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = TICK; now <= 640; now += TICK) {
+            List<Long> due = new ArrayList<>();
+            wheel.advanceTo(now, due);
+            for (Long id : due) {
+                assertNull(firedAt.put(id, now), "entry " + id + " fired twice");
+            }
+        }
+
+        assertEquals(deadlines.length, firedAt.size());
+        for (int i = 0; i < deadlines.length; i++) {
+            long deadline = deadlines[i];
+            assertEquals(deadline - deadline % TICK, (long) firedAt.get((long) i), "deadline " + deadline);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rejectsInvalidDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(0, 4, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 1, 3, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HierarchicalTimingWheel<>(10, 4, 0, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.flightreservation.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class SqlShapeTest {
+
+    @Test
+    void replacesStringLiteralsIncludingEscapedQuotes() {
+        assertEquals("SELECT * FROM customers WHERE last_name = ? AND city = ?",
+                SqlShape.of("SELECT * FROM customers WHERE last_name = 'O''Brien' AND city = 'Paris'"));
+        assertEquals("UPDATE seats SET status = ?", SqlShape.of("UPDATE seats SET status = ''"));
+    }
+
+    @Test
+    void replacesNumbersButNotIdentifiersContainingDigits() {
+        assertEquals("SELECT t1.col2 FROM t1 WHERE id = ? AND price > ? AND delta = ? LIMIT ? OFFSET ?",
+                SqlShape.of("SELECT t1.col2 FROM t1 WHERE id = 42 AND price > 99.95 AND delta = -3 LIMIT 10 OFFSET 20"));
+    }
+
+    @Test
+    void keepsPlaceholders() {
+        String sql = "SELECT * FROM seats WHERE flight_id = ? AND status = 'AVAILABLE'";
+
+        assertEquals("SELECT * FROM seats WHERE flight_id = ? AND status = ?", SqlShape.of(sql));
+    }
+
+    @Test
+    void collapsesInListsOfAnyLength() {
+        String shape = "SELECT * FROM seats WHERE seat_id IN (?)";
+
+        assertEquals(shape, SqlShape.of("SELECT * FROM seats WHERE seat_id IN (?)"));
+        assertEquals(shape, SqlShape.of("SELECT * FROM seats WHERE seat_id IN (?, ?, ?)"));
+        assertEquals(shape, SqlShape.of("SELECT * FROM seats WHERE seat_id IN (1,2,3,4)"));
+        assertEquals(shape, SqlShape.of("SELECT * FROM seats WHERE seat_id in ( 'a' , 'b' )"));
+    }
+
+    @Test
+    void collapsesWhitespace() {
+        assertEquals("SELECT * FROM flights f JOIN routes r ON f.route_id = r.route_id WHERE f.flight_id = ?",
+                SqlShape.of("  SELECT *\n  FROM flights f\n\tJOIN routes r ON f.route_id = r.route_id\n"
+                        + "  WHERE   f.flight_id = 7  "));
+    }
+
+    @Test
+    void statementsDifferingOnlyInValuesShareAShape() {
+        assertEquals(SqlShape.of("SELECT * FROM reservations WHERE customer_id = 1 AND status = 'PENDING'"),
+                SqlShape.of("SELECT * FROM reservations WHERE customer_id = 250 AND status = 'CONFIRMED'"));
+    }
+
+    @Test
+    void shapeIsStableWhenReshaped() {
+        String shape = SqlShape.of("DELETE FROM user_sessions WHERE last_activity < '2026-01-01' AND user_id IN (3, 4)");
+
+        assertEquals(shape, SqlShape.of(shape));
+        assertEquals(shape, SqlShape.of("DELETE FROM user_sessions WHERE last_activity < '2026-01-01' AND user_id IN (3, 4)"));
+    }
+
+    @Test
+    void nullIsEmpty() {
+        assertEquals("", SqlShape.of(null));
+    }
+}
@@ -0,0 +1,148 @@
+package com.flightreservation.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    void smallValuesGetTheirOwnBucket() {
+        for (int micros = 0; micros < 8; micros++) {
+            assertEquals(micros, LatencyHistogram.bucketOf(micros));
+            assertEquals(micros, LatencyHistogram.upperBoundOf(micros));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinAnEighth() {
+        int previousBucket = -1;
+        for (long micros = 0; micros < 1_000_000; micros++) {
+            int bucket = LatencyHistogram.bucketOf(micros);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+
+            assertTrue(bucket == previousBucket || bucket == previousBucket + 1, "gap before " + micros);
+            assertTrue(micros <= upper, micros + " above its bucket bound " + upper);
+            if (bucket > 0) {
+                assertTrue(LatencyHistogram.upperBoundOf(bucket - 1) < micros, micros + " fits the bucket below");
+            }
+            assertTrue(upper - micros <= micros / 8.0, micros + " bucket bound " + upper + " is too coarse");
+            previousBucket = bucket;
+        }
+    }
+
+    @Test
+    void powerOfTwoBoundaries() {
+        assertEquals(8, LatencyHistogram.bucketOf(8));
+        assertEquals(15, LatencyHistogram.bucketOf(15));
+        assertEquals(16, LatencyHistogram.bucketOf(16));
+        assertEquals(16, LatencyHistogram.bucketOf(17));
+        assertEquals(17, LatencyHistogram.upperBoundOf(16));
+        assertEquals(LatencyHistogram.bucketOf(1L << 20), LatencyHistogram.bucketOf((1L << 20) + 1));
+    }
+
+    @Test
+    void hugeValuesLandInTheTopBucket() {
+        int top = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+        assertEquals(top, LatencyHistogram.bucketOf(1L << 50));
+
+        histogram.recordMicros(Long.MAX_VALUE / 2);
+        assertEquals(1, histogram.getCount());
+        assertEquals(Long.MAX_VALUE / 2, histogram.percentileMicros(99));
+    }
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMaxMicros());
+        assertEquals(500.5, histogram.getMeanMicros(), 1e-9);
+        assertWithinEighth(500, histogram.percentileMicros(50));
+        assertWithinEighth(900, histogram.percentileMicros(90));
+        assertWithinEighth(990, histogram.percentileMicros(99));
+        assertEquals(1000, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void percentileNeverExceedsMax() {
+        histogram.recordMicros(1000);
+
+        assertEquals(1000, histogram.percentileMicros(0));
+        assertEquals(1000, histogram.percentileMicros(50));
+    }
+
+    @Test
+    void emptyHistogram() {
+        assertEquals(0, histogram.percentileMicros(99));
+        assertEquals(0, histogram.getMeanMicros());
+        assertEquals(0, histogram.countAtOrAbove(0));
+    }
+
+    @Test
+    void unitsAreConvertedAndNegativesClampedToZero() {
+        histogram.recordNanos(2_500_000);
+        histogram.record(3, TimeUnit.MILLISECONDS);
+        histogram.recordMicros(-5);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(3000, histogram.getMaxMicros());
+        assertEquals(0, histogram.percentileMicros(1));
+    }
+
+    @Test
+    void countAtOrAboveUsesBucketPrecision() {
+        histogram.recordMicros(100);
+        histogram.recordMicros(1000);
+        histogram.recordMicros(10_000);
+
+        assertEquals(3, histogram.countAtOrAbove(0));
+        assertEquals(2, histogram.countAtOrAbove(1000));
+        assertEquals(1, histogram.countAtOrAbove(5000));
+        assertEquals(0, histogram.countAtOrAbove(20_000));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        histogram.recordMicros(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMicros());
+        assertEquals(0, histogram.percentileMicros(50));
+    }
+
+    @Test
+    void concurrentRecordingLosesNothing() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 10_000; i++) {
+                    histogram.recordMicros(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(40_000, histogram.countAtOrAbove(0));
+        assertEquals(10_000, histogram.getMaxMicros());
+    }
+
+    private static void assertWithinEighth(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 8,
+                "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,93 @@
+package com.flightreservation.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTest {
+    private final LruCache<Integer, String> cache = new LruCache<>(3);
+
+    @Test
+    void evictsLeastRecentlyUsedOnceOverCapacity() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.put(4, "four");
+
+        assertNull(cache.get(1));
+        assertEquals(3, cache.size());
+        assertEquals(List.of(2, 3, 4), new ArrayList<>(cache.snapshot().keySet()));
+    }
+
+    @Test
+    void getRefreshesRecency() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+
+        assertEquals("one", cache.get(1));
+        cache.put(4, "four");
+
+        assertNull(cache.get(2));
+        assertEquals(List.of(3, 1, 4), new ArrayList<>(cache.snapshot().keySet()));
+    }
+
+    @Test
+    void putOfExistingKeyReplacesWithoutEvicting() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.put(1, "uno");
+
+        assertEquals(3, cache.size());
+        assertEquals("uno", cache.get(1));
+        assertEquals("two", cache.get(2));
+    }
+
+    @Test
+    void removeAndClear() {
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        cache.remove(1);
+        assertNull(cache.get(1));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void snapshotIsDetachedFromTheCache() {
+        cache.put(1, "one");
+        cache.snapshot().clear();
+
+        assertEquals("one", cache.get(1));
+    }
+
+    @Test
+    void concurrentWritersNeverExceedCapacity() throws InterruptedException {
+        LruCache<Integer, Integer> shared = new LruCache<>(100);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int base = t * 10_000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    shared.put(base + i, i);
+                    shared.get(base + i / 2);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, shared.size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.flightreservation.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+    @Test
+    void completesByPrefixHighestWeightFirst() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("LAX", trie.add("LAX", 50));
+        trie.addKey("LAS", trie.add("LAS", 80));
+        trie.addKey("LHR", trie.add("LHR", 20));
+        trie.addKey("JFK", trie.add("JFK", 90));
+
+        assertEquals(List.of("LAS", "LAX", "LHR"), trie.complete("L", 10));
+        assertEquals(List.of("LAS", "LAX"), trie.complete("LA", 10));
+        assertEquals(List.of("LAX"), trie.complete("LAX", 10));
+        assertEquals(4, trie.size());
+    }
+
+    @Test
+    void emptyPrefixReturnsOverallBest() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("LAX", trie.add("LAX", 50));
+        trie.addKey("JFK", trie.add("JFK", 90));
+
+        assertEquals(List.of("JFK", "LAX"), trie.complete("", 10));
+    }
+
+    @Test
+    void lookupIsCaseInsensitiveAndTrimmed() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("Los Angeles", trie.add("LAX", 50));
+
+        assertEquals(List.of("LAX"), trie.complete("  los an", 10));
+    }
+
+    @Test
+    void unknownPrefixReturnsNothing() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("LAX", trie.add("LAX", 50));
+
+        assertTrue(trie.complete("LB", 10).isEmpty());
+        assertTrue(trie.complete("LAXX", 10).isEmpty());
+    }
+
+    @Test
+    void valueReachableThroughSeveralKeysIsListedOnce() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        int lax = trie.add("LAX", 50);
+        trie.addKey("LAX", lax);
+        trie.addKey("Los Angeles", lax);
+        trie.addKey("LA", lax);
+
+        assertEquals(List.of("LAX"), trie.complete("L", 10));
+    }
+
+    @Test
+    void keepsOnlyTheBestMaxRankedPerNode() {
+        PrefixTrie<String> trie = new PrefixTrie<>(2);
+        trie.addKey("A1", trie.add("A1", 10));
+        trie.addKey("A2", trie.add("A2", 30));
+        trie.addKey("A3", trie.add("A3", 20));
+        trie.addKey("A4", trie.add("A4", 5));
+
+        assertEquals(List.of("A2", "A3"), trie.complete("A", 10));
+        assertEquals(List.of("A4"), trie.complete("A4", 10));
+    }
+
+    @Test
+    void limitTruncatesResults() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("A1", trie.add("A1", 10));
+        trie.addKey("A2", trie.add("A2", 30));
+        trie.addKey("A3", trie.add("A3", 20));
+
+        assertEquals(List.of("A2"), trie.complete("A", 1));
+    }
+
+    @Test
+    void equalWeightsKeepInsertionOrder() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        trie.addKey("BOS", trie.add("BOS", 10));
+        trie.addKey("BOG", trie.add("BOG", 10));
+
+        assertEquals(List.of("BOS", "BOG"), trie.complete("BO", 10));
+    }
+
+    @Test
+    void childrenStaySortedWhenInsertedOutOfOrder() {
+        PrefixTrie<String> trie = new PrefixTrie<>(10);
+        for (String code : new String[] { "MUC", "AMS", "ZRH", "CDG", "FRA", "BCN" }) {
+            trie.addKey(code, trie.add(code, 1));
+        }
+
+        for (String code : new String[] { "MUC", "AMS", "ZRH", "CDG", "FRA", "BCN" }) {
+            assertEquals(List.of(code), trie.complete(code, 10));
+        }
+    }
+}